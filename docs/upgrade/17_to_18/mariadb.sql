@@ -0,0 +1,29 @@
+CREATE INDEX IF NOT EXISTS IX_oc_user_action_session_id ON oc_user_action (session_id);
+
+CREATE TABLE IF NOT EXISTS oc_user_action_daily_stats (
+  id BIGINT NOT NULL,
+  mediapackage VARCHAR(128) NOT NULL,
+  stats_date DATE NOT NULL,
+  sessions BIGINT NOT NULL,
+  played BIGINT NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT UNQ_oc_user_action_daily_stats UNIQUE (mediapackage, stats_date)
+);
+CREATE INDEX IF NOT EXISTS IX_oc_user_action_daily_stats_date ON oc_user_action_daily_stats (stats_date);
+
+CREATE TABLE IF NOT EXISTS oc_job_blob (
+  hash VARCHAR(64) NOT NULL,
+  content LONGTEXT,
+  content_length BIGINT NOT NULL,
+  reference_count BIGINT NOT NULL,
+  date_created DATETIME,
+  PRIMARY KEY (hash)
+);
+
+CREATE TABLE IF NOT EXISTS oc_search_series_acl (
+  series_id VARCHAR(128) NOT NULL,
+  role VARCHAR(255) NOT NULL,
+  action VARCHAR(128) NOT NULL,
+  reference_count BIGINT NOT NULL,
+  PRIMARY KEY (series_id, role, action)
+);
@@ -62,6 +62,8 @@ import org.opencastproject.adminui.exception.JobEndpointException;
 import org.opencastproject.adminui.impl.AdminUIConfiguration;
 import org.opencastproject.adminui.tobira.TobiraException;
 import org.opencastproject.adminui.tobira.TobiraService;
+import org.opencastproject.adminui.util.BulkUpdateExecutor;
+import org.opencastproject.adminui.util.BulkUpdateJob;
 import org.opencastproject.adminui.util.BulkUpdateUtil;
 import org.opencastproject.assetmanager.api.AssetManager;
 import org.opencastproject.authorization.xacml.manager.api.AclService;
@@ -186,6 +188,8 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -247,6 +251,9 @@ public abstract class AbstractEventEndpoint {
   /** The default time before a piece of signed content expires. 2 Hours. */
   protected static final long DEFAULT_URL_SIGNING_EXPIRE_DURATION = 2 * 60 * 60;
 
+  /** Runs the bulk updates started with {@link #startBulkUpdate(String)} */
+  private final BulkUpdateExecutor bulkUpdateExecutor = new BulkUpdateExecutor();
+
   public abstract AssetManager getAssetManager();
 
   public abstract WorkflowService getWorkflowService();
@@ -285,6 +292,10 @@ public abstract class AbstractEventEndpoint {
 
   public abstract UserDirectoryService getUserDirectoryService();
 
+  public BulkUpdateExecutor getBulkUpdateExecutor() {
+    return bulkUpdateExecutor;
+  }
+
   /** Default server URL */
   protected String serverUrl = "http://localhost:8080";
 
@@ -388,7 +399,7 @@ public abstract class AbstractEventEndpoint {
   public Response getEventResponse(@PathParam("eventId") String id) throws Exception {
     for (final Event event : getIndexService().getEvent(id, getIndex())) {
       event.updatePreview(getAdminUIConfiguration().getPreviewSubtype());
-      return okJson(eventToJSON(event, Optional.empty()));
+      return okJson(eventToJSON(event, getWorkflowService().getWorkflowStateMappings(), Optional.empty()));
     }
     return notFound("Cannot find an event with id '%s'.", id);
   }
@@ -1420,58 +1431,213 @@ public abstract class AbstractEventEndpoint {
       return badRequest("Cannot parse bulk update instructions");
     }
 
+    // Get all the events to edit at once
+    final Map<String, Event> events;
+    try {
+      events = getBulkUpdateEvents(instructions);
+    } catch (SearchIndexException e) {
+      logger.error("Unable to get the events of a bulk update", e);
+      return serverError();
+    }
+
+    // Check for invalid (non-existing) event ids
+    final Set<String> notFoundIds = getBulkUpdateEventIds(instructions).stream()
+      .filter(id -> !events.containsKey(id)).collect(Collectors.toCollection(LinkedHashSet::new));
+    if (!notFoundIds.isEmpty()) {
+      return notFoundJson(JSONUtils.setToJSON(notFoundIds));
+    }
+
     final Map<String, String> metadataUpdateFailures = new HashMap<>();
     final Map<String, String> schedulingUpdateFailures = new HashMap<>();
 
-    for (final BulkUpdateUtil.BulkUpdateInstructionGroup groupInstructions : instructions.getGroups()) {
-      // Get all the events to edit
-      final Map<String, Optional<Event>> events = groupInstructions.getEventIds().stream()
-        .collect(Collectors.toMap(id -> id, id -> BulkUpdateUtil.getEvent(getIndexService(), getIndex(), id)));
-
-      // Check for invalid (non-existing) event ids
-      final Set<String> notFoundIds = events.entrySet().stream().filter(e -> !e.getValue().isPresent()).map(Entry::getKey).collect(Collectors.toSet());
-      if (!notFoundIds.isEmpty()) {
-        return notFoundJson(JSONUtils.setToJSON(notFoundIds));
+    final Map<String, List<BulkUpdateUtil.BulkUpdateInstructionGroup>> groupsByEvent =
+        getBulkUpdateGroupsByEvent(instructions);
+    for (final String eventId : groupsByEvent.keySet()) {
+      final BulkUpdateJob.EventUpdate update = new BulkUpdateJob.EventUpdate(eventId);
+      bulkUpdateEvent(events.get(eventId), groupsByEvent.get(eventId), update);
+      if (update.getSchedulingFailure() != null) {
+        schedulingUpdateFailures.put(eventId, update.getSchedulingFailure());
+      }
+      if (update.getMetadataFailure() != null) {
+        metadataUpdateFailures.put(eventId, update.getMetadataFailure());
       }
+    }
 
+    // Check if there were any errors updating the metadata or scheduling information
+    if (!metadataUpdateFailures.isEmpty() || !schedulingUpdateFailures.isEmpty()) {
+      return serverErrorJson(obj(
+        f("metadataFailures", JSONUtils.mapToJSON(metadataUpdateFailures)),
+        f("schedulingFailures", JSONUtils.mapToJSON(schedulingUpdateFailures))
+      ));
+    }
+    return ok();
+  }
 
-      events.values().forEach(e -> e.ifPresent(event -> {
+  @POST
+  @Path("bulk/update/jobs")
+  @Produces(MediaType.APPLICATION_JSON)
+  @RestQuery(name = "startbulkupdate", description = "Starts updating all of the given events in the background. The updates of the events run in parallel.", restParameters = {
+    @RestParameter(name = "update", isRequired = true, type = RestParameter.Type.TEXT, description = "The list of groups with events and fields to update.")}, responses = {
+    @RestResponse(description = "The update has been started, its state is returned.", responseCode = SC_ACCEPTED),
+    @RestResponse(description = "Could not parse update instructions.", responseCode = HttpServletResponse.SC_BAD_REQUEST),
+    @RestResponse(description = "The events in the response body were not found. No events were updated.", responseCode = HttpServletResponse.SC_NOT_FOUND)},
+    returnDescription = "The state of the bulk update, which can be polled with the bulk/update/jobs/{jobId} endpoint")
+  public Response startBulkUpdate(@FormParam("update") String updateJson) {
+    final BulkUpdateUtil.BulkUpdateInstructions instructions;
+    try {
+      instructions = new BulkUpdateUtil.BulkUpdateInstructions(updateJson);
+    } catch (IllegalArgumentException e) {
+      return badRequest("Cannot parse bulk update instructions");
+    }
 
-        JSONObject metadata = null;
+    final Map<String, Event> events;
+    try {
+      events = getBulkUpdateEvents(instructions);
+    } catch (SearchIndexException e) {
+      logger.error("Unable to get the events of a bulk update", e);
+      return serverError();
+    }
 
-        // Update the scheduling information
-        try {
-          if (groupInstructions.getScheduling() != null) {
-            // Since we only have the start/end time, we have to add the correct date(s) for this event.
-            final JSONObject scheduling = BulkUpdateUtil.addSchedulingDates(event, groupInstructions.getScheduling());
-            updateEventScheduling(scheduling.toJSONString(), event);
-            // We have to update the non-technical metadata as well to keep them in sync with the technical ones.
-            metadata = BulkUpdateUtil.toNonTechnicalMetadataJson(scheduling);
-          }
-        } catch (Exception exception) {
-          schedulingUpdateFailures.put(event.getIdentifier(), exception.getMessage());
-        }
+    final Set<String> eventIds = getBulkUpdateEventIds(instructions);
+    final Set<String> notFoundIds = eventIds.stream()
+      .filter(id -> !events.containsKey(id)).collect(Collectors.toCollection(LinkedHashSet::new));
+    if (!notFoundIds.isEmpty()) {
+      return notFoundJson(JSONUtils.setToJSON(notFoundIds));
+    }
+
+    // An event may be part of several groups. Its updates are applied in order by a single task.
+    final Map<String, List<BulkUpdateUtil.BulkUpdateInstructionGroup>> groupsByEvent =
+        getBulkUpdateGroupsByEvent(instructions);
 
-        // Update the event metadata
+    final BulkUpdateJob job = new BulkUpdateJob(getSecurityService().getOrganization().getId(),
+        getSecurityService().getUser().getUsername(), eventIds);
+    getBulkUpdateExecutor().submit(job, update -> bulkUpdateEvent(events.get(update.getEventId()),
+        groupsByEvent.get(update.getEventId()), update), getSecurityService());
+
+    return Response.fromResponse(okJson(bulkUpdateJobToJson(job))).status(SC_ACCEPTED).build();
+  }
+
+  @GET
+  @Path("bulk/update/jobs/{jobId}")
+  @Produces(MediaType.APPLICATION_JSON)
+  @RestQuery(name = "getbulkupdate", description = "Returns the progress of a bulk update started in the background", returnDescription = "The state of the bulk update, including the status of each event", pathParameters = {
+    @RestParameter(name = "jobId", description = "The identifier of the bulk update", isRequired = true, type = RestParameter.Type.STRING) }, responses = {
+    @RestResponse(description = "The state of the bulk update is returned.", responseCode = HttpServletResponse.SC_OK),
+    @RestResponse(description = "No bulk update of the current user with this identifier is known.", responseCode = HttpServletResponse.SC_NOT_FOUND) })
+  public Response getBulkUpdate(@PathParam("jobId") String jobId) {
+    final Organization organization = getSecurityService().getOrganization();
+    final User user = getSecurityService().getUser();
+    return getBulkUpdateExecutor().getJob(jobId)
+        .filter(job -> job.getOrganization().equals(organization.getId()) && job.getUser().equals(user.getUsername()))
+        .map(job -> okJson(bulkUpdateJobToJson(job)))
+        .orElseGet(() -> notFound("Cannot find a bulk update with id '%s'.", jobId));
+  }
+
+  /** Returns the identifiers of all events of a bulk update in the order they appear in */
+  private static Set<String> getBulkUpdateEventIds(BulkUpdateUtil.BulkUpdateInstructions instructions) {
+    return instructions.getGroups().stream()
+        .flatMap(group -> group.getEventIds().stream())
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  /** Returns the groups of a bulk update by the identifiers of their events, in the order they appear in */
+  private static Map<String, List<BulkUpdateUtil.BulkUpdateInstructionGroup>> getBulkUpdateGroupsByEvent(
+          BulkUpdateUtil.BulkUpdateInstructions instructions) {
+    final Map<String, List<BulkUpdateUtil.BulkUpdateInstructionGroup>> groupsByEvent = new LinkedHashMap<>();
+    for (final BulkUpdateUtil.BulkUpdateInstructionGroup group : instructions.getGroups()) {
+      for (final String eventId : group.getEventIds()) {
+        groupsByEvent.computeIfAbsent(eventId, id -> new ArrayList<>()).add(group);
+      }
+    }
+    return groupsByEvent;
+  }
+
+  private Map<String, Event> getBulkUpdateEvents(BulkUpdateUtil.BulkUpdateInstructions instructions)
+          throws SearchIndexException {
+    return BulkUpdateUtil.getEvents(getIndex(), getBulkUpdateEventIds(instructions),
+        getSecurityService().getOrganization().getId(), getSecurityService().getUser());
+  }
+
+  /**
+   * Applies the instructions of all bulk update groups an event is part of in order, reporting failures to the given
+   * update state. The event is read again before each group but the first, since the scheduling dates of a group are
+   * computed from the event as changed by the previous groups.
+   */
+  private void bulkUpdateEvent(Event event, List<BulkUpdateUtil.BulkUpdateInstructionGroup> groups,
+          BulkUpdateJob.EventUpdate update) {
+    Event current = event;
+    for (int i = 0; i < groups.size(); i++) {
+      if (i > 0) {
         try {
-          if (groupInstructions.getMetadata() != null || metadata != null) {
-            metadata = BulkUpdateUtil.mergeMetadataFields(metadata, groupInstructions.getMetadata());
-            getIndexService().updateAllEventMetadata(event.getIdentifier(), JSONArray.toJSONString(Collections.singletonList(metadata)), getIndex());
+          final Optional<Event> reread = BulkUpdateUtil.getEvent(getIndexService(), getIndex(), event.getIdentifier());
+          if (!reread.isPresent()) {
+            update.setMetadataFailure("Event " + event.getIdentifier() + " was removed during the update");
+            return;
           }
-        } catch (Exception exception) {
-          metadataUpdateFailures.put(event.getIdentifier(), exception.getMessage());
+          current = reread.get();
+        } catch (Exception e) {
+          update.setMetadataFailure(e.getMessage());
+          return;
         }
-      }));
+      }
+      bulkUpdateEvent(current, groups.get(i), update);
     }
+  }
 
-    // Check if there were any errors updating the metadata or scheduling information
-    if (!metadataUpdateFailures.isEmpty() || !schedulingUpdateFailures.isEmpty()) {
-      return serverErrorJson(obj(
-        f("metadataFailures", JSONUtils.mapToJSON(metadataUpdateFailures)),
-        f("schedulingFailures", JSONUtils.mapToJSON(schedulingUpdateFailures))
+  /**
+   * Applies the instructions of a bulk update group to an event, reporting failures to the given update state.
+   */
+  private void bulkUpdateEvent(Event event, BulkUpdateUtil.BulkUpdateInstructionGroup groupInstructions,
+          BulkUpdateJob.EventUpdate update) {
+    JSONObject metadata = null;
+
+    // Update the scheduling information
+    try {
+      if (groupInstructions.getScheduling() != null) {
+        // Since we only have the start/end time, we have to add the correct date(s) for this event.
+        final JSONObject scheduling = BulkUpdateUtil.addSchedulingDates(event, groupInstructions.getScheduling());
+        updateEventScheduling(scheduling.toJSONString(), event);
+        // We have to update the non-technical metadata as well to keep them in sync with the technical ones.
+        metadata = BulkUpdateUtil.toNonTechnicalMetadataJson(scheduling);
+      }
+    } catch (Exception exception) {
+      update.setSchedulingFailure(exception.getMessage());
+    }
+
+    // Update the event metadata
+    try {
+      if (groupInstructions.getMetadata() != null || metadata != null) {
+        metadata = BulkUpdateUtil.mergeMetadataFields(metadata, groupInstructions.getMetadata());
+        getIndexService().updateAllEventMetadata(event.getIdentifier(), JSONArray.toJSONString(Collections.singletonList(metadata)), getIndex());
+      }
+    } catch (Exception exception) {
+      update.setMetadataFailure(exception.getMessage());
+    }
+  }
+
+  private JValue bulkUpdateJobToJson(BulkUpdateJob job) {
+    final List<JValue> events = new ArrayList<>();
+    int failed = 0;
+    for (BulkUpdateJob.EventUpdate update : job.getEvents()) {
+      if (update.getStatus() == BulkUpdateJob.Status.FAILED) {
+        failed++;
+      }
+      events.add(obj(
+        f("id", v(update.getEventId())),
+        f("status", v(update.getStatus().toString())),
+        f("schedulingFailure", v(update.getSchedulingFailure(), NULL)),
+        f("metadataFailure", v(update.getMetadataFailure(), NULL))
       ));
     }
-    return ok();
+    return obj(
+      f("id", v(job.getId())),
+      f("created", v(toUTC(job.getCreated().getTime()))),
+      f("completed", job.isCompleted() ? v(toUTC(job.getCompleted().getTime())) : NULL),
+      f("total", v(events.size())),
+      f("finished", v(job.getFinishedCount())),
+      f("failed", v(failed)),
+      f("events", arr(events))
+    );
   }
 
   @POST
@@ -2586,7 +2752,6 @@ public abstract class AbstractEventEndpoint {
     Option<Integer> optOffset = Option.option(offset);
     Option<String> optSort = Option.option(trimToNull(sort));
     Option<Boolean> optGetComments = Option.option(getComments);
-    ArrayList<JValue> eventsList = new ArrayList<>();
     final Organization organization = getSecurityService().getOrganization();
     final User user = getSecurityService().getUser();
     if (organization == null || user == null) {
@@ -2735,24 +2900,38 @@ public abstract class AbstractEventEndpoint {
     // If the results list if empty, we return already a response.
     if (results.getPageSize() == 0) {
       logger.debug("No events match the given filters.");
-      return okJsonList(eventsList, nul(offset).getOr(0), nul(limit).getOr(0), 0);
+      return okJsonList(Collections.<JValue>emptyList(), nul(offset).getOr(0), nul(limit).getOr(0), 0);
     }
 
+    final List<Event> events = new ArrayList<>(results.getItems().length);
     for (SearchResultItem<Event> item : results.getItems()) {
       Event source = item.getSource();
       source.updatePreview(getAdminUIConfiguration().getPreviewSubtype());
-      List<EventComment> comments = null;
-      if (optGetComments.isSome() && optGetComments.get()) {
-        try {
-          comments = getEventCommentService().getComments(source.getIdentifier());
-        } catch (EventCommentException e) {
-          logger.error("Unable to get comments from event {}", source.getIdentifier(), e);
-          throw new WebApplicationException(e);
-        }
+      events.add(source);
+    }
+
+    // Look up everything the events share once for the whole page
+    final Map<String, List<EventComment>> comments;
+    if (optGetComments.isSome() && optGetComments.get()) {
+      final List<String> eventIds = events.stream().map(Event::getIdentifier).collect(Collectors.toList());
+      try {
+        comments = getEventCommentService().getComments(eventIds);
+      } catch (EventCommentException e) {
+        logger.error("Unable to get comments from events {}", eventIds, e);
+        throw new WebApplicationException(e);
       }
-      eventsList.add(eventToJSON(source, Optional.ofNullable(comments)));
+    } else {
+      comments = null;
     }
+    final Map<String, Map<String, String>> workflowStateMappings = getWorkflowService().getWorkflowStateMappings();
 
+    // Convert the page before responding, so a failing event results in an error instead of a truncated list
+    final List<JValue> eventsList = new ArrayList<>(events.size());
+    for (Event event : events) {
+      eventsList.add(eventToJSON(event, workflowStateMappings, comments == null
+          ? Optional.empty()
+          : Optional.of(comments.getOrDefault(event.getIdentifier(), Collections.emptyList()))));
+    }
     return okJsonList(eventsList, nul(offset).getOr(0), nul(limit).getOr(0), results.getHitCount());
   }
 
@@ -2770,7 +2949,8 @@ public abstract class AbstractEventEndpoint {
     return UrlSupport.uri(serverUrl, eventId, "comment", Long.toString(commentId));
   }
 
-  private JValue eventToJSON(Event event, Optional<List<EventComment>> comments) {
+  private JValue eventToJSON(Event event, Map<String, Map<String, String>> workflowStateMappings,
+          Optional<List<EventComment>> comments) {
     List<Field> fields = new ArrayList<>();
 
     fields.add(f("id", v(event.getIdentifier())));
@@ -2789,7 +2969,7 @@ public abstract class AbstractEventEndpoint {
     fields.add(f("managedAcl", v(event.getManagedAcl(), BLANK)));
     fields.add(f("workflow_state", v(event.getWorkflowState(), BLANK)));
     fields.add(f("event_status", v(event.getEventStatus())));
-    fields.add(f("displayable_status", v(event.getDisplayableStatus(getWorkflowService().getWorkflowStateMappings()))));
+    fields.add(f("displayable_status", v(event.getDisplayableStatus(workflowStateMappings))));
     fields.add(f("source", v(getIndexService().getEventSource(event).toString())));
     fields.add(f("has_comments", v(event.hasComments())));
     fields.add(f("has_open_comments", v(event.hasOpenComments())));
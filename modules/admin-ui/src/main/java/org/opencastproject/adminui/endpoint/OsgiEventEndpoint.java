@@ -22,6 +22,7 @@
 package org.opencastproject.adminui.endpoint;
 
 import org.opencastproject.adminui.impl.AdminUIConfiguration;
+import org.opencastproject.adminui.util.BulkUpdateExecutor;
 import org.opencastproject.assetmanager.api.AssetManager;
 import org.opencastproject.authorization.xacml.manager.api.AclService;
 import org.opencastproject.authorization.xacml.manager.api.AclServiceFactory;
@@ -39,9 +40,11 @@ import org.opencastproject.util.doc.rest.RestService;
 import org.opencastproject.workflow.api.WorkflowService;
 
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.jaxrs.whiteboard.propertytypes.JaxrsResource;
@@ -90,6 +93,7 @@ public class OsgiEventEndpoint extends AbstractEventEndpoint {
 
   public static final String EVENTMODAL_ONLYSERIESWITHWRITEACCESS_KEY = "eventModal.onlySeriesWithWriteAccess";
   public static final String EVENTSTAB_ONLYEVENTSWITHWRITEACCESS_KEY = "eventsTab.onlyEventsWithWriteAccess";
+  public static final String BULKUPDATE_PARALLELISM_KEY = "bulkUpdate.parallelism";
   private Boolean onlySeriesWithWriteAccessEventModal = false;
   private Boolean onlyEventsWithWriteAccessEventsTab = false;
 
@@ -277,9 +281,18 @@ public class OsgiEventEndpoint extends AbstractEventEndpoint {
     dictionaryValue = properties.get(EVENTSTAB_ONLYEVENTSWITHWRITEACCESS_KEY);
     onlyEventsWithWriteAccessEventsTab = BooleanUtils.toBoolean(Objects.toString(dictionaryValue, "true"));
 
+    dictionaryValue = properties.get(BULKUPDATE_PARALLELISM_KEY);
+    getBulkUpdateExecutor().setParallelism(NumberUtils.toInt(Objects.toString(dictionaryValue, null),
+        BulkUpdateExecutor.DEFAULT_PARALLELISM));
+
     logger.info("Configuration updated");
   }
 
+  @Deactivate
+  public void deactivate() {
+    getBulkUpdateExecutor().shutdown();
+  }
+
   @Override
   public long getUrlSigningExpireDuration() {
     return expireSeconds;
@@ -62,6 +62,9 @@ import org.osgi.service.jaxrs.whiteboard.propertytypes.JaxrsResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Optional;
@@ -75,8 +78,10 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 
 @Path("/admin-ng/statistics")
@@ -263,17 +268,30 @@ public class StatisticsEndpoint {
       final StatisticsProvider p = statisticsService
         .getProvider(providerId).orElseThrow(() -> new IllegalArgumentException("Unknown provider: " + providerId));
       checkAccess(q.getResourceId(), p.getResourceType());
-      final String csv = statisticsExportService.getCSV(p, q.getResourceId(), q.getFrom(), q.getTo(), q.getDataResolution(),
-        searchIndex, ZoneId.systemDefault());
+      // Stream the rows as they become available. A missing resource is detected before anything is written, so it is
+      // still reported with a proper status code. Once rows have been sent, a failure can only abort the response and
+      // the client receives a truncated file, so failures are logged here.
+      final StreamingOutput csv = out -> {
+        final Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        try {
+          statisticsExportService.writeCSV(p, q.getResourceId(), q.getFrom(), q.getTo(), q.getDataResolution(),
+              searchIndex, ZoneId.systemDefault(), writer);
+        } catch (SearchIndexException e) {
+          logger.error("Failed to export statistics of {} {} as CSV", p.getResourceType(), q.getResourceId(), e);
+          throw new WebApplicationException(e, Response.Status.INTERNAL_SERVER_ERROR);
+        } catch (RuntimeException e) {
+          logger.error("Failed to export statistics of {} {} as CSV", p.getResourceType(), q.getResourceId(), e);
+          throw e;
+        } catch (NotFoundException e) {
+          throw new WebApplicationException(e, Response.Status.NOT_FOUND);
+        } catch (UnauthorizedException e) {
+          throw new WebApplicationException(e, Response.Status.UNAUTHORIZED);
+        }
+        writer.flush();
+      };
       return Response.ok().entity(csv).build();
     } catch (IllegalArgumentException e) {
       return RestUtil.R.badRequest(e.getMessage());
-    } catch (SearchIndexException e) {
-      return RestUtil.R.serverError();
-    } catch (NotFoundException e) {
-      return RestUtil.R.notFound(resourceId);
-    } catch (UnauthorizedException e) {
-      return Response.status(Response.Status.UNAUTHORIZED).build();
     }
   }
 
@@ -0,0 +1,153 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.adminui.util;
+
+import org.opencastproject.security.api.Organization;
+import org.opencastproject.security.api.SecurityService;
+import org.opencastproject.security.api.User;
+import org.opencastproject.security.util.SecurityUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs bulk updates of events in the background, updating a bounded number of events in parallel. The state of the
+ * jobs is kept in memory for a while after they completed, so clients can poll for their progress.
+ */
+public class BulkUpdateExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkUpdateExecutor.class);
+
+  /** Default number of events updated in parallel */
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  /** How long completed jobs are kept */
+  static final long RETENTION_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+  private final Map<String, BulkUpdateJob> jobs = new ConcurrentHashMap<>();
+
+  private final ThreadPoolExecutor executor;
+
+  public BulkUpdateExecutor() {
+    this(DEFAULT_PARALLELISM);
+  }
+
+  public BulkUpdateExecutor(int parallelism) {
+    final AtomicInteger threads = new AtomicInteger();
+    final ThreadFactory threadFactory = r -> {
+      Thread thread = new Thread(r, "bulk-update-" + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    executor = new ThreadPoolExecutor(parallelism, parallelism, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+        threadFactory);
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Sets the number of events updated in parallel.
+   *
+   * @param parallelism
+   *          the number of events, at least one
+   */
+  public synchronized void setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("The parallelism of bulk updates must be at least 1");
+    }
+    // Raise the maximum first, the core size must never exceed it
+    if (parallelism > executor.getMaximumPoolSize()) {
+      executor.setMaximumPoolSize(parallelism);
+      executor.setCorePoolSize(parallelism);
+    } else {
+      executor.setCorePoolSize(parallelism);
+      executor.setMaximumPoolSize(parallelism);
+    }
+  }
+
+  /**
+   * Starts updating the events of a job. Each event is updated as the current user of the current organization.
+   *
+   * @param job
+   *          the job to run
+   * @param update
+   *          updates a single event, reporting failures to the given update state
+   * @param securityService
+   *          the security service to take the current user and organization from
+   * @return the job
+   */
+  public BulkUpdateJob submit(BulkUpdateJob job, Consumer<BulkUpdateJob.EventUpdate> update,
+          SecurityService securityService) {
+    final Organization organization = securityService.getOrganization();
+    final User user = securityService.getUser();
+    purge();
+    jobs.put(job.getId(), job);
+    for (BulkUpdateJob.EventUpdate eventUpdate : job.getEvents()) {
+      executor.execute(() -> {
+        eventUpdate.setStatus(BulkUpdateJob.Status.RUNNING);
+        try {
+          SecurityUtil.runAs(securityService, organization, user, () -> update.accept(eventUpdate));
+        } catch (RuntimeException e) {
+          logger.warn("Unable to update event {} in bulk update {}", eventUpdate.getEventId(), job.getId(), e);
+          eventUpdate.setMetadataFailure(e.getMessage());
+        } finally {
+          job.finished(eventUpdate);
+        }
+      });
+    }
+    logger.info("Started bulk update {} of {} events", job.getId(), job.getEvents().size());
+    return job;
+  }
+
+  /**
+   * Returns a job if it is still known.
+   *
+   * @param id
+   *          the identifier of the job
+   * @return the job
+   */
+  public Optional<BulkUpdateJob> getJob(String id) {
+    purge();
+    return Optional.ofNullable(jobs.get(id));
+  }
+
+  /** Stops running jobs. Events that have not been updated yet are left as they are. */
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /** Forgets about jobs that completed a while ago */
+  private void purge() {
+    final long expired = System.currentTimeMillis() - RETENTION_MILLIS;
+    jobs.values().removeIf(job -> job.isCompleted() && job.getCompleted().getTime() < expired);
+  }
+
+}
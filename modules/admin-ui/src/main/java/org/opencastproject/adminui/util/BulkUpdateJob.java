@@ -0,0 +1,159 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.adminui.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The state of an asynchronous bulk update of events, see {@link BulkUpdateExecutor}.
+ */
+public final class BulkUpdateJob {
+
+  /** The status of the update of a single event */
+  public enum Status {
+    QUEUED, RUNNING, SUCCEEDED, FAILED
+  }
+
+  /** The update of a single event */
+  public static final class EventUpdate {
+
+    private final String eventId;
+    private volatile Status status = Status.QUEUED;
+    private volatile String schedulingFailure;
+    private volatile String metadataFailure;
+
+    public EventUpdate(String eventId) {
+      this.eventId = eventId;
+    }
+
+    public String getEventId() {
+      return eventId;
+    }
+
+    public Status getStatus() {
+      return status;
+    }
+
+    void setStatus(Status status) {
+      this.status = status;
+    }
+
+    /** Returns the reason why updating the scheduling information failed, or <code>null</code> */
+    public String getSchedulingFailure() {
+      return schedulingFailure;
+    }
+
+    public void setSchedulingFailure(String schedulingFailure) {
+      this.schedulingFailure = schedulingFailure;
+    }
+
+    /** Returns the reason why updating the metadata failed, or <code>null</code> */
+    public String getMetadataFailure() {
+      return metadataFailure;
+    }
+
+    public void setMetadataFailure(String metadataFailure) {
+      this.metadataFailure = metadataFailure;
+    }
+
+    public boolean isFailed() {
+      return schedulingFailure != null || metadataFailure != null;
+    }
+  }
+
+  private final String id = UUID.randomUUID().toString();
+  private final String organization;
+  private final String user;
+  private final Date created = new Date();
+  private volatile Date completed;
+  private final Map<String, EventUpdate> events = new LinkedHashMap<>();
+  private final AtomicInteger remaining;
+
+  /**
+   * @param organization
+   *          the identifier of the organization the events belong to
+   * @param user
+   *          the name of the user who started the update
+   * @param eventIds
+   *          the identifiers of the events to update
+   */
+  public BulkUpdateJob(String organization, String user, Collection<String> eventIds) {
+    this.organization = organization;
+    this.user = user;
+    for (String eventId : eventIds) {
+      events.put(eventId, new EventUpdate(eventId));
+    }
+    this.remaining = new AtomicInteger(events.size());
+    if (events.isEmpty()) {
+      completed = created;
+    }
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getOrganization() {
+    return organization;
+  }
+
+  public String getUser() {
+    return user;
+  }
+
+  public Date getCreated() {
+    return created;
+  }
+
+  /** Returns when the last event update finished, or <code>null</code> while the job is still running */
+  public Date getCompleted() {
+    return completed;
+  }
+
+  public boolean isCompleted() {
+    return completed != null;
+  }
+
+  /** Returns the updates of the events in the order the events were given in */
+  public Collection<EventUpdate> getEvents() {
+    return Collections.unmodifiableCollection(events.values());
+  }
+
+  /** Returns the number of events whose update finished */
+  public int getFinishedCount() {
+    return events.size() - remaining.get();
+  }
+
+  void finished(EventUpdate update) {
+    update.setStatus(update.isFailed() ? Status.FAILED : Status.SUCCEEDED);
+    if (remaining.decrementAndGet() == 0) {
+      completed = new Date();
+    }
+  }
+
+}
@@ -26,11 +26,14 @@ import static org.opencastproject.adminui.endpoint.AbstractEventEndpoint.SCHEDUL
 import static org.opencastproject.adminui.endpoint.AbstractEventEndpoint.SCHEDULING_START_KEY;
 
 import org.opencastproject.elasticsearch.api.SearchIndexException;
+import org.opencastproject.elasticsearch.api.SearchResultItem;
 import org.opencastproject.elasticsearch.index.ElasticsearchIndex;
 import org.opencastproject.elasticsearch.index.objects.event.Event;
+import org.opencastproject.elasticsearch.index.objects.event.EventSearchQuery;
 import org.opencastproject.index.service.api.IndexService;
 import org.opencastproject.index.service.catalog.adapter.events.CommonEventCatalogUIAdapter;
 import org.opencastproject.mediapackage.MediaPackageElements;
+import org.opencastproject.security.api.User;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
@@ -47,7 +50,9 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -82,6 +87,34 @@ public final class BulkUpdateUtil {
     }
   }
 
+  /**
+   * Gets the events with the given ids the current user may read from the index in a single query.
+   *
+   * @param index The index to get the events from.
+   * @param ids The ids of the events to get.
+   * @param organization The organization of the events.
+   * @param user The user to get the events for.
+   * @return The events by their id. Events which were not found are missing.
+   * @throws SearchIndexException If querying the index fails.
+   */
+  public static Map<String, Event> getEvents(
+    final ElasticsearchIndex index,
+    final Collection<String> ids,
+    final String organization,
+    final User user) throws SearchIndexException {
+    final Map<String, Event> events = new HashMap<>();
+    if (ids.isEmpty()) {
+      return events;
+    }
+    final EventSearchQuery query = new EventSearchQuery(organization, user);
+    ids.forEach(query::withIdentifier);
+    query.withLimit(ids.size());
+    for (SearchResultItem<Event> item : index.getByQuery(query).getItems()) {
+      events.put(item.getSource().getIdentifier(), item.getSource());
+    }
+    return events;
+  }
+
   /**
    * Takes the given scheduling information and completes the event start and end dates as well as the duration for the
    * given event. If the weekday shall be changed, the start and end dates are adjusted accordingly.
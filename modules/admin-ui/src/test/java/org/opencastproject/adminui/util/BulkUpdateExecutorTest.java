@@ -0,0 +1,133 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.adminui.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.opencastproject.security.api.DefaultOrganization;
+import org.opencastproject.security.api.JaxbUser;
+import org.opencastproject.security.api.SecurityService;
+import org.opencastproject.security.api.User;
+
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BulkUpdateExecutorTest {
+
+  private static final int PARALLELISM = 3;
+
+  private final User user = new JaxbUser("admin", "test", new DefaultOrganization());
+
+  private SecurityService securityService;
+  private BulkUpdateExecutor executor;
+
+  @Before
+  public void setUp() {
+    securityService = EasyMock.createNiceMock(SecurityService.class);
+    EasyMock.expect(securityService.getOrganization()).andReturn(new DefaultOrganization()).anyTimes();
+    EasyMock.expect(securityService.getUser()).andReturn(user).anyTimes();
+    EasyMock.replay(securityService);
+    executor = new BulkUpdateExecutor(PARALLELISM);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void testUpdate() throws Exception {
+    final List<String> eventIds = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      eventIds.add("event-" + i);
+    }
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+
+    final BulkUpdateJob job = new BulkUpdateJob(DefaultOrganization.DEFAULT_ORGANIZATION_ID, "admin", eventIds);
+    executor.submit(job, update -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      running.decrementAndGet();
+      if (update.getEventId().equals("event-3")) {
+        update.setSchedulingFailure("conflict");
+      } else if (update.getEventId().equals("event-4")) {
+        throw new IllegalStateException("broken");
+      }
+    }, securityService);
+
+    assertEquals(job, executor.getJob(job.getId()).get());
+    final long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (!job.isCompleted() && System.currentTimeMillis() < timeout) {
+      Thread.sleep(10);
+    }
+
+    assertTrue(job.isCompleted());
+    assertEquals(eventIds.size(), job.getFinishedCount());
+    assertTrue(maxRunning.get() > 1);
+    assertTrue(maxRunning.get() <= PARALLELISM);
+
+    final List<String> orderedIds = new ArrayList<>();
+    for (BulkUpdateJob.EventUpdate update : job.getEvents()) {
+      orderedIds.add(update.getEventId());
+      switch (update.getEventId()) {
+        case "event-3":
+          assertEquals(BulkUpdateJob.Status.FAILED, update.getStatus());
+          assertEquals("conflict", update.getSchedulingFailure());
+          assertNull(update.getMetadataFailure());
+          break;
+        case "event-4":
+          assertEquals(BulkUpdateJob.Status.FAILED, update.getStatus());
+          assertEquals("broken", update.getMetadataFailure());
+          break;
+        default:
+          assertEquals(BulkUpdateJob.Status.SUCCEEDED, update.getStatus());
+          assertFalse(update.isFailed());
+      }
+    }
+    assertEquals(eventIds, orderedIds);
+  }
+
+  @Test
+  public void testEmptyJob() {
+    final BulkUpdateJob job = new BulkUpdateJob(DefaultOrganization.DEFAULT_ORGANIZATION_ID, "admin",
+        new ArrayList<>());
+    executor.submit(job, update -> { }, securityService);
+    assertTrue(job.isCompleted());
+    assertFalse(executor.getJob("unknown").isPresent());
+  }
+
+}
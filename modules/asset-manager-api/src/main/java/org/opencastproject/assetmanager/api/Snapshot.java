@@ -46,6 +46,15 @@ public interface Snapshot {
   /** Get the owner of the snapshot. **/
   String getOwner();
 
+  /**
+   * Get the ID of the series the media package belongs to, or <code>null</code> if it does not belong to a series.
+   * <p>
+   * Implementations may answer this without creating the media package.
+   */
+  default String getSeriesId() {
+    return getMediaPackage().getSeries();
+  }
+
   /**
    * Get the media package.
    * <p>
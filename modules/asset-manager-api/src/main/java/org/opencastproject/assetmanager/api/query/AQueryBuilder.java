@@ -130,6 +130,15 @@ public interface AQueryBuilder {
   /** Select or delete a snapshot. */
   Target snapshot();
 
+  /**
+   * Select a snapshot without reading its media package from the database. The media package of the selected
+   * snapshots is only loaded and parsed when it is requested.
+   * <p>
+   * Use this target if mostly the version, archival date, availability or series of the snapshots is of interest.
+   * Used in a delete query it is equivalent to {@link #snapshot()}.
+   */
+  Target snapshotMetadata();
+
   /**
    * Select or delete all properties that belong to the given namespaces.
    * Use an empty list of arguments to handle all properties of the media package.
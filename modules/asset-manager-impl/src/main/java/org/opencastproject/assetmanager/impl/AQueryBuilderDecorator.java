@@ -127,6 +127,10 @@ public class AQueryBuilderDecorator implements AQueryBuilder {
     return delegate.properties(fqn);
   }
 
+  @Override public Target snapshotMetadata() {
+    return delegate.snapshotMetadata();
+  }
+
   @Override public Target nothing() {
     return delegate.nothing();
   }
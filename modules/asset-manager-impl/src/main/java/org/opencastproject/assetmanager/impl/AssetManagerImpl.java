@@ -23,7 +23,6 @@ package org.opencastproject.assetmanager.impl;
 import static com.entwinemedia.fn.Prelude.chuck;
 import static com.entwinemedia.fn.Stream.$;
 import static java.lang.String.format;
-import static org.opencastproject.assetmanager.api.fn.Enrichments.enrich;
 import static org.opencastproject.mediapackage.MediaPackageSupport.Filters.hasNoChecksum;
 import static org.opencastproject.mediapackage.MediaPackageSupport.Filters.isNotPublication;
 import static org.opencastproject.mediapackage.MediaPackageSupport.getFileName;
@@ -117,6 +116,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -145,6 +145,13 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -167,6 +174,11 @@ public class AssetManagerImpl extends AbstractIndexProducer implements AssetMana
 
   private static final int PAGE_SIZE = 1000;
 
+  /** Number of events written to the index at once during an index rebuild */
+  private static final int INDEX_REBUILD_BATCH_SIZE = 20;
+
+  private static final String CONFIG_INDEX_REBUILD_THREADS = "index.rebuild.threads";
+
   enum AdminRole {
     GLOBAL, ORGANIZATION, NONE
   }
@@ -201,6 +213,12 @@ public class AssetManagerImpl extends AbstractIndexProducer implements AssetMana
   private boolean includeCARoles;
   private boolean includeUIRoles;
 
+  /** Number of workers adding snapshots to the index in parallel during an index rebuild */
+  private int indexRebuildThreads = Runtime.getRuntime().availableProcessors();
+
+  /** Number of snapshots read at once during an index rebuild */
+  private int indexRebuildPageSize = PAGE_SIZE;
+
 
   public static final Set<MediaPackageElement.Type> MOVABLE_TYPES = Sets.newHashSet(
           MediaPackageElement.Type.Attachment,
@@ -222,6 +240,9 @@ public class AssetManagerImpl extends AbstractIndexProducer implements AssetMana
     includeAPIRoles = BooleanUtils.toBoolean(Objects.toString(cc.getProperties().get("includeAPIRoles"), null));
     includeCARoles = BooleanUtils.toBoolean(Objects.toString(cc.getProperties().get("includeCARoles"), null));
     includeUIRoles = BooleanUtils.toBoolean(Objects.toString(cc.getProperties().get("includeUIRoles"), null));
+    indexRebuildThreads = Math.max(1, NumberUtils.toInt(
+        Objects.toString(cc.getProperties().get(CONFIG_INDEX_REBUILD_THREADS), null),
+        Runtime.getRuntime().availableProcessors()));
 
     episodeIdRole = BooleanUtils.toBoolean(Objects.toString(
         cc.getBundleContext().getProperty(CONFIG_EPISODE_ID_ROLE), "false"));
@@ -948,81 +969,177 @@ public class AssetManagerImpl extends AbstractIndexProducer implements AssetMana
 
   @Override
   public void repopulate(DataType dataType) throws IndexRebuildException {
+    repopulate(dataType, false);
+  }
+
+  @Override
+  public void resume(DataType dataType) throws IndexRebuildException {
+    repopulate(dataType, true);
+  }
+
+  /**
+   * Re-adds the latest snapshots to the index. The snapshots are read organization by organization in pages ordered
+   * by media package identifier using the last identifier of the previous page as lower bound. The pages are indexed
+   * by a pool of workers, which read the existing events of a page from the index in a single query.
+   *
+   * @param dataType
+   *          the data to re-add
+   * @param resume
+   *          whether to skip events whose archive version is already up to date in the index since they were added
+   *          before an interruption
+   */
+  private void repopulate(DataType dataType, boolean resume) throws IndexRebuildException {
+    if (!dataTypeSupported(dataType)) {
+      throw new IndexRebuildException(dataType + " is not a supported data type. "
+          + "Accepted values are " + Arrays.toString(getSupportedDataTypes()) + ".");
+    }
     final Organization originalOrg = securityService.getOrganization();
     final User originalUser = (originalOrg != null ? securityService.getUser() : null);
+    final int threads = indexRebuildThreads;
+    final int pageSize = indexRebuildPageSize;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    // Bound the number of pages in memory
+    final Semaphore pages = new Semaphore(2 * threads);
+    final List<Future<?>> tasks = new ArrayList<>();
+    // The first failure of a page, which stops reading and processing further pages
+    final AtomicReference<IndexRebuildException> failure = new AtomicReference<>();
     try {
       final Organization defaultOrg = new DefaultOrganization();
-      final User defaultSystemUser = SecurityUtil.createSystemUser(systemUserName, defaultOrg);
       securityService.setOrganization(defaultOrg);
-      securityService.setUser(defaultSystemUser);
+      securityService.setUser(SecurityUtil.createSystemUser(systemUserName, defaultOrg));
 
-      int offset = 0;
-      int total = (int) countEvents(null);
-      final AQueryBuilder q = createQuery();
-      RichAResult r;
-      int current = 0;
+      final int total = (int) countEvents(null);
+      final AtomicInteger current = new AtomicInteger();
       logIndexRebuildBegin(logger, total, "snapshot(s)");
-      var updatedEventRange = new ArrayList<Event>();
-      do {
-        r = enrich(q.select(q.snapshot()).where(q.version().isLatest()).orderBy(q.mediapackageId().desc())
-            .page(offset, PAGE_SIZE).run());
-        offset += PAGE_SIZE;
-        int n = 20;
-
-        final Map<String, List<Snapshot>> byOrg = r.getSnapshots().stream()
-            .collect(Collectors.groupingBy(Snapshot::getOrganizationId));
-        for (String orgId : byOrg.keySet()) {
-          final Organization snapshotOrg;
-          try {
-            snapshotOrg = orgDir.getOrganization(orgId);
-            User snapshotSystemUser = SecurityUtil.createSystemUser(systemUserName, snapshotOrg);
-            securityService.setOrganization(snapshotOrg);
-            securityService.setUser(snapshotSystemUser);
-            for (Snapshot snapshot : byOrg.get(orgId)) {
-              try {
-                current++;
-
-                var updatedEventData = index.getEvent(snapshot.getMediaPackage().getIdentifier().toString(), orgId,
-                    snapshotSystemUser);
-                if (dataType == DataType.ALL) {
-                  // Reindex everything (default)
-                  updatedEventData = getEventUpdateFunction(snapshot, orgId, snapshotSystemUser)
-                      .apply(updatedEventData);
-                } else if (dataType == DataType.ACL) {
-                  // Only reindex ACLs
-                  updatedEventData = getEventUpdateFunctionOnlyAcl(snapshot, orgId, snapshotSystemUser)
-                      .apply(updatedEventData);
-                } else {
-                  throw new IndexRebuildException(dataType + " is not a supported data type. "
-                      + "Accepted values are " + Arrays.toString(getSupportedDataTypes()) + ".");
-                }
-                updatedEventRange.add(updatedEventData.get());
-
-                if (updatedEventRange.size() >= n || current >= total) {
-                  index.bulkEventUpdate(updatedEventRange);
-                  logIndexRebuildProgress(logger, total, current, n);
-                  updatedEventRange.clear();
-                }
-              } catch (Throwable t) {
-                logSkippingElement(logger, "event", snapshot.getMediaPackage().getIdentifier().toString(),
-                    snapshotOrg, t);
+      final List<Organization> orgs = orgDir.getOrganizations();
+      for (Organization org : orgs) {
+        String lastId = null;
+        List<ARecord> page;
+        do {
+          final AQueryBuilder q = createQuery();
+          Predicate p = q.organizationId().eq(org.getId()).and(q.version().isLatest());
+          if (lastId != null) {
+            p = p.and(q.mediapackageId().gt(lastId));
+          }
+          page = new ArrayList<>(q.select(q.snapshot()).where(p).orderBy(q.mediapackageId().asc())
+              .page(0, pageSize).run().getRecords());
+          if (page.isEmpty()) {
+            break;
+          }
+          lastId = page.get(page.size() - 1).getMediaPackageId();
+
+          pages.acquire();
+          if (failure.get() != null) {
+            pages.release();
+            throw failure.get();
+          }
+          final List<ARecord> records = page;
+          tasks.add(executor.submit(() -> {
+            try {
+              if (failure.get() == null) {
+                repopulate(org, records, dataType, resume, total, current);
               }
+              return null;
+            } catch (Throwable t) {
+              logIndexRebuildError(logger, t, org);
+              final IndexRebuildException e = new IndexRebuildException(getService(), org, t);
+              failure.compareAndSet(null, e);
+              throw e;
+            } finally {
+              pages.release();
             }
+          }));
+        } while (page.size() == pageSize);
+      }
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+      if (current.get() < total) {
+        logSnapshotsOfMissingOrganizations(orgs);
+      }
+    } catch (ExecutionException e) {
+      throw (IndexRebuildException) e.getCause();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IndexRebuildException(getService(), e);
+    } finally {
+      executor.shutdownNow();
+      securityService.setOrganization(originalOrg);
+      securityService.setUser(originalUser);
+    }
+  }
+
+  /**
+   * Logs the latest snapshots that are not re-added to the index since their organization does not exist.
+   *
+   * @param orgs
+   *          the existing organizations
+   */
+  private void logSnapshotsOfMissingOrganizations(List<Organization> orgs) {
+    final AQueryBuilder q = createQuery();
+    Predicate p = q.version().isLatest();
+    for (Organization org : orgs) {
+      p = p.and(q.organizationId().eq(org.getId()).not());
+    }
+    final Map<String, Long> skipped = q.select(q.snapshotMetadata()).where(p).run().getRecords().stream()
+        .collect(Collectors.groupingBy(record -> record.getSnapshot().get().getOrganizationId(),
+            Collectors.counting()));
+    skipped.forEach((orgId, count) -> logger.warn(
+        "Skipped re-adding {} snapshot(s) to the index since their organization {} does not exist", count, orgId));
+  }
+
+  /**
+   * Re-adds a page of snapshots of one organization to the index. Called by the index rebuild workers.
+   */
+  private void repopulate(Organization org, List<ARecord> records, DataType dataType, boolean resume, int total,
+          AtomicInteger current) throws SearchIndexException {
+    final User systemUser = SecurityUtil.createSystemUser(systemUserName, org);
+    securityService.setOrganization(org);
+    securityService.setUser(systemUser);
+    try {
+      final Map<String, Event> indexed = index.getEvents(
+          records.stream().map(ARecord::getMediaPackageId).collect(Collectors.toList()), org.getId(), systemUser);
+      final List<Event> updated = new ArrayList<>(INDEX_REBUILD_BATCH_SIZE);
+      for (ARecord record : records) {
+        final String eventId = record.getMediaPackageId();
+        final Snapshot snapshot = record.getSnapshot().get();
+        final Optional<Event> event = Optional.ofNullable(indexed.get(eventId));
+        final Long version = Long.parseLong(snapshot.getVersion().toString());
+        if (resume && event.map(Event::getArchiveVersion).filter(version::equals).isPresent()) {
+          logger.debug("Event {} is already up to date in the index", eventId);
+        } else {
+          try {
+            final Function<Optional<Event>, Optional<Event>> updateFunction = dataType == DataType.ACL
+                ? getEventUpdateFunctionOnlyAcl(snapshot, org.getId(), systemUser)
+                : getEventUpdateFunction(snapshot, org.getId(), systemUser);
+            updated.add(updateFunction.apply(event).get());
           } catch (Throwable t) {
-            logIndexRebuildError(logger, t, originalOrg);
-            throw new IndexRebuildException(getService(), originalOrg, t);
-          } finally {
-            securityService.setOrganization(defaultOrg);
-            securityService.setUser(defaultSystemUser);
+            logSkippingElement(logger, "event", eventId, org, t);
           }
         }
-      } while (offset < total);
+        if (updated.size() >= INDEX_REBUILD_BATCH_SIZE) {
+          index.bulkEventUpdate(updated);
+          updated.clear();
+        }
+      }
+      if (!updated.isEmpty()) {
+        index.bulkEventUpdate(updated);
+      }
+      logIndexRebuildProgress(logger, total, current.addAndGet(records.size()), records.size());
     } finally {
-      securityService.setOrganization(originalOrg);
-      securityService.setUser(originalUser);
+      securityService.setOrganization(null);
+      securityService.setUser(null);
     }
   }
 
+  /**
+   * Used for testing
+   */
+  void setIndexRebuildPaging(int pageSize, int threads) {
+    this.indexRebuildPageSize = pageSize;
+    this.indexRebuildThreads = threads;
+  }
+
   /**
    * Used for testing
    */
@@ -1546,18 +1663,23 @@ public class AssetManagerImpl extends AbstractIndexProducer implements AssetMana
    * This method does not mutate anything.
    */
   public static Snapshot rewriteUris(Snapshot snapshot, Fn<MediaPackageElement, URI> uriCreator) {
-    final MediaPackage mpCopy = MediaPackageSupport.copy(snapshot.getMediaPackage());
-    for (final MediaPackageElement mpe : assetsOnly(mpCopy).getElements()) {
-      mpe.setURI(uriCreator.apply(mpe));
-    }
+    // Rewrite on first access so that a lazily parsed media package stays unparsed if nobody needs it
     return new SnapshotImpl(
+            null,
             snapshot.getVersion(),
             snapshot.getOrganizationId(),
             snapshot.getArchivalDate(),
             snapshot.getAvailability(),
             snapshot.getStorageId(),
             snapshot.getOwner(),
-            mpCopy);
+            snapshot.getSeriesId(),
+            () -> {
+              final MediaPackage mpCopy = MediaPackageSupport.copy(snapshot.getMediaPackage());
+              for (final MediaPackageElement mpe : assetsOnly(mpCopy).getElements()) {
+                mpe.setURI(uriCreator.apply(mpe));
+              }
+              return mpCopy;
+            });
   }
 
   public void fireEventHandlers(AssetManagerItem item) {
@@ -26,7 +26,11 @@ import org.opencastproject.assetmanager.api.Version;
 import org.opencastproject.mediapackage.MediaPackage;
 
 import java.util.Date;
+import java.util.function.Supplier;
 
+/**
+ * A snapshot whose media package is either given or created on first access, e.g. parsed from the stored XML.
+ */
 public class SnapshotImpl implements Snapshot {
   private final Long id;
   private final Version version;
@@ -35,7 +39,9 @@ public class SnapshotImpl implements Snapshot {
   private final Availability availability;
   private final String storageId;
   private final String owner;
-  private final MediaPackage mediaPackage;
+  private final String seriesId;
+  private Supplier<MediaPackage> mediaPackageSupplier;
+  private volatile MediaPackage mediaPackage;
 
   public SnapshotImpl(
           Version version,
@@ -45,7 +51,19 @@ public class SnapshotImpl implements Snapshot {
           String storageId,
           String owner,
           MediaPackage mediaPackage) {
-    this.id = null;
+    this(null, version, organizationId, archivalDate, availability, storageId, owner, mediaPackage);
+  }
+
+  public SnapshotImpl(
+          Long id,
+          Version version,
+          String organizationId,
+          Date archivalDate,
+          Availability availability,
+          String storageId,
+          String owner,
+          MediaPackage mediaPackage) {
+    this.id = id;
     this.version = version;
     this.organizationId = organizationId;
     this.archivalDate = archivalDate;
@@ -53,8 +71,18 @@ public class SnapshotImpl implements Snapshot {
     this.mediaPackage = mediaPackage;
     this.owner = owner;
     this.storageId = storageId;
+    this.seriesId = mediaPackage != null ? mediaPackage.getSeries() : null;
   }
 
+  /**
+   * Create a snapshot whose media package is only created when {@link #getMediaPackage()} is called for the first
+   * time.
+   *
+   * @param seriesId
+   *          the series of the media package, as stored alongside the snapshot
+   * @param mediaPackage
+   *          creates the media package, called at most once
+   */
   public SnapshotImpl(
           Long id,
           Version version,
@@ -63,15 +91,17 @@ public class SnapshotImpl implements Snapshot {
           Availability availability,
           String storageId,
           String owner,
-          MediaPackage mediaPackage) {
+          String seriesId,
+          Supplier<MediaPackage> mediaPackage) {
     this.id = id;
     this.version = version;
     this.organizationId = organizationId;
     this.archivalDate = archivalDate;
     this.availability = availability;
-    this.mediaPackage = mediaPackage;
+    this.mediaPackageSupplier = mediaPackage;
     this.owner = owner;
     this.storageId = storageId;
+    this.seriesId = seriesId;
   }
 
   @Override public Version getVersion() {
@@ -91,7 +121,27 @@ public class SnapshotImpl implements Snapshot {
   }
 
   @Override public MediaPackage getMediaPackage() {
-    return mediaPackage;
+    MediaPackage result = mediaPackage;
+    if (result == null) {
+      synchronized (this) {
+        result = mediaPackage;
+        if (result == null && mediaPackageSupplier != null) {
+          result = mediaPackageSupplier.get();
+          mediaPackage = result;
+          mediaPackageSupplier = null;
+        }
+      }
+    }
+    return result;
+  }
+
+  /** Tell whether the media package has already been created. */
+  public boolean isMediaPackageLoaded() {
+    return mediaPackage != null;
+  }
+
+  @Override public String getSeriesId() {
+    return seriesId;
   }
 
   @Override public String getOwner() {
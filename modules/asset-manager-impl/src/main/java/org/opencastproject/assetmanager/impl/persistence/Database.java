@@ -263,6 +263,19 @@ public class Database implements EntityPaths {
     });
   }
 
+  /**
+   * Get the media package XML of a snapshot.
+   *
+   * @param snapshotId
+   *          the database ID of the snapshot
+   * @return the XML or none if the snapshot does not exist
+   */
+  public Optional<String> getMediaPackageXml(final long snapshotId) {
+    return db.exec(em -> Optional.ofNullable(SnapshotDtos.baseQuery(em)
+        .where(QSnapshotDto.snapshotDto.id.eq(snapshotId))
+        .uniqueResult(QSnapshotDto.snapshotDto.mediaPackageXml)));
+  }
+
   public Optional<AssetDtos.Full> findAssetByChecksum(final String checksum) {
     return db.execTx(em -> {
       final Tuple result = AssetDtos.baseJoin(em)
@@ -25,6 +25,7 @@ import static com.entwinemedia.fn.Stream.empty;
 
 import com.entwinemedia.fn.Stream;
 import com.mysema.query.types.EntityPath;
+import com.mysema.query.types.Expression;
 
 /**
  * Shortcuts to Querydsl entity paths.
@@ -36,4 +37,8 @@ public interface EntityPaths {
   Stream<QSnapshotDto> $Q_SNAPSHOT = $(Q_SNAPSHOT);
   Stream<QPropertyDto> $Q_PROPERTY = $(Q_PROPERTY);
   Stream<EntityPath<?>> $NO_ENTITY = empty();
+  /** All snapshot columns except for the media package XML. */
+  Stream<Expression<?>> $Q_SNAPSHOT_METADATA = Stream.<Expression<?>>mk(Q_SNAPSHOT.id, Q_SNAPSHOT.mediaPackageId,
+      Q_SNAPSHOT.version, Q_SNAPSHOT.seriesId, Q_SNAPSHOT.organizationId, Q_SNAPSHOT.archivalDate,
+      Q_SNAPSHOT.availability, Q_SNAPSHOT.storageId, Q_SNAPSHOT.owner);
 }
@@ -193,15 +193,11 @@ public class SnapshotDto {
     return this.assets.remove(asset);
   }
 
+  /**
+   * Convert to a snapshot. The stored media package XML is only parsed when the media package is requested.
+   */
   public Snapshot toSnapshot() {
-    MediaPackage mediaPackage = Conversions.toMediaPackage(mediaPackageXml);
-    // ensure elements are tagged `archive`
-    for (MediaPackageElement element: mediaPackage.getElements()) {
-      if (!Arrays.asList(element.getTags()).contains("archive")) {
-        logger.debug("Adding additional tag `archive` to element {} retrieved from asset manager", element);
-        element.addTag("archive");
-      }
-    }
+    final String xml = mediaPackageXml;
     return new SnapshotImpl(
             id,
             Conversions.toVersion(version),
@@ -210,7 +206,23 @@ public class SnapshotDto {
             Availability.valueOf(availability),
             storageId,
             owner,
-            mediaPackage);
+            seriesId,
+            () -> toMediaPackage(xml));
+  }
+
+  /**
+   * Parse a stored media package and make sure that all of its elements are tagged <code>archive</code>.
+   */
+  public static MediaPackage toMediaPackage(String mediaPackageXml) {
+    MediaPackage mediaPackage = Conversions.toMediaPackage(mediaPackageXml);
+    // ensure elements are tagged `archive`
+    for (MediaPackageElement element: mediaPackage.getElements()) {
+      if (!Arrays.asList(element.getTags()).contains("archive")) {
+        logger.debug("Adding additional tag `archive` to element {} retrieved from asset manager", element);
+        element.addTag("archive");
+      }
+    }
+    return mediaPackage;
   }
 
   /**
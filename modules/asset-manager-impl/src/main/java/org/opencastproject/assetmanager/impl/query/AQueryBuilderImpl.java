@@ -283,6 +283,18 @@ public final class AQueryBuilderImpl implements AQueryBuilder, EntityPaths {
     };
   }
 
+  @Override public Target snapshotMetadata() {
+    return new AbstractTarget() {
+      @Override public SelectQueryContribution contributeSelect(JPAQueryFactory f) {
+        return SelectQueryContribution.mk().from(FROM_SNAPSHOT).fetch($Q_SNAPSHOT_METADATA);
+      }
+
+      @Override public DeleteQueryContribution contributeDelete(String owner) {
+        return snapshot().contributeDelete(owner);
+      }
+    };
+  }
+
   @Override public Target propertiesOf(final String... namespace) {
     return propertyTarget(namespace);
   }
@@ -22,6 +22,7 @@ package org.opencastproject.assetmanager.impl.query;
 
 import static com.entwinemedia.fn.Stream.$;
 
+import org.opencastproject.assetmanager.api.Availability;
 import org.opencastproject.assetmanager.api.Property;
 import org.opencastproject.assetmanager.api.Snapshot;
 import org.opencastproject.assetmanager.api.query.ARecord;
@@ -31,6 +32,9 @@ import org.opencastproject.assetmanager.api.query.Order;
 import org.opencastproject.assetmanager.api.query.Predicate;
 import org.opencastproject.assetmanager.impl.AssetManagerImpl;
 import org.opencastproject.assetmanager.impl.RuntimeTypes;
+import org.opencastproject.assetmanager.impl.SnapshotImpl;
+import org.opencastproject.assetmanager.impl.persistence.Conversions;
+import org.opencastproject.assetmanager.impl.persistence.Database;
 import org.opencastproject.assetmanager.impl.persistence.EntityPaths;
 import org.opencastproject.assetmanager.impl.persistence.PropertyDto;
 import org.opencastproject.assetmanager.impl.persistence.QPropertyDto;
@@ -282,34 +286,6 @@ public abstract class AbstractASelectQuery implements ASelectQuery, SelectQueryC
     );
   }
 
-  /**
-   * Transform a Querydsl result {@link Tuple} into an {@link ARecord}.
-   * To do the transformation I need to know what targets have been selected.
-   */
-  private Fn<Tuple, ARecordImpl> toARecord(final SelectQueryContribution c) {
-    return new Fn<Tuple, ARecordImpl>() {
-      @Override public ARecordImpl apply(Tuple tuple) {
-        final String mediaPackageId;
-        SnapshotDto snapshotDto = null;
-        final long id;
-        // Only fetch the snapshot if it is in the fetch list.
-        if (c.fetch.exists(Booleans.<Expression<?>>eq(Q_SNAPSHOT))) {
-          snapshotDto = RequireUtil.notNull(tuple.get(Q_SNAPSHOT), "[BUG] snapshot table data");
-          id = snapshotDto.getId();
-          mediaPackageId = snapshotDto.getMediaPackageId();
-        } else {
-          // The media package ID and the snapshot's database ID must always be fetched.
-          id = RequireUtil.notNull(tuple.get(Q_SNAPSHOT.id), "[BUG] snapshot table id");
-          mediaPackageId = RequireUtil.notNull(
-              tuple.get(Q_SNAPSHOT.mediaPackageId),
-              "[BUG] snapshot table media package id"
-          );
-        }
-        return new ARecordImpl(id, mediaPackageId, new ArrayList<>(), snapshotDto);
-      }
-    };
-  }
-
   private ARecordImpl toARecord(Tuple tuple, final SelectQueryContribution c) {
     final String mediaPackageId;
     SnapshotDto snapshotDto = null;
@@ -326,10 +302,31 @@ public abstract class AbstractASelectQuery implements ASelectQuery, SelectQueryC
           tuple.get(Q_SNAPSHOT.mediaPackageId),
           "[BUG] snapshot table media package id"
       );
+      if (c.fetch.exists(Booleans.<Expression<?>>eq(Q_SNAPSHOT.archivalDate))) {
+        return new ARecordImpl(id, mediaPackageId, new ArrayList<>(), toSnapshotMetadata(tuple, id));
+      }
     }
     return new ARecordImpl(id, mediaPackageId, new ArrayList<>(), snapshotDto);
   }
 
+  /**
+   * Create a snapshot from the fetched metadata columns, loading the media package on demand.
+   */
+  private Snapshot toSnapshotMetadata(Tuple tuple, final long id) {
+    final Database database = am.getDatabase();
+    return new SnapshotImpl(
+        id,
+        Conversions.toVersion(tuple.get(Q_SNAPSHOT.version)),
+        tuple.get(Q_SNAPSHOT.organizationId),
+        tuple.get(Q_SNAPSHOT.archivalDate),
+        Availability.valueOf(tuple.get(Q_SNAPSHOT.availability)),
+        tuple.get(Q_SNAPSHOT.storageId),
+        tuple.get(Q_SNAPSHOT.owner),
+        tuple.get(Q_SNAPSHOT.seriesId),
+        () -> SnapshotDto.toMediaPackage(database.getMediaPackageXml(id)
+            .orElseThrow(() -> new IllegalStateException("Snapshot " + id + " does not exist anymore"))));
+  }
+
   private static Fn<Tuple, Opt<Property>> toProperty = new Fn<Tuple, Opt<Property>>() {
     @Override public Opt<Property> apply(Tuple tuple) {
       final PropertyDto dto = tuple.get(Q_PROPERTY);
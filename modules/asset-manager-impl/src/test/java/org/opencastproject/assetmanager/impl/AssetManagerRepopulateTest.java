@@ -0,0 +1,102 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.assetmanager.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import org.opencastproject.authorization.xacml.manager.api.AclService;
+import org.opencastproject.authorization.xacml.manager.api.AclServiceFactory;
+import org.opencastproject.elasticsearch.api.SearchIndexException;
+import org.opencastproject.elasticsearch.index.ElasticsearchIndex;
+import org.opencastproject.elasticsearch.index.objects.event.Event;
+import org.opencastproject.elasticsearch.index.rebuild.IndexRebuildService.DataType;
+import org.opencastproject.security.api.DefaultOrganization;
+import org.opencastproject.security.api.Organization;
+import org.opencastproject.security.api.OrganizationDirectoryService;
+import org.opencastproject.security.api.User;
+
+import org.easymock.EasyMock;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tests rebuilding the index from the asset manager.
+ */
+public class AssetManagerRepopulateTest extends AssetManagerTestBase {
+
+  @Test
+  public void testRepopulateIndexesEverySnapshotOnce() throws Exception {
+    final String[] mpIds = createAndAddMediaPackagesSimple(25, 1, 3);
+    final List<String> indexed = Collections.synchronizedList(new ArrayList<>());
+    setUpIndex(indexed);
+
+    // Small pages, so several workers index pages of the same organization concurrently
+    am.setIndexRebuildPaging(4, 3);
+    am.repopulate(DataType.ALL);
+
+    final Map<String, Long> counts = indexed.stream()
+        .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    assertEquals(mpIds.length, indexed.size());
+    assertEquals(Arrays.stream(mpIds).collect(Collectors.toMap(Function.identity(), id -> 1L)), counts);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void setUpIndex(List<String> indexed) throws SearchIndexException {
+    final ElasticsearchIndex index = EasyMock.createNiceMock(ElasticsearchIndex.class);
+    EasyMock.expect(index.getEvents(EasyMock.anyObject(), EasyMock.anyString(), EasyMock.anyObject(User.class)))
+        .andReturn(new HashMap<>()).anyTimes();
+    index.bulkEventUpdate(EasyMock.anyObject());
+    EasyMock.expectLastCall().andAnswer(() -> {
+      // The list is reused by the caller, so only keep the identifiers
+      for (Event event : (List<Event>) EasyMock.getCurrentArguments()[0]) {
+        indexed.add(event.getIdentifier());
+      }
+      return null;
+    }).anyTimes();
+    EasyMock.replay(index);
+
+    final Organization org = new DefaultOrganization();
+    final OrganizationDirectoryService orgDir = EasyMock.createNiceMock(OrganizationDirectoryService.class);
+    EasyMock.expect(orgDir.getOrganizations()).andReturn(List.of(org)).anyTimes();
+    EasyMock.replay(orgDir);
+
+    final AclService aclService = EasyMock.createNiceMock(AclService.class);
+    EasyMock.expect(aclService.getAcls()).andReturn(List.of()).anyTimes();
+    EasyMock.replay(aclService);
+    final AclServiceFactory aclServiceFactory = EasyMock.createNiceMock(AclServiceFactory.class);
+    EasyMock.expect(aclServiceFactory.serviceFor(EasyMock.anyObject())).andReturn(aclService).anyTimes();
+    EasyMock.replay(aclServiceFactory);
+
+    am.setIndex(index);
+    am.setOrgDir(orgDir);
+    am.setAclServiceFactory(aclServiceFactory);
+  }
+
+}
@@ -123,6 +123,25 @@ public class AssetManagerSelectTest extends AssetManagerTestBase {
     }
   }
 
+  @Test
+  public void testSelectSnapshotMetadata() throws Exception {
+    final MediaPackage mp = mkMediaPackage(mkCatalog());
+    mp.setSeries("series");
+    final Snapshot snapshot = am.takeSnapshot(OWNER, mp);
+    final AResult r = q.select(q.snapshotMetadata()).where(q.mediaPackageId(mp.getIdentifier().toString())).run();
+    assertEquals("The result set should contain exactly one record", 1, r.getSize());
+    final Snapshot metadata = r.getRecords().stream().findFirst().get().getSnapshot().get();
+    assertEquals("The versions should be equal", snapshot.getVersion(), metadata.getVersion());
+    assertEquals("The archival dates should be equal", snapshot.getArchivalDate(), metadata.getArchivalDate());
+    assertEquals("The series should be available without the media package", "series", metadata.getSeriesId());
+    assertEquals("The owners should be equal", OWNER, metadata.getOwner());
+    assertFalse("The media package should not be loaded yet", ((SnapshotImpl) metadata).isMediaPackageLoaded());
+    assertEquals("The media package should be loaded on request", mp.getIdentifier(),
+            metadata.getMediaPackage().getIdentifier());
+    assertEquals("The media package should keep its elements", 1, metadata.getMediaPackage().getCatalogs().length);
+    assertTrue("The media package should be loaded", ((SnapshotImpl) metadata).isMediaPackageLoaded());
+  }
+
   @Test
   public void testSelectSnapshotByProperty() throws Exception {
     final String[] mp = createAndAddMediaPackagesSimple(3, 1, 1);
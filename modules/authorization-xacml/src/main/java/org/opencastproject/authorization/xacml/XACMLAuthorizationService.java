@@ -39,14 +39,21 @@ import org.opencastproject.security.api.AuthorizationService;
 import org.opencastproject.security.api.Role;
 import org.opencastproject.security.api.SecurityService;
 import org.opencastproject.security.api.User;
+import org.opencastproject.util.Checksum;
+import org.opencastproject.util.ChecksumType;
 import org.opencastproject.util.MimeTypes;
 import org.opencastproject.util.NotFoundException;
 import org.opencastproject.util.data.Tuple;
+import org.opencastproject.util.metrics.Metrics;
 import org.opencastproject.workspace.api.Workspace;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -64,6 +71,8 @@ import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.xml.bind.JAXBException;
 
@@ -95,6 +104,28 @@ public class XACMLAuthorizationService implements AuthorizationService {
 
   private static final String CONFIG_MERGE_MODE = "merge.mode";
   private static final String CONFIG_EPISODE_ID_ROLE = "org.opencastproject.episode.id.role.access";
+  private static final String CONFIG_CACHE_SIZE = "cache.size";
+
+  /** Default number of parsed ACLs to keep in memory */
+  private static final long DEFAULT_CACHE_SIZE = 10000;
+
+  private static final Metrics.Counter cacheRequests = Metrics.counter("opencast_xacml_cache_requests_total",
+      "Lookups of parsed XACML policies", "result");
+  private static final Metrics.Counter cacheEvictions = Metrics.counter("opencast_xacml_cache_evictions_total",
+      "Parsed XACML policies evicted from the cache");
+
+  /** Parsed ACLs by attachment URI and checksum */
+  private volatile Cache<Tuple<URI, Checksum>, AccessControlList> aclCache = newAclCache(DEFAULT_CACHE_SIZE);
+
+  /**
+   * Role names of recently seen users. Users are compared by identity since their roles do not change once they are
+   * created. This mainly helps tasks running as an explicitly set user, which the security service returns as the same
+   * instance for every permission check.
+   */
+  private final Cache<User, Set<String>> userRoleNames = CacheBuilder.newBuilder()
+      .weakKeys()
+      .maximumSize(1000)
+      .build();
 
   /** Definition of how merging of series and episode ACLs work */
   private static MergeMode mergeMode = MergeMode.OVERRIDE;
@@ -114,6 +145,7 @@ public class XACMLAuthorizationService implements AuthorizationService {
       logger.debug("Merge mode set to {}", mergeMode);
       episodeIdRole = false;
       logger.debug("Using episode ID roles is deactivated");
+      aclCache = newAclCache(DEFAULT_CACHE_SIZE);
       return;
     }
     final String mode = StringUtils.defaultIfBlank((String) properties.get(CONFIG_MERGE_MODE),
@@ -129,6 +161,22 @@ public class XACMLAuthorizationService implements AuthorizationService {
     episodeIdRole = BooleanUtils.toBoolean(Objects.toString(
         cc.getBundleContext().getProperty(CONFIG_EPISODE_ID_ROLE), "false"));
     logger.debug("Usage of episode ID roles is set to {}", episodeIdRole);
+
+    final long cacheSize = NumberUtils.toLong(Objects.toString(properties.get(CONFIG_CACHE_SIZE), null),
+        DEFAULT_CACHE_SIZE);
+    aclCache = newAclCache(cacheSize);
+    logger.debug("Caching up to {} parsed XACML policies", cacheSize);
+  }
+
+  private static Cache<Tuple<URI, Checksum>, AccessControlList> newAclCache(long size) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(size)
+        .removalListener(notification -> {
+          if (notification.wasEvicted()) {
+            cacheEvictions.inc(1);
+          }
+        })
+        .build();
   }
 
   @Reference(
@@ -205,7 +253,7 @@ public class XACMLAuthorizationService implements AuthorizationService {
       } catch (URISyntaxException e) {
         logger.warn("URI {} syntax error, skip decoding", uri);
       }
-      acl = loadAcl(uri);
+      acl = loadAcl(uri, xacml.getChecksum());
     }
     return acl;
   }
@@ -230,8 +278,12 @@ public class XACMLAuthorizationService implements AuthorizationService {
     // add attachment
     final String elementId = toElementId(scope);
     URI uri;
+    Checksum checksum;
     try (InputStream in = IOUtils.toInputStream(xacmlContent, "UTF-8")) {
       uri = workspace.put(mp.getIdentifier().toString(), elementId, XACML_FILENAME, in);
+      // The file is usually stored under the same URI as its predecessor. Hence, we need a valid checksum to
+      // distinguish both versions when caching the parsed ACL.
+      checksum = Checksum.create(ChecksumType.DEFAULT_TYPE, IOUtils.toInputStream(xacmlContent, "UTF-8"));
     } catch (IOException e) {
       throw new MediaPackageException("Error storing xacml for media package " + mp.getIdentifier());
     }
@@ -243,8 +295,7 @@ public class XACMLAuthorizationService implements AuthorizationService {
     attachment.setURI(uri);
     attachment.setIdentifier(elementId);
     attachment.setMimeType(MimeTypes.XML);
-    // setting the URI to a new source so the checksum will most like be invalid
-    attachment.setChecksum(null);
+    attachment.setChecksum(checksum);
     mp.add(attachment);
 
     logger.debug("Saved XACML as {}", uri);
@@ -302,6 +353,37 @@ public class XACMLAuthorizationService implements AuthorizationService {
     return Tuple.tuple(mp, attachment);
   }
 
+  /**
+   * Load an ACL from the given URI. If the checksum of the file is known, the parsed ACL is cached.
+   *
+   * @param uri
+   *          the location of the XACML file
+   * @param checksum
+   *          the checksum of the XACML file or <code>null</code> if unknown
+   * @return the ACL or nothing if it could not be loaded
+   */
+  private Optional<AccessControlList> loadAcl(final URI uri, final Checksum checksum) {
+    if (checksum == null) {
+      cacheRequests.inc(1, "uncacheable");
+      return loadAcl(uri);
+    }
+    final Tuple<URI, Checksum> key = tuple(uri, checksum);
+    AccessControlList acl = aclCache.getIfPresent(key);
+    if (acl != null) {
+      cacheRequests.inc(1, "hit");
+    } else {
+      cacheRequests.inc(1, "miss");
+      final Optional<AccessControlList> loaded = loadAcl(uri);
+      if (loaded.isEmpty()) {
+        return loaded;
+      }
+      acl = loaded.get();
+      aclCache.put(key, acl);
+    }
+    // Merging ACLs modifies them, so never hand out the cached instance
+    return Optional.of(new AccessControlList(acl.getEntries()));
+  }
+
   /** Load an ACL from the given URI. */
   private Optional<AccessControlList> loadAcl(final URI uri) {
     logger.debug("Load Acl from {}", uri);
@@ -326,7 +408,7 @@ public class XACMLAuthorizationService implements AuthorizationService {
     if (episodeIdRole) {
       var episodeRole = getEpisodeRoleId(mp.getIdentifier().toString(), action);
       logger.debug("Checking for role: {}", episodeRole);
-      allowed = user.getRoles().stream().map(Role::getName).anyMatch(r -> r.equals(episodeRole));
+      allowed = getRoleNames(user).contains(episodeRole);
     }
 
     return allowed || hasPermission(acl, action);
@@ -334,31 +416,44 @@ public class XACMLAuthorizationService implements AuthorizationService {
 
   @Override
   public boolean hasPermission(AccessControlList acl, final String action) {
-    final User user = securityService.getUser();
+    final Set<String> roles = getRoleNames(securityService.getUser());
     var allowed = false;
 
     // Check ACL
     for (AccessControlEntry entry: acl.getEntries()) {
-      // ignore entries for other actions
-      if (!entry.getAction().equals(action)) {
+      // ignore entries for other actions or roles the user does not have
+      if (!entry.getAction().equals(action) || !roles.contains(entry.getRole())) {
         continue;
       }
-      for (Role role : user.getRoles()) {
-        if (entry.getRole().equals(role.getName())) {
-          // immediately abort on matching deny rules
-          // (never allow if a deny rule matches, even if another allow rule matches)
-          if (!entry.isAllow()) {
-            logger.debug("Access explicitly denied for role({}), action({})", role.getName(), action);
-            return false;
-          }
-          allowed = true;
-        }
+      // immediately abort on matching deny rules
+      // (never allow if a deny rule matches, even if another allow rule matches)
+      if (!entry.isAllow()) {
+        logger.debug("Access explicitly denied for role({}), action({})", entry.getRole(), action);
+        return false;
       }
+      allowed = true;
     }
     logger.debug("XACML file allowed access");
     return allowed;
   }
 
+  /**
+   * Get the names of the roles of a user. Users may have hundreds of roles and {@link User#getRoles()} usually copies
+   * them. Hence, the names are cached for each user instance.
+   *
+   * @param user
+   *          the user
+   * @return the names of the user's roles
+   */
+  private Set<String> getRoleNames(User user) {
+    Set<String> roleNames = userRoleNames.getIfPresent(user);
+    if (roleNames == null) {
+      roleNames = user.getRoles().stream().map(Role::getName).collect(Collectors.toSet());
+      userRoleNames.put(user, roleNames);
+    }
+    return roleNames;
+  }
+
   /**
    * Sets the workspace to use for retrieving XACML policies
    *
@@ -50,6 +50,7 @@ import java.net.URI;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import de.schlichtherle.io.FileOutputStream;
 
@@ -72,6 +73,9 @@ public class XACMLSecurityTest {
 
   protected XACMLAuthorizationService authzService = null;
 
+  /** Number of XACML files read from the workspace */
+  protected final AtomicInteger workspaceReads = new AtomicInteger();
+
   @Rule
   public TemporaryFolder testFolder = new TemporaryFolder();
 
@@ -110,8 +114,10 @@ public class XACMLSecurityTest {
               FileUtils.copyFile(new File(uri.getValue()), dest);
               return dest;
             }).anyTimes();
-    EasyMock.expect(workspace.read(EasyMock.capture(uri))).andAnswer(
-            () -> new FileInputStream(uri.getValue().getPath())).anyTimes();
+    EasyMock.expect(workspace.read(EasyMock.capture(uri))).andAnswer(() -> {
+      workspaceReads.incrementAndGet();
+      return new FileInputStream(uri.getValue().getPath());
+    }).anyTimes();
     workspace.delete(EasyMock.anyObject(URI.class));
     EasyMock.expectLastCall().anyTimes();
     EasyMock.replay(securityService, workspace);
@@ -201,4 +207,54 @@ public class XACMLSecurityTest {
     Assert.assertTrue(authzService.hasPermission(mediapackage, "read"));
     Assert.assertFalse(authzService.hasPermission(mediapackage, "comment"));
   }
+
+  @Test
+  public void testAclCache() throws Exception {
+    MediaPackage mediapackage = MediaPackageBuilderFactory.newInstance().newMediaPackageBuilder().createNew();
+    AccessControlList seriesAcl = new AccessControlList(
+        new AccessControlEntry("student", "read", true),
+        new AccessControlEntry("admin", "write", true));
+    AccessControlList episodeAcl = new AccessControlList(
+        new AccessControlEntry("student", "write", true));
+    authzService.setAcl(mediapackage, AclScope.Series, seriesAcl);
+    authzService.setAcl(mediapackage, AclScope.Episode, episodeAcl);
+
+    currentRoles.clear();
+    currentRoles.add(new JaxbRole("student", organization));
+    for (int i = 0; i < 3; i++) {
+      Assert.assertTrue(authzService.hasPermission(mediapackage, "write"));
+      Assert.assertFalse(authzService.hasPermission(mediapackage, "read"));
+    }
+    // Both policies are parsed only once
+    Assert.assertEquals(2, workspaceReads.get());
+
+    // Merging must not modify the cached ACLs
+    Assert.assertEquals(2, authzService.getAcl(mediapackage, AclScope.Series).getA().getEntries().size());
+
+    // Updated policies are loaded again
+    authzService.setAcl(mediapackage, AclScope.Episode, seriesAcl);
+    Assert.assertFalse(authzService.hasPermission(mediapackage, "write"));
+    Assert.assertEquals(3, workspaceReads.get());
+  }
+
+  @Test
+  public void testHasPermissionWithManyRoles() {
+    AccessControlList acl = new AccessControlList(
+        new AccessControlEntry("ROLE_COURSE_42", "read", true),
+        new AccessControlEntry("ROLE_COURSE_42", "write", true),
+        new AccessControlEntry("ROLE_BANNED", "write", false));
+
+    currentRoles.clear();
+    for (int i = 0; i < 500; i++) {
+      currentRoles.add(new JaxbRole("ROLE_COURSE_" + i, organization));
+    }
+    Assert.assertTrue(authzService.hasPermission(acl, "read"));
+    Assert.assertTrue(authzService.hasPermission(acl, "write"));
+    Assert.assertFalse(authzService.hasPermission(acl, "delete"));
+
+    // Deny rules take precedence
+    currentRoles.add(new JaxbRole("ROLE_BANNED", organization));
+    Assert.assertTrue(authzService.hasPermission(acl, "read"));
+    Assert.assertFalse(authzService.hasPermission(acl, "write"));
+  }
 }
@@ -25,6 +25,8 @@ import org.opencastproject.job.api.Job;
 import org.opencastproject.mediapackage.MediaPackageElement;
 import org.opencastproject.mediapackage.MediaPackageException;
 
+import java.util.List;
+
 /**
  * Provides captioning support. This service makes use of {@link CaptionConverter} instances that need to be registered
  * in the OSGi registry.
@@ -75,6 +77,29 @@ public interface CaptionService {
   Job convert(MediaPackageElement input, String inputFormat, String outputFormat, String language)
           throws UnsupportedCaptionFormatException, CaptionConverterException, MediaPackageException;
 
+  /**
+   * Converts captions to several formats in one job. The captions are parsed once and written in each of the output
+   * formats, which is cheaper than converting them to each format separately.
+   *
+   * @param input
+   *          MediaPackageElement containing captions
+   * @param inputFormat
+   *          format of imported captions
+   * @param outputFormats
+   *          formats of exported captions, each format may only be given once
+   * @param language
+   *          (optional) language of captions
+   * @return the conversion job, its payload is the list of converted elements in the order of the output formats
+   * @throws UnsupportedCaptionFormatException
+   *           if there is no matching engine registered for given input or output
+   * @throws CaptionConverterException
+   *           if exception occurs while converting
+   * @throws MediaPackageException
+   *           if the catalog is invalid
+   */
+  Job convertToFormats(MediaPackageElement input, String inputFormat, List<String> outputFormats, String language)
+          throws UnsupportedCaptionFormatException, CaptionConverterException, MediaPackageException;
+
   /**
    * Returns list of languages available in captions (if such information is stored).
    *
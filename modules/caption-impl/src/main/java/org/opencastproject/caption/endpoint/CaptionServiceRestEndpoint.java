@@ -50,6 +50,9 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.FormParam;
@@ -190,6 +193,62 @@ public class CaptionServiceRestEndpoint extends AbstractJobProducerEndpoint {
     }
   }
 
+  /**
+   * Convert captions in catalog to several formats in one job.
+   *
+   * @param inputType
+   *          input format
+   * @param outputTypes
+   *          comma separated output formats
+   * @param catalogAsXml
+   *          catalog containing captions
+   * @param lang
+   *          caption language
+   * @return a Response containing receipt of for conversion
+   */
+  @POST
+  @Path("convert/formats")
+  @Produces(MediaType.TEXT_XML)
+  @RestQuery(name = "convertToFormats", description = "Convert captions to several formats, parsing them only once.",
+      restParameters = {
+          @RestParameter(description = "Captions to be converted.", isRequired = true, name = "captions",
+              type = RestParameter.Type.TEXT),
+          @RestParameter(description = "Caption input format (for example: dfxp, subrip,...).", isRequired = false,
+              defaultValue = "dfxp", name = "input", type = RestParameter.Type.STRING),
+          @RestParameter(description = "Comma separated caption output formats (for example: subrip,vtt).",
+              isRequired = true, name = "output", type = RestParameter.Type.STRING),
+          @RestParameter(description = "Caption language (for those formats that store such information).",
+              isRequired = false, name = "language", type = RestParameter.Type.STRING) },
+      responses = {
+          @RestResponse(description = "OK, conversion job created.", responseCode = HttpServletResponse.SC_OK),
+          @RestResponse(description = "The captions or output formats are invalid.",
+              responseCode = HttpServletResponse.SC_BAD_REQUEST) },
+      returnDescription = "The conversion job, its payload lists the converted captions in the order of the formats")
+  public Response convertToFormats(@FormParam("input") String inputType, @FormParam("output") String outputTypes,
+          @FormParam("captions") String catalogAsXml, @FormParam("language") String lang) {
+    MediaPackageElement element;
+    try {
+      element = MediaPackageElementParser.getFromXml(catalogAsXml);
+      if (!Catalog.TYPE.equals(element.getElementType()))
+        return Response.status(Response.Status.BAD_REQUEST).entity("Captions must be of type catalog.").build();
+    } catch (Exception e) {
+      logger.info("Unable to parse serialized captions");
+      return Response.status(Response.Status.BAD_REQUEST).build();
+    }
+
+    List<String> outputs = Arrays.asList(StringUtils.split(StringUtils.defaultString(outputTypes), ','));
+    try {
+      Job job = service.convertToFormats(element, StringUtils.defaultIfBlank(inputType, "dfxp"),
+          outputs.stream().map(String::trim).collect(Collectors.toList()), StringUtils.trimToNull(lang));
+      return Response.ok().entity(new JaxbJob(job)).build();
+    } catch (IllegalArgumentException e) {
+      return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+    } catch (Exception e) {
+      logger.error("Unable to convert captions: {}", e.getMessage());
+      return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+    }
+  }
+
   /**
    * Parses captions in catalog for language information.
    *
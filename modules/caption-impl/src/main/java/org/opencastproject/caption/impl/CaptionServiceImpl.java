@@ -46,6 +46,7 @@ import org.opencastproject.util.LoadUtil;
 import org.opencastproject.util.NotFoundException;
 import org.opencastproject.workspace.api.Workspace;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -60,16 +61,22 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Dictionary;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 
 import javax.activation.FileTypeMap;
@@ -102,7 +109,7 @@ public class CaptionServiceImpl extends AbstractJobProducer implements CaptionSe
 
   /** List of available operations on jobs */
   private enum Operation {
-    Convert, ConvertWithLanguage
+    Convert, ConvertWithLanguage, ConvertToFormats
   };
 
   /** The collection name */
@@ -201,6 +208,34 @@ public class CaptionServiceImpl extends AbstractJobProducer implements CaptionSe
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.opencastproject.caption.api.CaptionService#convertToFormats(MediaPackageElement, String, List, String)
+   */
+  @Override
+  public Job convertToFormats(MediaPackageElement input, String inputFormat, List<String> outputFormats,
+          String language) throws UnsupportedCaptionFormatException, CaptionConverterException, MediaPackageException {
+
+    if (input == null)
+      throw new IllegalArgumentException("Input catalog can't be null");
+    if (StringUtils.isBlank(inputFormat))
+      throw new IllegalArgumentException("Input format is null");
+    checkOutputFormats(outputFormats);
+
+    // The language goes before the output formats, an empty one stands for none
+    List<String> arguments = new ArrayList<>(outputFormats.size() + 3);
+    arguments.add(MediaPackageElementParser.getAsXml(input));
+    arguments.add(inputFormat);
+    arguments.add(StringUtils.defaultString(language));
+    arguments.addAll(outputFormats);
+    try {
+      return serviceRegistry.createJob(JOB_TYPE, Operation.ConvertToFormats.toString(), arguments, captionJobLoad);
+    } catch (ServiceRegistryException e) {
+      throw new CaptionConverterException("Unable to create a job", e);
+    }
+  }
+
   /**
    * Converts the captions and returns them in a new catalog.
    *
@@ -209,6 +244,17 @@ public class CaptionServiceImpl extends AbstractJobProducer implements CaptionSe
   protected MediaPackageElement convert(Job job, MediaPackageElement input, String inputFormat, String outputFormat,
           String language)
           throws UnsupportedCaptionFormatException, CaptionConverterException, MediaPackageException {
+    return convert(job, input, inputFormat, Collections.singletonList(outputFormat), language).get(0);
+  }
+
+  /**
+   * Parses the captions once and returns them in a new catalog for each of the output formats.
+   *
+   * @return the converted catalogs in the order of the output formats
+   */
+  protected List<MediaPackageElement> convert(Job job, MediaPackageElement input, String inputFormat,
+          List<String> outputFormats, String language)
+          throws UnsupportedCaptionFormatException, CaptionConverterException, MediaPackageException {
     try {
 
       // check parameters
@@ -216,8 +262,18 @@ public class CaptionServiceImpl extends AbstractJobProducer implements CaptionSe
         throw new IllegalArgumentException("Input element can't be null");
       if (StringUtils.isBlank(inputFormat))
         throw new IllegalArgumentException("Input format is null");
-      if (StringUtils.isBlank(outputFormat))
-        throw new IllegalArgumentException("Output format is null");
+      checkOutputFormats(outputFormats);
+
+      // Fail before parsing if any of the output formats is not supported
+      List<CaptionConverter> outputConverters = new ArrayList<>(outputFormats.size());
+      for (String outputFormat : outputFormats) {
+        CaptionConverter converter = getCaptionConverter(outputFormat);
+        if (converter == null) {
+          logger.error("No available caption format found for {}.", outputFormat);
+          throw new UnsupportedCaptionFormatException(outputFormat);
+        }
+        outputConverters.add(converter);
+      }
 
       // get input file
       File captionsFile;
@@ -229,7 +285,7 @@ public class CaptionServiceImpl extends AbstractJobProducer implements CaptionSe
         throw new CaptionConverterException("Requested media package element " + input + "could not be accessed.");
       }
 
-      logger.debug("Atempting to convert from {} to {}...", inputFormat, outputFormat);
+      logger.debug("Atempting to convert from {} to {}...", inputFormat, outputFormats);
 
       List<Caption> collection = null;
       try {
@@ -241,33 +297,37 @@ public class CaptionServiceImpl extends AbstractJobProducer implements CaptionSe
         throw e;
       }
 
-      URI exported;
-      try {
-        exported = exportCaptions(collection,
-                job.getId() + "." + FilenameUtils.getExtension(captionsFile.getAbsolutePath()), outputFormat, language);
-        logger.debug("Exporting captions succeeding.");
-      } catch (UnsupportedCaptionFormatException e) {
-        throw new UnsupportedCaptionFormatException(outputFormat);
-      } catch (IOException e) {
-        throw new CaptionConverterException("Could not export caption collection.", e);
-      }
+      String outputName = job.getId() + "." + FilenameUtils.getExtension(captionsFile.getAbsolutePath());
+      List<MediaPackageElement> elements = new ArrayList<>(outputFormats.size());
+      for (int i = 0; i < outputFormats.size(); i++) {
+        String outputFormat = outputFormats.get(i);
+        CaptionConverter converter = outputConverters.get(i);
+        URI exported;
+        try {
+          exported = exportCaptions(collection, outputName, converter, language);
+          logger.debug("Exporting captions to {} succeeded.", outputFormat);
+        } catch (IOException e) {
+          throw new CaptionConverterException("Could not export caption collection.", e);
+        }
 
-      // create catalog and set properties
-      CaptionConverter converter = getCaptionConverter(outputFormat);
-      MediaPackageElementBuilder elementBuilder = MediaPackageElementBuilderFactory.newInstance().newElementBuilder();
-      MediaPackageElement mpe = elementBuilder.elementFromURI(exported, converter.getElementType(),
-              new MediaPackageElementFlavor(
-                      "captions", outputFormat + (language == null ? "" : "+" + language)));
-      if (mpe.getMimeType() == null) {
-        String[] mimetype = FileTypeMap.getDefaultFileTypeMap().getContentType(exported.getPath()).split("/");
-        mpe.setMimeType(mimeType(mimetype[0], mimetype[1]));
-      }
-     // Don't need to add language tag if it doesn't exist or used for different purpose
-      if (language != null && !isNumeric(language)) {
-        mpe.addTag("lang:" + language);
+        // create catalog and set properties
+        MediaPackageElementBuilder elementBuilder = MediaPackageElementBuilderFactory.newInstance()
+                .newElementBuilder();
+        MediaPackageElement mpe = elementBuilder.elementFromURI(exported, converter.getElementType(),
+                new MediaPackageElementFlavor(
+                        "captions", outputFormat + (language == null ? "" : "+" + language)));
+        if (mpe.getMimeType() == null) {
+          String[] mimetype = FileTypeMap.getDefaultFileTypeMap().getContentType(exported.getPath()).split("/");
+          mpe.setMimeType(mimeType(mimetype[0], mimetype[1]));
+        }
+        // Don't need to add language tag if it doesn't exist or used for different purpose
+        if (language != null && !isNumeric(language)) {
+          mpe.addTag("lang:" + language);
+        }
+        elements.add(mpe);
       }
 
-      return mpe;
+      return elements;
 
     } catch (Exception e) {
       logger.warn("Error converting captions in " + input, e);
@@ -414,40 +474,43 @@ public class CaptionServiceImpl extends AbstractJobProducer implements CaptionSe
   }
 
   /**
-   * Exports captions {@link List} to specified format. Extension is added to exported file name. Throws
-   * {@link UnsupportedCaptionFormatException} if format is not supported.
+   * Exports captions {@link List} to specified format. Extension is added to exported file name.
    *
    * @param captions
    *          {@link {@link List} to be exported
    * @param outputName
    *          name under which exported captions will be stored
-   * @param outputFormat
-   *          format of exported collection
+   * @param converter
+   *          converter of the output format
    * @param language
    *          (optional) captions' language
-   * @throws UnsupportedCaptionFormatException
-   *           if there is no registered engine for given format
    * @return location of converted captions
    * @throws IOException
-   *           if exception occurs while writing to output stream
+   *           if exception occurs while writing the captions
    */
-  private URI exportCaptions(List<Caption> captions, String outputName, String outputFormat, String language)
-          throws UnsupportedCaptionFormatException, IOException {
-    CaptionConverter converter = getCaptionConverter(outputFormat);
-    if (converter == null) {
-      logger.error("No available caption format found for {}.", outputFormat);
-      throw new UnsupportedCaptionFormatException(outputFormat);
-    }
-
-    // TODO instead of first writing it all in memory, write it directly to disk
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+  private URI exportCaptions(List<Caption> captions, String outputName, CaptionConverter converter, String language)
+          throws IOException {
+    // Buffer the output on disk instead of in a byte array. This only saves the copy of the serialized output: the
+    // captions are in memory already, and the DFXP and MPEG-7 converters build the whole document before writing it.
+    File exported = Files.createTempFile("captions", "." + converter.getExtension()).toFile();
     try {
-      converter.exportCaption(outputStream, captions, language);
-    } catch (IOException e) {
-      // since we're writing to memory, this should not happen
+      try (OutputStream out = new BufferedOutputStream(new FileOutputStream(exported))) {
+        converter.exportCaption(out, captions, language);
+      }
+      try (InputStream in = new FileInputStream(exported)) {
+        return workspace.putInCollection(COLLECTION, outputName + "." + converter.getExtension(), in);
+      }
+    } finally {
+      FileUtils.deleteQuietly(exported);
     }
-    ByteArrayInputStream in = new ByteArrayInputStream(outputStream.toByteArray());
-    return workspace.putInCollection(COLLECTION, outputName + "." + converter.getExtension(), in);
+  }
+
+  /** Checks that output formats are given, and none of them twice as the outputs would overwrite each other. */
+  private static void checkOutputFormats(List<String> outputFormats) {
+    if (outputFormats == null || outputFormats.isEmpty() || outputFormats.stream().anyMatch(StringUtils::isBlank))
+      throw new IllegalArgumentException("Output format is null");
+    if (new HashSet<>(outputFormats).size() < outputFormats.size())
+      throw new IllegalArgumentException("Output formats must not be given more than once: " + outputFormats);
   }
 
   private boolean isNumeric(String str) {
@@ -473,18 +536,21 @@ public class CaptionServiceImpl extends AbstractJobProducer implements CaptionSe
 
       MediaPackageElement catalog = MediaPackageElementParser.getFromXml(arguments.get(0));
       String inputFormat = arguments.get(1);
-      String outputFormat = arguments.get(2);
 
       MediaPackageElement resultingCatalog = null;
 
       switch (op) {
         case Convert:
-          resultingCatalog = convert(job, catalog, inputFormat, outputFormat, null);
+          resultingCatalog = convert(job, catalog, inputFormat, arguments.get(2), null);
           return MediaPackageElementParser.getAsXml(resultingCatalog);
         case ConvertWithLanguage:
           String language = arguments.get(3);
-          resultingCatalog = convert(job, catalog, inputFormat, outputFormat, language);
+          resultingCatalog = convert(job, catalog, inputFormat, arguments.get(2), language);
           return MediaPackageElementParser.getAsXml(resultingCatalog);
+        case ConvertToFormats:
+          List<MediaPackageElement> resultingCatalogs = convert(job, catalog, inputFormat,
+                  arguments.subList(3, arguments.size()), StringUtils.trimToNull(arguments.get(2)));
+          return MediaPackageElementParser.getArrayAsXml(resultingCatalogs);
         default:
           throw new IllegalStateException("Don't know how to handle operation '" + operation + "'");
       }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+
+package org.opencastproject.caption.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.opencastproject.caption.api.CaptionConverter;
+import org.opencastproject.caption.api.CaptionConverterException;
+import org.opencastproject.caption.api.UnsupportedCaptionFormatException;
+import org.opencastproject.caption.converters.DFXPCaptionConverter;
+import org.opencastproject.caption.converters.SubRipCaptionConverter;
+import org.opencastproject.caption.converters.WebVttCaptionConverter;
+import org.opencastproject.job.api.Job;
+import org.opencastproject.mediapackage.Catalog;
+import org.opencastproject.mediapackage.MediaPackageElement;
+import org.opencastproject.mediapackage.MediaPackageElementBuilderFactory;
+import org.opencastproject.mediapackage.MediaPackageElementFlavor;
+import org.opencastproject.workspace.api.Workspace;
+
+import org.apache.commons.io.IOUtils;
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CaptionServiceImplTest {
+
+  private final Map<String, String> stored = new HashMap<>();
+  private CaptionServiceImpl service;
+  private MediaPackageElement input;
+  private Job job;
+
+  @Before
+  public void setUp() throws Exception {
+    final Map<String, CaptionConverter> converters = new HashMap<>();
+    converters.put("subrip", new SubRipCaptionConverter());
+    converters.put("vtt", new WebVttCaptionConverter());
+    converters.put("dfxp", new DFXPCaptionConverter());
+    service = new CaptionServiceImpl() {
+      @Override
+      protected CaptionConverter getCaptionConverter(String formatName) {
+        return converters.get(formatName);
+      }
+    };
+
+    final URI inputUri = getClass().getResource("/sample.srt").toURI();
+    input = MediaPackageElementBuilderFactory.newInstance().newElementBuilder()
+        .elementFromURI(inputUri, Catalog.TYPE, new MediaPackageElementFlavor("captions", "subrip"));
+
+    final Capture<String> fileName = Capture.newInstance();
+    final Capture<InputStream> content = Capture.newInstance();
+    final Workspace workspace = EasyMock.createMock(Workspace.class);
+    EasyMock.expect(workspace.get(inputUri)).andReturn(new File(inputUri)).once();
+    EasyMock.expect(workspace.putInCollection(EasyMock.eq(CaptionServiceImpl.COLLECTION), EasyMock.capture(fileName),
+        EasyMock.capture(content))).andAnswer(() -> {
+          stored.put(fileName.getValue(), IOUtils.toString(content.getValue(), StandardCharsets.UTF_8));
+          return new URI("http://localhost/captions/" + fileName.getValue());
+        }).anyTimes();
+    EasyMock.replay(workspace);
+    service.setWorkspace(workspace);
+
+    job = EasyMock.createNiceMock(Job.class);
+    EasyMock.expect(job.getId()).andReturn(1L).anyTimes();
+    EasyMock.replay(job);
+  }
+
+  @Test
+  public void testConvertToFormats() throws Exception {
+    List<MediaPackageElement> converted = service.convert(job, input, "subrip", Arrays.asList("vtt", "dfxp"), "en");
+
+    assertEquals(2, converted.size());
+    assertEquals(new MediaPackageElementFlavor("captions", "vtt+en"), converted.get(0).getFlavor());
+    assertEquals(new MediaPackageElementFlavor("captions", "dfxp+en"), converted.get(1).getFlavor());
+    assertTrue(Arrays.asList(converted.get(0).getTags()).contains("lang:en"));
+
+    assertEquals(2, stored.size());
+    String vtt = stored.get("1.srt.vtt");
+    assertTrue(vtt.startsWith("WEBVTT"));
+    assertTrue(vtt.contains("00:00:49.520 --> 00:00:52.961"));
+    assertTrue(stored.get("1.srt.dfxp.xml").contains("Only one line this time."));
+  }
+
+  @Test
+  public void testUnsupportedOutputFormatFailsBeforeParsing() throws Exception {
+    try {
+      service.convert(job, input, "subrip", Arrays.asList("vtt", "unknown"), null);
+      fail("Conversion to an unknown format must fail");
+    } catch (UnsupportedCaptionFormatException e) {
+      assertEquals(0, stored.size());
+    }
+  }
+
+  @Test(expected = CaptionConverterException.class)
+  public void testDuplicateOutputFormats() throws Exception {
+    service.convert(job, input, "subrip", Arrays.asList("vtt", "vtt"), null);
+  }
+
+}
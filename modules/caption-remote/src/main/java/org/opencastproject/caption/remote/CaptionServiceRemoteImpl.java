@@ -116,6 +116,42 @@ public class CaptionServiceRemoteImpl extends RemoteBase implements CaptionServi
     throw new CaptionConverterException("Unable to convert catalog " + input + " using a remote caption service");
   }
 
+  /**
+   * @see org.opencastproject.caption.api.CaptionService#convertToFormats(MediaPackageElement, String, List, String)
+   */
+  @Override
+  public Job convertToFormats(MediaPackageElement input, String inputFormat, List<String> outputFormats,
+          String language) throws UnsupportedCaptionFormatException, CaptionConverterException, MediaPackageException {
+    HttpPost post = new HttpPost("/convert/formats");
+    try {
+      List<BasicNameValuePair> params = new ArrayList<BasicNameValuePair>();
+      params.add(new BasicNameValuePair("captions", MediaPackageElementParser.getAsXml(input)));
+      params.add(new BasicNameValuePair("input", inputFormat));
+      params.add(new BasicNameValuePair("output", StringUtils.join(outputFormats, ',')));
+      if (StringUtils.isNotBlank(language)) {
+        params.add(new BasicNameValuePair("language", language));
+      }
+      post.setEntity(new UrlEncodedFormEntity(params, "UTF-8"));
+    } catch (Exception e) {
+      throw new CaptionConverterException(e);
+    }
+    HttpResponse response = null;
+    try {
+      response = getResponse(post);
+      if (response != null) {
+        String content = EntityUtils.toString(response.getEntity());
+        Job r = JobParser.parseJob(content);
+        logger.info("Converting job {} to {} started on a remote caption service", r.getId(), outputFormats);
+        return r;
+      }
+    } catch (Exception e) {
+      throw new CaptionConverterException("Unable to convert catalog " + input + " using a remote caption service", e);
+    } finally {
+      closeConnection(response);
+    }
+    throw new CaptionConverterException("Unable to convert catalog " + input + " using a remote caption service");
+  }
+
   /**
    * @see org.opencastproject.caption.api.CaptionService#getLanguageList(MediaPackageElement, String)
    */
@@ -139,6 +139,9 @@ import javax.persistence.Version;
         + "AND j.processorServiceRegistration.serviceType = :serviceType "
         + "AND j.processorServiceRegistration.hostRegistration.baseUrl = :host "
         + "AND j.dateCompleted >= j.processorServiceRegistration.stateChanged"),
+    @NamedQuery(name = "Job.countActive", query = "SELECT j.organization, h.baseUrl, j.operation, COUNT(j) "
+        + "FROM Job j LEFT JOIN j.processorServiceRegistration s LEFT JOIN s.hostRegistration h "
+        + "WHERE j.status IN :statuses GROUP BY j.organization, h.baseUrl, j.operation"),
     @NamedQuery(name = "Job.countPerHostService", query = "SELECT h.baseUrl, s.serviceType, j.status, count(j) "
         + "FROM Job j, ServiceRegistration s, HostRegistration h "
         + "WHERE ((j.processorServiceRegistration IS NOT NULL AND j.processorServiceRegistration = s) "
@@ -425,6 +428,14 @@ public class JpaJob {
     return operation;
   }
 
+  public List<String> getArguments() {
+    return arguments;
+  }
+
+  public String getPayload() {
+    return payload;
+  }
+
   public Float getJobLoad() {
     return jobLoad;
   }
@@ -0,0 +1,156 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.opencastproject.job.jpa;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+
+import javax.persistence.Access;
+import javax.persistence.AccessType;
+import javax.persistence.Basic;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * A job argument or payload that is stored once for all jobs using it. Jobs refer to a blob by its SHA-256 hash in
+ * place of the actual value, see {@link #reference(String)}.
+ */
+@Entity(name = "JobBlob")
+@Access(AccessType.FIELD)
+@Table(name = "oc_job_blob")
+@NamedQueries({
+    @NamedQuery(name = "JobBlob.updateReferences", query = "UPDATE JobBlob b "
+        + "SET b.referenceCount = b.referenceCount + :delta WHERE b.hash = :hash"),
+    @NamedQuery(name = "JobBlob.deleteUnreferenced", query = "DELETE FROM JobBlob b WHERE b.referenceCount <= 0")
+})
+public class JpaJobBlob {
+
+  /** Prefix of values referring to a blob instead of containing the actual value */
+  public static final String REFERENCE_PREFIX = "urn:opencast:job-blob:sha256:";
+
+  @Id
+  @Column(name = "hash", length = 64)
+  private String hash;
+
+  @Lob
+  @Basic(fetch = FetchType.LAZY)
+  @Column(name = "content", length = 2147483647)
+  private String content;
+
+  @Column(name = "content_length", nullable = false)
+  private long length;
+
+  @Column(name = "reference_count", nullable = false)
+  private long referenceCount;
+
+  @Column(name = "date_created")
+  @Temporal(TemporalType.TIMESTAMP)
+  private Date dateCreated;
+
+  public JpaJobBlob() {
+  }
+
+  public JpaJobBlob(String content, long referenceCount) {
+    this.hash = hash(content);
+    this.content = content;
+    this.length = content.length();
+    this.referenceCount = referenceCount;
+    this.dateCreated = new Date();
+  }
+
+  public String getHash() {
+    return hash;
+  }
+
+  public String getContent() {
+    return content;
+  }
+
+  public long getLength() {
+    return length;
+  }
+
+  public long getReferenceCount() {
+    return referenceCount;
+  }
+
+  /**
+   * Returns the reference to store in a job in place of the given content.
+   *
+   * @param content
+   *          the argument or payload
+   * @return the reference
+   */
+  public static String reference(String content) {
+    return REFERENCE_PREFIX + hash(content);
+  }
+
+  /**
+   * Returns whether the given job argument or payload is a reference to a blob.
+   */
+  public static boolean isReference(String value) {
+    return value != null && value.startsWith(REFERENCE_PREFIX);
+  }
+
+  /**
+   * Returns the hash of the blob a reference points to.
+   *
+   * @param reference
+   *          the reference
+   * @return the hash
+   * @throws IllegalArgumentException
+   *           if the value is not a reference
+   */
+  public static String hashOf(String reference) {
+    if (!isReference(reference)) {
+      throw new IllegalArgumentException("Not a job blob reference: " + reference);
+    }
+    return reference.substring(REFERENCE_PREFIX.length());
+  }
+
+  /** Returns the hex encoded SHA-256 hash of the UTF-8 representation of the given content. */
+  static String hash(String content) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("JobBlob {hash:%s, length:%d, references:%d}", hash, length, referenceCount);
+  }
+
+}
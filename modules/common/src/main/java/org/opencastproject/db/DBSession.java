@@ -31,6 +31,9 @@ import javax.persistence.EntityManager;
 
 /**
  * DBSession implements common DB query execution handlers.
+ * <p>
+ * Calls outside of a transaction may be served by a read replica of the database if one is configured. Transactions
+ * and the <code>execPrimary</code> calls always use the primary database.
  */
 public interface DBSession extends AutoCloseable {
   /**
@@ -73,6 +76,34 @@ public interface DBSession extends AutoCloseable {
    */
   <T, E extends Throwable> T execChecked(ThrowingFunction<EntityManager, T, E> fn) throws E;
 
+  /**
+   * Execute given function without opening a new transaction, like {@link #exec(Function)}, but always on the primary
+   * database. Use this instead of {@link #exec(Function)} where a read must see data written just before, e.g. by
+   * another node, since plain reads may be served by a read replica lagging behind the primary database.
+   *
+   * @param fn Function to execute.
+   * @return Object fn has returned.
+   * @param <T> Return type of fn.
+   */
+  default <T> T execPrimary(Function<EntityManager, T> fn) {
+    return exec(fn);
+  }
+
+  /**
+   * Execute given function that can throw a checked exception without opening a new transaction, like
+   * {@link #execChecked(ThrowingFunction)}, but always on the primary database.
+   *
+   * @param fn Function to execute.
+   * @return Object fn has returned.
+   * @param <T> Return type of fn.
+   * @param <E> Exception type that could be thrown by fn.
+   * @throws E Exception thrown by fn.
+   * @see #execPrimary(Function)
+   */
+  default <T, E extends Throwable> T execPrimaryChecked(ThrowingFunction<EntityManager, T, E> fn) throws E {
+    return execChecked(fn);
+  }
+
   /**
    * Execute given function within a transaction. There can only be a single transaction per DBSession object. It should
    * be assumed that the EntityManager and transaction are reused if this method is executed again. Further, should be
@@ -27,10 +27,14 @@ import org.osgi.service.component.ComponentException;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
 
 @Component(
     property = {
@@ -46,6 +50,13 @@ public class DBSessionFactoryImpl implements DBSessionFactory {
   public static final String MAX_TRANSACTION_RETRIES_PROPERTY = "transaction.retries.max";
   public static final int DEFAULT_MAX_TRANSACTION_RETRIES = 5;
 
+  private long slowCallThreshold = DEFAULT_SLOW_CALL_THRESHOLD;
+  public static final String SLOW_CALL_THRESHOLD_PROPERTY = "slow.call.threshold";
+  public static final long DEFAULT_SLOW_CALL_THRESHOLD = 2000;
+
+  /** The read replica, registered by the db bundle while it is configured and not lagging behind too far */
+  private volatile DataSource replica;
+
   @Activate
   public void activate(ComponentContext cc) throws ComponentException {
     logger.info("Activate DB session factory");
@@ -58,6 +69,8 @@ public class DBSessionFactoryImpl implements DBSessionFactory {
 
     maxTransactionRetries = NumberUtils.toInt((String) properties.get(MAX_TRANSACTION_RETRIES_PROPERTY),
         DEFAULT_MAX_TRANSACTION_RETRIES);
+    slowCallThreshold = NumberUtils.toLong((String) properties.get(SLOW_CALL_THRESHOLD_PROPERTY),
+        DEFAULT_SLOW_CALL_THRESHOLD);
   }
 
   @Override
@@ -68,9 +81,29 @@ public class DBSessionFactoryImpl implements DBSessionFactory {
   public DBSession createSession(EntityManagerFactory emf, int maxTransactionRetries) {
     var db = new DBSessionImpl(emf);
     db.setMaxTransactionRetries(maxTransactionRetries);
+    db.setSlowCallThreshold(slowCallThreshold);
+    db.setReplica(() -> replica);
     return db;
   }
 
+  @Reference(
+      cardinality = ReferenceCardinality.OPTIONAL,
+      policy = ReferencePolicy.DYNAMIC,
+      target = "(osgi.jndi.service.name=jdbc/opencast-replica)",
+      unbind = "unsetReplica"
+  )
+  public void setReplica(DataSource replica) {
+    logger.info("Routing reads outside of transactions to the database read replica");
+    this.replica = replica;
+  }
+
+  public void unsetReplica(DataSource replica) {
+    if (this.replica == replica) {
+      logger.info("Routing all reads to the primary database");
+      this.replica = null;
+    }
+  }
+
   public int getMaxTransactionRetries() {
     return maxTransactionRetries;
   }
@@ -23,20 +23,57 @@ package org.opencastproject.db;
 
 import org.opencastproject.util.function.ThrowingConsumer;
 import org.opencastproject.util.function.ThrowingFunction;
+import org.opencastproject.util.metrics.Metrics;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
 import java.util.Random;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.EntityTransaction;
+import javax.sql.DataSource;
 
 public class DBSessionImpl implements DBSession {
+  private static final Logger logger = LoggerFactory.getLogger(DBSessionImpl.class);
+
   private static final Random RAND = new Random();
 
+  /** Entity manager property overriding the data source of the persistence unit */
+  private static final String NON_JTA_DATA_SOURCE = "javax.persistence.nonJtaDataSource";
+
+  private static final String QUERY = "query";
+  private static final String REPLICA_QUERY = "replica query";
+  private static final String TRANSACTION = "transaction";
+
+  private static final Metrics.Histogram callTime = Metrics.histogram(
+      "opencast_db_call_seconds",
+      "Duration of database calls including transaction retries",
+      Metrics.LATENCY_BUCKETS, "call_site", "type");
+  private static final Metrics.Counter callFailures = Metrics.counter(
+      "opencast_db_call_failures_total",
+      "Database calls which failed with an exception",
+      "call_site", "type");
+  private static final Metrics.Counter transactionRetries = Metrics.counter(
+      "opencast_db_transaction_retries_total",
+      "Transactions retried because the database refused to commit them",
+      "call_site");
+
+  /**
+   * Name of the call site of the outermost database call of the current thread. The first named query executed by
+   * the call names it, see {@link #nameCallSite(String)}.
+   */
+  private static final ThreadLocal<String[]> callSiteStore = new ThreadLocal<>();
+
   private EntityManagerFactory emf;
   private int maxTransactionRetries = DBSessionFactoryImpl.DEFAULT_MAX_TRANSACTION_RETRIES;
+  private long slowCallThreshold = DBSessionFactoryImpl.DEFAULT_SLOW_CALL_THRESHOLD;
+  private Supplier<DataSource> replica = () -> null;
 
   private final ThreadLocal<EntityManager> entityManagerStore = new ThreadLocal<>();
 
@@ -46,15 +83,21 @@ public class DBSessionImpl implements DBSession {
 
   @Override
   public void exec(Consumer<EntityManager> fn) {
-    exec(em -> {
-      fn.accept(em);
-      return null;
-    });
+    try {
+      execInternal(fn, false, em -> {
+        fn.accept(em);
+        return null;
+      });
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
   }
 
   @Override
   public <E extends Throwable> void execChecked(ThrowingConsumer<EntityManager, E> fn) throws E {
-    execChecked(em -> {
+    execInternal(fn, false, em -> {
       fn.accept(em);
       return null;
     });
@@ -63,7 +106,7 @@ public class DBSessionImpl implements DBSession {
   @Override
   public <T> T exec(Function<EntityManager, T> fn) {
     try {
-      return execChecked(fn::apply);
+      return execInternal(fn, false, fn::apply);
     } catch (RuntimeException e) {
       throw e;
     } catch (Exception e) {
@@ -73,14 +116,45 @@ public class DBSessionImpl implements DBSession {
 
   @Override
   public <T, E extends Throwable> T execChecked(ThrowingFunction<EntityManager, T, E> fn) throws E {
+    return execInternal(fn, false, fn);
+  }
+
+  @Override
+  public <T> T execPrimary(Function<EntityManager, T> fn) {
+    try {
+      return execInternal(fn, true, fn::apply);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public <T, E extends Throwable> T execPrimaryChecked(ThrowingFunction<EntityManager, T, E> fn) throws E {
+    return execInternal(fn, true, fn);
+  }
+
+  private <T, E extends Throwable> T execInternal(Object source, boolean primary,
+      ThrowingFunction<EntityManager, T, E> fn) throws E {
+    // Nested in a transaction, the call has to see what the transaction wrote so far
+    final DataSource replicaDataSource = primary || entityManagerStore.get() != null ? null : replica.get();
+    final String[] callSite = beginCall();
+    final long start = System.nanoTime();
+    boolean success = false;
     EntityManager em = null;
     try {
-      em = emf.createEntityManager();
-      return fn.apply(em);
+      em = replicaDataSource == null
+          ? emf.createEntityManager()
+          : emf.createEntityManager(Collections.singletonMap(NON_JTA_DATA_SOURCE, replicaDataSource));
+      T res = fn.apply(em);
+      success = true;
+      return res;
     } finally {
       if (em != null && em.isOpen()) {
         em.close();
       }
+      endCall(callSite, source, replicaDataSource == null ? QUERY : REPLICA_QUERY, start, 1, success);
     }
   }
 
@@ -96,15 +170,21 @@ public class DBSessionImpl implements DBSession {
 
   @Override
   public void execTx(int maxTransactionRetries, Consumer<EntityManager> fn) {
-    execTx(maxTransactionRetries, em -> {
-      fn.accept(em);
-      return null;
-    });
+    try {
+      execTxInternal(fn, maxTransactionRetries, em -> {
+        fn.accept(em);
+        return null;
+      });
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
   }
 
   @Override
   public <E extends Throwable> void execTxChecked(int maxTransactionRetries, ThrowingConsumer<EntityManager, E> fn) throws E {
-    execTxChecked(maxTransactionRetries, em -> {
+    execTxInternal(fn, maxTransactionRetries, em -> {
       fn.accept(em);
       return null;
     });
@@ -123,7 +203,7 @@ public class DBSessionImpl implements DBSession {
   @Override
   public <T> T execTx(int maxTransactionRetries, Function<EntityManager, T> fn) {
     try {
-      return execTxChecked(maxTransactionRetries, fn::apply);
+      return execTxInternal(fn, maxTransactionRetries, fn::apply);
     } catch (RuntimeException e) {
       throw e;
     } catch (Exception e) {
@@ -133,6 +213,11 @@ public class DBSessionImpl implements DBSession {
 
   @Override
   public <T, E extends Throwable> T execTxChecked(int maxTransactionRetries, ThrowingFunction<EntityManager, T, E> fn) throws E {
+    return execTxInternal(fn, maxTransactionRetries, fn);
+  }
+
+  private <T, E extends Throwable> T execTxInternal(Object source, int maxTransactionRetries,
+      ThrowingFunction<EntityManager, T, E> fn) throws E {
     EntityManager em = entityManagerStore.get();
 
     if (em != null) {
@@ -140,47 +225,111 @@ public class DBSessionImpl implements DBSession {
       return fn.apply(em);
     }
 
-    EntityTransaction tx = null;
-    RuntimeException ex = null;
-
-    for (int attempt = 0; attempt < maxTransactionRetries; attempt++) {
-      try {
-        em = emf.createEntityManager();
-        entityManagerStore.set(em);
-        tx = em.getTransaction();
-        tx.begin();
-        T res = fn.apply(em);
-        tx.commit();
-        return res;
-      } catch (RuntimeException e) { // we only catch RuntimeException as other exceptions are not related to DB errors
-        // TODO: do we need to catch all exceptions and look at the cause chain?
-        ex = e;
-
-        if (tx != null && tx.isActive()) {
-          tx.rollback();
+    final String[] callSite = beginCall();
+    final long start = System.nanoTime();
+    int attempts = 0;
+    boolean success = false;
+    try {
+      EntityTransaction tx = null;
+      RuntimeException ex = null;
+
+      for (int attempt = 0; attempt < maxTransactionRetries; attempt++) {
+        attempts++;
+        try {
+          em = emf.createEntityManager();
+          entityManagerStore.set(em);
+          tx = em.getTransaction();
+          tx.begin();
+          T res = fn.apply(em);
+          tx.commit();
+          success = true;
+          return res;
+        } catch (RuntimeException e) {
+          // we only catch RuntimeException as other exceptions are not related to DB errors
+          // TODO: do we need to catch all exceptions and look at the cause chain?
+          ex = e;
+
+          if (tx != null && tx.isActive()) {
+            tx.rollback();
+          }
+
+          // only retry if exception has something to do with the transaction
+          if (!DBUtils.isTransactionException(e)) {
+            throw e;
+          }
+        } finally {
+          if (em != null && em.isOpen()) {
+            em.close();
+          }
+          entityManagerStore.remove();
         }
 
-        // only retry if exception has something to do with the transaction
-        if (!DBUtils.isTransactionException(e)) {
-          throw e;
+        // exponential backoff before next iteration
+        int sleepMillis = (int) (Math.pow(2, attempt) * 100) + RAND.nextInt(100);
+        try {
+          Thread.sleep(sleepMillis);
+        } catch (InterruptedException ignore) {
         }
-      } finally {
-        if (em != null && em.isOpen()) {
-          em.close();
-        }
-        entityManagerStore.remove();
       }
 
-      // exponential backoff before next iteration
-      int sleepMillis = (int) (Math.pow(2, attempt) * 100) + RAND.nextInt(100);
-      try {
-        Thread.sleep(sleepMillis);
-      } catch (InterruptedException ignore) {
-      }
+      // we only get here if all retries led to an exception: throw the last one up the stack
+      throw ex;
+    } finally {
+      endCall(callSite, source, TRANSACTION, start, attempts, success);
     }
+  }
 
-    // we only get here if all retries led to an exception: throw the last one up the stack
-    throw ex;
+  /**
+   * Names the call site of the current database call if it has no name yet. Nothing happens outside of a call.
+   *
+   * @param name
+   *          the name, e.g. the name of a named query
+   */
+  static void nameCallSite(String name) {
+    final String[] callSite = callSiteStore.get();
+    if (callSite != null && callSite[0] == null) {
+      callSite[0] = name;
+    }
+  }
+
+  /**
+   * @return the holder of the call site name, or <code>null</code> if this call is nested in another one, which the
+   *         time spent is accounted to
+   */
+  private static String[] beginCall() {
+    if (callSiteStore.get() != null) {
+      return null;
+    }
+    final String[] callSite = new String[1];
+    callSiteStore.set(callSite);
+    return callSite;
+  }
+
+  private void endCall(String[] callSite, Object source, String type, long start, int attempts, boolean success) {
+    if (callSite == null) {
+      return;
+    }
+    callSiteStore.remove();
+    final String name = callSite[0] != null ? callSite[0] : nameOf(source);
+    final long nanos = System.nanoTime() - start;
+    callTime.observe(nanos / 1e9, name, type);
+    if (attempts > 1) {
+      transactionRetries.inc(attempts - 1, name);
+    }
+    if (!success) {
+      callFailures.inc(1, name, type);
+    }
+    final long millis = nanos / 1_000_000;
+    if (slowCallThreshold > 0 && millis >= slowCallThreshold) {
+      logger.warn("Slow database {} at {} took {} ms in {} attempt(s)", type, name, millis, attempts);
+    }
+  }
+
+  /** Returns the class a lambda or method reference was defined in, or the class of other functions. */
+  private static String nameOf(Object fn) {
+    final String name = fn.getClass().getName();
+    final int lambda = name.indexOf("$$Lambda");
+    return lambda > 0 ? name.substring(0, lambda) : name;
   }
 
   @Override
@@ -205,4 +354,25 @@ public class DBSessionImpl implements DBSession {
   public void setMaxTransactionRetries(int maxTransactionRetries) {
     this.maxTransactionRetries = maxTransactionRetries;
   }
+
+  public long getSlowCallThreshold() {
+    return slowCallThreshold;
+  }
+
+  /**
+   * @param slowCallThreshold
+   *          duration in milliseconds from which on database calls are logged, zero to disable logging
+   */
+  public void setSlowCallThreshold(long slowCallThreshold) {
+    this.slowCallThreshold = slowCallThreshold;
+  }
+
+  /**
+   * @param replica
+   *          provides the read replica to run calls outside of transactions on, or <code>null</code> to use the primary
+   *          database while no replica is available
+   */
+  public void setReplica(Supplier<DataSource> replica) {
+    this.replica = replica == null ? () -> null : replica;
+  }
 }
@@ -21,13 +21,20 @@
 
 package org.opencastproject.db;
 
+import org.opencastproject.util.function.ThrowingConsumer;
+import org.opencastproject.util.function.ThrowingFunction;
+
 import org.eclipse.persistence.exceptions.DatabaseException;
 
 import java.sql.SQLException;
 
+import javax.persistence.EntityManager;
 import javax.persistence.RollbackException;
 
 public final class DBUtils {
+  /** How often a transaction is run at most if it keeps failing on a duplicate key */
+  static final int MAX_DUPLICATE_KEY_ATTEMPTS = 3;
+
   private DBUtils() {
   }
 
@@ -55,4 +62,69 @@ public final class DBUtils {
 
     return false;
   }
+
+  /**
+   * Checks if an exception, or any of its causes, reports the violation of an integrity constraint such as a duplicate
+   * key.
+   */
+  public static boolean isIntegrityConstraintViolation(Throwable t) {
+    Throwable cause = t;
+    while (cause != null) {
+      if (cause instanceof DatabaseException && ((DatabaseException) cause).getInternalException() != null) {
+        cause = ((DatabaseException) cause).getInternalException();
+      }
+      if (cause instanceof SQLException) {
+        var sqlState = ((SQLException) cause).getSQLState();
+        if (sqlState != null && sqlState.startsWith(SqlState.INTEGRITY_CONSTRAINT_VIOLATION_CLASS)) {
+          return true;
+        }
+      }
+      cause = cause.getCause();
+    }
+    return false;
+  }
+
+  /**
+   * Executes a transaction that updates a row and inserts it if it does not exist yet, e.g. a counter. If another node
+   * inserted the same row concurrently, the insert fails on the duplicate key, and the transaction is run again, then
+   * updating the row inserted by the other node. The function must therefore be safe to run more than once.
+   * <p>
+   * The transaction must not be nested in another one, since the failed insert spoils the outer transaction.
+   *
+   * @param db the session to run the transaction with.
+   * @param fn Function to execute.
+   * @return Object fn has returned.
+   * @param <T> Return type of fn.
+   * @param <E> Exception type that could be thrown by fn.
+   * @throws E Exception thrown by fn.
+   */
+  public static <T, E extends Throwable> T execTxWithUpsert(DBSession db, ThrowingFunction<EntityManager, T, E> fn)
+          throws E {
+    for (int attempt = 1;; attempt++) {
+      try {
+        return db.execTxChecked(fn);
+      } catch (RuntimeException e) {
+        if (attempt >= MAX_DUPLICATE_KEY_ATTEMPTS || !isIntegrityConstraintViolation(e)) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Executes a transaction that updates a row and inserts it if it does not exist yet, see
+   * {@link #execTxWithUpsert(DBSession, ThrowingFunction)}.
+   *
+   * @param db the session to run the transaction with.
+   * @param fn Function to execute.
+   * @param <E> Exception type that could be thrown by fn.
+   * @throws E Exception thrown by fn.
+   */
+  public static <E extends Throwable> void execTxWithUpsert(DBSession db, ThrowingConsumer<EntityManager, E> fn)
+          throws E {
+    execTxWithUpsert(db, em -> {
+      fn.accept(em);
+      return null;
+    });
+  }
 }
@@ -51,11 +51,13 @@ public final class Queries {
   public static final TypedQueriesBase namedQuery = new TypedQueriesBase() {
     @Override
     protected Query createQuery(EntityManager em, String queryName, Object... params) {
+      DBSessionImpl.nameCallSite(queryName);
       return configureQuery(em.createNamedQuery(queryName), params);
     }
 
     @Override
     protected <T> TypedQuery<T> createTypedQuery(EntityManager em, String queryName, Class<T> clazz, Object... params) {
+      DBSessionImpl.nameCallSite(queryName);
       return configureQuery(em.createNamedQuery(queryName, clazz), params);
     }
   };
@@ -66,6 +68,8 @@ public final class Queries {
   public static final QueriesBase nativeQuery = new QueriesBase() {
     @Override
     protected Query createQuery(EntityManager em, String sql, Object... params) {
+      // The statement itself would make for too many different call sites
+      DBSessionImpl.nameCallSite("native query");
       return configureQuery(em.createNativeQuery(sql), params);
     }
   };
@@ -80,7 +84,10 @@ public final class Queries {
      * @param <T> Entity type.
      */
     public <T> Function<EntityManager, T> findById(Class<T> clazz, Object id) {
-      return em -> em.find(clazz, id);
+      return em -> {
+        DBSessionImpl.nameCallSite("find " + clazz.getSimpleName());
+        return em.find(clazz, id);
+      };
     }
 
     /**
@@ -93,6 +100,7 @@ public final class Queries {
      */
     public <T> Function<EntityManager, Optional<T>> findByIdOpt(Class<T> clazz, Object id) {
       return em -> {
+        DBSessionImpl.nameCallSite("find " + clazz.getSimpleName());
         try {
           T e = em.find(clazz, id);
           if (e == null) {
@@ -247,6 +255,7 @@ public final class Queries {
      */
     public <E> Function<EntityManager, E> persistOrUpdate(final E entity) {
       return em -> {
+        DBSessionImpl.nameCallSite("persist or update " + entity.getClass().getSimpleName());
         final Object id = em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
         if (id == null) {
           em.persist(entity);
@@ -273,6 +282,7 @@ public final class Queries {
      */
     public <E> Consumer<EntityManager> remove(final E entity) {
       return em -> {
+        DBSessionImpl.nameCallSite("remove " + entity.getClass().getSimpleName());
         em.remove(entity);
       };
     }
@@ -286,6 +296,7 @@ public final class Queries {
      */
     public <E> Function<EntityManager, E> persist(final E entity) {
       return em -> {
+        DBSessionImpl.nameCallSite("persist " + entity.getClass().getSimpleName());
         em.persist(entity);
         return entity;
       };
@@ -300,6 +311,7 @@ public final class Queries {
      */
     public <E> Function<EntityManager, Optional<E>> persistOpt(final E entity) {
       return em -> {
+        DBSessionImpl.nameCallSite("persist " + entity.getClass().getSimpleName());
         em.persist(entity);
         return Optional.of(entity);
       };
@@ -22,6 +22,9 @@
 package org.opencastproject.db;
 
 public final class SqlState {
+  // SQL State Class 23 - Integrity constraint violation, e.g. a duplicate key
+  public static final String INTEGRITY_CONSTRAINT_VIOLATION_CLASS = "23";
+
   // SQL State Class 40 - Transaction rollback
   public static final String TRANSACTION_ROLLBACK_NO_SUBCLASS = "40000";
   public static final String TRANSACTION_ROLLBACK_SERIALIZATION_FAILURE = "40001";
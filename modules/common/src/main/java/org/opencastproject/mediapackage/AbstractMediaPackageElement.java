@@ -175,6 +175,26 @@ public abstract class AbstractMediaPackageElement implements MediaPackageElement
     this.tags = new TreeSet<String>();
   }
 
+  /**
+   * Creates a copy of the given element. Immutable parts like flavor, mime type or checksum are shared with the
+   * original. Like with {@link #clone()}, the media package reference is not copied.
+   *
+   * @param element
+   *          the element to copy
+   */
+  protected AbstractMediaPackageElement(AbstractMediaPackageElement element) {
+    this.id = element.id;
+    this.elementType = element.elementType;
+    this.description = element.description;
+    this.mimeType = element.mimeType;
+    this.flavor = element.flavor;
+    this.tags = element.tags != null ? new TreeSet<>(element.tags) : new TreeSet<>();
+    this.uri = element.uri;
+    this.size = element.size;
+    this.checksum = element.checksum;
+    this.reference = element.reference != null ? (MediaPackageReference) element.reference.clone() : null;
+  }
+
   /**
    * @see org.opencastproject.mediapackage.MediaPackageElement#setIdentifier(String)
    */
@@ -568,6 +588,9 @@ public abstract class AbstractMediaPackageElement implements MediaPackageElement
   /**
    * Attention: The media package reference is not being cloned so that calling <code>getMediaPackage()</code> on the
    * clone yields null.
+   * <p>
+   * This implementation serializes the element. The element types of the media package override it and use their copy
+   * constructors instead.
    */
   @Override
   public Object clone() {
@@ -72,6 +72,25 @@ public class CatalogImpl extends AbstractMediaPackageElement implements Catalog
     super(Type.Catalog, flavor, uri, size, checksum, mimeType);
   }
 
+  /**
+   * Creates a copy of the given catalog.
+   *
+   * @param catalog
+   *          the catalog to copy
+   */
+  protected CatalogImpl(CatalogImpl catalog) {
+    super(catalog);
+  }
+
+  @Override
+  public Object clone() {
+    // Subclasses like Dublin Core catalogs carry additional state, so they are still cloned via JAXB
+    if (getClass() != CatalogImpl.class) {
+      return super.clone();
+    }
+    return new CatalogImpl(this);
+  }
+
   /**
    * Reads the metadata from the specified file and returns it encapsulated in a {@link Catalog} object.
    *
@@ -23,12 +23,10 @@
 package org.opencastproject.mediapackage;
 
 import org.opencastproject.mediapackage.identifier.Id;
-import org.opencastproject.util.XmlSafeParser;
 
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
@@ -101,12 +99,7 @@ public class MediaPackageBuilderImpl implements MediaPackageBuilder {
    * @see org.opencastproject.mediapackage.MediaPackageBuilder#loadFromXml(java.io.InputStream)
    */
   public MediaPackage loadFromXml(InputStream is) throws MediaPackageException {
-    try {
-      Document xml = XmlSafeParser.parse(is);
-      return loadFromXml(xml);
-    } catch (Exception e) {
-      throw new MediaPackageException("Error deserializing paths in media package", e);
-    }
+    return MediaPackageStaxCodec.read(is, serializer);
   }
 
   /**
@@ -30,7 +30,6 @@ import org.opencastproject.mediapackage.identifier.Id;
 import org.opencastproject.mediapackage.identifier.IdImpl;
 import org.opencastproject.util.DateTimeSupport;
 import org.opencastproject.util.IoSupport;
-import org.opencastproject.util.XmlSafeParser;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -41,11 +40,9 @@ import org.w3c.dom.bootstrap.DOMImplementationRegistry;
 import org.w3c.dom.ls.DOMImplementationLS;
 import org.w3c.dom.ls.LSOutput;
 import org.w3c.dom.ls.LSSerializer;
-import org.xml.sax.SAXException;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
@@ -1104,12 +1101,31 @@ public final class MediaPackageImpl implements MediaPackage {
    */
   @Override
   public Object clone() {
-    try {
-      String xml = MediaPackageParser.getAsXml(this);
-      return MediaPackageBuilderFactory.newInstance().newMediaPackageBuilder().loadFromXml(xml);
-    } catch (Exception e) {
-      throw new RuntimeException(e);
+    MediaPackageImpl clone = new MediaPackageImpl(identifier);
+    clone.title = title;
+    clone.seriesTitle = seriesTitle;
+    clone.language = language;
+    clone.series = series;
+    clone.license = license;
+    clone.creators = creators != null ? new TreeSet<>(creators) : null;
+    clone.contributors = contributors != null ? new TreeSet<>(contributors) : null;
+    clone.subjects = subjects != null ? new TreeSet<>(subjects) : null;
+    clone.startTime = startTime;
+    clone.duration = duration;
+    // Add the elements in the order they are serialized in, so that the clone is equivalent to a parsed copy
+    for (Track track : getTracks()) {
+      clone.add((Track) track.clone());
+    }
+    for (Catalog catalog : getCatalogs()) {
+      clone.add((Catalog) catalog.clone());
     }
+    for (Attachment attachment : getAttachments()) {
+      clone.add((Attachment) attachment.clone());
+    }
+    for (Publication publication : getPublications()) {
+      clone.add((Publication) publication.clone());
+    }
+    return clone;
   }
 
   /**
@@ -1147,12 +1163,7 @@ public final class MediaPackageImpl implements MediaPackage {
    */
   public static MediaPackageImpl valueOf(InputStream xml) throws MediaPackageException {
     try {
-      Unmarshaller unmarshaller = context.createUnmarshaller();
-      return unmarshaller.unmarshal(XmlSafeParser.parse(xml), MediaPackageImpl.class).getValue();
-    } catch (JAXBException e) {
-      throw new MediaPackageException(e.getLinkedException() != null ? e.getLinkedException() : e);
-    } catch (IOException | SAXException e) {
-      throw new MediaPackageException(e);
+      return MediaPackageStaxCodec.read(xml);
     } finally {
       IoSupport.closeQuietly(xml);
     }
@@ -70,13 +70,11 @@ public final class MediaPackageParser {
     if (mediaPackage == null)
       throw new IllegalArgumentException("Mediapackage must not be null");
     try {
-      Marshaller marshaller = MediaPackageImpl.context.createMarshaller();
-      marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, false);
       StringWriter writer = new StringWriter();
-      marshaller.marshal(mediaPackage, writer);
+      MediaPackageStaxCodec.write(mediaPackage, writer);
       return writer.toString();
-    } catch (JAXBException e) {
-      throw new IllegalStateException(e.getLinkedException() != null ? e.getLinkedException() : e);
+    } catch (MediaPackageException e) {
+      throw new IllegalStateException(e.getCause() != null ? e.getCause() : e);
     }
   }
 
@@ -0,0 +1,859 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.mediapackage;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import org.opencastproject.mediapackage.attachment.AttachmentImpl;
+import org.opencastproject.mediapackage.identifier.IdImpl;
+import org.opencastproject.mediapackage.track.AbstractStreamImpl;
+import org.opencastproject.mediapackage.track.AudioStreamImpl;
+import org.opencastproject.mediapackage.track.ScanOrder;
+import org.opencastproject.mediapackage.track.ScanType;
+import org.opencastproject.mediapackage.track.SubtitleStreamImpl;
+import org.opencastproject.mediapackage.track.TrackImpl;
+import org.opencastproject.mediapackage.track.TrackImpl.StreamingProtocol;
+import org.opencastproject.mediapackage.track.VideoStreamImpl;
+import org.opencastproject.util.Checksum;
+import org.opencastproject.util.ChecksumType;
+import org.opencastproject.util.DateTimeSupport;
+import org.opencastproject.util.MimeType;
+import org.opencastproject.util.MimeTypes;
+import org.opencastproject.util.XmlSafeParser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Reads and writes the XML representation of media packages in a single pass using StAX.
+ * <p>
+ * The documents are the same as the ones produced and accepted by the JAXB bindings of {@link MediaPackageImpl}, but
+ * neither a DOM nor JAXB's reflection based binding is involved. Like with JAXB, unknown elements are skipped and
+ * values which cannot be parsed are ignored.
+ */
+public final class MediaPackageStaxCodec {
+
+  /** The logging facility */
+  private static final Logger logger = LoggerFactory.getLogger(MediaPackageStaxCodec.class);
+
+  /** The namespace of all media package elements */
+  private static final String NAMESPACE = "http://mediapackage.opencastproject.org";
+
+  /** The XML declaration as written by the JAXB marshaller */
+  private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+
+  /** Factory for the stream writers, which is thread-safe once configured */
+  private static final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newFactory();
+
+  private MediaPackageStaxCodec() {
+  }
+
+  /**
+   * Reads a media package from its XML representation.
+   *
+   * @param in
+   *          the XML document
+   * @return the media package
+   * @throws MediaPackageException
+   *           if the document is not well-formed
+   */
+  public static MediaPackageImpl read(InputStream in) throws MediaPackageException {
+    return read(in, null);
+  }
+
+  /**
+   * Reads a media package from its XML representation and decodes the element URLs using the serializer.
+   *
+   * @param in
+   *          the XML document
+   * @param serializer
+   *          the serializer used to decode the element URLs, may be <code>null</code>
+   * @return the media package
+   * @throws MediaPackageException
+   *           if the document is not well-formed or an URL cannot be decoded
+   */
+  public static MediaPackageImpl read(InputStream in, MediaPackageSerializer serializer)
+          throws MediaPackageException {
+    XMLStreamReader reader = null;
+    try {
+      reader = XmlSafeParser.newXMLStreamReader(in);
+      reader.nextTag();
+      return readMediaPackage(reader, serializer);
+    } catch (XMLStreamException e) {
+      throw new MediaPackageException("Error deserializing media package", e);
+    } finally {
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (XMLStreamException e) {
+          logger.debug("Unable to close stream reader", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the XML representation of a media package to the stream using UTF-8. The stream is not closed.
+   *
+   * @param mediaPackage
+   *          the media package
+   * @param out
+   *          the stream to write to
+   * @throws MediaPackageException
+   *           if writing to the stream fails
+   */
+  public static void write(MediaPackage mediaPackage, OutputStream out) throws MediaPackageException {
+    write(mediaPackage, new OutputStreamWriter(out, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Writes the XML representation of a media package. The writer is flushed, but not closed.
+   *
+   * @param mediaPackage
+   *          the media package
+   * @param out
+   *          the writer to write to
+   * @throws MediaPackageException
+   *           if writing fails
+   */
+  public static void write(MediaPackage mediaPackage, Writer out) throws MediaPackageException {
+    try {
+      out.write(XML_DECLARATION);
+      XMLStreamWriter writer = xmlOutputFactory.createXMLStreamWriter(out);
+      writeMediaPackage(writer, mediaPackage);
+      writer.close();
+      out.flush();
+    } catch (IOException | XMLStreamException e) {
+      throw new MediaPackageException("Error serializing media package", e);
+    }
+  }
+
+  private static MediaPackageImpl readMediaPackage(XMLStreamReader reader, MediaPackageSerializer serializer)
+          throws XMLStreamException {
+    String id = reader.getAttributeValue(null, "id");
+    MediaPackageImpl mediaPackage = id != null ? new MediaPackageImpl(IdImpl.fromSerialized(id))
+            : new MediaPackageImpl();
+    Long duration = parseLong(reader.getAttributeValue(null, "duration"));
+    if (duration != null) {
+      mediaPackage.setDuration(duration);
+    }
+    String start = reader.getAttributeValue(null, "start");
+    if (start != null) {
+      mediaPackage.setStartDateAsString(start);
+    }
+
+    while (nextElement(reader)) {
+      if (!NAMESPACE.equals(reader.getNamespaceURI())) {
+        skip(reader);
+        continue;
+      }
+      switch (reader.getLocalName()) {
+        case "title":
+          mediaPackage.setTitle(reader.getElementText());
+          break;
+        case "series":
+          mediaPackage.setSeries(reader.getElementText());
+          break;
+        case "seriestitle":
+          mediaPackage.setSeriesTitle(reader.getElementText());
+          break;
+        case "creators":
+          while (nextChild(reader, "creator")) {
+            mediaPackage.addCreator(reader.getElementText());
+          }
+          break;
+        case "contributors":
+          while (nextChild(reader, "contributor")) {
+            mediaPackage.addContributor(reader.getElementText());
+          }
+          break;
+        case "subjects":
+          while (nextChild(reader, "subject")) {
+            mediaPackage.addSubject(reader.getElementText());
+          }
+          break;
+        case "license":
+          mediaPackage.setLicense(reader.getElementText());
+          break;
+        case "language":
+          mediaPackage.setLanguage(reader.getElementText());
+          break;
+        case "media":
+          while (nextChild(reader, "track")) {
+            mediaPackage.add(readTrack(reader, serializer));
+          }
+          break;
+        case "metadata":
+          while (nextChild(reader, "catalog")) {
+            mediaPackage.add(readCatalog(reader, serializer));
+          }
+          break;
+        case "attachments":
+          while (nextChild(reader, "attachment")) {
+            mediaPackage.add(readAttachment(reader, serializer));
+          }
+          break;
+        case "publications":
+          while (nextChild(reader, "publication")) {
+            mediaPackage.add((MediaPackageElement) readPublication(reader, serializer));
+          }
+          break;
+        default:
+          skip(reader);
+      }
+    }
+    return mediaPackage;
+  }
+
+  private static Track readTrack(XMLStreamReader reader, MediaPackageSerializer serializer)
+          throws XMLStreamException {
+    TrackImpl track = new TrackImpl();
+    readAttributes(reader, track);
+    String transport = reader.getAttributeValue(null, "transport");
+    if (transport != null) {
+      track.setTransport(parseEnum(StreamingProtocol.class, transport));
+    }
+    while (nextElement(reader)) {
+      if (readElementContent(reader, track, serializer)) {
+        continue;
+      }
+      switch (reader.getLocalName()) {
+        case "duration":
+          track.setDuration(parseLong(reader.getElementText()));
+          break;
+        case "audio":
+          track.addStream(readAudioStream(reader));
+          break;
+        case "video":
+          track.addStream(readVideoStream(reader));
+          break;
+        case "subtitle":
+          track.addStream(readSubtitleStream(reader));
+          break;
+        case "live":
+          Boolean live = parseBoolean(reader.getElementText());
+          if (live != null) {
+            track.setLive(live);
+          }
+          break;
+        case "master":
+          track.setMaster(parseBoolean(reader.getElementText()));
+          break;
+        case "logicalname":
+          track.setLogicalName(reader.getElementText());
+          break;
+        default:
+          skip(reader);
+      }
+    }
+    return track;
+  }
+
+  private static Catalog readCatalog(XMLStreamReader reader, MediaPackageSerializer serializer)
+          throws XMLStreamException {
+    CatalogImpl catalog = new CatalogImpl();
+    readAttributes(reader, catalog);
+    while (nextElement(reader)) {
+      if (!readElementContent(reader, catalog, serializer)) {
+        skip(reader);
+      }
+    }
+    return catalog;
+  }
+
+  private static Attachment readAttachment(XMLStreamReader reader, MediaPackageSerializer serializer)
+          throws XMLStreamException {
+    AttachmentImpl attachment = new AttachmentImpl();
+    readAttributes(reader, attachment);
+    while (nextElement(reader)) {
+      if (readElementContent(reader, attachment, serializer)) {
+        continue;
+      }
+      if ("additionalProperties".equals(reader.getLocalName())) {
+        Map<String, String> properties = attachment.getProperties();
+        while (nextChild(reader, "property")) {
+          String key = reader.getAttributeValue(null, "key");
+          properties.put(key, reader.getElementText());
+        }
+      } else {
+        skip(reader);
+      }
+    }
+    return attachment;
+  }
+
+  private static Publication readPublication(XMLStreamReader reader, MediaPackageSerializer serializer)
+          throws XMLStreamException {
+    PublicationImpl publication = new PublicationImpl(null, reader.getAttributeValue(null, "channel"), null, null);
+    readAttributes(reader, publication);
+    while (nextElement(reader)) {
+      if (readElementContent(reader, publication, serializer)) {
+        continue;
+      }
+      switch (reader.getLocalName()) {
+        case "media":
+          while (nextChild(reader, "track")) {
+            publication.addTrack(readTrack(reader, serializer));
+          }
+          break;
+        case "attachments":
+          while (nextChild(reader, "attachment")) {
+            publication.addAttachment(readAttachment(reader, serializer));
+          }
+          break;
+        case "metadata":
+          while (nextChild(reader, "catalog")) {
+            publication.addCatalog(readCatalog(reader, serializer));
+          }
+          break;
+        default:
+          skip(reader);
+      }
+    }
+    return publication;
+  }
+
+  /** Reads the attributes all media package elements have in common. */
+  private static void readAttributes(XMLStreamReader reader, AbstractMediaPackageElement element) {
+    element.id = reader.getAttributeValue(null, "id");
+    String flavor = reader.getAttributeValue(null, "type");
+    if (flavor != null) {
+      try {
+        element.flavor = MediaPackageElementFlavor.parseFlavor(flavor);
+      } catch (IllegalArgumentException e) {
+        logger.debug("Ignoring invalid flavor {}", flavor);
+      }
+    }
+    String reference = reader.getAttributeValue(null, "ref");
+    if (reference != null) {
+      try {
+        element.reference = MediaPackageReferenceImpl.fromString(reference);
+      } catch (IllegalArgumentException e) {
+        logger.debug("Ignoring invalid reference {}", reference);
+      }
+    }
+  }
+
+  /**
+   * Reads a child element all media package elements have in common. Elements from other namespaces are skipped.
+   *
+   * @return <code>false</code> if the current element is specific to the type of the media package element
+   */
+  private static boolean readElementContent(XMLStreamReader reader, AbstractMediaPackageElement element,
+          MediaPackageSerializer serializer) throws XMLStreamException {
+    if (!NAMESPACE.equals(reader.getNamespaceURI())) {
+      skip(reader);
+      return true;
+    }
+    switch (reader.getLocalName()) {
+      case "mimetype":
+        element.mimeType = parseMimeType(reader.getElementText());
+        return true;
+      case "tags":
+        while (nextChild(reader, "tag")) {
+          element.tags.add(reader.getElementText());
+        }
+        return true;
+      case "url":
+        element.uri = parseUri(reader, serializer);
+        return true;
+      case "size":
+        element.size = parseLong(reader.getElementText());
+        return true;
+      case "checksum":
+        element.checksum = readChecksum(reader);
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static Checksum readChecksum(XMLStreamReader reader) throws XMLStreamException {
+    String type = reader.getAttributeValue(null, "type");
+    ChecksumType checksumType = null;
+    if (type != null) {
+      try {
+        checksumType = ChecksumType.fromString(type);
+      } catch (NoSuchAlgorithmException e) {
+        logger.warn("Ignoring unknown checksum type {}", type);
+      }
+    }
+    return Checksum.create(checksumType, reader.getElementText());
+  }
+
+  private static AudioStreamImpl readAudioStream(XMLStreamReader reader) throws XMLStreamException {
+    String id = reader.getAttributeValue(null, "id");
+    AudioStreamImpl stream = id != null ? new AudioStreamImpl(id) : new AudioStreamImpl();
+    while (nextElement(reader)) {
+      if (readStreamContent(reader, stream)) {
+        continue;
+      }
+      switch (reader.getLocalName()) {
+        case "bitdepth":
+          stream.setBitDepth(parseInteger(reader.getElementText()));
+          break;
+        case "channels":
+          stream.setChannels(parseInteger(reader.getElementText()));
+          break;
+        case "samplingrate":
+          stream.setSamplingRate(parseInteger(reader.getElementText()));
+          break;
+        case "bitrate":
+          stream.setBitRate(parseFloat(reader.getElementText()));
+          break;
+        case "peakleveldb":
+          stream.setPkLevDb(parseFloat(reader.getElementText()));
+          break;
+        case "rmsleveldb":
+          stream.setRmsLevDb(parseFloat(reader.getElementText()));
+          break;
+        case "rmspeakdb":
+          stream.setRmsPkDb(parseFloat(reader.getElementText()));
+          break;
+        default:
+          skip(reader);
+      }
+    }
+    return stream;
+  }
+
+  private static VideoStreamImpl readVideoStream(XMLStreamReader reader) throws XMLStreamException {
+    String id = reader.getAttributeValue(null, "id");
+    VideoStreamImpl stream = id != null ? new VideoStreamImpl(id) : new VideoStreamImpl();
+    while (nextElement(reader)) {
+      if (readStreamContent(reader, stream)) {
+        continue;
+      }
+      switch (reader.getLocalName()) {
+        case "bitrate":
+          stream.setBitRate(parseFloat(reader.getElementText()));
+          break;
+        case "framerate":
+          stream.setFrameRate(parseFloat(reader.getElementText()));
+          break;
+        case "resolution":
+          stream.setResolution(reader.getElementText());
+          break;
+        case "scantype":
+          stream.setScanType(parseEnum(ScanType.class, reader.getAttributeValue(null, "type")));
+          stream.setScanOrder(parseEnum(ScanOrder.class, reader.getAttributeValue(null, "order")));
+          skip(reader);
+          break;
+        default:
+          skip(reader);
+      }
+    }
+    return stream;
+  }
+
+  private static SubtitleStreamImpl readSubtitleStream(XMLStreamReader reader) throws XMLStreamException {
+    String id = reader.getAttributeValue(null, "id");
+    SubtitleStreamImpl stream = id != null ? new SubtitleStreamImpl(id) : new SubtitleStreamImpl();
+    while (nextElement(reader)) {
+      if (!readStreamContent(reader, stream)) {
+        skip(reader);
+      }
+    }
+    return stream;
+  }
+
+  /**
+   * Reads a child element all streams have in common. Elements from other namespaces are skipped.
+   *
+   * @return <code>false</code> if the current element is specific to the type of the stream
+   */
+  private static boolean readStreamContent(XMLStreamReader reader, AbstractStreamImpl stream)
+          throws XMLStreamException {
+    if (!NAMESPACE.equals(reader.getNamespaceURI())) {
+      skip(reader);
+      return true;
+    }
+    switch (reader.getLocalName()) {
+      case "device":
+        stream.setCaptureDevice(reader.getAttributeValue(null, "type"));
+        stream.setCaptureDeviceVersion(reader.getAttributeValue(null, "version"));
+        stream.setCaptureDeviceVendor(reader.getAttributeValue(null, "vendor"));
+        skip(reader);
+        return true;
+      case "encoder":
+        stream.setFormat(reader.getAttributeValue(null, "type"));
+        stream.setFormatVersion(reader.getAttributeValue(null, "version"));
+        stream.setEncoderLibraryVendor(reader.getAttributeValue(null, "vendor"));
+        skip(reader);
+        return true;
+      case "framecount":
+        stream.setFrameCount(parseLong(reader.getElementText()));
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static void writeMediaPackage(XMLStreamWriter writer, MediaPackage mediaPackage)
+          throws XMLStreamException {
+    writer.writeStartElement("mediapackage");
+    writer.writeDefaultNamespace(NAMESPACE);
+    writeAttribute(writer, "duration", mediaPackage.getDuration());
+    writeAttribute(writer, "id", mediaPackage.getIdentifier());
+    if (mediaPackage.getDate().getTime() != 0) {
+      writer.writeAttribute("start", DateTimeSupport.toUTC(mediaPackage.getDate().getTime()));
+    }
+
+    writeValue(writer, "title", mediaPackage.getTitle());
+    writeValue(writer, "series", mediaPackage.getSeries());
+    writeValue(writer, "seriestitle", mediaPackage.getSeriesTitle());
+    writeValues(writer, "creators", "creator", mediaPackage.getCreators());
+    writeValues(writer, "contributors", "contributor", mediaPackage.getContributors());
+    writeValues(writer, "subjects", "subject", mediaPackage.getSubjects());
+    writeValue(writer, "license", mediaPackage.getLicense());
+    writeValue(writer, "language", mediaPackage.getLanguage());
+    writeElements(writer, "media", "track", mediaPackage.getTracks());
+    writeElements(writer, "metadata", "catalog", mediaPackage.getCatalogs());
+    writeElements(writer, "attachments", "attachment", mediaPackage.getAttachments());
+    writeElements(writer, "publications", "publication", mediaPackage.getPublications());
+    writer.writeEndElement();
+  }
+
+  /** Writes the elements into a wrapper element, which is written even if there are no elements. */
+  private static void writeElements(XMLStreamWriter writer, String wrapper, String name,
+          MediaPackageElement[] elements) throws XMLStreamException {
+    if (elements.length == 0) {
+      writer.writeEmptyElement(wrapper);
+      return;
+    }
+    writer.writeStartElement(wrapper);
+    for (MediaPackageElement element : elements) {
+      writeElement(writer, name, (AbstractMediaPackageElement) element);
+    }
+    writer.writeEndElement();
+  }
+
+  private static void writeElement(XMLStreamWriter writer, String name, AbstractMediaPackageElement element)
+          throws XMLStreamException {
+    writer.writeStartElement(name);
+    writeAttribute(writer, "id", element.id);
+    writeAttribute(writer, "type", element.flavor);
+    writeAttribute(writer, "ref", element.reference);
+    if (element instanceof TrackImpl) {
+      writeAttribute(writer, "transport", ((TrackImpl) element).getTransport());
+    } else if (element instanceof PublicationImpl) {
+      writeAttribute(writer, "channel", ((PublicationImpl) element).getChannel());
+    }
+
+    writeValue(writer, "mimetype", element.mimeType);
+    if (element.tags != null) {
+      writeValues(writer, "tags", "tag", element.tags.toArray(new String[0]));
+    }
+    writeValue(writer, "url", element.uri);
+    writeValue(writer, "size", element.size);
+    if (element.checksum != null) {
+      writer.writeStartElement("checksum");
+      writeAttribute(writer, "type", element.checksum.getType());
+      if (element.checksum.getValue() != null) {
+        writer.writeCharacters(element.checksum.getValue());
+      }
+      writer.writeEndElement();
+    }
+
+    if (element instanceof TrackImpl) {
+      writeTrackContent(writer, (TrackImpl) element);
+    } else if (element instanceof AttachmentImpl) {
+      Map<String, String> properties = ((AttachmentImpl) element).getProperties();
+      if (!properties.isEmpty()) {
+        writer.writeStartElement("additionalProperties");
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+          writer.writeStartElement("property");
+          writeAttribute(writer, "key", property.getKey());
+          if (property.getValue() != null) {
+            writer.writeCharacters(property.getValue());
+          }
+          writer.writeEndElement();
+        }
+        writer.writeEndElement();
+      }
+    } else if (element instanceof PublicationImpl) {
+      Publication publication = (Publication) element;
+      writeElements(writer, "media", "track", publication.getTracks());
+      writeElements(writer, "attachments", "attachment", publication.getAttachments());
+      writeElements(writer, "metadata", "catalog", publication.getCatalogs());
+    }
+    writer.writeEndElement();
+  }
+
+  private static void writeTrackContent(XMLStreamWriter writer, TrackImpl track) throws XMLStreamException {
+    writeValue(writer, "duration", track.getDuration());
+    writeStreams(writer, "audio", track.getAudio());
+    writeStreams(writer, "video", track.getVideo());
+    writeStreams(writer, "subtitle", track.getSubtitle());
+    writeValue(writer, "live", track.isLive());
+    writeValue(writer, "master", track.hasMaster() ? track.isMaster() : null);
+    writeValue(writer, "logicalname", track.hasLogicalName() ? track.getLogicalName() : null);
+  }
+
+  private static void writeStreams(XMLStreamWriter writer, String name, List<? extends Stream> streams)
+          throws XMLStreamException {
+    if (streams == null) {
+      return;
+    }
+    for (Stream s : streams) {
+      AbstractStreamImpl stream = (AbstractStreamImpl) s;
+      writer.writeStartElement(name);
+      writeAttribute(writer, "id", stream.getIdentifier());
+      writer.writeEmptyElement("device");
+      writeAttribute(writer, "type", stream.getCaptureDevice());
+      writeAttribute(writer, "version", stream.getCaptureDeviceVersion());
+      writeAttribute(writer, "vendor", stream.getCaptureDeviceVendor());
+      writer.writeEmptyElement("encoder");
+      writeAttribute(writer, "type", stream.getFormat());
+      writeAttribute(writer, "version", stream.getFormatVersion());
+      writeAttribute(writer, "vendor", stream.getEncoderLibraryVendor());
+      writeValue(writer, "framecount", stream.getFrameCount());
+
+      if (stream instanceof AudioStreamImpl) {
+        AudioStreamImpl audio = (AudioStreamImpl) stream;
+        writeValue(writer, "bitdepth", audio.getBitDepth());
+        writeValue(writer, "channels", audio.getChannels());
+        writeValue(writer, "samplingrate", audio.getSamplingRate());
+        writeValue(writer, "bitrate", audio.getBitRate());
+        writeValue(writer, "peakleveldb", audio.getPkLevDb());
+        writeValue(writer, "rmsleveldb", audio.getRmsLevDb());
+        writeValue(writer, "rmspeakdb", audio.getRmsPkDb());
+      } else if (stream instanceof VideoStreamImpl) {
+        VideoStreamImpl video = (VideoStreamImpl) stream;
+        writeValue(writer, "bitrate", video.getBitRate());
+        writeValue(writer, "framerate", video.getFrameRate());
+        writeValue(writer, "resolution", video.getResolution());
+        if (video.getScanType() != null || video.getScanOrder() != null) {
+          writer.writeEmptyElement("scantype");
+          writeAttribute(writer, "type", video.getScanType());
+          writeAttribute(writer, "order", video.getScanOrder());
+        }
+      }
+      writer.writeEndElement();
+    }
+  }
+
+  /** Writes the values into a wrapper element. Nothing is written if there are no values. */
+  private static void writeValues(XMLStreamWriter writer, String wrapper, String name, String[] values)
+          throws XMLStreamException {
+    if (values.length == 0) {
+      return;
+    }
+    writer.writeStartElement(wrapper);
+    for (String value : values) {
+      writeValue(writer, name, value);
+    }
+    writer.writeEndElement();
+  }
+
+  private static void writeValue(XMLStreamWriter writer, String name, Object value) throws XMLStreamException {
+    if (value == null) {
+      return;
+    }
+    writer.writeStartElement(name);
+    writer.writeCharacters(print(value));
+    writer.writeEndElement();
+  }
+
+  private static void writeAttribute(XMLStreamWriter writer, String name, Object value) throws XMLStreamException {
+    if (value != null) {
+      writer.writeAttribute(name, print(value));
+    }
+  }
+
+  /** Formats a value the way JAXB does. */
+  private static String print(Object value) {
+    if (value instanceof Float) {
+      float f = (Float) value;
+      if (f == Float.POSITIVE_INFINITY) {
+        return "INF";
+      } else if (f == Float.NEGATIVE_INFINITY) {
+        return "-INF";
+      }
+    } else if (value instanceof Enum) {
+      return ((Enum<?>) value).name();
+    } else if (value instanceof MimeType) {
+      return ((MimeType) value).getType() + "/" + ((MimeType) value).getSubtype();
+    }
+    return value.toString();
+  }
+
+  private static MimeType parseMimeType(String value) {
+    try {
+      return MimeTypes.parseMimeType(value);
+    } catch (Exception e) {
+      logger.info("unable to parse mimetype {}", value);
+      return null;
+    }
+  }
+
+  private static URI parseUri(XMLStreamReader reader, MediaPackageSerializer serializer) throws XMLStreamException {
+    String value = reader.getElementText();
+    try {
+      if (serializer == null || value.isEmpty()) {
+        return new URI(value);
+      }
+      String trimmed = value.trim();
+      if (!trimmed.equals(value)) {
+        logger.warn("Detected invalid URI. Trying to fix it by removing spaces from beginning/end.");
+      }
+      return serializer.decodeURI(new URI(trimmed));
+    } catch (URISyntaxException e) {
+      if (serializer != null) {
+        throw new XMLStreamException("Error deserializing paths in media package", reader.getLocation(), e);
+      }
+      logger.debug("Ignoring invalid URI {}", value);
+      return null;
+    }
+  }
+
+  private static Long parseLong(String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Long.valueOf(value.trim());
+    } catch (NumberFormatException e) {
+      logger.debug("Ignoring invalid number {}", value);
+      return null;
+    }
+  }
+
+  private static Integer parseInteger(String value) {
+    try {
+      return Integer.valueOf(value.trim());
+    } catch (NumberFormatException e) {
+      logger.debug("Ignoring invalid number {}", value);
+      return null;
+    }
+  }
+
+  private static Float parseFloat(String value) {
+    value = value.trim();
+    switch (value) {
+      case "INF":
+        return Float.POSITIVE_INFINITY;
+      case "-INF":
+        return Float.NEGATIVE_INFINITY;
+      default:
+        try {
+          return Float.valueOf(value);
+        } catch (NumberFormatException e) {
+          logger.debug("Ignoring invalid number {}", value);
+          return null;
+        }
+    }
+  }
+
+  private static Boolean parseBoolean(String value) {
+    switch (value.trim()) {
+      case "true":
+      case "1":
+        return Boolean.TRUE;
+      case "false":
+      case "0":
+        return Boolean.FALSE;
+      default:
+        logger.debug("Ignoring invalid boolean {}", value);
+        return null;
+    }
+  }
+
+  private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Enum.valueOf(type, value.trim());
+    } catch (IllegalArgumentException e) {
+      logger.debug("Ignoring invalid {} {}", type.getSimpleName(), value);
+      return null;
+    }
+  }
+
+  /**
+   * Moves to the next child element of the current element.
+   *
+   * @return <code>false</code> if the end of the current element has been reached instead
+   */
+  private static boolean nextElement(XMLStreamReader reader) throws XMLStreamException {
+    while (reader.hasNext()) {
+      switch (reader.next()) {
+        case START_ELEMENT:
+          return true;
+        case END_ELEMENT:
+          return false;
+        default:
+          // Text, comments and processing instructions are ignored
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Moves to the next child element of the current element with the given name in the media package namespace. All
+   * other elements are skipped.
+   *
+   * @return <code>false</code> if the end of the current element has been reached instead
+   */
+  private static boolean nextChild(XMLStreamReader reader, String name) throws XMLStreamException {
+    while (nextElement(reader)) {
+      if (NAMESPACE.equals(reader.getNamespaceURI()) && name.equals(reader.getLocalName())) {
+        return true;
+      }
+      skip(reader);
+    }
+    return false;
+  }
+
+  /** Skips the current element including all of its content. */
+  private static void skip(XMLStreamReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0 && reader.hasNext()) {
+      int event = reader.next();
+      if (event == START_ELEMENT) {
+        depth++;
+      } else if (event == END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+}
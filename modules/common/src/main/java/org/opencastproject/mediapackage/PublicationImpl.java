@@ -72,6 +72,34 @@ public class PublicationImpl extends AbstractMediaPackageElement implements Publ
     this.channel = channel;
   }
 
+  /**
+   * Creates a copy of the given publication including the elements it contains.
+   *
+   * @param publication
+   *          the publication to copy
+   */
+  protected PublicationImpl(PublicationImpl publication) {
+    super(publication);
+    this.channel = publication.channel;
+    for (Track track : publication.tracks) {
+      this.tracks.add((Track) track.clone());
+    }
+    for (Attachment attachment : publication.attachments) {
+      this.attachments.add((Attachment) attachment.clone());
+    }
+    for (Catalog catalog : publication.catalogs) {
+      this.catalogs.add((Catalog) catalog.clone());
+    }
+  }
+
+  @Override
+  public Object clone() {
+    if (getClass() != PublicationImpl.class) {
+      return super.clone();
+    }
+    return new PublicationImpl(this);
+  }
+
   public static Publication publication(String id, String channel, URI uri, MimeType mimeType) {
     return new PublicationImpl(id, channel, uri, mimeType);
   }
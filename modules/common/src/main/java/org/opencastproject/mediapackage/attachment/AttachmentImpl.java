@@ -91,6 +91,25 @@ public class AttachmentImpl extends AbstractMediaPackageElement implements Attac
       } catch (UnknownFileTypeException e) { }
   }
 
+  /**
+   * Creates a copy of the given attachment.
+   *
+   * @param attachment
+   *          the attachment to copy
+   */
+  protected AttachmentImpl(AttachmentImpl attachment) {
+    super(attachment);
+    this.properties = attachment.properties != null ? new HashMap<>(attachment.properties) : null;
+  }
+
+  @Override
+  public Object clone() {
+    if (getClass() != AttachmentImpl.class) {
+      return super.clone();
+    }
+    return new AttachmentImpl(this);
+  }
+
   /**
    * Creates an attachment.
    *
@@ -91,6 +91,20 @@ public class IdImpl implements Id {
     return id.hashCode();
   }
 
+  /**
+   * Creates an identifier without validating it. This is how identifiers are read from serialized media packages,
+   * which may still contain identifiers that do not match the current pattern.
+   *
+   * @param id
+   *          the identifier
+   * @return the identifier
+   */
+  public static Id fromSerialized(String id) {
+    IdImpl result = new IdImpl();
+    result.id = id;
+    return result;
+  }
+
   /**
    * Generate a new UUID-based Id.
    * @return New Id
@@ -87,6 +87,31 @@ public abstract class AbstractStreamImpl implements Stream {
     this.identifier = identifier;
   }
 
+  /**
+   * Creates a copy of the given stream.
+   *
+   * @param stream
+   *          the stream to copy
+   */
+  protected AbstractStreamImpl(AbstractStreamImpl stream) {
+    this.identifier = stream.identifier;
+    if (stream.device != null) {
+      this.device.type = stream.device.type;
+      this.device.version = stream.device.version;
+      this.device.vendor = stream.device.vendor;
+    } else {
+      this.device = null;
+    }
+    if (stream.encoder != null) {
+      this.encoder.type = stream.encoder.type;
+      this.encoder.version = stream.encoder.version;
+      this.encoder.vendor = stream.encoder.vendor;
+    } else {
+      this.encoder = null;
+    }
+    this.frameCount = stream.frameCount;
+  }
+
   public String getIdentifier() {
     return identifier;
   }
@@ -76,6 +76,23 @@ public class AudioStreamImpl extends AbstractStreamImpl implements AudioStream {
     super(identifier);
   }
 
+  /**
+   * Creates a copy of the given stream.
+   *
+   * @param stream
+   *          the stream to copy
+   */
+  public AudioStreamImpl(AudioStreamImpl stream) {
+    super(stream);
+    this.bitdepth = stream.bitdepth;
+    this.channels = stream.channels;
+    this.samplingrate = stream.samplingrate;
+    this.bitrate = stream.bitrate;
+    this.pkLevDb = stream.pkLevDb;
+    this.rmsLevDb = stream.rmsLevDb;
+    this.rmsPkDb = stream.rmsPkDb;
+  }
+
   /**
    * @see org.opencastproject.mediapackage.ManifestContributor#toManifest(org.w3c.dom.Document,
    *      org.opencastproject.mediapackage.MediaPackageSerializer)
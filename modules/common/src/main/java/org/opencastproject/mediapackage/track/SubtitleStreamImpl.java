@@ -52,6 +52,16 @@ public class SubtitleStreamImpl extends AbstractStreamImpl implements SubtitleSt
     super(identifier);
   }
 
+  /**
+   * Creates a copy of the given stream.
+   *
+   * @param stream
+   *          the stream to copy
+   */
+  public SubtitleStreamImpl(SubtitleStreamImpl stream) {
+    super(stream);
+  }
+
   /**
    * Create a subtitle stream from the XML manifest.
    *
@@ -42,6 +42,7 @@ import org.w3c.dom.Node;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -130,6 +131,35 @@ public class TrackImpl extends AbstractMediaPackageElement implements Track {
     }
   }
 
+  /**
+   * Creates a copy of the given track including its streams.
+   *
+   * @param track
+   *          the track to copy
+   */
+  protected TrackImpl(TrackImpl track) {
+    super(track);
+    this.duration = track.duration;
+    this.audio = copyStreams(track.audio, s -> new AudioStreamImpl((AudioStreamImpl) s));
+    this.video = copyStreams(track.video, s -> new VideoStreamImpl((VideoStreamImpl) s));
+    this.subtitle = copyStreams(track.subtitle, s -> new SubtitleStreamImpl((SubtitleStreamImpl) s));
+    this.transport = track.transport;
+    this.live = track.live;
+    this.master = track.master;
+    this.logicalname = track.logicalname;
+  }
+
+  private static <S extends Stream> List<S> copyStreams(List<S> streams, Function<S, S> copy) {
+    if (streams == null) {
+      return null;
+    }
+    List<S> result = new ArrayList<>(streams.size());
+    for (S stream : streams) {
+      result.add(copy.apply(stream));
+    }
+    return result;
+  }
+
   /**
    * Creates a new track from the given url.
    *
@@ -333,23 +363,13 @@ public class TrackImpl extends AbstractMediaPackageElement implements Track {
     return transport;
   }
 
-  /**
-   * @see java.lang.Object#clone() todo
-   */
-  // @Override
-  // public Object clone() throws CloneNotSupportedException {
-  // TrackImpl t = null;
-  // try {
-  // t = new TrackImpl(flavor, mimeType, new File(path, fileName), checksum);
-  // t.duration = duration;
-  // // todo
-  // //t.audioSettings = (AudioSettings)audioSettings.clone();
-  // //t.videoSettings = (VideoSettings)videoSettings.clone();
-  // } catch (Exception e) {
-  // throw new IllegalStateException("Illegal state while cloning track: " + t);
-  // }
-  // return super.clone();
-  // }
+  @Override
+  public Object clone() {
+    if (getClass() != TrackImpl.class) {
+      return super.clone();
+    }
+    return new TrackImpl(this);
+  }
 
   public static class Adapter extends XmlAdapter<TrackImpl, Track> {
     @Override
@@ -392,4 +412,11 @@ public class TrackImpl extends AbstractMediaPackageElement implements Track {
     logicalname = name;
   }
 
+  /**
+   * @return true if a logical name has been set explicitly
+   */
+  public boolean hasLogicalName() {
+    return logicalname != null;
+  }
+
 }
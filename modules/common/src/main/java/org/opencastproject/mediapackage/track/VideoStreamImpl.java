@@ -84,6 +84,26 @@ public class VideoStreamImpl extends AbstractStreamImpl implements VideoStream {
     super(identifier);
   }
 
+  /**
+   * Creates a copy of the given stream.
+   *
+   * @param stream
+   *          the stream to copy
+   */
+  public VideoStreamImpl(VideoStreamImpl stream) {
+    super(stream);
+    this.bitRate = stream.bitRate;
+    this.frameRate = stream.frameRate;
+    this.resolution = stream.resolution;
+    this.frameWidth = stream.frameWidth;
+    this.frameHeight = stream.frameHeight;
+    if (stream.scanType != null) {
+      this.scanType = new Scan();
+      this.scanType.type = stream.scanType.type;
+      this.scanType.order = stream.scanType.order;
+    }
+  }
+
   /**
    * Create a video stream from the XML manifest.
    *
@@ -217,6 +237,13 @@ public class VideoStreamImpl extends AbstractStreamImpl implements VideoStream {
     }
   }
 
+  /**
+   * @return the resolution in the form <code>&lt;width&gt;x&lt;height&gt;</code> as stored in the manifest
+   */
+  public String getResolution() {
+    return resolution;
+  }
+
   @Override
   public ScanType getScanType() {
     return scanType != null ? scanType.type : null;
@@ -249,6 +276,10 @@ public class VideoStreamImpl extends AbstractStreamImpl implements VideoStream {
       updateResolution();
   }
 
+  public void setResolution(String resolution) {
+    this.resolution = resolution;
+  }
+
   private void updateResolution() {
     resolution = frameWidth.toString() + "x" + frameHeight.toString();
   }
@@ -25,8 +25,10 @@ import org.opencastproject.job.api.Job;
 import org.opencastproject.job.api.Job.Status;
 import org.opencastproject.serviceregistry.api.SystemLoad.NodeLoad;
 import org.opencastproject.util.NotFoundException;
+import org.opencastproject.util.data.Tuple3;
 
 import java.util.List;
+import java.util.Map;
 
 /** Manages clustered services and the {@link Job}s they may create to enable asynchronous job handling. */
 public interface ServiceRegistry {
@@ -433,6 +435,16 @@ public interface ServiceRegistry {
    */
   List<Job> getActiveJobs() throws ServiceRegistryException;
 
+  /**
+   * Count the active jobs grouped by organization, processing host and operation. Contrary to {@link #getActiveJobs()},
+   * this does not need to load the jobs.
+   *
+   * @return the number of active jobs by organization, processing host and operation. The host is <code>null</code>
+   *         for jobs which have not been dispatched yet.
+   * @throws ServiceRegistryException if there is a problem accessing the service registry
+   */
+  Map<Tuple3<String, String, String>, Long> countActiveJobs() throws ServiceRegistryException;
+
   /**
    * Get all child jobs from a job
    *
@@ -34,6 +34,7 @@ import org.opencastproject.security.api.User;
 import org.opencastproject.security.api.UserDirectoryService;
 import org.opencastproject.serviceregistry.api.SystemLoad.NodeLoad;
 import org.opencastproject.util.NotFoundException;
+import org.opencastproject.util.data.Tuple3;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -726,6 +727,20 @@ public class ServiceRegistryInMemoryImpl implements ServiceRegistry {
     return result;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.opencastproject.serviceregistry.api.ServiceRegistry#countActiveJobs()
+   */
+  @Override
+  public Map<Tuple3<String, String, String>, Long> countActiveJobs() throws ServiceRegistryException {
+    Map<Tuple3<String, String, String>, Long> result = new HashMap<>();
+    for (Job job : getActiveJobs()) {
+      result.merge(Tuple3.tuple3(job.getOrganization(), job.getProcessingHost(), job.getOperation()), 1L, Long::sum);
+    }
+    return result;
+  }
+
   @Override
   public Incidents incident() {
     return incidents;
@@ -34,6 +34,9 @@ import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.TransformerFactory;
 
 
@@ -42,6 +45,9 @@ public final class XmlSafeParser {
 
   private static final Logger logger = LoggerFactory.getLogger(XmlSafeParser.class);
 
+  /** The factory for streaming parsers. Once configured, factories can be shared between threads. */
+  private static final XMLInputFactory xmlInputFactory = newXMLInputFactory();
+
   private XmlSafeParser() {
   }
 
@@ -97,6 +103,35 @@ public final class XmlSafeParser {
     return f;
   }
 
+  /**
+   * Creates a preconfigured XMLInputFactory, which is guarded against XXE and billion laugh attacks.
+   * @return the preconfigured XMLInputFactory
+   */
+  public static XMLInputFactory newXMLInputFactory() {
+    XMLInputFactory f = XMLInputFactory.newFactory();
+    try {
+      f.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+      f.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+    catch (Exception e) {
+      // this shouldn't occur
+      logger.error("Failed to configure safe XMLInputFactory to prevent XXE.");
+      throw new AssertionError("Failed to configure safe XMLInputFactory to prevent XXE.", e);
+    }
+
+    return f;
+  }
+
+  /**
+   * Creates a streaming parser, which is guarded against XXE and billion laugh attacks, for the given document.
+   * The parsing is namespace aware.
+   * @param in the document to parse
+   * @return the stream reader
+   */
+  public static XMLStreamReader newXMLStreamReader(InputStream in) throws XMLStreamException {
+    return xmlInputFactory.createXMLStreamReader(in);
+  }
+
   /**
    * Creates a preconfigured default TransformerFactory, which is guarded against XXE and billion laugh attacks.
    * @return the preconfigured TransformerFactory
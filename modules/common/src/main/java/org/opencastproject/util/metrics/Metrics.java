@@ -0,0 +1,291 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.util.metrics;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process wide registry of counters and histograms recorded on hot paths like job dispatching, workflow operations
+ * or encoding.
+ * <p>
+ * Recording a value only touches a few {@link LongAdder}s so that it is cheap enough to be done on every request.
+ * The metrics exporter reads the current values when metrics are scraped. This class does not depend on any metrics
+ * library so that every bundle can record metrics without embedding one.
+ */
+public final class Metrics {
+
+  /** Buckets in seconds for short operations like database or HTTP requests */
+  public static final double[] LATENCY_BUCKETS = {
+      0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30 };
+
+  /** Buckets in seconds for long running operations like workflow operations or encodings */
+  public static final double[] DURATION_BUCKETS = {
+      0.1, 0.5, 1, 5, 10, 30, 60, 120, 300, 600, 1800, 3600, 7200, 14400 };
+
+  private static final Map<String, Metric<?>> metrics = new ConcurrentHashMap<>();
+
+  private Metrics() {
+  }
+
+  /**
+   * Get or create a histogram.
+   *
+   * @param name
+   *          the metric name
+   * @param help
+   *          a short description of the metric
+   * @param buckets
+   *          the upper bounds of the histogram buckets in ascending order
+   * @param labelNames
+   *          the names of the labels of this metric
+   * @return the histogram
+   * @throws IllegalArgumentException
+   *           if a different metric with the same name is already registered
+   */
+  public static Histogram histogram(String name, String help, double[] buckets, String... labelNames) {
+    final Metric<?> metric = metrics.computeIfAbsent(name, n -> new Histogram(n, help, buckets, labelNames));
+    if (!(metric instanceof Histogram) || !metric.labelNames.equals(Arrays.asList(labelNames))) {
+      throw new IllegalArgumentException("Metric " + name + " is already registered with a different type or labels");
+    }
+    return (Histogram) metric;
+  }
+
+  /**
+   * Get or create a counter.
+   *
+   * @param name
+   *          the metric name
+   * @param help
+   *          a short description of the metric
+   * @param labelNames
+   *          the names of the labels of this metric
+   * @return the counter
+   * @throws IllegalArgumentException
+   *           if a different metric with the same name is already registered
+   */
+  public static Counter counter(String name, String help, String... labelNames) {
+    final Metric<?> metric = metrics.computeIfAbsent(name, n -> new Counter(n, help, labelNames));
+    if (!(metric instanceof Counter) || !metric.labelNames.equals(Arrays.asList(labelNames))) {
+      throw new IllegalArgumentException("Metric " + name + " is already registered with a different type or labels");
+    }
+    return (Counter) metric;
+  }
+
+  /**
+   * @return all registered metrics
+   */
+  public static Collection<Metric<?>> getMetrics() {
+    return Collections.unmodifiableCollection(metrics.values());
+  }
+
+  /**
+   * Base class of all metrics. Values are tracked separately for each combination of label values.
+   *
+   * @param <C>
+   *          the type holding the values of one combination of label values
+   */
+  public abstract static class Metric<C> {
+    private final String name;
+    private final String help;
+    private final List<String> labelNames;
+    private final Map<List<String>, C> children = new ConcurrentHashMap<>();
+
+    Metric(String name, String help, String... labelNames) {
+      this.name = name;
+      this.help = help;
+      this.labelNames = Collections.unmodifiableList(Arrays.asList(labelNames));
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getHelp() {
+      return help;
+    }
+
+    public List<String> getLabelNames() {
+      return labelNames;
+    }
+
+    /**
+     * @return the values of this metric by label values
+     */
+    public Map<List<String>, C> getChildren() {
+      return Collections.unmodifiableMap(children);
+    }
+
+    C child(String... labelValues) {
+      if (labelValues.length != labelNames.size()) {
+        throw new IllegalArgumentException("Metric " + name + " expects labels " + labelNames);
+      }
+      // Replace null values so that exporters do not need to care about them
+      final String[] values = labelValues.clone();
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] == null) {
+          values[i] = "";
+        }
+      }
+      final List<String> key = Arrays.asList(values);
+      final C child = children.get(key);
+      if (child != null) {
+        return child;
+      }
+      return children.computeIfAbsent(key, k -> newChild());
+    }
+
+    abstract C newChild();
+  }
+
+  /**
+   * A histogram counting observations in buckets.
+   */
+  public static final class Histogram extends Metric<Histogram.Child> {
+    private final double[] buckets;
+
+    Histogram(String name, String help, double[] buckets, String... labelNames) {
+      super(name, help, labelNames);
+      for (int i = 1; i < buckets.length; i++) {
+        if (buckets[i - 1] >= buckets[i]) {
+          throw new IllegalArgumentException("Buckets must be in increasing order");
+        }
+      }
+      this.buckets = buckets.clone();
+    }
+
+    /**
+     * @return the upper bounds of the buckets, not including the implicit +Inf bucket
+     */
+    public double[] getBuckets() {
+      return buckets.clone();
+    }
+
+    /**
+     * Record an observation.
+     *
+     * @param value
+     *          the observed value
+     * @param labelValues
+     *          the label values in the order of the label names
+     */
+    public void observe(double value, String... labelValues) {
+      child(labelValues).observe(value);
+    }
+
+    /**
+     * Record the time in seconds which has passed since <code>startNanos</code>.
+     *
+     * @param startNanos
+     *          the start time as returned by {@link System#nanoTime()}
+     * @param labelValues
+     *          the label values in the order of the label names
+     */
+    public void observeSince(long startNanos, String... labelValues) {
+      observe((System.nanoTime() - startNanos) / 1e9, labelValues);
+    }
+
+    @Override
+    Child newChild() {
+      return new Child(buckets.length + 1);
+    }
+
+    /** The values of a histogram for one combination of label values */
+    public final class Child {
+      private final LongAdder[] counts;
+      private final DoubleAdder sum = new DoubleAdder();
+
+      private Child(int size) {
+        counts = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+          counts[i] = new LongAdder();
+        }
+      }
+
+      private void observe(double value) {
+        int bucket = 0;
+        while (bucket < buckets.length && value > buckets[bucket]) {
+          bucket++;
+        }
+        counts[bucket].increment();
+        sum.add(value);
+      }
+
+      /**
+       * @return the cumulative counts of all buckets, the last value being the +Inf bucket and hence the total count
+       */
+      public long[] getCumulativeCounts() {
+        final long[] result = new long[counts.length];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+          total += counts[i].sum();
+          result[i] = total;
+        }
+        return result;
+      }
+
+      /**
+       * @return the sum of all observed values
+       */
+      public double getSum() {
+        return sum.sum();
+      }
+    }
+  }
+
+  /**
+   * A monotonically increasing counter. By convention, counter names end with <code>_total</code>.
+   */
+  public static final class Counter extends Metric<DoubleAdder> {
+
+    Counter(String name, String help, String... labelNames) {
+      super(name, help, labelNames);
+    }
+
+    /**
+     * Increment the counter.
+     *
+     * @param amount
+     *          the amount to add, must not be negative
+     * @param labelValues
+     *          the label values in the order of the label names
+     */
+    public void inc(double amount, String... labelValues) {
+      if (amount < 0) {
+        throw new IllegalArgumentException("Counters can only be incremented");
+      }
+      child(labelValues).add(amount);
+    }
+
+    @Override
+    DoubleAdder newChild() {
+      return new DoubleAdder();
+    }
+  }
+
+}
@@ -22,18 +22,31 @@
 package org.opencastproject.db;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.opencastproject.db.DBTestEnv.newDBSession;
+import static org.opencastproject.db.DBTestEnv.newEntityManagerFactory;
+import static org.opencastproject.db.DBTestEnv.newPersistenceProvider;
 import static org.opencastproject.db.Queries.namedQuery;
 
+import org.opencastproject.util.metrics.Metrics;
+
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.eclipse.persistence.exceptions.DatabaseException;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
 import javax.persistence.RollbackException;
@@ -114,6 +127,40 @@ public class DBSessionTest {
     assertEquals(2, calls.get());
   }
 
+  @Test
+  public void testUpsertRetriesDuplicateKey() {
+    AtomicInteger calls = new AtomicInteger();
+    int result = DBUtils.execTxWithUpsert(db, em -> {
+      if (calls.incrementAndGet() == 1) {
+        throw DatabaseException.sqlException(new SQLException("duplicate key", "23505"));
+      }
+      return calls.get();
+    });
+    assertEquals(2, result);
+
+    calls.set(0);
+    try {
+      DBUtils.execTxWithUpsert(db, em -> {
+        calls.incrementAndGet();
+        throw DatabaseException.sqlException(new SQLException("duplicate key", "23505"));
+      });
+      fail("A duplicate key must fail the transaction after the last attempt");
+    } catch (DatabaseException e) {
+      assertEquals(DBUtils.MAX_DUPLICATE_KEY_ATTEMPTS, calls.get());
+    }
+
+    calls.set(0);
+    try {
+      DBUtils.execTxWithUpsert(db, em -> {
+        calls.incrementAndGet();
+        throw new IllegalStateException("error");
+      });
+      fail("Other errors must not be retried");
+    } catch (IllegalStateException e) {
+      assertEquals(1, calls.get());
+    }
+  }
+
   @Test
   public void testTransactionPropagation() {
     long id = db.execTx(em -> {
@@ -125,6 +172,65 @@ public class DBSessionTest {
     assertEquals("dto value", "B", db.execTx(namedQuery.findById(TestDto.class, id)).getValue());
   }
 
+  @Test
+  public void testCallSiteMetrics() {
+    db.execTx(namedQuery.findAll("Test.findAll", TestDto.class));
+    db.exec(namedQuery.findByIdOpt(TestDto.class, 1L));
+    final AtomicInteger calls = new AtomicInteger();
+    db.execTx(em -> {
+      if (calls.incrementAndGet() == 1) {
+        throw new RollbackException("error");
+      }
+    });
+
+    final Metrics.Histogram callTime = (Metrics.Histogram) getMetric("opencast_db_call_seconds");
+    assertNotNull(callTime.getChildren().get(Arrays.asList("Test.findAll", "transaction")));
+    assertNotNull(callTime.getChildren().get(Arrays.asList("find TestDto", "query")));
+    final Metrics.Counter retries = (Metrics.Counter) getMetric("opencast_db_transaction_retries_total");
+    assertTrue(retries.getChildren().get(Arrays.asList(DBSessionTest.class.getName())).sum() >= 1);
+  }
+
+  @Test
+  public void testReplicaRouting() throws Exception {
+    // A second database with the same schema stands in for the replica
+    final String replicaUrl = "jdbc:h2:./target/db-replica" + System.nanoTime();
+    final DBSession replicaDb = newDBSession(newEntityManagerFactory("test", "Auto", "org.h2.Driver", replicaUrl,
+        "sa", "sa", Map.of(PersistenceUnitProperties.DDL_GENERATION, PersistenceUnitProperties.DROP_AND_CREATE,
+            PersistenceUnitProperties.DDL_GENERATION_MODE, PersistenceUnitProperties.DDL_DATABASE_GENERATION),
+        newPersistenceProvider()));
+    final ComboPooledDataSource replica = new ComboPooledDataSource();
+    replica.setDriverClass("org.h2.Driver");
+    replica.setJdbcUrl(replicaUrl);
+    replica.setUser("sa");
+    replica.setPassword("sa");
+    try {
+      replicaDb.execTx(namedQuery.persist(TestDto.create("key", "replica")));
+      db.execTx(namedQuery.persist(TestDto.create("key", "primary")));
+      ((DBSessionImpl) db).setReplica(() -> replica);
+
+      assertEquals(Arrays.asList("replica"), values(db.exec(TestDto.findAll)));
+      assertEquals(Arrays.asList("primary"), values(db.execPrimary(TestDto.findAll)));
+      assertEquals(Arrays.asList("primary"), values(db.execTx(TestDto.findAll)));
+      // Reads nested in a transaction stay on the primary database
+      assertEquals(Arrays.asList("primary"), db.execTx(em -> values(db.exec(TestDto.findAll))));
+
+      // No replica available
+      ((DBSessionImpl) db).setReplica(() -> null);
+      assertEquals(Arrays.asList("primary"), values(db.exec(TestDto.findAll)));
+    } finally {
+      replicaDb.close();
+      replica.close();
+    }
+  }
+
+  private static List<String> values(List<TestDto> dtos) {
+    return dtos.stream().map(TestDto::getValue).collect(Collectors.toList());
+  }
+
+  private static Metrics.Metric<?> getMetric(String name) {
+    return Metrics.getMetrics().stream().filter(m -> m.getName().equals(name)).findFirst().get();
+  }
+
   private long save(TestDto dto) {
     dto.setValue("B");
     return db.execTx(namedQuery.persist(dto)).getId();
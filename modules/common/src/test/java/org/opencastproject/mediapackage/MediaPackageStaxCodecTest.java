@@ -0,0 +1,207 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.mediapackage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.opencastproject.mediapackage.attachment.AttachmentImpl;
+import org.opencastproject.mediapackage.identifier.IdImpl;
+import org.opencastproject.mediapackage.track.AudioStreamImpl;
+import org.opencastproject.mediapackage.track.TrackImpl;
+import org.opencastproject.mediapackage.track.VideoStreamImpl;
+import org.opencastproject.util.Checksum;
+import org.opencastproject.util.ChecksumType;
+import org.opencastproject.util.MimeTypes;
+import org.opencastproject.util.XmlSafeParser;
+
+import org.apache.commons.io.IOUtils;
+import org.custommonkey.xmlunit.XMLAssert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import javax.xml.bind.Marshaller;
+
+/**
+ * Makes sure that the StAX codec reads and writes the same documents as the JAXB bindings.
+ */
+public class MediaPackageStaxCodecTest {
+
+  private static String marshal(MediaPackage mediaPackage) throws Exception {
+    Marshaller marshaller = MediaPackageImpl.context.createMarshaller();
+    StringWriter writer = new StringWriter();
+    marshaller.marshal(mediaPackage, writer);
+    return writer.toString();
+  }
+
+  private static MediaPackage unmarshal(String xml) throws Exception {
+    return MediaPackageImpl.valueOf(XmlSafeParser.parse(IOUtils.toInputStream(xml, StandardCharsets.UTF_8)));
+  }
+
+  private static MediaPackage read(String xml) throws Exception {
+    return MediaPackageStaxCodec.read(IOUtils.toInputStream(xml, StandardCharsets.UTF_8));
+  }
+
+  private static String write(MediaPackage mediaPackage) throws Exception {
+    StringWriter writer = new StringWriter();
+    MediaPackageStaxCodec.write(mediaPackage, writer);
+    return writer.toString();
+  }
+
+  @Test
+  public void testReadManifest() throws Exception {
+    String xml;
+    try (InputStream in = getClass().getResourceAsStream("/manifest.xml")) {
+      xml = IOUtils.toString(in, StandardCharsets.UTF_8);
+    }
+    MediaPackage jaxb = unmarshal(xml);
+    MediaPackage stax = read(xml);
+
+    XMLAssert.assertXMLEqual(marshal(jaxb), marshal(stax));
+    XMLAssert.assertXMLEqual(marshal(jaxb), write(stax));
+    assertTrue(write(stax).startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            + "<mediapackage xmlns=\"http://mediapackage.opencastproject.org\""));
+
+    Track track = stax.getTrack("track-1");
+    assertEquals(Long.valueOf(1004400000L), track.getDuration());
+    assertEquals(Integer.valueOf(640), ((VideoStreamImpl) track.getStreams()[0]).getFrameWidth());
+    assertEquals("series:1", stax.getCatalog("catalog-2").getReference().toString());
+    assertEquals(5, stax.getPublications()[0].getTracks().length + stax.getPublications()[0].getCatalogs().length);
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    MediaPackage mediaPackage = createMediaPackage(500);
+    String xml = write(mediaPackage);
+
+    XMLAssert.assertXMLEqual(marshal(mediaPackage), xml);
+    XMLAssert.assertXMLEqual(marshal(unmarshal(xml)), marshal(read(xml)));
+    assertEquals(xml, write(read(xml)));
+    assertEquals(3 * 500 + 1, read(xml).getElements().length);
+  }
+
+  @Test
+  public void testWriteToStream() throws Exception {
+    MediaPackage mediaPackage = createMediaPackage(1);
+    mediaPackage.setTitle("Ökologie & <Umwelt>");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MediaPackageStaxCodec.write(mediaPackage, out);
+
+    assertEquals(write(mediaPackage), out.toString(StandardCharsets.UTF_8.name()));
+    assertEquals("Ökologie & <Umwelt>", read(out.toString(StandardCharsets.UTF_8.name())).getTitle());
+  }
+
+  @Test
+  public void testUnknownContent() throws Exception {
+    String xml = "<mediapackage xmlns=\"http://mediapackage.opencastproject.org\" xmlns:x=\"urn:x\" id=\"10.0000/1\">"
+            + "<x:title>ignored</x:title><unknown><title>ignored</title></unknown><title>Title</title>"
+            + "<media><track id=\"t\" transport=\"NONE\"><duration>1000</duration><x:url>ignored</x:url>"
+            + "<video><scanType type=\"progressive\"/><framerate>25</framerate></video></track></media>"
+            + "</mediapackage>";
+    MediaPackage mediaPackage = read(xml);
+
+    assertEquals("10.0000/1", mediaPackage.getIdentifier().toString());
+    assertEquals("Title", mediaPackage.getTitle());
+    TrackImpl track = (TrackImpl) mediaPackage.getTrack("t");
+    assertEquals(null, track.getTransport());
+    assertEquals(Long.valueOf(1000L), track.getDuration());
+    assertEquals(null, track.getURI());
+    assertEquals(Float.valueOf(25), ((VideoStreamImpl) track.getStreams()[0]).getFrameRate());
+    XMLAssert.assertXMLEqual(marshal(unmarshal(xml)), marshal(mediaPackage));
+  }
+
+  @Test(expected = MediaPackageException.class)
+  public void testDoctypeIsRejected() throws Exception {
+    read("<?xml version=\"1.0\"?><!DOCTYPE mediapackage [<!ENTITY e SYSTEM \"file:///etc/passwd\">]>"
+            + "<mediapackage xmlns=\"http://mediapackage.opencastproject.org\"><title>&e;</title></mediapackage>");
+  }
+
+  @Test
+  public void testSerializer() throws Exception {
+    MediaPackage mediaPackage = createMediaPackage(1);
+    mediaPackage.getTracks()[0].setURI(new URI("tracks/video.mp4"));
+    MediaPackageSerializer serializer = new DefaultMediaPackageSerializerImpl(new URL("http://localhost/mp/"));
+
+    MediaPackage result = MediaPackageStaxCodec.read(
+            IOUtils.toInputStream(write(mediaPackage), StandardCharsets.UTF_8), serializer);
+    assertEquals("http://localhost/mp/tracks/video.mp4", result.getTracks()[0].getURI().toString());
+    assertTrue(result.getCatalogs()[0].getURI().toString().startsWith("http://localhost/mp/"));
+  }
+
+  /** Creates a media package with the given number of tracks, catalogs and attachments each. */
+  private static MediaPackage createMediaPackage(int size) throws Exception {
+    MediaPackage mediaPackage = new MediaPackageImpl(new IdImpl("mp"));
+    mediaPackage.setTitle("Title");
+    mediaPackage.setSeries("series");
+    mediaPackage.addCreator("Creator 1");
+    mediaPackage.addCreator("Creator 2");
+    mediaPackage.setDate(new Date(1600000000000L));
+    for (int i = 0; i < size; i++) {
+      TrackImpl track = TrackImpl.fromURI(new URI("track-" + i + ".mp4"));
+      track.setIdentifier("track-" + i);
+      track.setFlavor(MediaPackageElements.PRESENTER_SOURCE);
+      track.setDuration(1000L * i);
+      track.setChecksum(Checksum.create(ChecksumType.DEFAULT_TYPE, "abcd" + i));
+      track.addTag("engage-download");
+      track.addTag("archive");
+      track.setMaster(i % 2 == 0);
+      VideoStreamImpl video = new VideoStreamImpl("video-" + i);
+      video.setFrameWidth(1920);
+      video.setFrameHeight(1080);
+      video.setFrameRate(29.97f);
+      video.setBitRate(Float.POSITIVE_INFINITY);
+      AudioStreamImpl audio = new AudioStreamImpl("audio-" + i);
+      audio.setChannels(2);
+      audio.setBitRate(128000f);
+      audio.setFormat("aac");
+      track.addStream(video);
+      track.addStream(audio);
+      mediaPackage.add(track);
+
+      Catalog catalog = CatalogImpl.fromURI(new URI("catalog-" + i + ".xml"));
+      catalog.setIdentifier("catalog-" + i);
+      catalog.setFlavor(MediaPackageElements.EPISODE);
+      catalog.setReference(new MediaPackageReferenceImpl(track));
+      mediaPackage.add(catalog);
+
+      Attachment attachment = AttachmentImpl.fromURI(new URI("attachment-" + i + ".png"));
+      attachment.setIdentifier("attachment-" + i);
+      attachment.setMimeType(MimeTypes.parseMimeType("image/png"));
+      attachment.setSize(i);
+      attachment.getProperties().put("key", "value " + i);
+      mediaPackage.add(attachment);
+    }
+    Publication publication = PublicationImpl.publication("publication", "engage", new URI("http://engage/"),
+            MimeTypes.parseMimeType("text/html"));
+    publication.addTrack((Track) mediaPackage.getTracks()[0].clone());
+    mediaPackage.add(publication);
+    return mediaPackage;
+  }
+
+}
@@ -24,6 +24,7 @@ package org.opencastproject.mediapackage;
 
 import static io.restassured.path.xml.XmlPath.from;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.opencastproject.mediapackage.MediaPackageElements.PRESENTATION_SOURCE;
@@ -33,6 +34,7 @@ import static org.opencastproject.mediapackage.PublicationImpl.publication;
 import static org.opencastproject.util.MimeType.mimeType;
 
 import org.opencastproject.mediapackage.MediaPackageElement.Type;
+import org.opencastproject.mediapackage.track.VideoStreamImpl;
 import org.opencastproject.util.ConfigurationException;
 import org.opencastproject.util.XmlSafeParser;
 
@@ -193,4 +195,30 @@ public class MediaPackageTest extends AbstractMediaPackageTest {
     // assertTrue("Expect presenter to be in set", elements.contains(presenter));
     // assertTrue("Expect presentation to be in set", elements.contains(presentation));
   }
+
+  @Test
+  public void testClone() throws Exception {
+    final MediaPackage mp = loadFromClassPath("/manifest.xml");
+    final MediaPackage clone = (MediaPackage) mp.clone();
+
+    // The clone has to be equivalent to a serialized and parsed copy
+    final String xml = MediaPackageParser.getAsXml(mp);
+    assertEquals(xml, MediaPackageParser.getAsXml(clone));
+    assertEquals(MediaPackageParser.getAsXml(MediaPackageParser.getFromXml(xml)), MediaPackageParser.getAsXml(clone));
+
+    final Track track = clone.getTracks()[0];
+    assertNotSame(mp.getTracks()[0], track);
+    assertEquals(clone, track.getMediaPackage());
+    final Catalog catalog = clone.getCatalog("catalog-3");
+    assertEquals(mp.getCatalog("catalog-3").getReference(), catalog.getReference());
+    assertNotSame(mp.getCatalog("catalog-3").getReference(), catalog.getReference());
+
+    // Changing the clone must not affect the original
+    track.addTag("cloned");
+    ((VideoStreamImpl) track.getStreams()[0]).setFrameRate(50f);
+    clone.getPublications()[0].getTracks()[0].addTag("cloned");
+    catalog.setFlavor(MediaPackageElementFlavor.parseFlavor("cloned/catalog"));
+    catalog.getReference().setProperty("cloned", "true");
+    assertEquals(xml, MediaPackageParser.getAsXml(mp));
+  }
 }
@@ -0,0 +1,74 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.util.metrics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class MetricsTest {
+
+  @Test
+  public void testHistogram() {
+    final Metrics.Histogram histogram = Metrics.histogram("test_histogram_seconds", "Test",
+        new double[] { 1, 5 }, "operation");
+    histogram.observe(0.5, "a");
+    histogram.observe(1, "a");
+    histogram.observe(3, "a");
+    histogram.observe(10, "a");
+    histogram.observe(2, "b");
+
+    final Metrics.Histogram.Child a = histogram.getChildren().get(Arrays.asList("a"));
+    assertArrayEquals(new long[] { 2, 3, 4 }, a.getCumulativeCounts());
+    assertEquals(14.5, a.getSum(), 0.0);
+    assertArrayEquals(new long[] { 0, 1, 1 }, histogram.getChildren().get(Arrays.asList("b")).getCumulativeCounts());
+
+    // The same histogram is returned for the same name
+    assertSame(histogram, Metrics.histogram("test_histogram_seconds", "Test", new double[] { 1, 5 }, "operation"));
+  }
+
+  @Test
+  public void testCounter() {
+    final Metrics.Counter counter = Metrics.counter("test_counter_total", "Test", "host");
+    counter.inc(2, "h");
+    counter.inc(3, "h");
+    counter.inc(1, (String) null);
+    assertEquals(5.0, counter.getChildren().get(Arrays.asList("h")).sum(), 0.0);
+    assertEquals(1.0, counter.getChildren().get(Arrays.asList("")).sum(), 0.0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConflictingRegistration() {
+    Metrics.counter("test_conflict_total", "Test");
+    Metrics.histogram("test_conflict_total", "Test", Metrics.LATENCY_BUCKETS);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongLabels() {
+    Metrics.counter("test_labels_total", "Test", "a", "b").inc(1, "a");
+  }
+
+}
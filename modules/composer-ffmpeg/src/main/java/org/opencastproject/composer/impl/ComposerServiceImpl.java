@@ -110,7 +110,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Dictionary;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -118,7 +117,10 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /** FFMPEG based implementation of the composer service api. */
@@ -224,8 +226,17 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
     Encode, Image, ImageConversion, Mux, Trim, Composite, Concat, ImageToVideo, ParallelEncode, Demux, ProcessSmil, MultiEncode
   }
 
-  /** tracked encoder engines */
-  private Set<EncoderEngine> activeEncoder = new HashSet<>();
+  /** Interval in seconds in which running encodings are checked for cancelled jobs */
+  private static final long CANCELLATION_CHECK_INTERVAL = 10;
+
+  /** tracked encoder engines and the jobs they are running for */
+  private final Map<EncoderEngine, Job> activeEncoder = new ConcurrentHashMap<>();
+
+  /** Progress of the running encodings by job identifier */
+  private final Map<Long, EncodingProgress> encodingProgress = new ConcurrentHashMap<>();
+
+  /** Executor checking whether running encodings have been cancelled */
+  private ScheduledExecutorService cancellationExecutor = null;
 
   /** Encoding profile manager */
   private EncodingProfileScanner profileScanner = null;
@@ -272,6 +283,9 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
     ffmpegBinary = StringUtils.defaultString(cc.getBundleContext().getProperty(CONFIG_FFMPEG_PATH),
             FFMPEG_BINARY_DEFAULT);
     logger.debug("ffmpeg binary: {}", ffmpegBinary);
+    cancellationExecutor = Executors.newSingleThreadScheduledExecutor();
+    cancellationExecutor.scheduleWithFixedDelay(this::cancelStoppedEncodings, CANCELLATION_CHECK_INTERVAL,
+            CANCELLATION_CHECK_INTERVAL, TimeUnit.SECONDS);
     logger.info("Activating composer service");
   }
 
@@ -281,7 +295,10 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
   @Deactivate
   public void deactivate() {
     logger.info("Deactivating composer service");
-    for (EncoderEngine engine: activeEncoder) {
+    if (cancellationExecutor != null) {
+      cancellationExecutor.shutdownNow();
+    }
+    for (EncoderEngine engine: activeEncoder.keySet()) {
       engine.close();
     }
     logger.debug("Closed encoder engine factory");
@@ -391,7 +408,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
     logger.info("Encoding {} into {} using profile {}", StringUtils.join(trackMsg, ", "), targetTrackId, profileId);
 
     // Do the work
-    final EncoderEngine encoder = getEncoderEngine();
+    final EncoderEngine encoder = getEncoderEngine(job);
     List<File> output;
     try {
       output = encoder.process(files, profile, null);
@@ -405,7 +422,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
       incident().recordFailure(job, ENCODING_FAILED, e, params, detailsFor(e, encoder));
       throw e;
     } finally {
-      activeEncoder.remove(encoder);
+      releaseEncoderEngine(encoder);
     }
 
     // We expect zero or one file as output
@@ -454,7 +471,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
 
     // Create the engine
     final EncodingProfile profile = getProfile(profileId);
-    final EncoderEngine encoderEngine = getEncoderEngine();
+    final EncoderEngine encoderEngine = getEncoderEngine(job);
 
     // conditional settings based on frame height and width
     final Optional<VideoStream> videoStream = Arrays.stream(mediaTrack.getStreams())
@@ -494,7 +511,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
     List<File> outputFiles = encoderEngine.process(source, profile, properties);
     var returnURLs = new ArrayList<URI>();
     var tagsForUrls = new ArrayList<List<String>>();
-    activeEncoder.remove(encoderEngine);
+    releaseEncoderEngine(encoderEngine);
     int i = 0;
     var fileMapping = new HashMap<String, String>();
     for (File file: outputFiles) {
@@ -626,7 +643,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
     final EncodingProfile profile = getProfile(job, profileId);
 
     // Create the engine
-    final EncoderEngine encoderEngine = getEncoderEngine();
+    final EncoderEngine encoderEngine = getEncoderEngine(job);
 
     File output;
     try {
@@ -640,7 +657,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
       incident().recordFailure(job, TRIMMING_FAILED, e, params, detailsFor(e, encoderEngine));
       throw e;
     } finally {
-      activeEncoder.remove(encoderEngine);
+      releaseEncoderEngine(encoderEngine);
     }
 
     // trim did not return a file
@@ -738,7 +755,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
     final EncodingProfile profile = getProfile(job, profileId);
 
     // Create the engine
-    final EncoderEngine encoderEngine = getEncoderEngine();
+    final EncoderEngine encoderEngine = getEncoderEngine(job);
 
     final String targetTrackId = IdImpl.fromUUID().toString();
     Option<File> upperVideoFile = Option.none();
@@ -875,7 +892,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
         incident().recordFailure(job, COMPOSITE_FAILED, e, params, detailsFor(e, encoderEngine));
         throw e;
       } finally {
-        activeEncoder.remove(encoderEngine);
+        releaseEncoderEngine(encoderEngine);
       }
 
       // We expect one file as output
@@ -984,7 +1001,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
     }
 
     // Create the engine
-    final EncoderEngine encoderEngine = getEncoderEngine();
+    final EncoderEngine encoderEngine = getEncoderEngine(job);
 
     if (onlyAudio) {
       logger.info("Concatenating audio tracks {} into {}", trackFiles, targetTrackId);
@@ -1033,7 +1050,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
       incident().recordFailure(job, CONCAT_FAILED, e, params, detailsFor(e, encoderEngine));
       throw e;
     } finally {
-      activeEncoder.remove(encoderEngine);
+      releaseEncoderEngine(encoderEngine);
       if (fileList != null) {
         FileSupport.deleteQuietly(fileList);
       }
@@ -1091,7 +1108,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
     }
 
     // Create the engine
-    final EncoderEngine encoderEngine = getEncoderEngine();
+    final EncoderEngine encoderEngine = getEncoderEngine(job);
 
     logger.info("Converting image attachment {} into video {}", sourceImage.getIdentifier(), targetTrackId);
 
@@ -1115,7 +1132,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
       incident().recordFailure(job, IMAGE_TO_VIDEO_FAILED, e, params, detailsFor(e, encoderEngine));
       throw e;
     } finally {
-      activeEncoder.remove(encoderEngine);
+      releaseEncoderEngine(encoderEngine);
     }
 
     // encoding did not return a file
@@ -1230,7 +1247,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
     final EncodingProfile profile = getProfile(job, profileId);
 
     // Create the encoding engine
-    final EncoderEngine encoderEngine = getEncoderEngine();
+    final EncoderEngine encoderEngine = getEncoderEngine(job);
 
     // Finally get the file that needs to be encoded
     File videoFile = loadTrackIntoWorkspace(job, "video", sourceTrack, true);
@@ -1253,7 +1270,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
       incident().recordFailure(job, IMAGE_EXTRACTION_FAILED, e, params, detailsFor(e, encoderEngine));
       throw e;
     } finally {
-      activeEncoder.remove(encoderEngine);
+      releaseEncoderEngine(encoderEngine);
     }
 
     int i = 0;
@@ -1379,7 +1396,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
   private List<Attachment> convertImage(Job job, Attachment sourceImage, String... profileIds) throws EncoderException,
           MediaPackageException {
     List<Attachment> convertedImages = new ArrayList<>();
-    final EncoderEngine encoderEngine = getEncoderEngine();
+    final EncoderEngine encoderEngine = getEncoderEngine(job);
     try {
       for (String profileId : profileIds) {
         logger.info("Converting {} using encoding profile {}", sourceImage, profileId);
@@ -1446,7 +1463,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
       }
       throw t;
     } finally {
-      activeEncoder.remove(encoderEngine);
+      releaseEncoderEngine(encoderEngine);
     }
     return convertedImages;
   }
@@ -1698,12 +1715,59 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
     }
   }
 
-  private EncoderEngine getEncoderEngine() {
+  private EncoderEngine getEncoderEngine(Job job) {
     EncoderEngine engine = new EncoderEngine(ffmpegBinary);
-    activeEncoder.add(engine);
+    engine.setProgressListener(progress -> encodingProgress.put(job.getId(), progress));
+    activeEncoder.put(engine, job);
     return engine;
   }
 
+  private void releaseEncoderEngine(EncoderEngine engine) {
+    final Job job = activeEncoder.remove(engine);
+    if (job != null) {
+      encodingProgress.remove(job.getId());
+    }
+  }
+
+  /**
+   * Get the progress of an encoding running on this node.
+   *
+   * @param jobId
+   *          the identifier of the encoding job
+   * @return the progress of the encoding or <code>null</code> if the job is not encoding on this node right now
+   */
+  public EncodingProgress getEncodingProgress(long jobId) {
+    return encodingProgress.get(jobId);
+  }
+
+  /**
+   * Terminate running encodings whose job or workflow has been cancelled in the meantime. Otherwise, FFmpeg would keep
+   * the node busy until the encoding is finished even though nobody is interested in the result anymore.
+   */
+  private void cancelStoppedEncodings() {
+    for (Entry<EncoderEngine, Job> entry : activeEncoder.entrySet()) {
+      final Job job = entry.getValue();
+      try {
+        if (isCancelled(job.getId())
+                || (job.getRootJobId() != null && isCancelled(job.getRootJobId()))) {
+          logger.info("Job {} has been cancelled, terminating encoding", job.getId());
+          entry.getKey().cancel();
+        }
+      } catch (Exception e) {
+        logger.warn("Unable to check whether job {} has been cancelled", job.getId(), e);
+      }
+    }
+  }
+
+  private boolean isCancelled(long jobId) throws ServiceRegistryException {
+    try {
+      return serviceRegistry.getJob(jobId).getStatus() == Job.Status.CANCELLED;
+    } catch (NotFoundException e) {
+      // The job or workflow has been deleted
+      return true;
+    }
+  }
+
   private EncodingProfile getProfile(Job job, String profileId) throws EncoderException {
     final EncodingProfile profile = profileScanner.getProfile(profileId);
     if (profile == null) {
@@ -2041,7 +2105,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
       EncodingProfile profile = getProfile(job, encodingProfile);
       // Create the engine/get
       logger.info("Encoding video track {} using profile '{}'", videoTrack.getIdentifier(), profile);
-      final EncoderEngine encoderEngine = getEncoderEngine();
+      final EncoderEngine encoderEngine = getEncoderEngine(job);
 
       // Do the work
       List<File> outputs;
@@ -2057,7 +2121,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
         incident().recordFailure(job, ENCODING_FAILED, e, params, detailsFor(e, encoderEngine));
         throw e;
       } finally {
-        activeEncoder.remove(encoderEngine);
+        releaseEncoderEngine(encoderEngine);
       }
 
       // demux did not return a file
@@ -2329,7 +2393,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
       for (String f : inputfile) {
         inputs.add(new File(f));
       }
-      EncoderEngine encoderEngine = getEncoderEngine();
+      EncoderEngine encoderEngine = getEncoderEngine(job);
       try {
         outputs = encoderEngine.multiTrimConcat(inputs, edits, profiles, transitionDuration,
                 !AUDIO_ONLY.equals(mediaType), !VIDEO_ONLY.equals(mediaType));
@@ -2344,7 +2408,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
         incident().recordFailure(job, PROCESS_SMIL_FAILED, e, params, detailsFor(e, encoderEngine));
         throw e;
       } finally {
-        activeEncoder.remove(encoderEngine);
+        releaseEncoderEngine(encoderEngine);
       }
       logger.info("ProcessSmil returns {} media files ", outputs.size());
       boolean isHLS = outputs.parallelStream().anyMatch(AdaptivePlaylist.isHLSFilePred);
@@ -2426,7 +2490,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
       }
       logger.info("Encoding source track {} using profiles '{}'", track.getIdentifier(), profileIds);
       // Do the work
-      EncoderEngine encoderEngine = getEncoderEngine();
+      EncoderEngine encoderEngine = getEncoderEngine(job);
       try {
         outputs = encoderEngine.multiTrimConcat(Arrays.asList(videoFile), null, profiles, multiEncodeFade,
                 track.hasVideo(),
@@ -2438,7 +2502,7 @@ public class ComposerServiceImpl extends AbstractJobProducer implements Composer
         incident().recordFailure(job, MULTI_ENCODE_FAILED, e, params, detailsFor(e, encoderEngine));
         throw e;
       } finally {
-        activeEncoder.remove(encoderEngine);
+        releaseEncoderEngine(encoderEngine);
       }
       logger.info("MultiEncode returns {} media files {} ", outputs.size(), outputs);
       List<File> saveFiles = outputs; // names may be changed in the following ops
@@ -28,6 +28,7 @@ import org.opencastproject.composer.api.VideoClip;
 import org.opencastproject.mediapackage.AdaptivePlaylist;
 import org.opencastproject.mediapackage.identifier.IdImpl;
 import org.opencastproject.util.IoSupport;
+import org.opencastproject.util.metrics.Metrics;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
@@ -38,14 +39,15 @@ import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -53,6 +55,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -76,10 +80,34 @@ public class EncoderEngine implements AutoCloseable {
   private static final boolean REDIRECT_ERROR_STREAM = true;
 
   private static Logger logger = LoggerFactory.getLogger(EncoderEngine.class);
+
+  /** Wall clock time of encoding processes */
+  private static final Metrics.Histogram encodingTime = Metrics.histogram(
+      "opencast_encoder_seconds", "Wall clock time of encoding processes", Metrics.DURATION_BUCKETS, "profile");
+
+  /** CPU time used by encoding processes */
+  private static final Metrics.Histogram encodingCpuTime = Metrics.histogram(
+      "opencast_encoder_cpu_seconds", "CPU time used by encoding processes", Metrics.DURATION_BUCKETS, "profile");
+
+  /** Encoding speed relative to real time */
+  private static final Metrics.Histogram encodingSpeed = Metrics.histogram(
+      "opencast_encoder_speed", "Encoding speed relative to real time",
+      new double[] { 0.1, 0.25, 0.5, 1, 2, 4, 8, 16, 32, 64 }, "profile");
+
+  /** Minimum time in milliseconds between two samples of the CPU time of an encoding process */
+  private static final long CPU_SAMPLE_INTERVAL = 1000;
+
+  /** Key value pairs reported by FFmpeg's <code>-progress</code> option */
+  private static final Pattern progressPattern = Pattern.compile("^(\\w+)=\\s*(\\S*)$");
+
   /** the encoder binary */
   private String binary = "ffmpeg";
   /** Set of processes to clean up */
-  private Set<Process> processes = new HashSet<>();
+  private final Set<Process> processes = ConcurrentHashMap.newKeySet();
+  /** Listener notified about the progress of the running encoding process */
+  private Consumer<EncodingProgress> progressListener = null;
+  /** Whether the encoding has been cancelled */
+  private volatile boolean cancelled = false;
 
   private final Pattern outputPattern = Pattern.compile("Output .* (\\S+) to '(.*)':");
   // ffmpeg4 generates HLS output files and may use a .tmp suffix while writing
@@ -216,27 +244,8 @@ public class EncoderEngine implements AutoCloseable {
     logger.info("Executing encoding command: {}", command);
 
     List<File> outFiles = new ArrayList<>();
-    BufferedReader in = null;
-    Process encoderProcess = null;
     try {
-      ProcessBuilder processBuilder = new ProcessBuilder(command);
-      processBuilder.redirectErrorStream(REDIRECT_ERROR_STREAM);
-      encoderProcess = processBuilder.start();
-      processes.add(encoderProcess);
-
-      // tell encoder listeners about output
-      in = new BufferedReader(new InputStreamReader(encoderProcess.getInputStream()));
-      String line;
-      while ((line = in.readLine()) != null) {
-        handleEncoderOutput(outFiles, line);
-      }
-
-      // wait until the task is finished
-      int exitCode = encoderProcess.waitFor();
-      if (exitCode != 0) {
-        throw new EncoderException("Encoder exited abnormally with status " + exitCode);
-      }
-
+      execute(command, profile.getIdentifier(), outFiles);
       logger.info("Tracks {} successfully encoded using profile '{}'", source, profile.getIdentifier());
       return outFiles;
     } catch (Exception e) {
@@ -250,9 +259,6 @@ public class EncoderEngine implements AutoCloseable {
         }
       }
       throw new EncoderException(e);
-    } finally {
-      IoSupport.closeQuietly(in);
-      IoSupport.closeQuietly(encoderProcess);
     }
   }
 
@@ -274,33 +280,31 @@ public class EncoderEngine implements AutoCloseable {
    */
 
   protected List<File> process(List<String> commandopts) throws EncoderException {
+    return process(commandopts, "raw");
+  }
+
+  /*
+   * Runs the raw command string thru the encoder.
+   *
+   * @param commandopts - tokenized ffmpeg command
+   *
+   * @param profile - identifier of the encoding profile(s) used for reporting
+   *
+   * @return encoded - media as a result of running the command
+   *
+   * @throws EncoderException if it fails
+   */
+  protected List<File> process(List<String> commandopts, String profile) throws EncoderException {
     logger.trace("Process raw command -  {}", commandopts);
     // create encoder process. using working dir of the
     // current java process
-    Process encoderProcess = null;
-    BufferedReader in = null;
     List<File> outFiles = new ArrayList<>();
     try {
       List<String> command = new ArrayList<>();
       command.add(binary);
       command.addAll(commandopts);
       logger.info("Executing encoding command: {}", StringUtils.join(command, " "));
-
-      ProcessBuilder pbuilder = new ProcessBuilder(command);
-      pbuilder.redirectErrorStream(REDIRECT_ERROR_STREAM);
-      encoderProcess = pbuilder.start();
-      // tell encoder listeners about output
-      in = new BufferedReader(new InputStreamReader(encoderProcess.getInputStream()));
-      String line;
-      while ((line = in.readLine()) != null) {
-        handleEncoderOutput(outFiles, line); // get names of output files
-      }
-      // wait until the task is finished
-      encoderProcess.waitFor();
-      int exitCode = encoderProcess.exitValue();
-      if (exitCode != 0) {
-        throw new EncoderException("Encoder exited abnormally with status " + exitCode);
-      }
+      execute(command, profile, outFiles);
       logger.info("Video track successfully encoded '{}'",
               new Object[] { StringUtils.join(commandopts, " ") });
       return outFiles; // return output as a list of files
@@ -314,12 +318,116 @@ public class EncoderEngine implements AutoCloseable {
         }
       }
       throw new EncoderException(e);
+    }
+  }
+
+  /**
+   * Runs an encoding process until it terminates. The output of the process is parsed for output files and progress
+   * information.
+   *
+   * @param command
+   *          the command to execute
+   * @param profile
+   *          the encoding profile, used for reporting
+   * @param outFiles
+   *          list the identified output files are added to
+   * @throws EncoderException
+   *           if the encoding process fails or has been cancelled
+   */
+  private void execute(List<String> command, String profile, List<File> outFiles)
+          throws EncoderException, IOException, InterruptedException {
+    if (cancelled) {
+      throw new EncoderException("Encoding has been cancelled");
+    }
+    final long start = System.nanoTime();
+    BufferedReader in = null;
+    Process encoderProcess = null;
+    try {
+      ProcessBuilder processBuilder = new ProcessBuilder(command);
+      processBuilder.redirectErrorStream(REDIRECT_ERROR_STREAM);
+      encoderProcess = processBuilder.start();
+      processes.add(encoderProcess);
+
+      // tell encoder listeners about output
+      in = new BufferedReader(new InputStreamReader(encoderProcess.getInputStream()));
+      final Map<String, String> progressValues = new HashMap<>();
+      EncodingProgress progress = null;
+      Duration cpuTime = Duration.ZERO;
+      long lastCpuSample = 0;
+      String line;
+      while ((line = in.readLine()) != null) {
+        final Matcher matcher = progressPattern.matcher(line.trim());
+        if (matcher.matches()) {
+          // FFmpeg reports its progress in blocks of key value pairs terminated by the progress key
+          progressValues.put(matcher.group(1), matcher.group(2));
+          if ("progress".equals(matcher.group(1))) {
+            progress = EncodingProgress.parse(profile, progressValues);
+            progressValues.clear();
+            logger.trace("Encoding progress {}", progress);
+            if (progressListener != null) {
+              progressListener.accept(progress);
+            }
+          }
+        } else {
+          handleEncoderOutput(outFiles, line);
+        }
+        // The CPU time is no longer available once the process has terminated, so we sample it while it is running.
+        // FFmpeg reports its progress frequently enough for this to be accurate.
+        if (System.currentTimeMillis() - lastCpuSample > CPU_SAMPLE_INTERVAL) {
+          lastCpuSample = System.currentTimeMillis();
+          cpuTime = encoderProcess.info().totalCpuDuration().orElse(cpuTime);
+        }
+      }
+
+      // wait until the task is finished
+      int exitCode = encoderProcess.waitFor();
+      if (cancelled) {
+        throw new EncoderException("Encoding has been cancelled");
+      }
+      if (exitCode != 0) {
+        throw new EncoderException("Encoder exited abnormally with status " + exitCode);
+      }
+
+      encodingTime.observeSince(start, profile);
+      encodingCpuTime.observe(cpuTime.toMillis() / 1000.0, profile);
+      if (progress != null && progress.getSpeed() != null) {
+        logger.debug("Encoding with profile '{}' ran at {}x real time", profile, progress.getSpeed());
+        encodingSpeed.observe(progress.getSpeed(), profile);
+      }
     } finally {
       IoSupport.closeQuietly(in);
       IoSupport.closeQuietly(encoderProcess);
+      if (encoderProcess != null) {
+        processes.remove(encoderProcess);
+      }
     }
   }
 
+  /**
+   * Set a listener which is notified about the progress of the encoding processes run by this engine.
+   *
+   * @param progressListener
+   *          the listener
+   */
+  void setProgressListener(Consumer<EncodingProgress> progressListener) {
+    this.progressListener = progressListener;
+  }
+
+  /**
+   * Cancel the encoding. Running encoding processes are terminated and no new ones will be started.
+   */
+  void cancel() {
+    cancelled = true;
+    close();
+  }
+
+  /**
+   * @return whether the encoding has been cancelled
+   */
+  boolean isCancelled() {
+    return cancelled;
+  }
+
   /**
    * Deletes all valid files found in a list
    *
@@ -352,6 +460,8 @@ public class EncoderEngine implements AutoCloseable {
     command.add(binary);
     command.add("-nostdin");
     command.add("-nostats");
+    command.add("-progress");
+    command.add("pipe:1");
 
     String commandline = profile.getExtension(CMD_SUFFIX);
 
@@ -1286,6 +1396,7 @@ public class EncoderEngine implements AutoCloseable {
       logger.error("Missing encoding profiles");
       throw new EncoderException("Missing encoding profile(s)");
     }
+    final String profileNames = profiles.stream().map(EncodingProfile::getIdentifier).collect(Collectors.joining(","));
     try {
       List<String> command = new ArrayList<>();
       List<String> clauses = makeEdits(clips, transitionDuration, hasVideo, hasAudio); // map inputs into [ov]
@@ -1305,6 +1416,8 @@ public class EncoderEngine implements AutoCloseable {
       }
       clauses.removeIf(Objects::isNull); // remove all empty filters
       command.add("-nostats"); // no progress report
+      command.add("-progress"); // machine readable progress report instead
+      command.add("pipe:1");
       command.add("-hide_banner"); // no configuration/library info
       for (File o : inputs) {
         command.add("-i"); // Add inputfile in the order of entry
@@ -1318,7 +1431,7 @@ public class EncoderEngine implements AutoCloseable {
         command.addAll(commandSplit(outpad)); // split by space
       }
       if (outmaps.hasAdaptivePlaylist()) {
-        List<File> results = process(command); // Run the ffmpeg command
+        List<File> results = process(command, profileNames); // Run the ffmpeg command
         // Sort list of segmented mp4s because the output segments are numbered
         List<File> segments = results.stream().filter(AdaptivePlaylist.isHLSFilePred.negate())
                 .collect(Collectors.toList());
@@ -1338,7 +1451,7 @@ public class EncoderEngine implements AutoCloseable {
         // Adjust the playlists to use new names
         return AdaptivePlaylist.hlsRenameAllFiles(results, renames);
       }
-      return process(command); // Run the ffmpeg command and return outputs
+      return process(command, profileNames); // Run the ffmpeg command and return outputs
     } catch (Exception e) {
       logger.error("MultiTrimConcat failed to run command {} ", e.getMessage());
       throw new EncoderException("Cannot encode the inputs",e);
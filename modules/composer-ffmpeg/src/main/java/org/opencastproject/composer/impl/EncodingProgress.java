@@ -0,0 +1,108 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.composer.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.util.Map;
+
+/**
+ * Progress of an encoding process as reported by FFmpeg's <code>-progress</code> option.
+ */
+public final class EncodingProgress {
+
+  /** The encoding profile */
+  private final String profile;
+
+  /** Media time encoded so far in milliseconds */
+  private final long time;
+
+  /** Encoding speed relative to real time, <code>null</code> if unknown */
+  private final Double speed;
+
+  /** Frames encoded per second, <code>null</code> if unknown */
+  private final Double fps;
+
+  /** Whether the encoding process has finished */
+  private final boolean finished;
+
+  public EncodingProgress(String profile, long time, Double speed, Double fps, boolean finished) {
+    this.profile = profile;
+    this.time = time;
+    this.speed = speed;
+    this.fps = fps;
+    this.finished = finished;
+  }
+
+  /**
+   * Create the progress from a block of key value pairs reported by FFmpeg.
+   *
+   * @param profile
+   *          the encoding profile
+   * @param values
+   *          the values of the last progress block, e.g. <code>out_time_us=1200000</code> or <code>speed=2.1x</code>
+   * @return the progress
+   */
+  static EncodingProgress parse(String profile, Map<String, String> values) {
+    // out_time_ms is actually reported in microseconds by FFmpeg as well
+    long timeUs = NumberUtils.toLong(values.getOrDefault("out_time_us", values.get("out_time_ms")), 0);
+    return new EncodingProgress(profile, Math.max(timeUs, 0) / 1000,
+        parseDouble(StringUtils.removeEnd(values.get("speed"), "x")),
+        parseDouble(values.get("fps")),
+        "end".equals(values.get("progress")));
+  }
+
+  private static Double parseDouble(String value) {
+    value = StringUtils.trimToNull(value);
+    if (value == null || !NumberUtils.isCreatable(value)) {
+      return null;
+    }
+    return Double.valueOf(value);
+  }
+
+  public String getProfile() {
+    return profile;
+  }
+
+  public long getTime() {
+    return time;
+  }
+
+  public Double getSpeed() {
+    return speed;
+  }
+
+  public Double getFps() {
+    return fps;
+  }
+
+  public boolean isFinished() {
+    return finished;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s: %d ms encoded, speed %sx, %s fps", profile, time, speed, fps);
+  }
+
+}
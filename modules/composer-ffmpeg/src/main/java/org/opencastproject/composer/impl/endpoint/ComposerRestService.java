@@ -29,6 +29,8 @@ import org.opencastproject.composer.api.EncodingProfile;
 import org.opencastproject.composer.api.EncodingProfileImpl;
 import org.opencastproject.composer.api.EncodingProfileList;
 import org.opencastproject.composer.api.LaidOutElement;
+import org.opencastproject.composer.impl.ComposerServiceImpl;
+import org.opencastproject.composer.impl.EncodingProgress;
 import org.opencastproject.composer.layout.Dimension;
 import org.opencastproject.composer.layout.Layout;
 import org.opencastproject.composer.layout.Serializer;
@@ -54,6 +56,8 @@ import org.opencastproject.util.doc.rest.RestQuery;
 import org.opencastproject.util.doc.rest.RestResponse;
 import org.opencastproject.util.doc.rest.RestService;
 
+import com.google.gson.Gson;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.osgi.service.component.ComponentContext;
@@ -107,6 +111,8 @@ public class ComposerRestService extends AbstractJobProducerEndpoint {
   /** The logger */
   private static final Logger logger = LoggerFactory.getLogger(ComposerRestService.class);
 
+  private static final Gson gson = new Gson();
+
   private static final String VIDEO_TRACK_DEFAULT = "<track id=\"track-1\" type=\"presentation/source\">\n"
           + "  <mimetype>video/quicktime</mimetype>\n"
           + "  <url>http://localhost:8080/workflow/samples/camera.mpg</url>\n"
@@ -932,6 +938,28 @@ public class ComposerRestService extends AbstractJobProducerEndpoint {
     return Response.ok(profile).build();
   }
 
+  @GET
+  @Path("progress/{id}.json")
+  @Produces(MediaType.APPLICATION_JSON)
+  @RestQuery(name = "progress", description = "Retrieve the progress of an encoding job running on this node",
+          pathParameters = {
+                  @RestParameter(name = "id", description = "the job ID", isRequired = true, type = Type.LONG) },
+          responses = {
+                  @RestResponse(description = "The progress of the encoding", responseCode = HttpServletResponse.SC_OK),
+                  @RestResponse(description = "If the job is not encoding on this node",
+                          responseCode = HttpServletResponse.SC_NOT_FOUND) },
+          returnDescription = "Media time encoded so far in milliseconds, encoding speed and frames per second")
+  public Response getProgress(@PathParam("id") long jobId) throws NotFoundException {
+    if (!(composerService instanceof ComposerServiceImpl)) {
+      throw new NotFoundException();
+    }
+    final EncodingProgress progress = ((ComposerServiceImpl) composerService).getEncodingProgress(jobId);
+    if (progress == null) {
+      throw new NotFoundException();
+    }
+    return Response.ok(gson.toJson(progress)).build();
+  }
+
   /**
    * {@inheritDoc}
    *
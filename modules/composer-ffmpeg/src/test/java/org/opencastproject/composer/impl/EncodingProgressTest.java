@@ -0,0 +1,67 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.composer.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class EncodingProgressTest {
+
+  @Test
+  public void testParse() {
+    final Map<String, String> values = new HashMap<>();
+    values.put("frame", "250");
+    values.put("fps", "49.87");
+    values.put("out_time_us", "10000000");
+    values.put("speed", "1.99x");
+    values.put("progress", "continue");
+
+    final EncodingProgress progress = EncodingProgress.parse("mp4", values);
+    assertEquals("mp4", progress.getProfile());
+    assertEquals(10000, progress.getTime());
+    assertEquals(1.99, progress.getSpeed(), 0.001);
+    assertEquals(49.87, progress.getFps(), 0.001);
+    assertFalse(progress.isFinished());
+  }
+
+  @Test
+  public void testParseMissingValues() {
+    final Map<String, String> values = new HashMap<>();
+    values.put("out_time_ms", "N/A");
+    values.put("speed", "N/A");
+    values.put("progress", "end");
+
+    final EncodingProgress progress = EncodingProgress.parse("mp4", values);
+    assertEquals(0, progress.getTime());
+    assertNull(progress.getSpeed());
+    assertNull(progress.getFps());
+    assertTrue(progress.isFinished());
+  }
+
+}
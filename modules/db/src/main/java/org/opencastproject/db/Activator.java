@@ -30,6 +30,7 @@ import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.beans.PropertyVetoException;
 import java.io.File;
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -48,9 +49,17 @@ public class Activator implements BundleActivator {
   /** The default max idle time for the connection pool */
   private static final int DEFAULT_MAX_IDLE_TIME = 3600;
 
+  /** The default number of seconds between two checks of the replication lag of the read replica */
+  private static final int DEFAULT_REPLICA_CHECK_INTERVAL = 5;
+
+  /** The default replication lag in seconds up to which the read replica is used */
+  private static final int DEFAULT_REPLICA_MAX_LAG = 30;
+
   private String rootDir;
   private ServiceRegistration<?> datasourceRegistration;
   private ComboPooledDataSource pooledDataSource;
+  private ComboPooledDataSource replicaDataSource;
+  private ReplicaMonitor replicaMonitor;
 
   @Override
   public void start(BundleContext bundleContext) throws Exception {
@@ -79,6 +88,90 @@ public class Activator implements BundleActivator {
     String jdbcUser = getConfigProperty(bundleContext.getProperty("org.opencastproject.db.jdbc.user"), "sa");
     String jdbcPass = getConfigProperty(bundleContext.getProperty("org.opencastproject.db.jdbc.pass"), "sa");
 
+    pooledDataSource = createPooledDataSource(bundleContext, jdbcDriver, jdbcUrl, jdbcUser, jdbcPass);
+
+    Connection connection = null;
+    try {
+      logger.info("Testing connectivity to database at {}", jdbcUrl);
+      connection = pooledDataSource.getConnection();
+      Hashtable<String, String> dsProps = new Hashtable<>();
+      dsProps.put("osgi.jndi.service.name", "jdbc/opencast");
+      datasourceRegistration = bundleContext.registerService(DataSource.class.getName(), pooledDataSource, dsProps);
+    } catch (SQLException e) {
+      logger.error("Connection attempt to {} failed", jdbcUrl, e);
+      throw e;
+    } finally {
+      if (connection != null) {
+        connection.close();
+      }
+    }
+
+    logger.info("Database connection pool established at {}", jdbcUrl);
+    logger.info("Database connection pool parameters: max.size={}, min.size={}, max.idle.time={}",
+        pooledDataSource.getMaxPoolSize(), pooledDataSource.getMinPoolSize(), pooledDataSource.getMaxIdleTime());
+    Statement statement = pooledDataSource.getConnection().createStatement();
+
+    long random = Math.round(Math.random() * 1000000);
+    String tableName = "oc_temp_" + random;
+    try {
+      statement.executeUpdate("CREATE TABLE " + tableName + " ( id BIGINT NOT NULL, test BIGINT, PRIMARY KEY (id) );");
+      runUpdate(statement, "INSERT INTO " + tableName + " VALUES (" + random + ", 0);");
+      runUpdate(statement, "UPDATE " + tableName + " SET test = " + random + ";");
+      ResultSet rs = statement.executeQuery("SELECT * FROM " + tableName + ";");
+      while (rs.next()) {
+        long id = rs.getLong("id");
+        long test = rs.getLong("test");
+        if (id != random || test != random) {
+          throw new RuntimeException("Unable to verify updating a table functions correctly");
+        }
+      }
+      runUpdate(statement, "DELETE FROM " + tableName + " WHERE id = " + random + ";");
+      logger.info("Database credentials passed basic tests!");
+    } catch (Exception e) {
+      throw new RuntimeException("Unable to verify SQL credentials have required permissions!", e);
+    } finally {
+      try {
+        statement.executeUpdate("DROP TABLE " + tableName + ";");
+      } catch (Exception e) {
+        logger.warn("Unable to delete temp table {}, please remove this yourself!", tableName, e);
+      }
+    }
+
+    startReplica(bundleContext, jdbcDriver, jdbcUser, jdbcPass);
+  }
+
+  /**
+   * Sets up the optional read replica. It is registered as a separate data source, which the DB sessions run reads
+   * outside of transactions on, while the replica keeps up with the primary database.
+   */
+  private void startReplica(BundleContext bundleContext, String jdbcDriver, String jdbcUser, String jdbcPass)
+          throws PropertyVetoException {
+    String replicaUrl = bundleContext.getProperty("org.opencastproject.db.jdbc.replica.url");
+    if (replicaUrl == null || replicaUrl.isBlank()) {
+      return;
+    }
+    String replicaUser = getConfigProperty(bundleContext.getProperty("org.opencastproject.db.jdbc.replica.user"),
+        jdbcUser);
+    String replicaPass = getConfigProperty(bundleContext.getProperty("org.opencastproject.db.jdbc.replica.pass"),
+        jdbcPass);
+    int checkInterval = getConfigProperty(bundleContext.getProperty(
+        "org.opencastproject.db.replica.check.interval"), DEFAULT_REPLICA_CHECK_INTERVAL);
+    int maxLag = getConfigProperty(bundleContext.getProperty("org.opencastproject.db.replica.max.lag"),
+        DEFAULT_REPLICA_MAX_LAG);
+    String node = getConfigProperty(bundleContext.getProperty("org.opencastproject.server.url"), rootDir);
+
+    replicaDataSource = createPooledDataSource(bundleContext, jdbcDriver, replicaUrl, replicaUser, replicaPass);
+    replicaMonitor = new ReplicaMonitor(bundleContext, pooledDataSource, replicaDataSource, node,
+        checkInterval * 1000L, maxLag * 1000L);
+    logger.info("Using database read replica at {} while it lags behind by less than {} seconds", replicaUrl, maxLag);
+    replicaMonitor.start();
+  }
+
+  /**
+   * Creates a connection pool, applying the pool settings from the configuration.
+   */
+  private ComboPooledDataSource createPooledDataSource(BundleContext bundleContext, String jdbcDriver, String jdbcUrl,
+      String jdbcUser, String jdbcPass) throws PropertyVetoException {
     Integer maxPoolSize = getConfigProperty(bundleContext.getProperty("org.opencastproject.db.jdbc.pool.max.size"));
     Integer minPoolSize = getConfigProperty(bundleContext.getProperty("org.opencastproject.db.jdbc.pool.min.size"));
     Integer acquireIncrement = getConfigProperty(
@@ -98,7 +191,7 @@ public class Activator implements BundleActivator {
     Integer idleConnectionTestPeriod = getConfigProperty(
         bundleContext.getProperty("org.opencastproject.db.jdbc.pool.idle.connection.test.period"));
 
-    pooledDataSource = new ComboPooledDataSource();
+    ComboPooledDataSource pooledDataSource = new ComboPooledDataSource();
     pooledDataSource.setDriverClass(jdbcDriver);
     pooledDataSource.setJdbcUrl(jdbcUrl);
     pooledDataSource.setUser(jdbcUser);
@@ -148,54 +241,7 @@ public class Activator implements BundleActivator {
     if (idleConnectionTestPeriod != null) {
       pooledDataSource.setIdleConnectionTestPeriod(idleConnectionTestPeriod);
     }
-
-    Connection connection = null;
-    try {
-      logger.info("Testing connectivity to database at {}", jdbcUrl);
-      connection = pooledDataSource.getConnection();
-      Hashtable<String, String> dsProps = new Hashtable<>();
-      dsProps.put("osgi.jndi.service.name", "jdbc/opencast");
-      datasourceRegistration = bundleContext.registerService(DataSource.class.getName(), pooledDataSource, dsProps);
-    } catch (SQLException e) {
-      logger.error("Connection attempt to {} failed", jdbcUrl, e);
-      throw e;
-    } finally {
-      if (connection != null) {
-        connection.close();
-      }
-    }
-
-    logger.info("Database connection pool established at {}", jdbcUrl);
-    logger.info("Database connection pool parameters: max.size={}, min.size={}, max.idle.time={}",
-        pooledDataSource.getMaxPoolSize(), pooledDataSource.getMinPoolSize(), pooledDataSource.getMaxIdleTime());
-    Statement statement = pooledDataSource.getConnection().createStatement();
-
-    long random = Math.round(Math.random() * 1000000);
-    String tableName = "oc_temp_" + random;
-    try {
-      statement.executeUpdate("CREATE TABLE " + tableName + " ( id BIGINT NOT NULL, test BIGINT, PRIMARY KEY (id) );");
-      runUpdate(statement, "INSERT INTO " + tableName + " VALUES (" + random + ", 0);");
-      runUpdate(statement, "UPDATE " + tableName + " SET test = " + random + ";");
-      ResultSet rs = statement.executeQuery("SELECT * FROM " + tableName + ";");
-      while (rs.next()) {
-        long id = rs.getLong("id");
-        long test = rs.getLong("test");
-        if (id != random || test != random) {
-          throw new RuntimeException("Unable to verify updating a table functions correctly");
-        }
-      }
-      runUpdate(statement, "DELETE FROM " + tableName + " WHERE id = " + random + ";");
-      logger.info("Database credentials passed basic tests!");
-    } catch (Exception e) {
-      throw new RuntimeException("Unable to verify SQL credentials have required permissions!", e);
-    } finally {
-      try {
-        statement.executeUpdate("DROP TABLE " + tableName + ";");
-      } catch (Exception e) {
-        logger.warn("Unable to delete temp table {}, please remove this yourself!", tableName, e);
-      }
-    }
-
+    return pooledDataSource;
   }
 
   private void runUpdate(Statement statement, String sql) throws RuntimeException, SQLException {
@@ -209,6 +255,12 @@ public class Activator implements BundleActivator {
   @Override
   public void stop(BundleContext context) throws Exception {
     logger.info("Shutting down database");
+    if (replicaMonitor != null) {
+      replicaMonitor.stop();
+    }
+    if (replicaDataSource != null) {
+      DataSources.destroy(replicaDataSource);
+    }
     if (datasourceRegistration != null) {
       datasourceRegistration.unregister();
     }
@@ -224,6 +276,10 @@ public class Activator implements BundleActivator {
     return config == null ? null : Integer.parseInt(config);
   }
 
+  private int getConfigProperty(String config, int defaultValue) {
+    return config == null ? defaultValue : Integer.parseInt(config);
+  }
+
   private Boolean getConfigBooleanProperty(String config) {
     return config == null ? null : Boolean.parseBoolean(config);
   }
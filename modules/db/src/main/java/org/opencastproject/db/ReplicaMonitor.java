@@ -0,0 +1,184 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.db;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Hashtable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+/**
+ * Registers the read replica as data source only while its data is recent enough.
+ * <p>
+ * Each node regularly writes a heartbeat, the current time, to <code>oc_db_heartbeat</code> on the primary database
+ * and reads it back from the replica. The age of the heartbeat found on the replica bounds the replication lag from
+ * above, so it is at least the check interval even for a replica in sync. While the age exceeds the maximum lag, or
+ * the replica cannot be reached, the replica is unregistered and all reads go to the primary database.
+ */
+class ReplicaMonitor {
+
+  /** The logging facility */
+  private static final Logger logger = LoggerFactory.getLogger(ReplicaMonitor.class);
+
+  private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS oc_db_heartbeat ("
+      + "node VARCHAR(255) NOT NULL, beat BIGINT NOT NULL, PRIMARY KEY (node))";
+  private static final String UPDATE_BEAT = "UPDATE oc_db_heartbeat SET beat = ? WHERE node = ?";
+  private static final String INSERT_BEAT = "INSERT INTO oc_db_heartbeat (beat, node) VALUES (?, ?)";
+  private static final String SELECT_BEAT = "SELECT beat FROM oc_db_heartbeat WHERE node = ?";
+
+  private final BundleContext bundleContext;
+  private final DataSource primary;
+  private final DataSource replica;
+  private final String node;
+  private final long checkInterval;
+  private final long maxLag;
+
+  private ScheduledExecutorService executor;
+  private volatile ServiceRegistration<?> registration;
+
+  /**
+   * @param node
+   *          unique name of this node, the key of its heartbeat
+   * @param checkInterval
+   *          milliseconds between two checks
+   * @param maxLag
+   *          the replication lag in milliseconds up to which the replica is used
+   */
+  ReplicaMonitor(BundleContext bundleContext, DataSource primary, DataSource replica, String node,
+      long checkInterval, long maxLag) {
+    if (maxLag <= checkInterval) {
+      logger.warn("The maximum replication lag of the read replica should be well above the check interval of {} ms",
+          checkInterval);
+    }
+    this.bundleContext = bundleContext;
+    this.primary = primary;
+    this.replica = replica;
+    this.node = node;
+    this.checkInterval = checkInterval;
+    this.maxLag = maxLag;
+  }
+
+  synchronized void start() throws SQLException {
+    try (Connection connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+      statement.executeUpdate(CREATE_TABLE);
+    }
+    executor = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "db-replica-monitor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::check, 0, checkInterval, TimeUnit.MILLISECONDS);
+  }
+
+  synchronized void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+    setAvailable(false);
+  }
+
+  private void check() {
+    long now = System.currentTimeMillis();
+    // Until the first heartbeat of this node made it to the replica, its state is unknown
+    long lag = Long.MAX_VALUE;
+    try {
+      Long beat = readBeat();
+      if (beat != null) {
+        lag = now - beat;
+      }
+    } catch (SQLException | RuntimeException e) {
+      if (registration != null) {
+        logger.warn("Unable to check replication lag of the database read replica", e);
+      } else {
+        logger.debug("Unable to check replication lag of the database read replica", e);
+      }
+    }
+    try {
+      writeBeat(now);
+    } catch (SQLException | RuntimeException e) {
+      logger.warn("Unable to write database heartbeat", e);
+    }
+    synchronized (this) {
+      if (executor == null) {
+        return;
+      }
+      if (lag > maxLag && lag != Long.MAX_VALUE && registration != null) {
+        logger.warn("Database read replica lags behind by {} ms, reading from the primary database", lag);
+      }
+      setAvailable(lag <= maxLag);
+    }
+  }
+
+  private Long readBeat() throws SQLException {
+    try (Connection connection = replica.getConnection();
+        PreparedStatement statement = connection.prepareStatement(SELECT_BEAT)) {
+      statement.setString(1, node);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        return resultSet.next() ? resultSet.getLong(1) : null;
+      }
+    }
+  }
+
+  private void writeBeat(long beat) throws SQLException {
+    try (Connection connection = primary.getConnection()) {
+      int updated;
+      try (PreparedStatement statement = connection.prepareStatement(UPDATE_BEAT)) {
+        statement.setLong(1, beat);
+        statement.setString(2, node);
+        updated = statement.executeUpdate();
+      }
+      if (updated == 0) {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_BEAT)) {
+          statement.setLong(1, beat);
+          statement.setString(2, node);
+          statement.executeUpdate();
+        }
+      }
+    }
+  }
+
+  private void setAvailable(boolean available) {
+    if (available && registration == null) {
+      logger.info("Database read replica is available");
+      Hashtable<String, String> dsProps = new Hashtable<>();
+      dsProps.put("osgi.jndi.service.name", "jdbc/opencast-replica");
+      registration = bundleContext.registerService(DataSource.class.getName(), replica, dsProps);
+    } else if (!available && registration != null) {
+      registration.unregister();
+      registration = null;
+    }
+  }
+
+}
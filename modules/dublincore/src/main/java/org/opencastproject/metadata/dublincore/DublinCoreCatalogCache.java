@@ -0,0 +1,128 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.metadata.dublincore;
+
+import org.opencastproject.util.metrics.Metrics;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A memory-bounded cache of parsed Dublin Core catalogs.
+ * <p>
+ * Catalogs are cached by a key, e.g. the URI of a catalog or the identifier of a series, together with a version of
+ * their source, e.g. a checksum of the serialized catalog. A lookup with a different version than the cached one parses
+ * the catalog again and replaces the cached one, so updates are picked up even if the cache was not invalidated.
+ * <p>
+ * The cached catalogs are never handed out since catalogs are mutable. Each lookup returns a copy, which is a lot
+ * cheaper than parsing the catalog again.
+ */
+public final class DublinCoreCatalogCache {
+
+  /** Lookups of parsed catalogs by result */
+  private static final Metrics.Counter lookups = Metrics.counter(
+      "opencast_dublincore_cache_lookups_total", "Lookups of parsed Dublin Core catalogs", "cache", "result");
+
+  /** Approximate number of characters a single catalog value takes up in addition to its content */
+  private static final int VALUE_OVERHEAD = 64;
+
+  private final String name;
+
+  private final Cache<String, Entry> cache;
+
+  /**
+   * @param name
+   *          the name of the cache in the metrics
+   * @param maximumSize
+   *          the approximate number of characters of catalog values to keep in memory
+   */
+  public DublinCoreCatalogCache(String name, long maximumSize) {
+    this.name = name;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(maximumSize)
+        .<String, Entry>weigher((key, entry) -> entry.weight)
+        .build();
+  }
+
+  /**
+   * Returns a copy of the cached catalog if its version matches, otherwise parses the catalog and caches it.
+   *
+   * @param key
+   *          the key of the catalog
+   * @param version
+   *          the version of the catalog's source
+   * @param parser
+   *          parses the catalog in the given version
+   * @return a copy of the catalog that may be modified by the caller
+   */
+  public DublinCoreCatalog get(String key, String version, Supplier<DublinCoreCatalog> parser) {
+    final Entry cached = cache.getIfPresent(key);
+    if (cached != null && cached.version.equals(version)) {
+      lookups.inc(1, name, "hit");
+      return copy(cached.catalog);
+    }
+    lookups.inc(1, name, "miss");
+    final DublinCoreCatalog catalog = parser.get();
+    cache.put(key, new Entry(version, copy(catalog)));
+    return catalog;
+  }
+
+  /**
+   * Removes a catalog from the cache.
+   *
+   * @param key
+   *          the key of the catalog
+   */
+  public void invalidate(String key) {
+    cache.invalidate(key);
+  }
+
+  /** Removes all catalogs from the cache. */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private static DublinCoreCatalog copy(DublinCoreCatalog catalog) {
+    return (DublinCoreCatalog) catalog.clone();
+  }
+
+  /** A parsed catalog in a certain version */
+  private static final class Entry {
+    private final String version;
+    private final DublinCoreCatalog catalog;
+    private final int weight;
+
+    Entry(String version, DublinCoreCatalog catalog) {
+      this.version = Objects.requireNonNull(version);
+      this.catalog = catalog;
+      int weight = 0;
+      for (DublinCoreValue value : catalog.getValuesFlat()) {
+        weight += value.getValue().length() + VALUE_OVERHEAD;
+      }
+      this.weight = weight;
+    }
+  }
+
+}
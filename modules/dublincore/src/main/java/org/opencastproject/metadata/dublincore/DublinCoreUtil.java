@@ -30,9 +30,11 @@ import org.opencastproject.mediapackage.XMLCatalogImpl.CatalogEntry;
 import org.opencastproject.util.Checksum;
 import org.opencastproject.workspace.api.Workspace;
 
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
@@ -50,6 +52,15 @@ import java.util.stream.Collectors;
 public final class DublinCoreUtil {
   private static final Logger logger = LoggerFactory.getLogger(DublinCoreUtil.class);
 
+  /** Approximate number of characters of parsed catalogs loaded from the workspace to keep in memory */
+  private static final long CATALOG_CACHE_SIZE = 16L * 1024 * 1024;
+
+  /**
+   * Catalogs loaded from the workspace, keyed by their URI and versioned by a checksum of their content. Checksums of
+   * media package elements are not used since they are not always updated along with the file.
+   */
+  private static final DublinCoreCatalogCache catalogs = new DublinCoreCatalogCache("workspace", CATALOG_CACHE_SIZE);
+
   private DublinCoreUtil() {
   }
 
@@ -67,6 +78,9 @@ public final class DublinCoreUtil {
   /**
    * Load the DublinCore catalog identified by <code>mpe</code>. Throws an exception if it does not exist or cannot be
    * loaded by any reason.
+   * <p>
+   * Catalogs are parsed only once as long as their content does not change. Each call returns a separate catalog that
+   * may be modified by the caller.
    *
    * @return the catalog
    */
@@ -74,7 +88,9 @@ public final class DublinCoreUtil {
     URI uri = mpe.getURI();
     logger.debug("Loading DC catalog from {}", uri);
     try (InputStream in = workspace.read(uri)) {
-      return DublinCores.read(in);
+      final byte[] content = IOUtils.toByteArray(in);
+      final String checksum = Checksum.convertToHex(MessageDigest.getInstance("MD5").digest(content));
+      return catalogs.get(uri.toString(), checksum, () -> DublinCores.read(new ByteArrayInputStream(content)));
     } catch (Exception e) {
       logger.error("Unable to load metadata from catalog '{}'", mpe, e);
       return chuck(e);
@@ -0,0 +1,98 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.metadata.dublincore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.opencastproject.metadata.dublincore.TestUtil.read;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class DublinCoreCatalogCacheTest {
+
+  private DublinCoreCatalogCache cache;
+  private AtomicInteger parsed;
+
+  @Before
+  public void setUp() {
+    cache = new DublinCoreCatalogCache("test", 1024 * 1024);
+    parsed = new AtomicInteger();
+  }
+
+  private Supplier<DublinCoreCatalog> parser(String file) {
+    return () -> {
+      parsed.incrementAndGet();
+      try {
+        return read(file);
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    };
+  }
+
+  @Test
+  public void testParsedOnce() {
+    final DublinCoreCatalog first = cache.get("a", "1", parser("/checksum/dublincore1-1.xml"));
+    final DublinCoreCatalog second = cache.get("a", "1", parser("/checksum/dublincore1-1.xml"));
+    assertEquals(1, parsed.get());
+    assertNotSame(first, second);
+    assertTrue(DublinCoreUtil.equals(first, second));
+  }
+
+  @Test
+  public void testCopiesAreIndependent() {
+    final DublinCoreCatalog first = cache.get("a", "1", parser("/checksum/dublincore1-1.xml"));
+    final String title = first.getFirst(DublinCore.PROPERTY_TITLE);
+    first.set(DublinCore.PROPERTY_TITLE, "Changed by the caller");
+    final DublinCoreCatalog second = cache.get("a", "1", parser("/checksum/dublincore1-1.xml"));
+    assertEquals(title, second.getFirst(DublinCore.PROPERTY_TITLE));
+    second.set(DublinCore.PROPERTY_TITLE, "Changed again");
+    assertEquals(title, cache.get("a", "1", parser("/checksum/dublincore1-1.xml")).getFirst(DublinCore.PROPERTY_TITLE));
+    assertEquals(1, parsed.get());
+  }
+
+  @Test
+  public void testNewVersionIsParsed() {
+    final DublinCoreCatalog first = cache.get("a", "1", parser("/checksum/dublincore1-1.xml"));
+    final DublinCoreCatalog second = cache.get("a", "2", parser("/checksum/dublincore1-2.xml"));
+    assertEquals(2, parsed.get());
+    assertFalse(DublinCoreUtil.equals(first, second));
+    // The old version is replaced
+    cache.get("a", "2", parser("/checksum/dublincore1-2.xml"));
+    assertEquals(2, parsed.get());
+  }
+
+  @Test
+  public void testInvalidate() {
+    cache.get("a", "1", parser("/checksum/dublincore1-1.xml"));
+    cache.invalidate("a");
+    cache.get("a", "1", parser("/checksum/dublincore1-1.xml"));
+    assertEquals(2, parsed.get());
+  }
+
+}
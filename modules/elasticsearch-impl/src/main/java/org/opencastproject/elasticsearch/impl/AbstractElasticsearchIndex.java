@@ -30,6 +30,7 @@ import org.opencastproject.elasticsearch.api.SearchMetadata;
 import org.opencastproject.elasticsearch.api.SearchQuery;
 import org.opencastproject.elasticsearch.api.SearchResult;
 import org.opencastproject.elasticsearch.api.SearchResultItem;
+import org.opencastproject.util.metrics.Metrics;
 import org.opencastproject.util.requests.SortCriterion;
 
 import org.apache.commons.io.IOUtils;
@@ -105,6 +106,11 @@ public abstract class AbstractElasticsearchIndex implements SearchIndex {
   /** Logging facility */
   private static final Logger logger = LoggerFactory.getLogger(AbstractElasticsearchIndex.class);
 
+  /** Time needed for write requests to Elasticsearch */
+  private static final Metrics.Histogram writeLatency = Metrics.histogram(
+      "opencast_elasticsearch_write_seconds", "Time needed for write requests to Elasticsearch",
+      Metrics.LATENCY_BUCKETS, "operation");
+
   /** The Elasticsearch maximum results window size */
   private static final int ELASTICSEARCH_INDEX_MAX_RESULT_WINDOW = Integer.MAX_VALUE;
 
@@ -287,7 +293,9 @@ public abstract class AbstractElasticsearchIndex implements SearchIndex {
     int retryAttempts = 0;
     do {
       try {
+        final long start = System.nanoTime();
         indexResponse = client.index(indexRequest, RequestOptions.DEFAULT);
+        writeLatency.observeSince(start, "index");
       } catch (ElasticsearchStatusException e) {
         retryAttempts++;
 
@@ -338,7 +346,9 @@ public abstract class AbstractElasticsearchIndex implements SearchIndex {
     int retryAttempts = 0;
     do {
       try {
+        final long start = System.nanoTime();
         bulkResponse = client.bulk(bulkRequest, RequestOptions.DEFAULT);
+        writeLatency.observeSince(start, "bulk");
       } catch (ElasticsearchStatusException e) {
         retryAttempts++;
 
@@ -382,7 +392,9 @@ public abstract class AbstractElasticsearchIndex implements SearchIndex {
     int retryAttempts = 0;
     do {
       try {
+        final long start = System.nanoTime();
         deleteResponse = getClient().delete(deleteRequest, RequestOptions.DEFAULT);
+        writeLatency.observeSince(start, "delete");
       } catch (ElasticsearchStatusException e) {
         retryAttempts++;
 
@@ -26,6 +26,7 @@ import static org.opencastproject.util.data.functions.Misc.chuck;
 import org.opencastproject.elasticsearch.api.SearchIndexException;
 import org.opencastproject.elasticsearch.api.SearchMetadata;
 import org.opencastproject.elasticsearch.api.SearchResult;
+import org.opencastproject.elasticsearch.api.SearchResultItem;
 import org.opencastproject.elasticsearch.impl.AbstractElasticsearchIndex;
 import org.opencastproject.elasticsearch.impl.ElasticsearchDocument;
 import org.opencastproject.elasticsearch.impl.SearchMetadataCollection;
@@ -62,6 +63,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -263,6 +266,44 @@ public class ElasticsearchIndex extends AbstractElasticsearchIndex {
     }
   }
 
+  /**
+   * Loads the events with the given identifiers from the search index in a single query.
+   *
+   * @param mediaPackageIds
+   *          The media package identifiers
+   * @param organization
+   *          The organization
+   * @param user
+   *          The user
+   * @return the events found in the index by their identifiers
+   *
+   * @throws SearchIndexException
+   *          If querying the search index fails
+   * @throws IllegalStateException
+   *          If multiple events with the same identifier are found
+   */
+  public Map<String, Event> getEvents(Collection<String> mediaPackageIds, String organization, User user)
+          throws SearchIndexException {
+    Map<String, Event> events = new HashMap<>();
+    if (mediaPackageIds.isEmpty()) {
+      return events;
+    }
+    EventSearchQuery query = new EventSearchQuery(organization, user).withoutActions();
+    for (String mediaPackageId : mediaPackageIds) {
+      query.withIdentifier(mediaPackageId);
+    }
+    query.withLimit(mediaPackageIds.size());
+    SearchResult<Event> searchResult = getByQuery(query, maxRetryAttemptsGet, retryWaitingPeriodGet);
+    for (SearchResultItem<Event> item : searchResult.getItems()) {
+      Event event = item.getSource();
+      if (events.put(event.getIdentifier(), event) != null) {
+        throw new IllegalStateException(
+                "Multiple events with identifier " + event.getIdentifier() + " found in search index");
+      }
+    }
+    return events;
+  }
+
   /**
    * Loads the series from the search index if it exists.
    *
@@ -38,6 +38,17 @@ public interface IndexProducer {
    */
   void repopulate(DataType dataType) throws IndexRebuildException;
 
+  /**
+   * Re-add the data of this service to the index, continuing an index rebuild that was interrupted. Services which can
+   * tell which of their data is already up to date in the index may skip it. Default: Re-add all data.
+   *
+   * @param dataType
+   *          Limit the data added to the index. Use ALL to re-index all data.
+   */
+  default void resume(DataType dataType) throws IndexRebuildException {
+    repopulate(dataType);
+  }
+
   /**
    * Get the service that implements IndexProducer.
    *
@@ -155,7 +155,7 @@ public class IndexRebuildService implements BundleActivator {
     logger.info("Index cleared, starting complete rebuild.");
     setAllRebuildStates(IndexRebuildService.State.PENDING);
     for (IndexRebuildService.Service service: IndexRebuildService.Service.values()) {
-      rebuildIndexInternal(getIndexProducer(service), DataType.ALL);
+      rebuildIndexInternal(getIndexProducer(service), DataType.ALL, false);
     }
   }
 
@@ -175,12 +175,12 @@ public class IndexRebuildService implements BundleActivator {
           throws IllegalArgumentException, IndexRebuildException {
     logger.info("Starting partial rebuild of the {} index.", indexProducer.getService());
     setRebuildState(indexProducer.getService(), IndexRebuildService.State.PENDING);
-    rebuildIndexInternal(indexProducer, dataType);
+    rebuildIndexInternal(indexProducer, dataType, false);
   }
 
   /**
    * Start Index Rebuild from the specified service and then do all that follow. Can be used to resume a complete index
-   * rebuild that was interrupted.
+   * rebuild that was interrupted. The starting service may skip the data it already added before the interruption.
    *
    * @param startingService
    *           The {@link Service} to start with.
@@ -196,12 +196,12 @@ public class IndexRebuildService implements BundleActivator {
     setSubsetOfRebuildStates(startingService, IndexRebuildService.State.PENDING);
     Service[] services = IndexRebuildService.Service.values();
     for (int i = startingService.ordinal(); i < services.length; i++) {
-      rebuildIndexInternal(getIndexProducer(services[i]), DataType.ALL);
+      rebuildIndexInternal(getIndexProducer(services[i]), DataType.ALL, services[i] == startingService);
     }
   }
 
-  private void rebuildIndexInternal(IndexProducer indexProducer, DataType dataType) throws IndexRebuildException,
-          IllegalArgumentException {
+  private void rebuildIndexInternal(IndexProducer indexProducer, DataType dataType, boolean resume)
+          throws IndexRebuildException, IllegalArgumentException {
     if (!indexProducer.dataTypeSupported(dataType)) {
       throw new IllegalArgumentException("Service " + indexProducer.getService() + "doesn't support data type "
               + dataType + " for index rebuild.");
@@ -210,7 +210,11 @@ public class IndexRebuildService implements BundleActivator {
     logger.info("Starting to rebuild the {} index", service);
     setRebuildState(service, IndexRebuildService.State.RUNNING);
     try {
-      indexProducer.repopulate(dataType);
+      if (resume) {
+        indexProducer.resume(dataType);
+      } else {
+        indexProducer.repopulate(dataType);
+      }
       setRebuildState(service, IndexRebuildService.State.OK);
     } catch (IndexRebuildException e) {
       setRebuildState(service, IndexRebuildService.State.ERROR);
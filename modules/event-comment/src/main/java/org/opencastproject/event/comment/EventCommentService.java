@@ -22,7 +22,9 @@ package org.opencastproject.event.comment;
 
 import org.opencastproject.util.NotFoundException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface EventCommentService {
   /**
@@ -58,6 +60,17 @@ public interface EventCommentService {
    */
   List<EventComment> getComments(String eventId) throws EventCommentException;
 
+  /**
+   * Get all of the comments for a number of events at once.
+   *
+   * @param eventIds
+   *          The ids of the events to get the comments for (mediapackage ids).
+   * @return The comments by event id. Events without comments are not contained.
+   * @throws EventCommentException
+   *           Thrown if there was a problem getting the comments.
+   */
+  Map<String, List<EventComment>> getComments(Collection<String> eventIds) throws EventCommentException;
+
   /**
    * Delete a comment from an event.
    * @param commentId
@@ -26,7 +26,9 @@ import org.opencastproject.util.NotFoundException;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implements permanent storage for event comments.
@@ -113,4 +115,13 @@ public class EventCommentServiceImpl implements EventCommentService {
     }
   }
 
+  @Override
+  public Map<String, List<EventComment>> getComments(Collection<String> eventIds) throws EventCommentException {
+    try {
+      return eventCommentDatabaseService.getComments(eventIds);
+    } catch (Exception e) {
+      throw new EventCommentException(e);
+    }
+  }
+
 }
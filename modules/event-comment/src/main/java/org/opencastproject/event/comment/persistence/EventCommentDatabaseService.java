@@ -23,7 +23,9 @@ package org.opencastproject.event.comment.persistence;
 import org.opencastproject.event.comment.EventComment;
 import org.opencastproject.util.NotFoundException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface EventCommentDatabaseService {
   /**
@@ -59,6 +61,17 @@ public interface EventCommentDatabaseService {
    */
   List<EventComment> getComments(String eventId) throws EventCommentDatabaseException;
 
+  /**
+   * Get all of the comments for a number of events at once.
+   *
+   * @param eventIds
+   *          The ids of the events to get the comments for (mediapackage ids).
+   * @return The comments by event id. Events without comments are not contained.
+   * @throws EventCommentDatabaseException
+   *           Thrown if there was a problem getting the comments from the database.
+   */
+  Map<String, List<EventComment>> getComments(Collection<String> eventIds) throws EventCommentDatabaseException;
+
   /**
    * Delete a comment from an event.
    * @param commentId
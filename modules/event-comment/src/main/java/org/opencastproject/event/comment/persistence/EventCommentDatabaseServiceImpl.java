@@ -53,8 +53,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -78,6 +83,12 @@ public class EventCommentDatabaseServiceImpl extends AbstractIndexProducer imple
   /** Logging utilities */
   private static final Logger logger = LoggerFactory.getLogger(EventCommentDatabaseServiceImpl.class);
 
+  /** Maximum number of events to get the comments for in a single query */
+  private static final int MAX_IN_PARAMETERS = 1000;
+
+  /** Orders unresolved comments before resolved ones, keeping the order otherwise */
+  private static final Comparator<EventComment> UNRESOLVED_FIRST = Comparator.comparing(EventComment::isResolvedStatus);
+
   public static final String PERSISTENCE_UNIT = "org.opencastproject.event.comment";
 
   /** Factory used to create {@link EntityManager}s for transactions */
@@ -286,11 +297,7 @@ public class EventCommentDatabaseServiceImpl extends AbstractIndexProducer imple
               Pair.of("org", securityService.getOrganization().getId())
           )).stream()
           .map(c -> c.toComment(userDirectoryService, organizationDirectoryService))
-          .sorted((c1, c2) -> {
-            boolean v1 = c1.isResolvedStatus();
-            boolean v2 = c2.isResolvedStatus();
-            return (v1 ^ v2) ? ((v1 ^ false) ? 1 : -1) : 0;
-          })
+          .sorted(UNRESOLVED_FIRST)
           .collect(Collectors.toList());
     } catch (Exception e) {
       logger.error("Could not retreive comments for event {}", eventId, e);
@@ -298,6 +305,49 @@ public class EventCommentDatabaseServiceImpl extends AbstractIndexProducer imple
     }
   }
 
+  @Override
+  public Map<String, List<EventComment>> getComments(Collection<String> eventIds)
+          throws EventCommentDatabaseException {
+    Map<String, List<EventComment>> comments = new HashMap<>();
+    if (eventIds.isEmpty()) {
+      return comments;
+    }
+    // Authors usually write many comments, so each of them is looked up once only
+    Map<String, User> users = new HashMap<>();
+    Function<String, User> loadUser = userName -> users.computeIfAbsent(userName, userDirectoryService::loadUser);
+    String organization = securityService.getOrganization().getId();
+    List<String> ids = new ArrayList<>(new LinkedHashSet<>(eventIds));
+    try {
+      for (int i = 0; i < ids.size(); i += MAX_IN_PARAMETERS) {
+        List<String> page = ids.subList(i, Math.min(i + MAX_IN_PARAMETERS, ids.size()));
+        List<EventCommentDto> dtos = db.exec(namedQuery.findAll(
+            "EventComment.findByEvents",
+            EventCommentDto.class,
+            Pair.of("eventIds", page),
+            Pair.of("org", organization)
+        ));
+        if (dtos.isEmpty()) {
+          continue;
+        }
+        // Load the replies to all comments at once instead of once per comment
+        Map<Long, List<EventCommentReplyDto>> replies = db.exec(namedQuery.findAll(
+            "EventCommentReply.findByComments",
+            EventCommentReplyDto.class,
+            Pair.of("commentIds", dtos.stream().map(EventCommentDto::getId).collect(Collectors.toList()))
+        )).stream().collect(Collectors.groupingBy(r -> r.getEventComment().getId()));
+        for (EventCommentDto dto : dtos) {
+          comments.computeIfAbsent(dto.getEventId(), id -> new ArrayList<>()).add(dto.toComment(loadUser,
+              organizationDirectoryService, replies.getOrDefault(dto.getId(), Collections.emptyList())));
+        }
+      }
+    } catch (Exception e) {
+      logger.error("Could not retreive comments for events {}", eventIds, e);
+      throw new EventCommentDatabaseException(e);
+    }
+    comments.values().forEach(list -> list.sort(UNRESOLVED_FIRST));
+    return comments;
+  }
+
   public Iterator<EventCommentDto> getComments() throws EventCommentDatabaseException {
     try {
       return db.exec(namedQuery.findAll("EventComment.findAll", EventCommentDto.class)).iterator();
@@ -35,6 +35,7 @@ import org.opencastproject.util.data.Option;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Function;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
@@ -73,6 +74,11 @@ import javax.persistence.TemporalType;
         query = "SELECT e FROM EventComment e "
             + "WHERE e.eventId = :eventId AND e.organization = :org ORDER BY e.creationDate"
     ),
+    @NamedQuery(
+        name = "EventComment.findByEvents",
+        query = "SELECT e FROM EventComment e "
+            + "WHERE e.eventId IN :eventIds AND e.organization = :org ORDER BY e.creationDate"
+    ),
     @NamedQuery(
         name = "EventComment.findByCommentId",
         query = "SELECT e FROM EventComment e WHERE e.id = :commentId"
@@ -369,7 +375,23 @@ public class EventCommentDto {
    */
   public EventComment toComment(UserDirectoryService userDirectoryService,
       OrganizationDirectoryService organizationDirectoryService) {
-    User user = userDirectoryService.loadUser(author);
+    return toComment(userDirectoryService::loadUser, organizationDirectoryService, replies);
+  }
+
+  /**
+   * Returns the business object of this comment with the given replies, looking up users with the given function.
+   *
+   * @param loadUser
+   *          returns the user of a user name, or <code>null</code> if the user does not exist
+   * @param organizationDirectoryService
+   *          the organization directory
+   * @param replies
+   *          the replies to the comment
+   * @return the business object model of this comment
+   */
+  EventComment toComment(Function<String, User> loadUser, OrganizationDirectoryService organizationDirectoryService,
+      List<EventCommentReplyDto> replies) {
+    User user = loadUser.apply(author);
     if (user == null) {
       JpaOrganization org = null;
       try {
@@ -380,7 +402,7 @@ public class EventCommentDto {
     EventComment comment = EventComment.create(Option.option(id), eventId, organization, text, user, reason,
             resolvedStatus, creationDate, modificationDate);
     for (EventCommentReplyDto reply : replies) {
-      comment.addReply(reply.toCommentReply(userDirectoryService));
+      comment.addReply(reply.toCommentReply(loadUser));
     }
     return comment;
   }
@@ -27,6 +27,7 @@ import org.opencastproject.security.api.UserDirectoryService;
 import org.opencastproject.util.data.Option;
 
 import java.util.Date;
+import java.util.function.Function;
 
 import javax.persistence.Access;
 import javax.persistence.AccessType;
@@ -50,6 +51,8 @@ import javax.persistence.TemporalType;
 @Access(AccessType.FIELD)
 @Table(name = "oc_event_comment_reply")
 @NamedQueries({ @NamedQuery(name = "EventCommentReply.findAll", query = "SELECT c FROM EventCommentReply c"),
+        @NamedQuery(name = "EventCommentReply.findByComments", query = "SELECT c FROM EventCommentReply c "
+            + "WHERE c.eventComment.id IN :commentIds ORDER BY c.creationDate"),
         @NamedQuery(name = "EventCommentReply.clear", query = "DELETE FROM EventCommentReply") })
 public class EventCommentReplyDto {
 
@@ -195,7 +198,11 @@ public class EventCommentReplyDto {
    * @return the business object model of this comment reply
    */
   public EventCommentReply toCommentReply(UserDirectoryService userDirectoryService) {
-    User user = userDirectoryService.loadUser(author);
+    return toCommentReply(userDirectoryService::loadUser);
+  }
+
+  EventCommentReply toCommentReply(Function<String, User> loadUser) {
+    User user = loadUser.apply(author);
     return EventCommentReply.create(Option.option(id), text, user, creationDate, modificationDate);
   }
 
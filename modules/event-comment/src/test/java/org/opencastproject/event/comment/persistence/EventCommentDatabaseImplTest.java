@@ -130,6 +130,31 @@ public class EventCommentDatabaseImplTest {
     assertEquals("comment3", modifiedComment.getReplies().get(1).getText());
   }
 
+  @Test
+  public void testGetCommentsOfEvents() throws Exception {
+    EventComment resolved = EventComment.create(none(Long.class), EVENT_1_ID, ORGANIZATION.getId(), "resolved", USER,
+        null, true);
+    resolved.addReply(EventCommentReply.create(none(Long.class), "reply", USER));
+    persistence.updateComment(resolved);
+    persistence.updateComment(COMMENT_1);
+    persistence.updateComment(EventComment.create(none(Long.class), "2", ORGANIZATION.getId(), "test", USER));
+    persistence.updateComment(EventComment.create(none(Long.class), "3", ORGANIZATION.getId(), "test", USER));
+
+    Map<String, List<EventComment>> comments = persistence.getComments(List.of(EVENT_1_ID, "2", "4"));
+    assertEquals(2, comments.size());
+    assertEquals(persistence.getComments(EVENT_1_ID), comments.get(EVENT_1_ID));
+    assertEquals(persistence.getComments("2"), comments.get("2"));
+
+    // Unresolved comments come first
+    List<EventComment> event1Comments = comments.get(EVENT_1_ID);
+    assertEquals(2, event1Comments.size());
+    assertFalse(event1Comments.get(0).isResolvedStatus());
+    assertEquals(1, event1Comments.get(1).getReplies().size());
+    assertEquals("reply", event1Comments.get(1).getReplies().get(0).getText());
+
+    assertTrue(persistence.getComments(List.of()).isEmpty());
+  }
+
   @Test
   public void testGetEventsWithComments() throws Exception {
     Organization org1 = EasyMock.createNiceMock(Organization.class);
@@ -22,6 +22,8 @@ package org.opencastproject.external.common;
 
 import static java.lang.String.format;
 
+import org.opencastproject.index.service.util.RestUtils;
+
 import com.entwinemedia.fn.data.json.JValue;
 import com.entwinemedia.fn.data.json.SimpleSerializer;
 
@@ -99,7 +101,9 @@ public final class ApiResponseBuilder {
      * @return The new {@link Response}
      */
     public static Response ok(ApiVersion version, JValue json) {
-      return Response.ok(serializer.toJson(json), APPLICATION_PREFIX + version.toExternalForm() + JSON_SUFFIX).build();
+      // Lists of events or series can be large, so the body is written to the client instead of being rendered first
+      return Response.ok(RestUtils.stream(serializer.fn.toJson(json)),
+          APPLICATION_PREFIX + version.toExternalForm() + JSON_SUFFIX).build();
     }
 
     /**
@@ -21,24 +21,17 @@
 
 package org.opencastproject.graphql.datafetcher.event;
 
-import org.opencastproject.elasticsearch.api.SearchIndexException;
-import org.opencastproject.elasticsearch.index.ElasticsearchIndex;
 import org.opencastproject.elasticsearch.index.objects.event.Event;
 import org.opencastproject.graphql.datafetcher.ContextDataFetcher;
 import org.opencastproject.graphql.event.GqlEvent;
-import org.opencastproject.graphql.exception.GraphQLNotFoundException;
 import org.opencastproject.graphql.exception.GraphQLRuntimeException;
 import org.opencastproject.graphql.exception.OpencastErrorType;
 import org.opencastproject.graphql.execution.context.OpencastContext;
 import org.opencastproject.index.service.api.IndexService;
-import org.opencastproject.index.service.exception.IndexServiceException;
 import org.opencastproject.index.service.impl.util.EventUtils;
 import org.opencastproject.metadata.dublincore.DublinCoreMetadataCollection;
 import org.opencastproject.metadata.dublincore.EventCatalogUIAdapter;
 import org.opencastproject.metadata.dublincore.MetadataField;
-import org.opencastproject.security.api.SecurityService;
-
-import com.entwinemedia.fn.data.Opt;
 
 import java.text.DateFormat;
 import java.text.ParseException;
@@ -54,40 +47,20 @@ public class CommonEventMetadataDataFetcher implements ContextDataFetcher<Map<St
 
   @Override
   public Map<String, Object> get(OpencastContext opencastContext, DataFetchingEnvironment dataFetchingEnvironment) {
-    String eventId = ((GqlEvent)dataFetchingEnvironment.getSource()).id();
-    SecurityService securityService = opencastContext.getService(SecurityService.class);
-    ElasticsearchIndex searchIndex = opencastContext.getService(ElasticsearchIndex.class);
+    // The event has been loaded from the index for the current user already
+    Event event = ((GqlEvent)dataFetchingEnvironment.getSource()).getEvent();
     IndexService indexService = opencastContext.getService(IndexService.class);
 
     try {
-      GqlEvent e = getEvent(searchIndex, eventId, securityService);
-      Event event = getEventFromIndexService(indexService, eventId, searchIndex);
       EventCatalogUIAdapter eventCatalogUiAdapter = indexService.getCommonEventCatalogUIAdapter();
       DublinCoreMetadataCollection collection = EventUtils.getEventMetadata(event, eventCatalogUiAdapter);
 
       return getOutputFields(collection);
-    } catch (SearchIndexException | ParseException | IndexServiceException e) {
+    } catch (ParseException e) {
       throw new GraphQLRuntimeException(OpencastErrorType.InternalError, e);
     }
   }
 
-  private GqlEvent getEvent(ElasticsearchIndex searchIndex, String eventId, SecurityService securityService)
-          throws SearchIndexException {
-    return searchIndex.getEvent(eventId, securityService.getOrganization().toString(), securityService.getUser())
-        .map(GqlEvent::new).orElseThrow(() -> new GraphQLNotFoundException(
-                String.format("Could not resolve to a %s with the id of %s", GqlEvent.TYPE_NAME, eventId)));
-  }
-
-  private Event getEventFromIndexService(IndexService indexService, String eventId, ElasticsearchIndex searchIndex)
-          throws IndexServiceException, SearchIndexException {
-    Opt<Event> opt = indexService.getEvent(eventId, searchIndex);
-    if (opt.isEmpty()) {
-      throw new GraphQLNotFoundException(
-          String.format("Could not resolve to a %s with the id of %s", GqlEvent.TYPE_NAME, eventId));
-    }
-    return opt.get();
-  }
-
   private Map<String, Object> getOutputFields(DublinCoreMetadataCollection collection) {
     Map<String, Object> result = new HashMap<>();
     collection.getOutputFields().values().forEach(f -> {
@@ -21,12 +21,9 @@
 
 package org.opencastproject.graphql.datafetcher.event;
 
-import org.opencastproject.elasticsearch.api.SearchIndexException;
-import org.opencastproject.elasticsearch.index.ElasticsearchIndex;
 import org.opencastproject.elasticsearch.index.objects.event.Event;
 import org.opencastproject.graphql.datafetcher.ContextDataFetcher;
 import org.opencastproject.graphql.event.GqlEvent;
-import org.opencastproject.graphql.exception.GraphQLNotFoundException;
 import org.opencastproject.graphql.exception.GraphQLRuntimeException;
 import org.opencastproject.graphql.exception.OpencastErrorType;
 import org.opencastproject.graphql.execution.context.OpencastContext;
@@ -37,8 +34,6 @@ import org.opencastproject.index.service.impl.util.EventUtils;
 import org.opencastproject.metadata.dublincore.DublinCoreMetadataCollection;
 import org.opencastproject.metadata.dublincore.EventCatalogUIAdapter;
 
-import com.entwinemedia.fn.data.Opt;
-
 import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
@@ -50,16 +45,10 @@ public class CommonEventMetadataV2DataFetcher implements ContextDataFetcher<Map<
   @Override
   public Map<String, GqlMetadataFieldInterface> get(OpencastContext opencastContext,
       DataFetchingEnvironment dataFetchingEnvironment) {
-    String eventId = ((GqlEvent)dataFetchingEnvironment.getSource()).id();
-    ElasticsearchIndex searchIndex = opencastContext.getService(ElasticsearchIndex.class);
+    // The event has been loaded from the index for the current user already
+    Event event = ((GqlEvent)dataFetchingEnvironment.getSource()).getEvent();
     IndexService indexService = opencastContext.getService(IndexService.class);
     try {
-      Opt<Event> opt = indexService.getEvent(eventId, searchIndex);
-      if (opt.isEmpty()) {
-        throw new GraphQLNotFoundException(
-            String.format("Could not resolve to a %s with the id of %s", GqlEvent.TYPE_NAME, eventId));
-      }
-      Event event = opt.get();
       EventCatalogUIAdapter eventCatalogUiAdapter = indexService.getCommonEventCatalogUIAdapter();
       Map<String, GqlMetadataFieldInterface> result = new HashMap<>();
       DublinCoreMetadataCollection collection = EventUtils.getEventMetadata(event, eventCatalogUiAdapter);
@@ -67,7 +56,7 @@ public class CommonEventMetadataV2DataFetcher implements ContextDataFetcher<Map<
           (key, value) -> result.put(key, MetadataFieldToGraphQLFieldMapper.mapType(value))
       );
       return result;
-    } catch (SearchIndexException | ParseException e) {
+    } catch (ParseException e) {
       throw new GraphQLRuntimeException(OpencastErrorType.InternalError, e);
     }
   }
@@ -0,0 +1,51 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.graphql.datafetcher.series;
+
+import org.opencastproject.graphql.datafetcher.ContextDataFetcher;
+import org.opencastproject.graphql.event.GqlEvent;
+import org.opencastproject.graphql.execution.DataLoaders;
+import org.opencastproject.graphql.execution.context.OpencastContext;
+import org.opencastproject.graphql.series.GqlSeries;
+
+import org.dataloader.DataLoader;
+
+import java.util.concurrent.CompletableFuture;
+
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * Resolves the series of an event. The series of all events of a list are loaded together, see {@link DataLoaders}.
+ */
+public class EventSeriesDataFetcher implements ContextDataFetcher<CompletableFuture<GqlSeries>> {
+
+  @Override
+  public CompletableFuture<GqlSeries> get(OpencastContext opencastContext,
+      DataFetchingEnvironment dataFetchingEnvironment) {
+    String seriesId = ((GqlEvent) dataFetchingEnvironment.getSource()).seriesId();
+    if (seriesId == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    DataLoader<String, GqlSeries> loader = dataFetchingEnvironment.getDataLoader(DataLoaders.SERIES);
+    return loader.load(seriesId);
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.graphql.datafetcher.user;
+
+import org.opencastproject.graphql.datafetcher.ContextDataFetcher;
+import org.opencastproject.graphql.execution.DataLoaders;
+import org.opencastproject.graphql.execution.context.OpencastContext;
+import org.opencastproject.graphql.type.output.GqlAccessControlUserItem;
+import org.opencastproject.security.api.User;
+
+import org.dataloader.DataLoader;
+
+import java.util.concurrent.CompletableFuture;
+
+import graphql.schema.DataFetchingEnvironment;
+
+/**
+ * Resolves the label of a user in an access control list. The users of all lists of a query are loaded together, see
+ * {@link DataLoaders}.
+ */
+public class AccessControlUserLabelDataFetcher implements ContextDataFetcher<CompletableFuture<String>> {
+
+  @Override
+  public CompletableFuture<String> get(OpencastContext opencastContext,
+      DataFetchingEnvironment dataFetchingEnvironment) {
+    String username = ((GqlAccessControlUserItem) dataFetchingEnvironment.getSource()).getUsername();
+    DataLoader<String, User> loader = dataFetchingEnvironment.getDataLoader(DataLoaders.USERS);
+    return loader.load(username).thenApply(user -> GqlAccessControlUserItem.getLabel(username, user));
+  }
+}
@@ -24,7 +24,7 @@ package org.opencastproject.graphql.event;
 import org.opencastproject.elasticsearch.index.objects.event.Event;
 import org.opencastproject.graphql.datafetcher.event.CommonEventMetadataDataFetcher;
 import org.opencastproject.graphql.datafetcher.event.CommonEventMetadataV2DataFetcher;
-import org.opencastproject.graphql.datafetcher.series.SeriesDataFetcher;
+import org.opencastproject.graphql.datafetcher.series.EventSeriesDataFetcher;
 import org.opencastproject.graphql.execution.context.OpencastContextManager;
 import org.opencastproject.graphql.series.GqlSeries;
 import org.opencastproject.graphql.type.DateTimeFunction;
@@ -182,13 +182,9 @@ public class GqlEvent {
   }
 
   @GraphQLField
+  @GraphQLDataFetcher(EventSeriesDataFetcher.class)
   public GqlSeries series(final DataFetchingEnvironment environment) {
-    var seriesId = this.event.getSeriesId();
-    if (seriesId == null) {
-      return null;
-    } else {
-      return new SeriesDataFetcher(this.event.getSeriesId()).get(environment);
-    }
+    return null;
   }
 
   @GraphQLField
@@ -0,0 +1,142 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.graphql.execution;
+
+import org.opencastproject.elasticsearch.api.SearchIndexException;
+import org.opencastproject.elasticsearch.api.SearchResult;
+import org.opencastproject.elasticsearch.api.SearchResultItem;
+import org.opencastproject.elasticsearch.index.ElasticsearchIndex;
+import org.opencastproject.elasticsearch.index.objects.series.Series;
+import org.opencastproject.elasticsearch.index.objects.series.SeriesSearchQuery;
+import org.opencastproject.graphql.exception.GraphQLRuntimeException;
+import org.opencastproject.graphql.exception.OpencastErrorType;
+import org.opencastproject.graphql.execution.context.OpencastContext;
+import org.opencastproject.graphql.series.GqlSeries;
+import org.opencastproject.security.api.User;
+import org.opencastproject.security.api.UserDirectoryService;
+
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Data loaders of a single GraphQL request.
+ * <p>
+ * Data fetchers of nested fields request entities from these loaders instead of querying the backend themselves. The
+ * keys requested while resolving one level of a query are collected and loaded in one query, so resolving a nested
+ * field of a list costs the same number of backend queries regardless of the length of the list. The loaded entities
+ * are cached for the rest of the request.
+ */
+public final class DataLoaders {
+
+  /** Name of the loader of series by their identifier */
+  public static final String SERIES = "series";
+
+  /** Name of the loader of users by their user name */
+  public static final String USERS = "users";
+
+  /** Maximum number of keys loaded in one query */
+  static final int MAX_BATCH_SIZE = 500;
+
+  private DataLoaders() {
+  }
+
+  /**
+   * Creates the data loaders for a request.
+   *
+   * @param context
+   *          the context of the request, providing the services as well as the organization and user to load the
+   *          entities for
+   * @return the registry of the data loaders
+   */
+  public static DataLoaderRegistry newRegistry(OpencastContext context) {
+    return DataLoaderRegistry.newRegistry()
+        .register(SERIES, newSeriesLoader(context.getService(ElasticsearchIndex.class),
+            context.getOrganization().getId(), context.getUser()))
+        .register(USERS, newUserLoader(context.getService(UserDirectoryService.class)))
+        .build();
+  }
+
+  static DataLoader<String, GqlSeries> newSeriesLoader(ElasticsearchIndex index, String organization, User user) {
+    BatchLoader<String, GqlSeries> loader = seriesIds -> {
+      SeriesSearchQuery query = new SeriesSearchQuery(organization, user);
+      seriesIds.forEach(query::withIdentifier);
+      query.withLimit(seriesIds.size());
+
+      Map<String, GqlSeries> series = new HashMap<>();
+      try {
+        SearchResult<Series> result = index.getByQuery(query);
+        for (SearchResultItem<Series> item : result.getItems()) {
+          if (series.put(item.getSource().getIdentifier(), new GqlSeries(item.getSource())) != null) {
+            throw new GraphQLRuntimeException(
+                "Multiple series found with the same identifier",
+                OpencastErrorType.InternalError
+            );
+          }
+        }
+      } catch (SearchIndexException e) {
+        return CompletableFuture.failedFuture(new GraphQLRuntimeException(OpencastErrorType.InternalError, e));
+      } catch (GraphQLRuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+      return CompletableFuture.completedFuture(inOrder(seriesIds, series));
+    };
+    return DataLoaderFactory.newDataLoader(loader, options());
+  }
+
+  static DataLoader<String, User> newUserLoader(UserDirectoryService userDirectoryService) {
+    BatchLoader<String, User> loader = userNames -> {
+      Map<String, User> users = new HashMap<>();
+      userDirectoryService.loadUsers(userNames).forEachRemaining(user -> {
+        if (user != null) {
+          users.put(user.getUsername(), user);
+          // User names in access control lists are lower case
+          users.putIfAbsent(user.getUsername().toLowerCase(), user);
+        }
+      });
+      return CompletableFuture.completedFuture(inOrder(userNames, users));
+    };
+    return DataLoaderFactory.newDataLoader(loader, options());
+  }
+
+  private static DataLoaderOptions options() {
+    return DataLoaderOptions.newOptions().setMaxBatchSize(MAX_BATCH_SIZE);
+  }
+
+  /** Returns the values for the keys in the order of the keys, missing values are <code>null</code>. */
+  private static <K, V> List<V> inOrder(List<K> keys, Map<K, V> values) {
+    List<V> result = new ArrayList<>(keys.size());
+    for (K key : keys) {
+      result.add(values.get(key));
+    }
+    return result;
+  }
+
+}
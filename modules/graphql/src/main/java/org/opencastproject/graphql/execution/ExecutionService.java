@@ -120,6 +120,10 @@ public class ExecutionService {
 
       executionInput.getGraphQLContext().put(OpencastContextManager.CONTEXT, context);
 
+      // Nested fields of lists are loaded in batches and cached for the duration of the request
+      var dataLoaderRegistry = DataLoaders.newRegistry(context);
+      executionInput = executionInput.transform(builder -> builder.dataLoaderRegistry(dataLoaderRegistry));
+
       var graphQL = getGraphQL(securityService.getOrganization().getId());
 
       if (graphQL == null) {
@@ -21,13 +21,14 @@
 
 package org.opencastproject.graphql.type.output;
 
-import org.opencastproject.graphql.execution.context.OpencastContextManager;
+import org.opencastproject.graphql.datafetcher.user.AccessControlUserLabelDataFetcher;
 import org.opencastproject.security.api.AccessControlEntry;
-import org.opencastproject.security.api.UserDirectoryService;
+import org.opencastproject.security.api.User;
 import org.opencastproject.userdirectory.UserIdRoleProvider;
 
 import java.util.Set;
 
+import graphql.annotations.annotationTypes.GraphQLDataFetcher;
 import graphql.annotations.annotationTypes.GraphQLField;
 import graphql.annotations.annotationTypes.GraphQLName;
 
@@ -45,10 +46,16 @@ public class GqlAccessControlUserItem extends AbstractAccessControlItem implemen
   }
 
   @GraphQLField
+  @GraphQLDataFetcher(AccessControlUserLabelDataFetcher.class)
   public String label() {
-    UserDirectoryService uds = OpencastContextManager.getCurrentContext().getService(UserDirectoryService.class);
-    String username = getUniqueRole().substring(UserIdRoleProvider.getUserIdRole("").length()).toLowerCase();
-    var user = uds.loadUser(username);
+    return null;
+  }
+
+  public String getUsername() {
+    return getUniqueRole().substring(UserIdRoleProvider.getUserIdRole("").length()).toLowerCase();
+  }
+
+  public static String getLabel(String username, User user) {
     String userEmail = (user != null && user.getEmail() != null && !user.getEmail().isEmpty())
         ? " (" + user.getEmail() + ")"
         : "";
@@ -0,0 +1,137 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.graphql.execution;
+
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.opencastproject.elasticsearch.api.SearchResult;
+import org.opencastproject.elasticsearch.api.SearchResultItem;
+import org.opencastproject.elasticsearch.index.ElasticsearchIndex;
+import org.opencastproject.elasticsearch.index.objects.series.Series;
+import org.opencastproject.elasticsearch.index.objects.series.SeriesSearchQuery;
+import org.opencastproject.graphql.series.GqlSeries;
+import org.opencastproject.security.api.User;
+import org.opencastproject.security.api.UserDirectoryService;
+
+import org.dataloader.DataLoader;
+import org.easymock.Capture;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+public class DataLoadersTest {
+
+  private static final String ORGANIZATION = "mh_default_org";
+
+  /** Resolving the series of a list of events must take a single query, regardless of the length of the list */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testSeriesQueryCount() throws Exception {
+    final int seriesCount = 10;
+    final int eventCount = 200;
+
+    SearchResultItem<Series>[] items = new SearchResultItem[seriesCount];
+    for (int i = 0; i < seriesCount; i++) {
+      items[i] = createMock(SearchResultItem.class);
+      expect(items[i].getSource()).andReturn(new Series("series-" + i, ORGANIZATION)).anyTimes();
+      replay(items[i]);
+    }
+    SearchResult<Series> result = createMock(SearchResult.class);
+    expect(result.getItems()).andReturn(items).anyTimes();
+    replay(result);
+
+    Capture<SeriesSearchQuery> query = Capture.newInstance();
+    ElasticsearchIndex index = createMock(ElasticsearchIndex.class);
+    expect(index.getByQuery(capture(query))).andReturn(result).once();
+    replay(index);
+
+    DataLoader<String, GqlSeries> loader = DataLoaders.newSeriesLoader(index, ORGANIZATION, null);
+    List<CompletableFuture<GqlSeries>> futures = new ArrayList<>();
+    for (int i = 0; i < eventCount; i++) {
+      futures.add(loader.load("series-" + i % seriesCount));
+    }
+    CompletableFuture<GqlSeries> missing = loader.load("unknown");
+    loader.dispatchAndJoin();
+
+    verify(index);
+    assertEquals(seriesCount + 1, query.getValue().getIdentifier().length);
+    assertEquals(seriesCount + 1, query.getValue().getLimit());
+    for (int i = 0; i < eventCount; i++) {
+      assertEquals("series-" + i % seriesCount, futures.get(i).get().id());
+    }
+    assertNull(missing.get());
+
+    // Series loaded before are served from the cache of the request
+    assertEquals("series-1", loader.load("series-1").get().id());
+    verify(index);
+  }
+
+  /** Resolving the users of access control lists must take a single query for all lists */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testUserQueryCount() throws Exception {
+    final int userCount = 5;
+    final int entryCount = 100;
+
+    List<User> users = new ArrayList<>();
+    for (int i = 0; i < userCount; i++) {
+      User user = createMock(User.class);
+      expect(user.getUsername()).andReturn("user" + i).anyTimes();
+      replay(user);
+      users.add(user);
+    }
+
+    Capture<Collection<String>> userNames = Capture.newInstance();
+    UserDirectoryService userDirectoryService = createMock(UserDirectoryService.class);
+    expect(userDirectoryService.loadUsers(capture(userNames))).andReturn(users.iterator()).once();
+    replay(userDirectoryService);
+
+    DataLoader<String, User> loader = DataLoaders.newUserLoader(userDirectoryService);
+    List<CompletableFuture<User>> futures = new ArrayList<>();
+    for (int i = 0; i < entryCount; i++) {
+      futures.add(loader.load("user" + i % userCount));
+    }
+    loader.dispatchAndJoin();
+
+    verify(userDirectoryService);
+    Set<String> expected = new HashSet<>();
+    for (int i = 0; i < userCount; i++) {
+      expected.add("user" + i);
+    }
+    assertEquals(expected, new HashSet<>(userNames.getValue()));
+    for (int i = 0; i < entryCount; i++) {
+      assertEquals("user" + i % userCount, futures.get(i).get().getUsername());
+    }
+  }
+
+}
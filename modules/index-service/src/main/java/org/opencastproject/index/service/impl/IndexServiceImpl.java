@@ -1431,7 +1431,8 @@ public class IndexServiceImpl implements IndexService {
 
   private boolean hasSnapshots(String eventId) {
     AQueryBuilder q = assetManager.createQuery();
-    return !enrich(q.select(q.snapshot()).where(q.mediaPackageId(eventId).and(q.version().isLatest())).run()).getSnapshots().isEmpty();
+    return !enrich(q.select(q.snapshotMetadata()).where(q.mediaPackageId(eventId).and(q.version().isLatest())).run())
+        .getSnapshots().isEmpty();
   }
 
   @Override
@@ -21,10 +21,6 @@
 
 package org.opencastproject.index.service.util;
 
-import static com.entwinemedia.fn.data.json.Jsons.arr;
-import static com.entwinemedia.fn.data.json.Jsons.f;
-import static com.entwinemedia.fn.data.json.Jsons.obj;
-import static com.entwinemedia.fn.data.json.Jsons.v;
 import static java.lang.String.format;
 
 import org.opencastproject.util.DateTimeSupport;
@@ -32,7 +28,6 @@ import org.opencastproject.util.data.Tuple;
 import org.opencastproject.util.requests.SortCriterion;
 
 import com.entwinemedia.fn.Fx;
-import com.entwinemedia.fn.data.json.Field;
 import com.entwinemedia.fn.data.json.JValue;
 import com.entwinemedia.fn.data.json.SimpleSerializer;
 
@@ -41,11 +36,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -54,6 +51,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.function.Function;
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MediaType;
@@ -186,19 +184,54 @@ public final class RestUtils {
     if (jsonList == null)
       throw new IllegalArgumentException("The list of value must not be null.");
 
-    ArrayList<Field> fields = new ArrayList<>();
-    fields.add(f("results", arr(jsonList)));
-    fields.add(f("count", v(jsonList.size())));
-    fields.add(f("total", v(total)));
-
-    if (optOffset.isPresent()) {
-      fields.add(f("offset", v(optOffset.get())));
-    }
-    if (optLimit.isPresent()) {
-      fields.add(f("limit", v(optLimit.get())));
-    }
+    return okJsonList(jsonList, Function.identity(), optOffset, optLimit, total);
+  }
 
-    return okJson(obj(fields));
+  /**
+   * Return the given items with the standard format for JSON list value, see
+   * {@link #okJsonList(List, Optional, Optional, long)}. The items are converted to JSON one at a time while the
+   * response is written, so the JSON of the whole list is never held in memory. The status has been sent by then, so
+   * a failing conversion truncates the response. Convert items that may fail before calling this method.
+   *
+   * @param items
+   *          The items to return
+   * @param toJson
+   *          Converts an item to JSON
+   * @param optOffset
+   *          The result offset (optional)
+   * @param optLimit
+   *          The maximal list size (optional)
+   * @param total
+   *          The amount of available items in the system
+   * @return a {@link Response} with the JSON list as body.
+   * @throws IllegalArgumentException
+   *           if the item list is null
+   */
+  public static <T> Response okJsonList(List<T> items, Function<T, JValue> toJson, Optional<Integer> optOffset,
+          Optional<Integer> optLimit, long total) {
+    if (items == null)
+      throw new IllegalArgumentException("The list of items must not be null.");
+
+    final StreamingOutput output = out -> {
+      final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      writer.write("{\"results\":[");
+      for (int i = 0; i < items.size(); i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        writer.write(serializer.toJson(toJson.apply(items.get(i))));
+      }
+      writer.write("],\"count\":" + items.size() + ",\"total\":" + total);
+      if (optOffset.isPresent()) {
+        writer.write(",\"offset\":" + optOffset.get());
+      }
+      if (optLimit.isPresent()) {
+        writer.write(",\"limit\":" + optLimit.get());
+      }
+      writer.write('}');
+      writer.flush();
+    };
+    return Response.ok(output, MediaType.APPLICATION_JSON_TYPE).build();
   }
 
   /**
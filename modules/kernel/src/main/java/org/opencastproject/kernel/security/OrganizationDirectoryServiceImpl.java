@@ -22,8 +22,6 @@
 package org.opencastproject.kernel.security;
 
 import static org.opencastproject.security.util.SecurityUtil.hostAndPort;
-import static org.opencastproject.util.data.Collections.map;
-import static org.opencastproject.util.data.Collections.toList;
 import static org.opencastproject.util.data.Tuple.tuple;
 
 import org.opencastproject.kernel.security.persistence.OrganizationDatabase;
@@ -47,13 +45,17 @@ import org.slf4j.LoggerFactory;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Implements the organizational directory. As long as no organizations are published in the service registry, the
@@ -109,7 +111,7 @@ public class OrganizationDirectoryServiceImpl implements OrganizationDirectorySe
   private OrganizationDatabase persistence = null;
 
   /** The list of directory listeners */
-  private final List<OrganizationDirectoryListener> listeners = new ArrayList<>();
+  private final List<OrganizationDirectoryListener> listeners = new CopyOnWriteArrayList<>();
 
   private OrgCache cache;
 
@@ -117,7 +119,7 @@ public class OrganizationDirectoryServiceImpl implements OrganizationDirectorySe
   @Reference
   public void setOrgPersistence(OrganizationDatabase setOrgPersistence) {
     this.persistence = setOrgPersistence;
-    this.cache = new OrgCache(60000, persistence);
+    this.cache = new OrgCache(60000, persistence, executor);
   }
 
   /**
@@ -233,14 +235,15 @@ public class OrganizationDirectoryServiceImpl implements OrganizationDirectorySe
         org.setProperties(orgProperties);
         logger.info("Updating organization '{}'", id);
         persistence.storeOrganization(org);
+        cache.invalidate();
         fireOrganizationUpdated(org);
       } catch (NotFoundException e) {
         org = new JpaOrganization(id, name, servers, adminRole, anonRole, orgProperties);
         logger.info("Creating organization '{}'", id);
         persistence.storeOrganization(org);
+        cache.invalidate();
         fireOrganizationRegistered(org);
       }
-      cache.invalidate();
     } catch (OrganizationDatabaseException e) {
       logger.error("Unable to register organization '{}'", id, e);
     }
@@ -321,65 +324,98 @@ public class OrganizationDirectoryServiceImpl implements OrganizationDirectorySe
   /**
    * Very simple cache that does a <em>complete</em> refresh after a given interval. This type of cache is only suitable
    * for small sets.
+   * <p>
+   * The organizations are kept in an immutable snapshot which is replaced as a whole. Lookups never block, since the
+   * organization is resolved for every request. Once a snapshot has expired, it is still used while a new one is loaded
+   * in the background.
    */
   private static final class OrgCache {
-    private final Object lock = new Object();
-
-    // A simple hash map is sufficient here.
-    // No need to deal with soft references or an LRU map since the number of organizations
-    // will be quite low.
-    private final Map<Tuple<String, Integer>, Organization> byHost = map();
-    private final Map<String, Organization> byId = map();
     private final long refreshInterval;
-    private long lastRefresh;
-
     private final OrganizationDatabase persistence;
+    private final Executor executor;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
 
-    OrgCache(long refreshInterval, OrganizationDatabase persistence) {
+    private volatile Snapshot snapshot = null;
+
+    OrgCache(long refreshInterval, OrganizationDatabase persistence, Executor executor) {
       this.refreshInterval = refreshInterval;
       this.persistence = persistence;
-      invalidate();
+      this.executor = executor;
     }
 
     public Organization get(URL url) {
-      synchronized (lock) {
-        refresh();
-        return byHost.get(hostAndPort(url));
-      }
+      return current().byHost.get(hostAndPort(url));
     }
 
     public Organization get(String id) {
-      synchronized (lock) {
-        refresh();
-        return byId.get(id);
-      }
+      return current().byId.get(id);
     }
 
     public List<Organization> getAll() {
-      synchronized (lock) {
-        refresh();
-        return toList(byId.values());
-      }
+      return new ArrayList<>(current().byId.values());
     }
 
+    /**
+     * Load the organizations after they have been modified. This happens in the modifying thread so that it sees its
+     * own modification.
+     */
     public void invalidate() {
-      this.lastRefresh = System.currentTimeMillis() - 2 * refreshInterval;
+      if (snapshot == null) {
+        return;
+      }
+      try {
+        reload();
+      } catch (RuntimeException e) {
+        logger.warn("Unable to reload organizations, loading them on next access", e);
+        snapshot = null;
+      }
     }
 
-    private void refresh() {
-      final long now = System.currentTimeMillis();
-      if (now - lastRefresh > refreshInterval) {
-        byId.clear();
-        byHost.clear();
-        for (Organization org : persistence.getOrganizations()) {
-          byId.put(org.getId(), org);
-          // (host, port)
-          for (Map.Entry<String, Integer> server : org.getServers().entrySet()) {
-            byHost.put(tuple(server.getKey(), server.getValue()), org);
+    private Snapshot current() {
+      final Snapshot current = snapshot;
+      if (current == null) {
+        synchronized (this) {
+          return snapshot != null ? snapshot : reload();
+        }
+      }
+      if (System.currentTimeMillis() - current.created > refreshInterval && refreshing.compareAndSet(false, true)) {
+        executor.execute(() -> {
+          try {
+            reload();
+          } catch (RuntimeException e) {
+            logger.warn("Unable to refresh organizations", e);
+          } finally {
+            refreshing.set(false);
           }
+        });
+      }
+      return current;
+    }
+
+    private synchronized Snapshot reload() {
+      final Map<Tuple<String, Integer>, Organization> byHost = new HashMap<>();
+      final Map<String, Organization> byId = new HashMap<>();
+      for (Organization org : persistence.getOrganizations()) {
+        byId.put(org.getId(), org);
+        // (host, port)
+        for (Map.Entry<String, Integer> server : org.getServers().entrySet()) {
+          byHost.put(tuple(server.getKey(), server.getValue()), org);
         }
-        lastRefresh = now;
       }
+      snapshot = new Snapshot(byHost, byId);
+      return snapshot;
+    }
+  }
+
+  /** Immutable view of all organizations at a given time */
+  private static final class Snapshot {
+    private final Map<Tuple<String, Integer>, Organization> byHost;
+    private final Map<String, Organization> byId;
+    private final long created = System.currentTimeMillis();
+
+    Snapshot(Map<Tuple<String, Integer>, Organization> byHost, Map<String, Organization> byId) {
+      this.byHost = Collections.unmodifiableMap(byHost);
+      this.byId = Collections.unmodifiableMap(byId);
     }
   }
 }
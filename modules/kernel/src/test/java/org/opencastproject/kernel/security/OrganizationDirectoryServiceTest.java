@@ -29,15 +29,19 @@ import static org.junit.Assert.fail;
 import org.opencastproject.kernel.security.persistence.OrganizationDatabase;
 import org.opencastproject.kernel.security.persistence.OrganizationDatabaseException;
 import org.opencastproject.security.api.Organization;
+import org.opencastproject.security.impl.jpa.JpaOrganization;
 import org.opencastproject.util.NotFoundException;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.osgi.service.cm.ConfigurationException;
 
+import java.net.URL;
+import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Test class for {@link OrganizationDirectoryServiceImpl}
@@ -169,4 +173,68 @@ public class OrganizationDirectoryServiceTest {
       fail("Configuration exception occured");
     }
   }
+
+  @Test
+  public void testLookup() throws Exception {
+    final List<Organization> organizations = new ArrayList<>();
+    organizations.add(new JpaOrganization("org1", "Org 1", "host1", 8080, "ROLE_ADMIN", "ROLE_ANONYMOUS", null));
+    final AtomicInteger loads = new AtomicInteger();
+    OrganizationDatabase organizationDatabase = new OrganizationDatabase() {
+      @Override
+      public void storeOrganization(Organization organization) throws OrganizationDatabaseException {
+        organizations.add(organization);
+      }
+
+      @Override
+      public List<Organization> getOrganizations() throws OrganizationDatabaseException {
+        loads.incrementAndGet();
+        return new ArrayList<>(organizations);
+      }
+
+      @Override
+      public Organization getOrganizationByHost(String host, int port) throws OrganizationDatabaseException,
+              NotFoundException {
+        throw new NotFoundException();
+      }
+
+      @Override
+      public Organization getOrganization(String orgId) throws OrganizationDatabaseException, NotFoundException {
+        throw new NotFoundException();
+      }
+
+      @Override
+      public void deleteOrganization(String orgId) throws OrganizationDatabaseException, NotFoundException {
+      }
+
+      @Override
+      public int countOrganizations() throws OrganizationDatabaseException {
+        return organizations.size();
+      }
+
+      @Override
+      public boolean containsOrganization(String orgId) throws OrganizationDatabaseException {
+        return false;
+      }
+    };
+    OrganizationDirectoryServiceImpl service = new OrganizationDirectoryServiceImpl();
+    service.setOrgPersistence(organizationDatabase);
+
+    assertEquals("org1", service.getOrganization(new URL("http://host1:8080/path")).getId());
+    assertEquals("org1", service.getOrganization("org1").getId());
+    assertEquals(1, service.getOrganizations().size());
+    // Lookups are served from memory
+    assertEquals(1, loads.get());
+
+    try {
+      service.getOrganization("org2");
+      fail("Organization should not exist");
+    } catch (NotFoundException e) {
+      // expected
+    }
+
+    // Modifications are visible immediately
+    service.addOrganization(new JpaOrganization("org2", "Org 2", "host2", 80, "ROLE_ADMIN", "ROLE_ANONYMOUS", null));
+    assertEquals("org2", service.getOrganization("org2").getId());
+    assertEquals(2, service.getOrganizations().size());
+  }
 }
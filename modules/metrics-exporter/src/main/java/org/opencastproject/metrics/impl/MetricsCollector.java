@@ -0,0 +1,87 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.metrics.impl;
+
+import org.opencastproject.util.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+
+import io.prometheus.client.Collector;
+
+/**
+ * Exposes the metrics recorded via {@link Metrics} by Opencast's services to Prometheus.
+ */
+public class MetricsCollector extends Collector {
+
+  private static final String TOTAL_SUFFIX = "_total";
+
+  @Override
+  public List<MetricFamilySamples> collect() {
+    final List<MetricFamilySamples> result = new ArrayList<>();
+    for (Metrics.Metric<?> metric : Metrics.getMetrics()) {
+      if (metric instanceof Metrics.Histogram) {
+        result.add(collectHistogram((Metrics.Histogram) metric));
+      } else if (metric instanceof Metrics.Counter) {
+        result.add(collectCounter((Metrics.Counter) metric));
+      }
+    }
+    return result;
+  }
+
+  private static MetricFamilySamples collectHistogram(Metrics.Histogram histogram) {
+    final String name = histogram.getName();
+    final double[] buckets = histogram.getBuckets();
+    final List<String> bucketLabelNames = new ArrayList<>(histogram.getLabelNames());
+    bucketLabelNames.add("le");
+
+    final List<MetricFamilySamples.Sample> samples = new ArrayList<>();
+    for (Map.Entry<List<String>, Metrics.Histogram.Child> entry : histogram.getChildren().entrySet()) {
+      final long[] counts = entry.getValue().getCumulativeCounts();
+      for (int i = 0; i < counts.length; i++) {
+        final List<String> bucketLabelValues = new ArrayList<>(entry.getKey());
+        bucketLabelValues.add(i < buckets.length ? doubleToGoString(buckets[i]) : "+Inf");
+        samples.add(new MetricFamilySamples.Sample(name + "_bucket", bucketLabelNames, bucketLabelValues, counts[i]));
+      }
+      samples.add(new MetricFamilySamples.Sample(name + "_count", histogram.getLabelNames(), entry.getKey(),
+          counts[counts.length - 1]));
+      samples.add(new MetricFamilySamples.Sample(name + "_sum", histogram.getLabelNames(), entry.getKey(),
+          entry.getValue().getSum()));
+    }
+    return new MetricFamilySamples(name, Type.HISTOGRAM, histogram.getHelp(), samples);
+  }
+
+  private static MetricFamilySamples collectCounter(Metrics.Counter counter) {
+    final String name = counter.getName().endsWith(TOTAL_SUFFIX)
+        ? counter.getName().substring(0, counter.getName().length() - TOTAL_SUFFIX.length())
+        : counter.getName();
+    final List<MetricFamilySamples.Sample> samples = new ArrayList<>();
+    for (Map.Entry<List<String>, DoubleAdder> entry : counter.getChildren().entrySet()) {
+      samples.add(new MetricFamilySamples.Sample(name + TOTAL_SUFFIX, counter.getLabelNames(), entry.getKey(),
+          entry.getValue().sum()));
+    }
+    return new MetricFamilySamples(name, Type.COUNTER, counter.getHelp(), samples);
+  }
+
+}
@@ -22,21 +22,24 @@
 package org.opencastproject.metrics.impl;
 
 import org.opencastproject.assetmanager.api.AssetManager;
-import org.opencastproject.job.api.Job;
 import org.opencastproject.security.api.Organization;
 import org.opencastproject.security.api.OrganizationDirectoryService;
 import org.opencastproject.serviceregistry.api.ServiceRegistration;
 import org.opencastproject.serviceregistry.api.ServiceRegistry;
 import org.opencastproject.serviceregistry.api.ServiceState;
 import org.opencastproject.serviceregistry.api.SystemLoad;
+import org.opencastproject.util.data.Tuple3;
 import org.opencastproject.util.doc.rest.RestQuery;
 import org.opencastproject.util.doc.rest.RestResponse;
 import org.opencastproject.util.doc.rest.RestService;
 
+import com.mchange.v2.c3p0.PooledDataSource;
+
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Version;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
@@ -45,12 +48,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.StringWriter;
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
@@ -127,12 +133,31 @@ public class MetricsExporter {
       .help("Version of Opencast (based on metrics module)")
       .labelNames("part")
       .register();
+  private final Gauge dbPoolConnections = Gauge.build()
+      .name("opencast_db_pool_connections")
+      .help("Connections of the database connection pool")
+      .labelNames("state")
+      .register();
+  private final Gauge dbPoolWaiting = Gauge.build()
+      .name("opencast_db_pool_waiting_threads")
+      .help("Threads waiting for a connection from the database connection pool")
+      .register();
   private Gauge eventsInAssetManager;
 
+  /** Metrics recorded by other services */
+  private final MetricsCollector collector = new MetricsCollector();
+
+  /** Minimum time between two updates of the number of events in the asset manager */
+  private static final long ASSET_MANAGER_UPDATE_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
+  /** Time of the last update of the number of events in the asset manager */
+  private volatile long assetManagerUpdated = 0;
+
   /** OSGi services */
   private ServiceRegistry serviceRegistry;
   private OrganizationDirectoryService organizationDirectoryService;
   private AssetManager assetManager;
+  private DataSource dataSource;
 
   @Activate
   public void activate(BundleContext bundleContext) {
@@ -140,6 +165,12 @@ public class MetricsExporter {
     this.version.labels("major").set(version.getMajor());
     this.version.labels("minor").set(version.getMinor());
     DefaultExports.initialize();
+    collector.register(registry);
+  }
+
+  @Deactivate
+  public void deactivate() {
+    registry.unregister(collector);
   }
 
   @GET
@@ -183,13 +214,15 @@ public class MetricsExporter {
     }
 
     // count jobs and workflows
-    for (Job job: serviceRegistry.getActiveJobs()) {
-      Map<String, Integer> orgJobs = jobs.getOrDefault(job.getOrganization(), null);
-      if (orgJobs != null) {
-        orgJobs.computeIfPresent(job.getProcessingHost(), (k, v) -> v + 1);
+    for (Map.Entry<Tuple3<String, String, String>, Long> entry: serviceRegistry.countActiveJobs().entrySet()) {
+      final String organization = entry.getKey().getA();
+      final int count = entry.getValue().intValue();
+      Map<String, Integer> orgJobs = jobs.getOrDefault(organization, null);
+      if (orgJobs != null && entry.getKey().getB() != null) {
+        orgJobs.computeIfPresent(entry.getKey().getB(), (k, v) -> v + count);
       }
-      if ("START_WORKFLOW".equals(job.getOperation())) {
-        workflows.computeIfPresent(job.getOrganization(), (k, v) -> v + 1);
+      if ("START_WORKFLOW".equals(entry.getKey().getC())) {
+        workflows.computeIfPresent(organization, (k, v) -> v + count);
       }
     }
 
@@ -205,13 +238,27 @@ public class MetricsExporter {
       }
     }
 
-    // Get numbers from asset manager
-    if (assetManager != null) {
+    // Get numbers from asset manager. Counting is expensive and the numbers change slowly, so we do not update them
+    // on every request.
+    if (assetManager != null && System.currentTimeMillis() - assetManagerUpdated > ASSET_MANAGER_UPDATE_INTERVAL) {
       for (Organization organization: organizationDirectoryService.getOrganizations()) {
         eventsInAssetManager
             .labels(organization.getId())
             .set(assetManager.countEvents(organization.getId()));
       }
+      assetManagerUpdated = System.currentTimeMillis();
+    }
+
+    // track the database connection pool
+    if (dataSource instanceof PooledDataSource) {
+      final PooledDataSource pool = (PooledDataSource) dataSource;
+      try {
+        dbPoolConnections.labels("busy").set(pool.getNumBusyConnectionsDefaultUser());
+        dbPoolConnections.labels("idle").set(pool.getNumIdleConnectionsDefaultUser());
+        dbPoolWaiting.set(pool.getNumThreadsAwaitingCheckoutDefaultUser());
+      } catch (SQLException e) {
+        logger.debug("Unable to read database connection pool statistics", e);
+      }
     }
 
     // collect metrics
@@ -237,6 +284,7 @@ public class MetricsExporter {
   )
   public void setAssetManager(AssetManager assetManager) {
     this.assetManager = assetManager;
+    assetManagerUpdated = 0;
     eventsInAssetManager = Gauge.build()
         .name("opencast_asset_manager_events")
         .help("Events in Asset Manager")
@@ -249,4 +297,18 @@ public class MetricsExporter {
     registry.unregister(eventsInAssetManager);
   }
 
+  @Reference(
+      policy = ReferencePolicy.DYNAMIC,
+      cardinality = ReferenceCardinality.OPTIONAL,
+      target = "(osgi.jndi.service.name=jdbc/opencast)",
+      unbind = "unsetDataSource"
+  )
+  public void setDataSource(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  public void unsetDataSource(DataSource dataSource) {
+    this.dataSource = null;
+  }
+
 }
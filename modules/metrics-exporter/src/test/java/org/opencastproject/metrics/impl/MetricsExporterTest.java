@@ -22,8 +22,6 @@
 package org.opencastproject.metrics.impl;
 
 import org.opencastproject.assetmanager.api.AssetManager;
-import org.opencastproject.job.api.Job;
-import org.opencastproject.job.api.JobImpl;
 import org.opencastproject.security.api.DefaultOrganization;
 import org.opencastproject.security.api.Organization;
 import org.opencastproject.security.api.OrganizationDirectoryService;
@@ -32,6 +30,8 @@ import org.opencastproject.serviceregistry.api.ServiceRegistrationInMemoryImpl;
 import org.opencastproject.serviceregistry.api.ServiceRegistry;
 import org.opencastproject.serviceregistry.api.ServiceState;
 import org.opencastproject.serviceregistry.api.SystemLoad;
+import org.opencastproject.util.data.Tuple3;
+import org.opencastproject.util.metrics.Metrics;
 
 import org.easymock.EasyMock;
 import org.junit.Assert;
@@ -40,8 +40,11 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.prometheus.client.CollectorRegistry;
 
 /**
  * Test the metrics endpoint
@@ -67,20 +70,18 @@ public class MetricsExporterTest {
     nodeLoad.setCurrentLoad(1.23F);
     systemLoad.addNodeLoad(nodeLoad);
 
-    // prepare job
-    Job job1 = new JobImpl();
-    job1.setJobLoad(1.2F);
-    job1.setOperation("START_WORKFLOW");
-    job1.setOrganization("mh_default_org");
-    job1.setProcessingHost("opencast.org");
-    Job job2 = new JobImpl();
+    // prepare job counts
+    Map<Tuple3<String, String, String>, Long> jobCounts = new HashMap<>();
+    jobCounts.put(Tuple3.tuple3("mh_default_org", "opencast.org", "START_WORKFLOW"), 2L);
+    jobCounts.put(Tuple3.tuple3("mh_default_org", null, "START_WORKFLOW"), 1L);
+    jobCounts.put(Tuple3.tuple3("mh_default_org", "opencast.org", "Encode"), 3L);
 
     // mock service registry
     ServiceRegistration serviceRegistration = new ServiceRegistrationInMemoryImpl("service.type", "opencast.org",
         ServiceState.ERROR.name(), false);
     ServiceRegistry serviceRegistry = EasyMock.createMock(ServiceRegistry.class);
     EasyMock.expect(serviceRegistry.getCurrentHostLoads()).andReturn(systemLoad).anyTimes();
-    EasyMock.expect(serviceRegistry.getActiveJobs()).andReturn(Arrays.asList(job1, job2)).anyTimes();
+    EasyMock.expect(serviceRegistry.countActiveJobs()).andReturn(jobCounts).anyTimes();
     EasyMock.expect(serviceRegistry.getServiceRegistrations())
         .andReturn(Collections.singletonList(serviceRegistration)).anyTimes();
 
@@ -98,10 +99,22 @@ public class MetricsExporterTest {
     exporter.setServiceRegistry(serviceRegistry);
     exporter.setOrganizationDirectoryService(directoryService);
     exporter.setAssetManager(assetManager);
+    new MetricsCollector().register(CollectorRegistry.defaultRegistry);
+
+    // record metrics like services do
+    Metrics.histogram("opencast_test_seconds", "Test histogram", new double[] { 1, 10 }, "operation")
+        .observe(5, "encode");
+    Metrics.counter("opencast_test_bytes_total", "Test counter").inc(1024);
 
     // test exporter
     final String body = exporter.metrics().getEntity().toString();
     Assert.assertTrue(body.contains("opencast_job_load_max{host=\"opencast.org\",} 12.3"));
     Assert.assertTrue(body.contains("opencast_asset_manager_events{organization=\"mh_default_org\",} 5.0"));
+    Assert.assertTrue(body.contains("opencast_job_active{host=\"opencast.org\",organization=\"mh_default_org\",} 5.0"));
+    Assert.assertTrue(body.contains("opencast_workflow_active{organization=\"mh_default_org\",} 3.0"));
+    Assert.assertTrue(body.contains("opencast_test_seconds_bucket{operation=\"encode\",le=\"1.0\",} 0.0"));
+    Assert.assertTrue(body.contains("opencast_test_seconds_bucket{operation=\"encode\",le=\"10.0\",} 1.0"));
+    Assert.assertTrue(body.contains("opencast_test_seconds_count{operation=\"encode\",} 1.0"));
+    Assert.assertTrue(body.contains("opencast_test_bytes_total 1024.0"));
   }
 }
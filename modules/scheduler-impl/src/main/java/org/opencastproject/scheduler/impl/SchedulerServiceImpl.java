@@ -1159,10 +1159,13 @@ public class SchedulerServiceImpl extends AbstractIndexProducer implements Sched
           Opt.some(DateTime.now().minusHours(1).toDate()), Opt.none(), Opt.none()).stream()
           .collect(Collectors.toMap(ExtendedEventDto::getMediaPackageId, Function.identity()));
       final AQueryBuilder query = assetManager.createQuery();
-      final AResult result = query.select(query.snapshot())
-          .where(withOrganization(query).and(query.mediaPackageIds(searchResult.keySet().toArray(new String[0])))
-              .and(withOwner(query)).and(query.version().isLatest()))
-          .run();
+      Predicate predicate = withOrganization(query)
+          .and(query.mediaPackageIds(searchResult.keySet().toArray(new String[0])))
+          .and(withOwner(query)).and(query.version().isLatest());
+      if (seriesId.isSome()) {
+        predicate = predicate.and(query.seriesId().eq(seriesId.get()));
+      }
+      final AResult result = query.select(query.snapshot()).where(predicate).run();
 
       final CalendarGenerator cal = new CalendarGenerator(seriesService);
       for (final ARecord record : result.getRecords()) {
@@ -1176,10 +1179,6 @@ public class SchedulerServiceImpl extends AbstractIndexProducer implements Sched
           continue;
         }
 
-        if (seriesId.isSome() && !seriesId.get().equals(optMp.get().getSeries())) {
-          continue;
-        }
-
         Opt<DublinCoreCatalog> catalogOpt = loadEpisodeDublinCoreFromAsset(record.getSnapshot().get());
         if (catalogOpt.isNone()) {
           logger.warn("No episode catalog available, skipping!");
@@ -0,0 +1,53 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+
+package org.opencastproject.search.api;
+
+/**
+ * Computes a value for each episode when it is added to the search index. The value is stored with the episode and
+ * returned by {@link SearchResult#getPrecomputed(String)}, so that expensive representations, e.g. ones requiring the
+ * catalogs of the episode, are built once per publication instead of on each read.
+ * <p>
+ * Implementations are picked up as OSGi services. Values are not indexed for searching.
+ */
+public interface SearchIndexEnricher {
+
+  /**
+   * Returns the name of the value. Include a version in the name if the format of the value changes over time, so that
+   * values stored in an older format are not used.
+   *
+   * @return the name
+   */
+  String getName();
+
+  /**
+   * Computes the value for an episode which is about to be indexed. The episode is not deleted.
+   *
+   * @param episode
+   *          the episode
+   * @return the value, or <code>null</code> to store no value for this episode
+   * @throws Exception
+   *           if the value cannot be computed, in which case no value is stored
+   */
+  String enrich(SearchResult episode) throws Exception;
+
+}
@@ -46,6 +46,7 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -60,6 +61,7 @@ public class SearchResult {
   public static final String DELETED_DATE = "deleted";
   public static final String INDEX_ACL = "searchable_acl";
   public static final String REST_ACL = "acl";
+  public static final String PRECOMPUTED = "precomputed";
 
   private static final Gson gson = new Gson();
 
@@ -67,6 +69,12 @@ public class SearchResult {
 
   private MediaPackage mp;
 
+  /** The serialized media package of a result read from the index, parsed on first access */
+  private String mediaPackageXml;
+
+  /** Values of {@link SearchIndexEnricher}s, by enricher name */
+  private Map<String, String> precomputed = new HashMap<>();
+
   private DublinCoreCatalog dublinCore;
 
   private AccessControlList acl;
@@ -96,6 +104,18 @@ public class SearchResult {
     }
   }
 
+  private SearchResult(DublinCoreCatalog dc, AccessControlList acl, String orgId, String id, String mediaPackageXml,
+          Instant modified, Instant deleted) {
+    this.type = SearchService.IndexEntryType.Episode;
+    this.dublinCore = dc;
+    this.acl = acl;
+    this.orgId = orgId;
+    this.id = id;
+    this.mediaPackageXml = mediaPackageXml;
+    this.modified = modified;
+    this.deleted = deleted;
+  }
+
   public Date getModifiedDate() {
     return new Date(this.modified.toEpochMilli());
   }
@@ -131,12 +151,25 @@ public class SearchResult {
       }
 
 
-      MediaPackage mp = null;
+      SearchResult result;
       //There had better be a mediapackage with an episode...
       if (SearchService.IndexEntryType.Episode.equals(type)) {
-        mp = MediaPackageParser.getFromXml((String) data.get(MEDIAPACKAGE_XML));
+        // Parsing the XML is expensive, so it is postponed until the media package is needed
+        var mediaPackage = (Map<String, Object>) data.get(MEDIAPACKAGE);
+        var id = mediaPackage == null ? null : mediaPackage.get("id");
+        if (id instanceof String) {
+          result = new SearchResult(dc, acl, org, (String) id, (String) data.get(MEDIAPACKAGE_XML), modified, deleted);
+        } else {
+          var mp = MediaPackageParser.getFromXml((String) data.get(MEDIAPACKAGE_XML));
+          result = new SearchResult(type, dc, acl, org, mp, modified, deleted);
+        }
+      } else {
+        result = new SearchResult(type, dc, acl, org, null, modified, deleted);
       }
-      return new SearchResult(type, dc, acl, org, mp, modified, deleted);
+      if (data.get(PRECOMPUTED) != null) {
+        result.precomputed.putAll((Map<String, String>) data.get(PRECOMPUTED));
+      }
+      return result;
     } catch (MediaPackageException e) {
       throw new SearchException(e);
     }
@@ -230,6 +263,7 @@ public class SearchResult {
     return dehydrate().entrySet().stream()
         .filter(entry -> !entry.getKey().equals(INDEX_ACL))
         .filter(entry -> !entry.getKey().equals(MEDIAPACKAGE_XML))
+        .filter(entry -> !entry.getKey().equals(PRECOMPUTED))
         .collect(HashMap::new, (m,v)->m.put(v.getKey(), v.getValue()), HashMap::putAll);
   }
 
@@ -244,9 +278,10 @@ public class SearchResult {
 
   public Map<String, Object> dehydrateEpisode() {
 
+    var mp = getMediaPackage();
     var ret = new HashMap<>(Map.of(
-        MEDIAPACKAGE, gson.fromJson(MediaPackageParser.getAsJSON(this.mp), Map.class).get(MEDIAPACKAGE),
-        MEDIAPACKAGE_XML, MediaPackageParser.getAsXml(this.mp),
+        MEDIAPACKAGE, gson.fromJson(MediaPackageParser.getAsJSON(mp), Map.class).get(MEDIAPACKAGE),
+        MEDIAPACKAGE_XML, MediaPackageParser.getAsXml(mp),
         INDEX_ACL, SearchResult.dehydrateAclForIndex(acl),
         REST_ACL, SearchResult.dehydrateAclForREST(acl),
         DUBLINCORE, SearchResult.dehydrateDC(this.dublinCore),
@@ -255,6 +290,9 @@ public class SearchResult {
         MODIFIED_DATE, DateTimeFormatter.ISO_INSTANT.format(this.modified)));
 
     ret.put(DELETED_DATE, null == this.deleted ? null : DateTimeFormatter.ISO_INSTANT.format(this.deleted));
+    if (!precomputed.isEmpty()) {
+      ret.put(PRECOMPUTED, new HashMap<>(precomputed));
+    }
 
     return ret;
   }
@@ -283,9 +321,40 @@ public class SearchResult {
   }
 
   public MediaPackage getMediaPackage() {
+    if (mp == null && mediaPackageXml != null) {
+      try {
+        mp = MediaPackageParser.getFromXml(mediaPackageXml);
+        mediaPackageXml = null;
+      } catch (MediaPackageException e) {
+        throw new SearchException(e);
+      }
+    }
     return mp;
   }
 
+  /**
+   * Returns the value a {@link SearchIndexEnricher} computed for this episode when it was indexed.
+   *
+   * @param name
+   *          the name of the enricher
+   * @return the value, or none if the episode was indexed without it
+   */
+  public Optional<String> getPrecomputed(String name) {
+    return Optional.ofNullable(precomputed.get(name));
+  }
+
+  /**
+   * Sets a value to store in the index along with this episode.
+   *
+   * @param name
+   *          the name of the enricher
+   * @param value
+   *          the value
+   */
+  public void setPrecomputed(String name, String value) {
+    precomputed.put(name, value);
+  }
+
   public SearchService.IndexEntryType getType() {
     return type;
   }
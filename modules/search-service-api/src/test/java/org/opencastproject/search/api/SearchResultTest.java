@@ -0,0 +1,105 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+
+package org.opencastproject.search.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.opencastproject.mediapackage.MediaPackage;
+import org.opencastproject.mediapackage.MediaPackageBuilderFactory;
+import org.opencastproject.mediapackage.MediaPackageParser;
+import org.opencastproject.mediapackage.identifier.IdImpl;
+import org.opencastproject.metadata.dublincore.DublinCore;
+import org.opencastproject.metadata.dublincore.DublinCoreCatalog;
+import org.opencastproject.metadata.dublincore.DublinCores;
+import org.opencastproject.security.api.AccessControlEntry;
+import org.opencastproject.security.api.AccessControlList;
+
+import com.google.gson.Gson;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Map;
+
+public class SearchResultTest {
+
+  private static final Gson gson = new Gson();
+
+  private MediaPackage mp;
+  private DublinCoreCatalog dc;
+  private AccessControlList acl;
+
+  @Before
+  public void setUp() throws Exception {
+    mp = MediaPackageBuilderFactory.newInstance().newMediaPackageBuilder().createNew(new IdImpl("episode"));
+    mp.setTitle("Episode");
+    dc = DublinCores.mkOpencastEpisode().getCatalog();
+    dc.set(DublinCore.PROPERTY_IDENTIFIER, "episode");
+    dc.set(DublinCore.PROPERTY_TITLE, "Episode");
+    dc.set(DublinCore.PROPERTY_CREATED, "2024-01-15T10:00:00Z");
+    acl = new AccessControlList(new AccessControlEntry("ROLE_USER", "read", true));
+  }
+
+  /** Passes the dehydrated result through JSON, as storing it in and reading it from the index does */
+  @SuppressWarnings("unchecked")
+  private static SearchResult throughIndex(SearchResult result) {
+    return SearchResult.rehydrate(gson.fromJson(gson.toJson(result.dehydrateForIndex()), Map.class));
+  }
+
+  @Test
+  public void testPrecomputedRoundTrip() {
+    var result = new SearchResult(SearchService.IndexEntryType.Episode, dc, acl, "mh_default_org", mp,
+        Instant.parse("2024-01-16T10:00:00Z"), null);
+    result.setPrecomputed("enricher", "{\"kind\":\"event\"}");
+
+    var rehydrated = throughIndex(result);
+    assertEquals("{\"kind\":\"event\"}", rehydrated.getPrecomputed("enricher").get());
+    assertFalse(rehydrated.getPrecomputed("other").isPresent());
+    assertFalse(result.dehydrateForREST().containsKey(SearchResult.PRECOMPUTED));
+  }
+
+  @Test
+  public void testWithoutPrecomputed() {
+    var result = new SearchResult(SearchService.IndexEntryType.Episode, dc, acl, "mh_default_org", mp,
+        Instant.parse("2024-01-16T10:00:00Z"), null);
+
+    assertNull(result.dehydrateForIndex().get(SearchResult.PRECOMPUTED));
+    assertFalse(throughIndex(result).getPrecomputed("enricher").isPresent());
+  }
+
+  @Test
+  public void testLazyMediaPackage() {
+    var result = new SearchResult(SearchService.IndexEntryType.Episode, dc, acl, "mh_default_org", mp,
+        Instant.parse("2024-01-16T10:00:00Z"), Instant.parse("2024-01-17T10:00:00Z"));
+
+    var rehydrated = throughIndex(result);
+    assertEquals("episode", rehydrated.getId());
+    assertEquals(result.getModifiedDate(), rehydrated.getModifiedDate());
+    assertEquals(result.getDeletionDate(), rehydrated.getDeletionDate());
+    assertEquals(MediaPackageParser.getAsXml(mp), MediaPackageParser.getAsXml(rehydrated.getMediaPackage()));
+  }
+
+}
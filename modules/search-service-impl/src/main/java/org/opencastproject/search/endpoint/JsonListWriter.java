@@ -0,0 +1,112 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+
+package org.opencastproject.search.endpoint;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Writes the list responses of the search endpoints.
+ * <p>
+ * The results are converted and serialized one at a time, so neither the converted results nor the serialized response
+ * are held in memory as a whole. Responses are written straight to the output stream unless they are to be cached.
+ */
+final class JsonListWriter {
+
+  private final Gson gson;
+
+  JsonListWriter(Gson gson) {
+    this.gson = gson;
+  }
+
+  /**
+   * Creates a response entity writing the list to the output stream of the response.
+   *
+   * @param offset
+   *          the offset of the first result
+   * @param total
+   *          the total number of results
+   * @param limit
+   *          the requested number of results
+   * @param items
+   *          the results
+   * @param toJson
+   *          converts a result into an object gson can serialize, called once per result while writing the response
+   * @return the streaming entity
+   */
+  <T> StreamingOutput stream(int offset, long total, int limit, List<T> items, Function<? super T, ?> toJson) {
+    return out -> {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      write(writer, offset, total, limit, items, toJson);
+      writer.flush();
+    };
+  }
+
+  /**
+   * Renders the list to a string.
+   *
+   * @see #stream(int, long, int, List, Function)
+   */
+  <T> String render(int offset, long total, int limit, List<T> items, Function<? super T, ?> toJson) {
+    StringWriter writer = new StringWriter();
+    try {
+      write(writer, offset, total, limit, items, toJson);
+    } catch (IOException e) {
+      throw new IllegalStateException("Writing to a string failed", e);
+    }
+    return writer.toString();
+  }
+
+  <T> void write(Writer writer, int offset, long total, int limit, List<T> items, Function<? super T, ?> toJson)
+          throws IOException {
+    JsonWriter json = gson.newJsonWriter(writer);
+    json.beginObject();
+    json.name("offset").value(offset);
+    json.name("total").value(total);
+    json.name("result").beginArray();
+    for (T item : items) {
+      Object value = toJson.apply(item);
+      if (value == null) {
+        json.nullValue();
+      } else {
+        gson.toJson(value, value.getClass(), json);
+      }
+    }
+    json.endArray();
+    json.name("limit").value(limit);
+    json.endObject();
+    json.flush();
+  }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.search.endpoint;
+
+import org.opencastproject.security.api.Role;
+import org.opencastproject.security.api.User;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response;
+
+/**
+ * Validators and a short-lived cache of rendered search responses.
+ * <p>
+ * The entity tag of a response is derived from the identifiers and modification dates of the results, so clients
+ * polling for unchanged results get a <code>304 Not Modified</code> without the results being serialized again. Tags
+ * are weak since signed URLs in otherwise equal responses differ.
+ * <p>
+ * Responses without signed URLs only depend on the query and the roles of the user, and are kept for a few seconds to
+ * answer repeated queries without asking the index. Only small pages are kept.
+ */
+final class SearchResponseCache {
+
+  /** Seconds to keep a rendered response */
+  static final long DEFAULT_TTL = 10;
+
+  /** Maximum number of rendered responses to keep */
+  static final long DEFAULT_SIZE = 1000;
+
+  /** Largest page size of responses to keep, larger pages are streamed to the client instead */
+  static final int MAX_CACHED_LIMIT = 100;
+
+  private final Cache<List<Object>, Rendered> cache;
+
+  SearchResponseCache(long ttl, long size) {
+    cache = CacheBuilder.newBuilder()
+        .expireAfterWrite(ttl, TimeUnit.SECONDS)
+        .maximumSize(size)
+        .build();
+  }
+
+  /**
+   * Creates the key of a response.
+   *
+   * @param endpoint
+   *          the name of the endpoint
+   * @param organization
+   *          the current organization
+   * @param user
+   *          the current user, whose roles determine the results
+   * @param parameters
+   *          the query parameters of the request
+   * @return the key
+   */
+  static List<Object> key(String endpoint, String organization, User user, String... parameters) {
+    final List<Object> key = new ArrayList<>(parameters.length + 3);
+    key.add(endpoint);
+    key.add(organization);
+    key.add(user.getRoles().stream().map(Role::getName).collect(Collectors.toCollection(TreeSet::new)));
+    key.addAll(Arrays.asList(parameters));
+    return key;
+  }
+
+  Rendered get(List<Object> key) {
+    return cache.getIfPresent(key);
+  }
+
+  /**
+   * Keeps a rendered response unless its page is too large.
+   *
+   * @param key
+   *          the key of the response
+   * @param limit
+   *          the page size of the response
+   * @param rendered
+   *          the rendered response
+   */
+  void put(List<Object> key, int limit, Rendered rendered) {
+    if (isCacheable(limit)) {
+      cache.put(key, rendered);
+    }
+  }
+
+  /**
+   * @param limit
+   *          the page size of a response
+   * @return whether responses of that page size are kept
+   */
+  static boolean isCacheable(int limit) {
+    return limit <= MAX_CACHED_LIMIT;
+  }
+
+  /**
+   * Checks if any of the entity tags of an <code>If-None-Match</code> header matches a tag. Tags are compared weakly.
+   *
+   * @param ifNoneMatch
+   *          the header value, may be <code>null</code>
+   * @param tag
+   *          the current tag
+   * @return whether the client already has the current response
+   */
+  static boolean matches(String ifNoneMatch, EntityTag tag) {
+    if (StringUtils.isBlank(ifNoneMatch)) {
+      return false;
+    }
+    final String value = "\"" + tag.getValue() + "\"";
+    for (String candidate : ifNoneMatch.split(",")) {
+      String opaqueTag = candidate.trim();
+      if (opaqueTag.startsWith("W/")) {
+        opaqueTag = opaqueTag.substring(2);
+      }
+      if ("*".equals(opaqueTag) || value.equals(opaqueTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Collects the results of a search to derive the validators of the response from. */
+  static final class Validators {
+    private final Hasher hasher = Hashing.murmur3_128().newHasher();
+    private Date lastModified;
+
+    Validators(long total, int offset, int limit) {
+      hasher.putLong(total).putInt(offset).putInt(limit);
+    }
+
+    /**
+     * @param id
+     *          the identifier of a result
+     * @param modified
+     *          the modification date of the result, may be <code>null</code>
+     */
+    void add(String id, Date modified) {
+      hasher.putString(Objects.toString(id, ""), StandardCharsets.UTF_8)
+          .putLong(modified == null ? 0 : modified.getTime());
+      if (modified != null && (lastModified == null || modified.after(lastModified))) {
+        lastModified = modified;
+      }
+    }
+
+    EntityTag getTag() {
+      return new EntityTag(hasher.hash().toString(), true);
+    }
+
+    /** The latest modification date of the results, or <code>null</code> if unknown */
+    Date getLastModified() {
+      return lastModified;
+    }
+  }
+
+  /** A rendered response with its validators */
+  static final class Rendered {
+    private final EntityTag tag;
+    private final Date lastModified;
+    private final String json;
+
+    Rendered(EntityTag tag, Date lastModified, String json) {
+      this.tag = tag;
+      this.lastModified = lastModified;
+      this.json = json;
+    }
+
+    /**
+     * @param ifNoneMatch
+     *          the <code>If-None-Match</code> header of the request
+     * @return the response, or <code>304 Not Modified</code> if the client has it already
+     */
+    Response toResponse(String ifNoneMatch) {
+      if (matches(ifNoneMatch, tag)) {
+        return notModified(tag, lastModified);
+      }
+      return Response.ok(json).tag(tag).lastModified(lastModified).build();
+    }
+  }
+
+  static Response notModified(EntityTag tag, Date lastModified) {
+    return Response.notModified(tag).lastModified(lastModified).build();
+  }
+
+}
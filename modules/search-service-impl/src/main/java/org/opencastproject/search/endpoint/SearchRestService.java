@@ -28,6 +28,7 @@ import org.opencastproject.search.api.SearchException;
 import org.opencastproject.search.api.SearchResult;
 import org.opencastproject.search.api.SearchResultList;
 import org.opencastproject.search.api.SearchService;
+import org.opencastproject.search.impl.EpisodeSegments;
 import org.opencastproject.search.impl.SearchServiceImpl;
 import org.opencastproject.search.impl.SearchServiceIndex;
 import org.opencastproject.security.api.Role;
@@ -46,9 +47,13 @@ import com.google.gson.Gson;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.lucene.search.join.ScoreMode;
+import org.elasticsearch.index.query.InnerHitBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -56,17 +61,25 @@ import org.osgi.service.jaxrs.whiteboard.propertytypes.JaxrsResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
@@ -103,6 +116,9 @@ public class SearchRestService extends AbstractJobProducerEndpoint {
 
   private static final Logger logger = LoggerFactory.getLogger(SearchRestService.class);
 
+  /** Maximum number of matching segments returned per episode */
+  private static final int MAX_SEGMENT_LIMIT = 100;
+
   /** The search service which talks to the database.  Only needed for the JobProducer bits. */
   protected SearchServiceImpl searchService;
 
@@ -116,8 +132,13 @@ public class SearchRestService extends AbstractJobProducerEndpoint {
 
   private final Gson gson = new Gson();
 
+  private final JsonListWriter jsonListWriter = new JsonListWriter(gson);
+
   private UrlSigningService urlSigningService;
 
+  private final SearchResponseCache responseCache = new SearchResponseCache(SearchResponseCache.DEFAULT_TTL,
+      SearchResponseCache.DEFAULT_SIZE);
+
   @GET
   @Path("series.json")
   @Produces(MediaType.APPLICATION_JSON)
@@ -165,6 +186,10 @@ public class SearchRestService extends AbstractJobProducerEndpoint {
           @RestResponse(
               description = "The request was processed successfully.",
               responseCode = HttpServletResponse.SC_OK
+          ),
+          @RestResponse(
+              description = "The results did not change since the response with the given entity tag.",
+              responseCode = HttpServletResponse.SC_NOT_MODIFIED
           )
       },
       returnDescription = "The search results, formatted as XML or JSON."
@@ -174,10 +199,18 @@ public class SearchRestService extends AbstractJobProducerEndpoint {
       @QueryParam("q")        String  text,
       @QueryParam("sort")     String  sort,
       @QueryParam("limit")    String  limit,
-      @QueryParam("offset")   String  offset
+      @QueryParam("offset")   String  offset,
+      @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch
   ) throws SearchException {
 
     final var org = securityService.getOrganization().getId();
+    final var cacheKey = SearchResponseCache.key("series", org, securityService.getUser(), id, text, sort, limit,
+        offset);
+    final var cached = responseCache.get(cacheKey);
+    if (cached != null) {
+      return cached.toResponse(ifNoneMatch);
+    }
+
     final var type = SearchService.IndexEntryType.Series.name();
     final var query = QueryBuilders.boolQuery()
         .must(QueryBuilders.termQuery(SearchResult.ORG, org))
@@ -231,18 +264,31 @@ public class SearchRestService extends AbstractJobProducerEndpoint {
     }
 
     var hits = searchIndex.search(searchSource).getHits();
-    var result = Arrays.stream(hits.getHits())
-        .map(SearchHit::getSourceAsMap)
-        .peek(hit -> hit.remove(SearchResult.TYPE))
-        .collect(Collectors.toList());
-
     var total = hits.getTotalHits().value;
-    var json = gson.toJsonTree(Map.of(
-        "offset", from,
-        "total", total,
-        "result", result,
-        "limit", size));
-    return Response.ok(gson.toJson(json)).build();
+    var validators = new SearchResponseCache.Validators(total, from, size);
+    for (SearchHit hit : hits.getHits()) {
+      validators.add(hit.getId(), parseDate(hit.getSourceAsMap().get(SearchResult.MODIFIED_DATE)));
+    }
+    if (SearchResponseCache.matches(ifNoneMatch, validators.getTag())) {
+      return SearchResponseCache.notModified(validators.getTag(), validators.getLastModified());
+    }
+
+    Function<SearchHit, Object> toJson = hit -> {
+      var source = hit.getSourceAsMap();
+      source.remove(SearchResult.TYPE);
+      return source;
+    };
+    var results = Arrays.asList(hits.getHits());
+    if (!SearchResponseCache.isCacheable(size)) {
+      return Response.ok(jsonListWriter.stream(from, total, size, results, toJson))
+          .tag(validators.getTag())
+          .lastModified(validators.getLastModified())
+          .build();
+    }
+    var rendered = new SearchResponseCache.Rendered(validators.getTag(), validators.getLastModified(),
+        jsonListWriter.render(from, total, size, results, toJson));
+    responseCache.put(cacheKey, size, rendered);
+    return rendered.toResponse(ifNoneMatch);
 
   }
 
@@ -312,6 +358,10 @@ public class SearchRestService extends AbstractJobProducerEndpoint {
           @RestResponse(
               description = "The request was processed successfully.",
               responseCode = HttpServletResponse.SC_OK
+          ),
+          @RestResponse(
+              description = "The results did not change since the response with the given entity tag.",
+              responseCode = HttpServletResponse.SC_NOT_MODIFIED
           )
       },
       returnDescription = "The search results, formatted as xml or json."
@@ -324,7 +374,8 @@ public class SearchRestService extends AbstractJobProducerEndpoint {
       @QueryParam("sort") String sort,
       @QueryParam("limit") String limit,
       @QueryParam("offset") String offset,
-      @QueryParam("sign") String sign
+      @QueryParam("sign") String sign,
+      @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch
   ) throws SearchException {
 
     // There can only be one, sid or sname
@@ -336,6 +387,17 @@ public class SearchRestService extends AbstractJobProducerEndpoint {
     final var org = securityService.getOrganization().getId();
     final var type = SearchService.IndexEntryType.Episode.name();
 
+    // Signed URLs expire, so only responses without them can be reused
+    final var signed = !"false".equals(sign) && this.urlSigningService != null;
+    final List<Object> cacheKey = signed ? null : SearchResponseCache.key("episode", org, securityService.getUser(), id,
+        text, seriesId, seriesName, sort, limit, offset);
+    if (cacheKey != null) {
+      final var cached = responseCache.get(cacheKey);
+      if (cached != null) {
+        return cached.toResponse(ifNoneMatch);
+      }
+    }
+
     boolean snameNotFound = false;
     List<String> series = Collections.emptyList();
     if (StringUtils.isNotEmpty(seriesName)) {
@@ -428,30 +490,235 @@ public class SearchRestService extends AbstractJobProducerEndpoint {
       }
     }
 
-    List<Map<String, Object>> result = null;
+    List<SearchResult> hits = Collections.emptyList();
     long total = 0;
-    if (snameNotFound) {
-      result = Collections.emptyList();
-    } else {
-      SearchResultList hits = searchService.search(searchSource);
-      result = hits.getHits().stream()
-          .map(SearchResult::dehydrateForREST)
-          .collect(Collectors.toList());
+    if (!snameNotFound) {
+      SearchResultList searchResult = searchService.search(searchSource);
+      hits = searchResult.getHits();
+      total = searchResult.getTotalHits();
+    }
+
+    var validators = new SearchResponseCache.Validators(total, from, size);
+    for (SearchResult hit : hits) {
+      validators.add(hit.getId(), hit.getModifiedDate());
+    }
+    if (SearchResponseCache.matches(ifNoneMatch, validators.getTag())) {
+      return SearchResponseCache.notModified(validators.getTag(), validators.getLastModified());
+    }
 
+    // Convert the results before responding, so a broken result fails the request instead of truncating the response.
+    // Only the serialization is streamed.
+    final List<Map<String, Object>> results = new ArrayList<>(hits.size());
+    for (SearchResult hit : hits) {
+      Map<String, Object> result = hit.dehydrateForREST();
       // Sign urls if sign-parameter is not false
-      if (!"false".equals(sign) && this.urlSigningService != null) {
+      if (signed) {
         this.findURLsAndSign(result);
       }
+      results.add(result);
+    }
+
+    if (cacheKey == null || !SearchResponseCache.isCacheable(size)) {
+      return Response.ok(jsonListWriter.stream(from, total, size, results, Function.identity()))
+          .tag(validators.getTag())
+          .lastModified(validators.getLastModified())
+          .build();
+    }
+    var rendered = new SearchResponseCache.Rendered(validators.getTag(), validators.getLastModified(),
+        jsonListWriter.render(from, total, size, results, Function.identity()));
+    responseCache.put(cacheKey, size, rendered);
+    return rendered.toResponse(ifNoneMatch);
+  }
 
-      total = hits.getTotalHits();
+  /** Parses a date as stored in the index, returns <code>null</code> if the date is missing or invalid. */
+  private static Date parseDate(Object date) {
+    if (!(date instanceof String)) {
+      return null;
+    }
+    try {
+      return Date.from(Instant.parse((String) date));
+    } catch (DateTimeParseException e) {
+      return null;
     }
-    var json = gson.toJson(Map.of(
-        "offset", from,
-        "total", total,
-        "result", result,
-        "limit", size));
+  }
+
+  @GET
+  @Path("segments.json")
+  @Produces(MediaType.APPLICATION_JSON)
+  @RestQuery(
+      name = "search_segments",
+      description = "Search the captions and slide texts of episodes. Returns the matching segments of each "
+          + "episode with their position in the recording.",
+      restParameters = {
+          @RestParameter(
+              name = "q",
+              isRequired = true,
+              type = RestParameter.Type.STRING,
+              description = "The text to search for."
+          ),
+          @RestParameter(
+              name = "id",
+              isRequired = false,
+              type = RestParameter.Type.STRING,
+              description = "Search only within the episode with this ID."
+          ),
+          @RestParameter(
+              name = "sid",
+              isRequired = false,
+              type = RestParameter.Type.STRING,
+              description = "Search only within the episodes of the series with this ID."
+          ),
+          @RestParameter(
+              name = "type",
+              isRequired = false,
+              type = RestParameter.Type.STRING,
+              description = "Search only segments of this type, either 'caption' or 'slide'."
+          ),
+          @RestParameter(
+              name = "lang",
+              isRequired = false,
+              type = RestParameter.Type.STRING,
+              description = "Search only captions in this language."
+          ),
+          @RestParameter(
+              name = "limit",
+              isRequired = false,
+              type = RestParameter.Type.INTEGER,
+              defaultValue = "20",
+              description = "The maximum number of episodes to return per page. Limited to 250 for non-admins."
+          ),
+          @RestParameter(
+              name = "offset",
+              isRequired = false,
+              type = RestParameter.Type.INTEGER,
+              defaultValue = "0",
+              description = "The number of episodes to skip."
+          ),
+          @RestParameter(
+              name = "segmentLimit",
+              isRequired = false,
+              type = RestParameter.Type.INTEGER,
+              defaultValue = "10",
+              description = "The maximum number of matching segments to return per episode, at most "
+                  + MAX_SEGMENT_LIMIT + ". The segments are ordered by their start."
+          )
+      },
+      responses = {
+          @RestResponse(
+              description = "The request was processed successfully.",
+              responseCode = HttpServletResponse.SC_OK
+          ),
+          @RestResponse(
+              description = "The query is missing or a limit is out of range.",
+              responseCode = HttpServletResponse.SC_BAD_REQUEST
+          )
+      },
+      returnDescription = "The matching episodes with the start and end in milliseconds of their matching segments."
+  )
+  public Response getSegments(
+      @QueryParam("q") String text,
+      @QueryParam("id") String id,
+      @QueryParam("sid") String seriesId,
+      @QueryParam("type") String segmentType,
+      @QueryParam("lang") String language,
+      @QueryParam("limit") String limit,
+      @QueryParam("offset") String offset,
+      @QueryParam("segmentLimit") String segmentLimit
+  ) throws SearchException {
+    if (StringUtils.isBlank(text)) {
+      return Response.status(Response.Status.BAD_REQUEST)
+          .entity("A query is required.")
+          .build();
+    }
+
+    var size = NumberUtils.toInt(limit, 20);
+    var from = NumberUtils.toInt(offset);
+    var segmentSize = NumberUtils.toInt(segmentLimit, 10);
+    if (size < 0 || from < 0 || segmentSize < 0) {
+      return Response.status(Response.Status.BAD_REQUEST)
+          .entity("Limits and offset may not be negative.")
+          .build();
+    }
+    if (segmentSize > MAX_SEGMENT_LIMIT) {
+      return Response.status(Response.Status.BAD_REQUEST)
+          .entity("At most " + MAX_SEGMENT_LIMIT + " segments can be requested per episode.")
+          .build();
+    }
+
+    final var org = securityService.getOrganization().getId();
+    var query = QueryBuilders.boolQuery()
+        .must(QueryBuilders.termQuery(SearchResult.ORG, org))
+        .must(QueryBuilders.termQuery(SearchResult.TYPE, SearchService.IndexEntryType.Episode.name()))
+        .mustNot(QueryBuilders.existsQuery(SearchResult.DELETED_DATE));
+
+    if (StringUtils.isNotEmpty(id)) {
+      query.must(QueryBuilders.idsQuery().addIds(id));
+    }
+    if (StringUtils.isNotEmpty(seriesId)) {
+      query.must(QueryBuilders.termQuery(SearchResult.DUBLINCORE + ".isPartOf", seriesId));
+    }
+
+    var user = securityService.getUser();
+    var orgAdminRole = securityService.getOrganization().getAdminRole();
+    var admin = user.hasRole(SecurityConstants.GLOBAL_ADMIN_ROLE) || user.hasRole(orgAdminRole);
+    if (!admin) {
+      query.must(QueryBuilders.termsQuery(
+              SearchResult.INDEX_ACL + ".read",
+              user.getRoles().stream().map(Role::getName).collect(Collectors.toList())
+      ));
+    }
+    if (!admin && size > 250) {
+      return Response.status(Response.Status.BAD_REQUEST)
+          .entity("Only admins are allowed to request more than 250 items.")
+          .build();
+    }
+
+    var segmentQuery = QueryBuilders.boolQuery()
+        .must(QueryBuilders.matchQuery(segmentField(EpisodeSegments.TEXT), text));
+    if (StringUtils.isNotEmpty(segmentType)) {
+      segmentQuery.filter(QueryBuilders.termQuery(segmentField(EpisodeSegments.TYPE), segmentType));
+    }
+    if (StringUtils.isNotEmpty(language)) {
+      segmentQuery.filter(QueryBuilders.termQuery(segmentField(EpisodeSegments.LANGUAGE), language));
+    }
+    query.must(QueryBuilders.nestedQuery(EpisodeSegments.SEGMENTS, segmentQuery, ScoreMode.Max)
+        .innerHit(new InnerHitBuilder()
+            .setSize(segmentSize)
+            .addSort(SortBuilders.fieldSort(segmentField(EpisodeSegments.START)).order(SortOrder.ASC))));
+
+    // Only the matching segments are needed, not the whole episode
+    var searchSource = new SearchSourceBuilder()
+        .query(query)
+        .fetchSource(new String[] { SearchResult.DUBLINCORE + ".title" }, null)
+        .from(from)
+        .size(size);
+
+    var hits = searchIndex.search(searchSource).getHits();
+    Function<SearchHit, Object> toJson = hit -> {
+      var segments = new ArrayList<Map<String, Object>>();
+      SearchHits innerHits = hit.getInnerHits() == null ? null : hit.getInnerHits().get(EpisodeSegments.SEGMENTS);
+      if (innerHits != null) {
+        for (SearchHit segment : innerHits.getHits()) {
+          segments.add(segment.getSourceAsMap());
+        }
+      }
+      var episode = new HashMap<String, Object>();
+      episode.put("id", hit.getId());
+      var dc = (Map<String, List<String>>) hit.getSourceAsMap().get(SearchResult.DUBLINCORE);
+      if (dc != null && dc.get("title") != null && !dc.get("title").isEmpty()) {
+        episode.put("title", dc.get("title").get(0));
+      }
+      episode.put("total", innerHits == null ? 0 : innerHits.getTotalHits().value);
+      episode.put(EpisodeSegments.SEGMENTS, segments);
+      return episode;
+    };
+
+    var total = hits.getTotalHits().value;
+    return Response.ok(jsonListWriter.stream(from, total, size, Arrays.asList(hits.getHits()), toJson)).build();
+  }
 
-    return Response.ok(json).build();
+  private static String segmentField(String field) {
+    return EpisodeSegments.SEGMENTS + "." + field;
   }
 
   /**
@@ -0,0 +1,209 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.search.impl;
+
+import org.opencastproject.mediapackage.Catalog;
+import org.opencastproject.mediapackage.MediaPackage;
+import org.opencastproject.mediapackage.MediaPackageElement;
+import org.opencastproject.mediapackage.MediaPackageElements;
+import org.opencastproject.metadata.mpeg7.MediaTime;
+import org.opencastproject.metadata.mpeg7.Mpeg7Catalog;
+import org.opencastproject.metadata.mpeg7.Mpeg7CatalogImpl;
+import org.opencastproject.metadata.mpeg7.Segment;
+import org.opencastproject.metadata.mpeg7.Video;
+import org.opencastproject.metadata.mpeg7.VideoSegment;
+import org.opencastproject.metadata.mpeg7.VideoText;
+import org.opencastproject.subtitleparser.SubtitleParsingException;
+import org.opencastproject.subtitleparser.webvttparser.WebVTTParser;
+import org.opencastproject.subtitleparser.webvttparser.WebVTTSubtitleCue;
+import org.opencastproject.util.MimeType;
+import org.opencastproject.util.NotFoundException;
+import org.opencastproject.workspace.api.Workspace;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Extracts the time-coded texts of an episode, the cues of its WebVTT captions and the text found on its slides, for
+ * indexing them as nested documents of the episode.
+ */
+public final class EpisodeSegments {
+
+  /** Log facility */
+  private static final Logger logger = LoggerFactory.getLogger(EpisodeSegments.class);
+
+  /** Field of the episode holding the segments */
+  public static final String SEGMENTS = "segments";
+
+  /** Field of a segment holding its type, either {@link #TYPE_CAPTION} or {@link #TYPE_SLIDE} */
+  public static final String TYPE = "type";
+
+  /** Field of a segment holding the language of a caption, if known */
+  public static final String LANGUAGE = "lang";
+
+  /** Field of a segment holding its start in milliseconds */
+  public static final String START = "start";
+
+  /** Field of a segment holding its end in milliseconds */
+  public static final String END = "end";
+
+  /** Field of a segment holding its text */
+  public static final String TEXT = "text";
+
+  public static final String TYPE_CAPTION = "caption";
+
+  public static final String TYPE_SLIDE = "slide";
+
+  /**
+   * Maximum number of segments indexed per episode. Each segment is a separate document to Elasticsearch, which limits
+   * the number of nested documents per episode to 10000 by default.
+   */
+  public static final int MAX_SEGMENTS = 5000;
+
+  private static final String CAPTIONS_FLAVOR_TYPE = "captions";
+
+  private static final String LANGUAGE_TAG_PREFIX = "lang:";
+
+  private static final MimeType WEBVTT = MimeType.mimeType("text", "vtt");
+
+  private EpisodeSegments() {
+  }
+
+  /**
+   * Extracts the segments of an episode. Elements that cannot be read are skipped.
+   *
+   * @param workspace
+   *          the workspace to read the elements from
+   * @param mediaPackage
+   *          the episode
+   * @return the segments as stored in the index, ordered by element and start
+   */
+  static List<Map<String, Object>> extract(Workspace workspace, MediaPackage mediaPackage) {
+    final List<Map<String, Object>> segments = new ArrayList<>();
+    for (MediaPackageElement element : mediaPackage.getElements()) {
+      if (segments.size() > MAX_SEGMENTS) {
+        break;
+      }
+      try {
+        if (isCaption(element)) {
+          segments.addAll(readCaptions(workspace, element));
+        } else if (element instanceof Catalog && MediaPackageElements.TEXTS.equals(element.getFlavor())) {
+          segments.addAll(readSlideTexts(workspace, element));
+        }
+      } catch (IOException | NotFoundException | SubtitleParsingException | RuntimeException e) {
+        logger.warn("Unable to read text segments of {} of episode {}", element.getURI(), mediaPackage.getIdentifier(),
+            e);
+      }
+    }
+    if (segments.size() > MAX_SEGMENTS) {
+      logger.warn("Episode {} has more than {} text segments, only the first ones are searchable",
+          mediaPackage.getIdentifier(), MAX_SEGMENTS);
+      return new ArrayList<>(segments.subList(0, MAX_SEGMENTS));
+    }
+    return segments;
+  }
+
+  private static boolean isCaption(MediaPackageElement element) {
+    if (element.getFlavor() == null || !CAPTIONS_FLAVOR_TYPE.equals(element.getFlavor().getType())) {
+      return false;
+    }
+    return element.getMimeType() != null && WEBVTT.eq(element.getMimeType())
+        || element.getURI() != null && StringUtils.endsWithIgnoreCase(element.getURI().getPath(), ".vtt");
+  }
+
+  private static List<Map<String, Object>> readCaptions(Workspace workspace, MediaPackageElement element)
+          throws IOException, NotFoundException, SubtitleParsingException {
+    final String language = Stream.of(element.getTags())
+        .filter(tag -> tag.startsWith(LANGUAGE_TAG_PREFIX))
+        .map(tag -> tag.substring(LANGUAGE_TAG_PREFIX.length()))
+        .findFirst()
+        .orElse(null);
+    try (InputStream in = workspace.read(element.getURI())) {
+      final List<WebVTTSubtitleCue> cues = new WebVTTParser().parse(in).getCues();
+      return cues.stream()
+          .filter(cue -> StringUtils.isNotBlank(cue.getText()))
+          .map(cue -> segment(TYPE_CAPTION, language, cue.getStartTime(), cue.getEndTime(), cue.getText()))
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static List<Map<String, Object>> readSlideTexts(Workspace workspace, MediaPackageElement element)
+          throws IOException, NotFoundException {
+    final Mpeg7Catalog catalog;
+    try (InputStream in = workspace.read(element.getURI())) {
+      catalog = new Mpeg7CatalogImpl(in);
+    }
+    final List<Map<String, Object>> segments = new ArrayList<>();
+    final Iterator<Video> videos = catalog.videoContent();
+    while (videos != null && videos.hasNext()) {
+      final Video video = videos.next();
+      if (video.getTemporalDecomposition() == null || !video.getTemporalDecomposition().hasSegments()) {
+        continue;
+      }
+      final Iterator<? extends Segment> videoSegments = video.getTemporalDecomposition().segments();
+      while (videoSegments.hasNext()) {
+        final Segment segment = videoSegments.next();
+        if (!(segment instanceof VideoSegment) || !((VideoSegment) segment).hasSpatioTemporalDecomposition()) {
+          continue;
+        }
+        final List<String> texts = new ArrayList<>();
+        for (VideoText videoText : ((VideoSegment) segment).getSpatioTemporalDecomposition().getVideoText()) {
+          if (videoText.getText() != null && StringUtils.isNotBlank(videoText.getText().getText())) {
+            texts.add(videoText.getText().getText());
+          }
+        }
+        final MediaTime time = segment.getMediaTime();
+        if (texts.isEmpty() || time == null) {
+          continue;
+        }
+        final long start = time.getMediaTimePoint().getTimeInMilliseconds();
+        final long end = start + time.getMediaDuration().getDurationInMilliseconds();
+        segments.add(segment(TYPE_SLIDE, null, start, end, String.join(" ", texts)));
+      }
+    }
+    return segments;
+  }
+
+  private static Map<String, Object> segment(String type, String language, long start, long end, String text) {
+    final Map<String, Object> segment = new HashMap<>();
+    segment.put(TYPE, type);
+    if (language != null) {
+      segment.put(LANGUAGE, language);
+    }
+    segment.put(START, start);
+    segment.put(END, end);
+    segment.put(TEXT, text);
+    return segment;
+  }
+
+}
@@ -40,6 +40,7 @@ import org.opencastproject.metadata.dublincore.DublinCoreUtil;
 import org.opencastproject.metadata.dublincore.DublinCoreValue;
 import org.opencastproject.metadata.dublincore.DublinCores;
 import org.opencastproject.search.api.SearchException;
+import org.opencastproject.search.api.SearchIndexEnricher;
 import org.opencastproject.search.api.SearchResult;
 import org.opencastproject.search.api.SearchService;
 import org.opencastproject.search.impl.persistence.SearchServiceDatabase;
@@ -75,6 +76,7 @@ import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.PutMappingRequest;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
@@ -82,6 +84,8 @@ import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -99,6 +103,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -148,6 +153,9 @@ public final class SearchServiceIndex extends AbstractIndexProducer implements I
 
   private ListProvidersService listProvidersService;
 
+  /** Services adding precomputed values to the indexed episodes */
+  private final List<SearchIndexEnricher> enrichers = new CopyOnWriteArrayList<>();
+
   private static final String CONFIG_EPISODE_ID_ROLE = "org.opencastproject.episode.id.role.access";
 
   private boolean episodeIdRole = false;
@@ -198,6 +206,7 @@ public final class SearchServiceIndex extends AbstractIndexProducer implements I
     } catch (ElasticsearchStatusException e) {
       if (e.getDetailedMessage().contains("already_exists_exception")) {
         logger.info("Detected existing index '{}'", INDEX_NAME);
+        updateMapping(mapping);
       } else {
         throw e;
       }
@@ -206,13 +215,35 @@ public final class SearchServiceIndex extends AbstractIndexProducer implements I
     }
   }
 
+  /** Adds fields introduced after the index has been created to its mapping. */
+  private void updateMapping(String mapping) {
+    try {
+      var request = new PutMappingRequest(INDEX_NAME).source(mapping, XContentType.JSON);
+      esIndex.getClient().indices().putMapping(request, RequestOptions.DEFAULT);
+    } catch (IOException | ElasticsearchStatusException e) {
+      logger.warn("Unable to update the mapping of index '{}'", INDEX_NAME, e);
+    }
+  }
+
   @Reference
   public void setEsIndex(ElasticsearchIndex esIndex) {
     this.esIndex = esIndex;
   }
 
 
+  /**
+   * Searches the index. The text segments of episodes are not returned unless the source to fetch is set explicitly.
+   *
+   * @param searchSource
+   *          the search
+   * @return the response of the index
+   * @throws SearchException
+   *           if the search failed
+   */
   public SearchResponse search(SearchSourceBuilder searchSource) throws SearchException {
+    if (searchSource.fetchSource() == null) {
+      searchSource.fetchSource(null, new String[] { EpisodeSegments.SEGMENTS });
+    }
     SearchRequest searchRequest = new SearchRequest(INDEX_NAME);
     logger.debug("Sending for query: {}", searchSource.query());
     searchRequest.source(searchSource);
@@ -326,7 +357,22 @@ public final class SearchServiceIndex extends AbstractIndexProducer implements I
     SearchResult item = new SearchResult(SearchService.IndexEntryType.Episode, dc, acl, orgId, mediaPackage,
         null != modDate ? modDate.toInstant() : Instant.now(),
         null != delDate ? delDate.toInstant() : null);
+    if (delDate == null) {
+      for (SearchIndexEnricher enricher : enrichers) {
+        try {
+          String value = enricher.enrich(item);
+          if (value != null) {
+            item.setPrecomputed(enricher.getName(), value);
+          }
+        } catch (Exception e) {
+          logger.warn("Unable to compute {} for episode {}", enricher.getName(), mediaPackageId, e);
+        }
+      }
+    }
     Map<String, Object> metadata = item.dehydrateForIndex();
+    if (delDate == null) {
+      metadata.put(EpisodeSegments.SEGMENTS, EpisodeSegments.extract(workspace, mediaPackage));
+    }
     try {
       var request = new IndexRequest(INDEX_NAME);
       request.id(mediaPackageId);
@@ -340,8 +386,8 @@ public final class SearchServiceIndex extends AbstractIndexProducer implements I
     // Elasticsearch series
     for (DublinCoreCatalog seriesDc : seriesList) {
       String seriesId = seriesDc.getFirst(DublinCore.PROPERTY_IDENTIFIER);
-      AccessControlList seriesAcl = persistence.getAccessControlLists(seriesId, mediaPackageId).stream()
-          .reduce(new AccessControlList(acl.getEntries()), AccessControlList::mergeActions);
+      AccessControlList seriesAcl = new AccessControlList(acl.getEntries())
+          .mergeActions(persistence.getSeriesAccessControlList(seriesId));
       item = new SearchResult(SearchService.IndexEntryType.Series, seriesDc, seriesAcl, orgId,
           null, Instant.now(), null);
 
@@ -434,10 +480,9 @@ public final class SearchServiceIndex extends AbstractIndexProducer implements I
       // Update series
       if (seriesId != null) {
         try {
-          if (!persistence.getSeries(seriesId).isEmpty()) {
+          if (persistence.countMediaPackages(seriesId) > 0) {
             // Update series acl if there are still episodes in the series
-            final AccessControlList seriesAcl = persistence.getAccessControlLists(seriesId).stream()
-                .reduce(new AccessControlList(), AccessControlList::mergeActions);
+            final AccessControlList seriesAcl = persistence.getSeriesAccessControlList(seriesId);
             JsonElement json = gson.toJsonTree(Map.of(
                 SearchResult.INDEX_ACL, SearchResult.dehydrateAclForIndex(seriesAcl),
                 SearchResult.MODIFIED_DATE, deletionString));
@@ -516,10 +561,6 @@ public final class SearchServiceIndex extends AbstractIndexProducer implements I
             Date modificationDate = persistence.getModificationDate(mediaPackageId);
             Date deletionDate = persistence.getDeletionDate(mediaPackageId);
 
-            AccessControlList seriesAcl = persistence.getAccessControlLists(mediaPackage.getSeries(), mediaPackageId)
-                .stream().reduce(new AccessControlList(acl.getEntries()), AccessControlList::mergeActions);
-            logger.debug("Updating series ACL with merged access control list: {}", seriesAcl);
-
             current.getAndIncrement();
             indexMediaPackage(mediaPackage, acl, modificationDate, deletionDate);
           } catch (SearchServiceDatabaseException | UnauthorizedException e) {
@@ -541,6 +582,19 @@ public final class SearchServiceIndex extends AbstractIndexProducer implements I
     }
   }
 
+  @Reference(
+      cardinality = ReferenceCardinality.MULTIPLE,
+      policy = ReferencePolicy.DYNAMIC,
+      unbind = "removeEnricher"
+  )
+  public void addEnricher(SearchIndexEnricher enricher) {
+    enrichers.add(enricher);
+  }
+
+  public void removeEnricher(SearchIndexEnricher enricher) {
+    enrichers.remove(enricher);
+  }
+
   @Reference
   public void setPersistence(SearchServiceDatabase persistence) {
     this.persistence = persistence;
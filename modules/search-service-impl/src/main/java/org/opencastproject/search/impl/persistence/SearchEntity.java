@@ -60,6 +60,15 @@ import javax.persistence.TemporalType;
         name = "Search.findBySeriesId",
         query = "SELECT s FROM SearchEntity s WHERE s.seriesId=:seriesId and s.deletionDate is null"
     ),
+    @NamedQuery(
+        name = "Search.getCountBySeriesId",
+        query = "SELECT COUNT(s) FROM SearchEntity s WHERE s.seriesId=:seriesId and s.deletionDate is null"
+    ),
+    @NamedQuery(
+        name = "Search.getSeriesAccessControls",
+        query = "SELECT s.mediaPackageId, s.seriesId, s.accessControl FROM SearchEntity s "
+            + "WHERE s.seriesId IS NOT NULL and s.deletionDate is null ORDER BY s.mediaPackageId"
+    ),
     @NamedQuery(name = "Search.getNoSeries", query = "SELECT s FROM SearchEntity s WHERE s.seriesId IS NULL")
 })
 public class SearchEntity {
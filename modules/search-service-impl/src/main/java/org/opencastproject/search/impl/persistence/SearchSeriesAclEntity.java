@@ -0,0 +1,106 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+
+package org.opencastproject.search.impl.persistence;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.Table;
+
+/**
+ * Entity object for storing the access control list of a series. It holds one entry per role and action of the series
+ * ACL, together with the number of published episodes of the series granting that action to the role. The series ACL
+ * thus never needs to be combined from all episode ACLs of the series.
+ */
+@IdClass(SearchSeriesAclPK.class)
+@Entity(name = "SearchSeriesAcl")
+@Table(name = "oc_search_series_acl")
+@NamedQueries({
+    @NamedQuery(
+        name = "SearchSeriesAcl.findBySeriesId",
+        query = "SELECT a FROM SearchSeriesAcl a WHERE a.seriesId = :seriesId AND a.referenceCount > 0"
+    ),
+    @NamedQuery(
+        name = "SearchSeriesAcl.updateReferences",
+        query = "UPDATE SearchSeriesAcl a SET a.referenceCount = a.referenceCount + :delta "
+            + "WHERE a.seriesId = :seriesId AND a.role = :role AND a.action = :action"
+    ),
+    @NamedQuery(
+        name = "SearchSeriesAcl.deleteUnreferenced",
+        query = "DELETE FROM SearchSeriesAcl a WHERE a.seriesId = :seriesId AND a.referenceCount <= 0"
+    ),
+    @NamedQuery(name = "SearchSeriesAcl.deleteAll", query = "DELETE FROM SearchSeriesAcl a")
+})
+public class SearchSeriesAclEntity {
+
+  /** Series id, primary key */
+  @Id
+  @Column(name = "series_id", length = 128)
+  private String seriesId;
+
+  /** Role, primary key */
+  @Id
+  @Column(name = "role", length = 255)
+  private String role;
+
+  /** Action, primary key */
+  @Id
+  @Column(name = "action", length = 128)
+  private String action;
+
+  /** Number of episodes of the series granting the action to the role */
+  @Column(name = "reference_count", nullable = false)
+  private long referenceCount;
+
+  /**
+   * Default constructor without any import.
+   */
+  public SearchSeriesAclEntity() {
+  }
+
+  public SearchSeriesAclEntity(String seriesId, String role, String action, long referenceCount) {
+    this.seriesId = seriesId;
+    this.role = role;
+    this.action = action;
+    this.referenceCount = referenceCount;
+  }
+
+  public String getSeriesId() {
+    return seriesId;
+  }
+
+  public String getRole() {
+    return role;
+  }
+
+  public String getAction() {
+    return action;
+  }
+
+  public long getReferenceCount() {
+    return referenceCount;
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+
+package org.opencastproject.search.impl.persistence;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Primary key of {@link SearchSeriesAclEntity}.
+ */
+public class SearchSeriesAclPK implements Serializable {
+
+  private static final long serialVersionUID = 4405624816524183310L;
+
+  private String seriesId;
+  private String role;
+  private String action;
+
+  public SearchSeriesAclPK() {
+  }
+
+  public SearchSeriesAclPK(String seriesId, String role, String action) {
+    this.seriesId = seriesId;
+    this.role = role;
+    this.action = action;
+  }
+
+  public String getSeriesId() {
+    return seriesId;
+  }
+
+  public String getRole() {
+    return role;
+  }
+
+  public String getAction() {
+    return action;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(seriesId, role, action);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof SearchSeriesAclPK)) {
+      return false;
+    }
+    SearchSeriesAclPK pk = (SearchSeriesAclPK) obj;
+    return Objects.equals(pk.seriesId, seriesId) && Objects.equals(pk.role, role)
+        && Objects.equals(pk.action, action);
+  }
+
+  @Override
+  public String toString() {
+    return seriesId + "/" + role + "/" + action;
+  }
+}
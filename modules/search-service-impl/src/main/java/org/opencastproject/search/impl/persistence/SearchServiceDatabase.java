@@ -76,6 +76,17 @@ public interface SearchServiceDatabase {
    */
   int countMediaPackages() throws SearchServiceDatabaseException;
 
+  /**
+   * Returns the number of published media packages of a series, not including deleted entries.
+   *
+   * @param seriesId
+   *          the series identifier
+   * @return the number of media packages in the series
+   * @throws SearchServiceDatabaseException
+   *           if an error occurs
+   */
+  int countMediaPackages(String seriesId) throws SearchServiceDatabaseException;
+
   /**
    * Gets a single media package by its identifier.
    *
@@ -127,6 +138,19 @@ public interface SearchServiceDatabase {
   Collection<AccessControlList> getAccessControlLists(String seriesId, String ... excludeIds)
           throws SearchServiceDatabaseException;
 
+  /**
+   * Retrieves the ACL of a series, which grants each action the ACLs of the published episodes of the series grant.
+   * The series ACL is kept up to date when episodes are stored or deleted, so this does not depend on the number of
+   * episodes in the series.
+   *
+   * @param seriesId
+   *          series identifier for which the ACL will be retrieved
+   * @return the series ACL, empty if there are no published episodes in the series
+   * @throws SearchServiceDatabaseException
+   *           if exception occurred
+   */
+  AccessControlList getSeriesAccessControlList(String seriesId) throws SearchServiceDatabaseException;
+
   /**
    * Returns the modification date from the selected media package.
    *
@@ -29,9 +29,11 @@ import static org.opencastproject.security.api.SecurityConstants.GLOBAL_CAPTURE_
 
 import org.opencastproject.db.DBSession;
 import org.opencastproject.db.DBSessionFactory;
+import org.opencastproject.db.DBUtils;
 import org.opencastproject.mediapackage.MediaPackage;
 import org.opencastproject.mediapackage.MediaPackageException;
 import org.opencastproject.mediapackage.MediaPackageParser;
+import org.opencastproject.security.api.AccessControlEntry;
 import org.opencastproject.security.api.AccessControlList;
 import org.opencastproject.security.api.AccessControlParser;
 import org.opencastproject.security.api.AccessControlParsingException;
@@ -58,9 +60,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -85,6 +91,15 @@ public class SearchServiceDatabaseImpl implements SearchServiceDatabase {
 
   private static final String CONFIG_EPISODE_ID_ROLE = "org.opencastproject.episode.id.role.access";
 
+  /** Number of episodes read at once when building the series ACLs */
+  private static final int SERIES_ACL_PAGE_SIZE = 1000;
+
+  /**
+   * Key of the entry marking the series ACLs as built. Series identifiers are never blank, so the entry is not part of
+   * any series ACL.
+   */
+  static final SearchSeriesAclPK SERIES_ACLS_BUILT = new SearchSeriesAclPK("", "", "");
+
   /** Logging utilities */
   private static final Logger logger = LoggerFactory.getLogger(SearchServiceDatabaseImpl.class);
 
@@ -121,6 +136,8 @@ public class SearchServiceDatabaseImpl implements SearchServiceDatabase {
   public void activate(ComponentContext cc) throws SearchServiceDatabaseException {
     logger.info("Activating persistence manager for search service");
     db = dbSessionFactory.createSession(emf);
+    // Build the series ACLs before back-filling series identifiers, which updates the series ACLs incrementally
+    this.populateSeriesAccessControlLists();
     this.populateSeriesData();
 
     episodeRoleId = BooleanUtils.toBoolean(Objects.toString(
@@ -141,9 +158,10 @@ public class SearchServiceDatabaseImpl implements SearchServiceDatabase {
 
   private void populateSeriesData() throws SearchServiceDatabaseException {
     try {
-      db.execTxChecked(em -> {
+      DBUtils.execTxWithUpsert(db, em -> {
         TypedQuery<SearchEntity> q = em.createNamedQuery("Search.getNoSeries", SearchEntity.class);
         List<SearchEntity> seriesList = q.getResultList();
+        Map<SearchSeriesAclPK, Long> deltas = new HashMap<>();
         for (SearchEntity series : seriesList) {
           String mpSeriesId = MediaPackageParser.getFromXml(series.getMediaPackageXML()).getSeries();
           if (StringUtils.isNotBlank(mpSeriesId) && !mpSeriesId.equals(series.getSeriesId())) {
@@ -151,8 +169,12 @@ public class SearchServiceDatabaseImpl implements SearchServiceDatabase {
                 mpSeriesId);
             series.setSeriesId(mpSeriesId);
             em.merge(series);
+            if (series.getDeletionDate() == null) {
+              countSeriesAcl(mpSeriesId, series.getAccessControl(), 1, deltas);
+            }
           }
         }
+        updateSeriesAcls(em, deltas);
       });
     } catch (Exception e) {
       logger.error("Could not update media package: {}", e.getMessage());
@@ -160,6 +182,109 @@ public class SearchServiceDatabaseImpl implements SearchServiceDatabase {
     }
   }
 
+  /**
+   * Builds the series ACLs from the ACLs of all published episodes if they have not been built yet, e.g. after an
+   * upgrade.
+   */
+  private void populateSeriesAccessControlLists() throws SearchServiceDatabaseException {
+    try {
+      DBUtils.execTxWithUpsert(db, em -> {
+        if (em.find(SearchSeriesAclEntity.class, SERIES_ACLS_BUILT) != null) {
+          return;
+        }
+        Map<SearchSeriesAclPK, Long> counts = new HashMap<>();
+        int episodes = 0;
+        List<?> page;
+        do {
+          page = em.createNamedQuery("Search.getSeriesAccessControls")
+              .setFirstResult(episodes)
+              .setMaxResults(SERIES_ACL_PAGE_SIZE)
+              .getResultList();
+          for (Object row : page) {
+            Object[] columns = (Object[]) row;
+            countSeriesAcl((String) columns[1], (String) columns[2], 1, counts);
+          }
+          episodes += page.size();
+        } while (page.size() == SERIES_ACL_PAGE_SIZE);
+        if (episodes > 0) {
+          logger.info("Building series access control lists from {} published episodes", episodes);
+          updateSeriesAcls(em, counts);
+        }
+        em.persist(new SearchSeriesAclEntity(SERIES_ACLS_BUILT.getSeriesId(), SERIES_ACLS_BUILT.getRole(),
+            SERIES_ACLS_BUILT.getAction(), 0));
+      });
+    } catch (Exception e) {
+      logger.error("Could not build series access control lists: {}", e.getMessage());
+      throw new SearchServiceDatabaseException(e);
+    }
+  }
+
+  /**
+   * Adds the entries of an episode ACL to the changes of the series ACLs.
+   *
+   * @param seriesId
+   *          the series of the episode, may be <code>null</code>
+   * @param accessControlXml
+   *          the serialized episode ACL, may be <code>null</code>
+   * @param count
+   *          <code>1</code> if the episode is added to the series, <code>-1</code> if it is removed
+   * @param deltas
+   *          the changes of the reference counts of the series ACL entries
+   */
+  private static void countSeriesAcl(String seriesId, String accessControlXml, long count,
+          Map<SearchSeriesAclPK, Long> deltas) throws IOException, AccessControlParsingException {
+    if (seriesId != null && accessControlXml != null) {
+      countSeriesAclEntries(seriesId, AccessControlParser.parseAcl(accessControlXml), count, deltas);
+    }
+  }
+
+  private static void countSeriesAclEntries(String seriesId, AccessControlList acl, long count,
+          Map<SearchSeriesAclPK, Long> deltas) {
+    if (StringUtils.isBlank(seriesId) || acl == null) {
+      return;
+    }
+    Set<SearchSeriesAclPK> keys = new HashSet<>();
+    for (AccessControlEntry entry : acl.getEntries()) {
+      // Series ACLs only grant access, denying entries must not turn into grants
+      if (!entry.isAllow()) {
+        continue;
+      }
+      keys.add(new SearchSeriesAclPK(seriesId, entry.getRole(), entry.getAction()));
+    }
+    for (SearchSeriesAclPK key : keys) {
+      deltas.merge(key, count, Long::sum);
+    }
+  }
+
+  /**
+   * Applies changes to the reference counts of series ACL entries and removes entries no episode refers to anymore.
+   * Must be called within a transaction run by {@link DBUtils#execTxWithUpsert}, since another node may insert the same
+   * entry concurrently.
+   */
+  private static void updateSeriesAcls(EntityManager em, Map<SearchSeriesAclPK, Long> deltas) {
+    Set<String> shrunk = new HashSet<>();
+    for (Map.Entry<SearchSeriesAclPK, Long> delta : deltas.entrySet()) {
+      SearchSeriesAclPK key = delta.getKey();
+      long count = delta.getValue();
+      if (count == 0) {
+        continue;
+      }
+      int updated = namedQuery.update("SearchSeriesAcl.updateReferences",
+          Pair.of("seriesId", key.getSeriesId()),
+          Pair.of("role", key.getRole()),
+          Pair.of("action", key.getAction()),
+          Pair.of("delta", count)).apply(em);
+      if (updated == 0 && count > 0) {
+        em.persist(new SearchSeriesAclEntity(key.getSeriesId(), key.getRole(), key.getAction(), count));
+      } else if (count < 0) {
+        shrunk.add(key.getSeriesId());
+      }
+    }
+    for (String seriesId : shrunk) {
+      namedQuery.delete("SearchSeriesAcl.deleteUnreferenced", Pair.of("seriesId", seriesId)).apply(em);
+    }
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -169,7 +294,7 @@ public class SearchServiceDatabaseImpl implements SearchServiceDatabase {
   public void deleteMediaPackage(String mediaPackageId, Date deletionDate) throws SearchServiceDatabaseException,
           NotFoundException, UnauthorizedException {
     try {
-      db.execTxChecked(em -> {
+      DBUtils.execTxWithUpsert(db, em -> {
         Optional<SearchEntity> searchEntity = getSearchEntityQuery(mediaPackageId).apply(em);
         if (searchEntity.isEmpty()) {
           throw new NotFoundException("No media package with id=" + mediaPackageId + " exists");
@@ -191,6 +316,11 @@ public class SearchServiceDatabaseImpl implements SearchServiceDatabase {
           }
         }
 
+        if (searchEntity.get().getDeletionDate() == null) {
+          Map<SearchSeriesAclPK, Long> deltas = new HashMap<>();
+          countSeriesAcl(searchEntity.get().getSeriesId(), accessControlXml, -1, deltas);
+          updateSeriesAcls(em, deltas);
+        }
         searchEntity.get().setDeletionDate(deletionDate);
         searchEntity.get().setModificationDate(deletionDate);
         em.merge(searchEntity.get());
@@ -218,6 +348,22 @@ public class SearchServiceDatabaseImpl implements SearchServiceDatabase {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.opencastproject.search.impl.persistence.SearchServiceDatabase#countMediaPackages(String)
+   */
+  @Override
+  public int countMediaPackages(String seriesId) throws SearchServiceDatabaseException {
+    try {
+      return db.exec(namedQuery.find("Search.getCountBySeriesId", Long.class, Pair.of("seriesId", seriesId)))
+          .intValue();
+    } catch (Exception e) {
+      logger.error("Could not find number of mediapackages in series {}", seriesId, e);
+      throw new SearchServiceDatabaseException(e);
+    }
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -305,6 +451,30 @@ public class SearchServiceDatabaseImpl implements SearchServiceDatabase {
     return accessControlLists;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.opencastproject.search.impl.persistence.SearchServiceDatabase#getSeriesAccessControlList(String)
+   */
+  @Override
+  public AccessControlList getSeriesAccessControlList(String seriesId) throws SearchServiceDatabaseException {
+    try {
+      List<SearchSeriesAclEntity> entries = db.exec(namedQuery.findAll(
+          "SearchSeriesAcl.findBySeriesId",
+          SearchSeriesAclEntity.class,
+          Pair.of("seriesId", seriesId)
+      ));
+      List<AccessControlEntry> acl = new ArrayList<>(entries.size());
+      for (SearchSeriesAclEntity entry : entries) {
+        acl.add(new AccessControlEntry(entry.getRole(), entry.getAction(), true));
+      }
+      return new AccessControlList(acl);
+    } catch (Exception e) {
+      logger.error("Could not retrieve ACL of series {}", seriesId, e);
+      throw new SearchServiceDatabaseException(e);
+    }
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -344,8 +514,10 @@ public class SearchServiceDatabaseImpl implements SearchServiceDatabase {
     String mediaPackageXML = MediaPackageParser.getAsXml(mediaPackage);
     String mediaPackageId = mediaPackage.getIdentifier().toString();
     try {
-      db.execTxChecked(em -> {
+      DBUtils.execTxWithUpsert(db, em -> {
         Optional<SearchEntity> entity = getSearchEntityQuery(mediaPackageId).apply(em);
+        Map<SearchSeriesAclPK, Long> deltas = new HashMap<>();
+        countSeriesAclEntries(mediaPackage.getSeries(), acl, 1, deltas);
         if (entity.isEmpty()) {
           // Create new search entity
           SearchEntity searchEntity = new SearchEntity();
@@ -371,6 +543,9 @@ public class SearchServiceDatabaseImpl implements SearchServiceDatabase {
                   + mediaPackageId);
             }
           }
+          if (entity.get().getDeletionDate() == null) {
+            countSeriesAcl(entity.get().getSeriesId(), accessControlXml, -1, deltas);
+          }
           entity.get().setOrganization(securityService.getOrganization());
           entity.get().setMediaPackageId(mediaPackageId);
           entity.get().setMediaPackageXML(mediaPackageXML);
@@ -380,6 +555,7 @@ public class SearchServiceDatabaseImpl implements SearchServiceDatabase {
           entity.get().setSeriesId(mediaPackage.getSeries());
           em.merge(entity.get());
         }
+        updateSeriesAcls(em, deltas);
       });
     } catch (UnauthorizedException e) {
       throw e;
@@ -0,0 +1,129 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+
+package org.opencastproject.search.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.google.gson.Gson;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.ws.rs.core.StreamingOutput;
+
+public class JsonListWriterTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(JsonListWriterTest.class);
+
+  private final Gson gson = new Gson();
+  private final JsonListWriter writer = new JsonListWriter(gson);
+
+  @Test
+  public void testStreamMatchesRenderedList() throws IOException {
+    final List<Map<String, Object>> results = results(3, 10);
+    final Map<String, Object> expected = new LinkedHashMap<>();
+    expected.put("offset", 20);
+    expected.put("total", 123L);
+    expected.put("result", results);
+    expected.put("limit", 10);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.stream(20, 123, 10, results, Function.identity()).write(out);
+    assertEquals(gson.toJson(expected), out.toString(StandardCharsets.UTF_8));
+    assertEquals(gson.toJson(expected), writer.render(20, 123, 10, results, Function.identity()));
+  }
+
+  @Test
+  public void testEmptyList() {
+    assertEquals("{\"offset\":0,\"total\":0,\"result\":[],\"limit\":20}",
+        writer.render(0, 0, 20, new ArrayList<>(), Function.identity()));
+  }
+
+  /**
+   * Compares the memory allocated for a page of 1000 results when rendering the whole response first, as the search
+   * endpoints used to, and when streaming it.
+   */
+  @Test
+  public void testStreamingAllocatesLess() throws IOException {
+    final com.sun.management.ThreadMXBean threads = threadMXBean();
+    assumeTrue(threads != null && threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    final List<Map<String, Object>> results = results(1000, 2000);
+    final long thread = Thread.currentThread().getId();
+    long buffered = Long.MAX_VALUE;
+    long streamed = Long.MAX_VALUE;
+    for (int i = 0; i < 10; i++) {
+      long before = threads.getThreadAllocatedBytes(thread);
+      final Map<String, Object> response = new LinkedHashMap<>();
+      response.put("offset", 0);
+      response.put("total", 1000L);
+      response.put("result", new ArrayList<>(results));
+      response.put("limit", 1000);
+      OutputStream.nullOutputStream().write(gson.toJson(response).getBytes(StandardCharsets.UTF_8));
+      buffered = Math.min(buffered, threads.getThreadAllocatedBytes(thread) - before);
+
+      before = threads.getThreadAllocatedBytes(thread);
+      final StreamingOutput output = writer.stream(0, 1000, 1000, results, Function.identity());
+      output.write(OutputStream.nullOutputStream());
+      streamed = Math.min(streamed, threads.getThreadAllocatedBytes(thread) - before);
+    }
+    logger.info("Allocated per request: {} bytes rendered, {} bytes streamed", buffered, streamed);
+    assertTrue(streamed * 4 < buffered);
+  }
+
+  private static List<Map<String, Object>> results(int count, int descriptionLength) {
+    final List<Map<String, Object>> results = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final Map<String, Object> result = new LinkedHashMap<>();
+      result.put("id", "episode-" + i);
+      result.put("description", StringUtils.repeat('x', descriptionLength));
+      result.put("tags", List.of("engage", "<html>"));
+      results.add(result);
+    }
+    return results;
+  }
+
+  private static com.sun.management.ThreadMXBean threadMXBean() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+      return (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.search.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.opencastproject.security.api.DefaultOrganization;
+import org.opencastproject.security.api.JaxbRole;
+import org.opencastproject.security.api.JaxbUser;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.ws.rs.core.EntityTag;
+
+public class SearchResponseCacheTest {
+
+  private static final DefaultOrganization ORGANIZATION = new DefaultOrganization();
+
+  @Test
+  public void testTagDependsOnResults() {
+    final Date modified = new Date(1000);
+    final EntityTag tag = validators(10, modified).getTag();
+    assertEquals(tag, validators(10, modified).getTag());
+    assertNotEquals(tag, validators(11, modified).getTag());
+    assertNotEquals(tag, validators(10, new Date(2000)).getTag());
+    assertTrue(tag.isWeak());
+  }
+
+  @Test
+  public void testLastModified() {
+    final SearchResponseCache.Validators validators = new SearchResponseCache.Validators(3, 0, 20);
+    assertNull(validators.getLastModified());
+    validators.add("a", new Date(2000));
+    validators.add("b", new Date(3000));
+    validators.add("c", null);
+    assertEquals(new Date(3000), validators.getLastModified());
+  }
+
+  @Test
+  public void testMatches() {
+    final EntityTag tag = new EntityTag("abc", true);
+    assertFalse(SearchResponseCache.matches(null, tag));
+    assertFalse(SearchResponseCache.matches("\"def\"", tag));
+    assertTrue(SearchResponseCache.matches("W/\"abc\"", tag));
+    assertTrue(SearchResponseCache.matches("\"abc\"", tag));
+    assertTrue(SearchResponseCache.matches("\"def\", W/\"abc\"", tag));
+    assertTrue(SearchResponseCache.matches("*", tag));
+  }
+
+  @Test
+  public void testKeyDependsOnRoles() {
+    final JaxbUser user = new JaxbUser("user", "test", ORGANIZATION, new JaxbRole("ROLE_A", ORGANIZATION),
+        new JaxbRole("ROLE_B", ORGANIZATION));
+    final JaxbUser sameRoles = new JaxbUser("other", "test", ORGANIZATION, new JaxbRole("ROLE_B", ORGANIZATION),
+        new JaxbRole("ROLE_A", ORGANIZATION));
+    final JaxbUser otherRoles = new JaxbUser("user", "test", ORGANIZATION, new JaxbRole("ROLE_A", ORGANIZATION));
+
+    final List<Object> key = SearchResponseCache.key("episode", ORGANIZATION.getId(), user, "q", null);
+    assertEquals(key, SearchResponseCache.key("episode", ORGANIZATION.getId(), sameRoles, "q", null));
+    assertNotEquals(key, SearchResponseCache.key("episode", ORGANIZATION.getId(), otherRoles, "q", null));
+    assertNotEquals(key, SearchResponseCache.key("episode", ORGANIZATION.getId(), user, "q", "title"));
+    assertNotEquals(key, SearchResponseCache.key("series", ORGANIZATION.getId(), user, "q", null));
+  }
+
+  @Test
+  public void testOnlySmallPagesAreKept() {
+    final SearchResponseCache cache = new SearchResponseCache(SearchResponseCache.DEFAULT_TTL,
+        SearchResponseCache.DEFAULT_SIZE);
+    final SearchResponseCache.Rendered rendered = new SearchResponseCache.Rendered(new EntityTag("abc", true),
+        new Date(), "{}");
+    final List<Object> small = List.of("small");
+    final List<Object> large = List.of("large");
+
+    cache.put(small, SearchResponseCache.MAX_CACHED_LIMIT, rendered);
+    cache.put(large, SearchResponseCache.MAX_CACHED_LIMIT + 1, rendered);
+    assertSame(rendered, cache.get(small));
+    assertNull(cache.get(large));
+  }
+
+  private static SearchResponseCache.Validators validators(long total, Date modified) {
+    final SearchResponseCache.Validators validators = new SearchResponseCache.Validators(total, 0, 20);
+    validators.add("a", modified);
+    validators.add("b", new Date(500));
+    return validators;
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.search.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.opencastproject.mediapackage.MediaPackage;
+import org.opencastproject.mediapackage.MediaPackageBuilderFactory;
+import org.opencastproject.mediapackage.MediaPackageElement;
+import org.opencastproject.mediapackage.MediaPackageElementBuilderFactory;
+import org.opencastproject.mediapackage.MediaPackageElementFlavor;
+import org.opencastproject.mediapackage.MediaPackageElements;
+import org.opencastproject.util.MimeType;
+import org.opencastproject.workspace.api.Workspace;
+
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+public class EpisodeSegmentsTest {
+
+  private Workspace workspace;
+  private MediaPackage mediaPackage;
+
+  @Before
+  public void setUp() throws Exception {
+    final URI captions = getClass().getResource("/captions.vtt").toURI();
+    final URI slides = getClass().getResource("/segments-text.xml").toURI();
+    final URI broken = URI.create("http://localhost/broken.vtt");
+
+    workspace = EasyMock.createMock(Workspace.class);
+    EasyMock.expect(workspace.read(captions)).andAnswer(() -> captions.toURL().openStream()).anyTimes();
+    EasyMock.expect(workspace.read(slides)).andAnswer(() -> slides.toURL().openStream()).anyTimes();
+    EasyMock.expect(workspace.read(broken)).andThrow(new IOException("Unreadable")).anyTimes();
+    EasyMock.replay(workspace);
+
+    mediaPackage = MediaPackageBuilderFactory.newInstance().newMediaPackageBuilder().createNew();
+    final MediaPackageElement caption = MediaPackageElementBuilderFactory.newInstance().newElementBuilder()
+        .elementFromURI(captions, MediaPackageElement.Type.Track, new MediaPackageElementFlavor("captions", "vtt+en"));
+    caption.setMimeType(MimeType.mimeType("text", "vtt"));
+    caption.addTag("lang:en");
+    mediaPackage.add(caption);
+    mediaPackage.add(MediaPackageElementBuilderFactory.newInstance().newElementBuilder()
+        .elementFromURI(slides, MediaPackageElement.Type.Catalog, MediaPackageElements.TEXTS));
+    mediaPackage.add(MediaPackageElementBuilderFactory.newInstance().newElementBuilder()
+        .elementFromURI(broken, MediaPackageElement.Type.Attachment, new MediaPackageElementFlavor("captions", "vtt")));
+  }
+
+  @Test
+  public void testExtract() {
+    final List<Map<String, Object>> segments = EpisodeSegments.extract(workspace, mediaPackage);
+    assertEquals(3, segments.size());
+
+    final Map<String, Object> first = segments.get(0);
+    assertEquals(EpisodeSegments.TYPE_CAPTION, first.get(EpisodeSegments.TYPE));
+    assertEquals("en", first.get(EpisodeSegments.LANGUAGE));
+    assertEquals(0L, first.get(EpisodeSegments.START));
+    assertEquals(5000L, first.get(EpisodeSegments.END));
+    assertEquals("Welcome to the lecture", first.get(EpisodeSegments.TEXT));
+
+    final Map<String, Object> second = segments.get(1);
+    assertEquals(5000L, second.get(EpisodeSegments.START));
+    assertEquals(9500L, second.get(EpisodeSegments.END));
+
+    final Map<String, Object> slide = segments.get(2);
+    assertEquals(EpisodeSegments.TYPE_SLIDE, slide.get(EpisodeSegments.TYPE));
+    assertFalse(slide.containsKey(EpisodeSegments.LANGUAGE));
+    assertEquals(0L, slide.get(EpisodeSegments.START));
+    assertEquals(120000L, slide.get(EpisodeSegments.END));
+    assertEquals("Thermodynamics Introduction", slide.get(EpisodeSegments.TEXT));
+  }
+
+}
@@ -48,7 +48,9 @@ import org.osgi.framework.BundleContext;
 import org.osgi.service.component.ComponentContext;
 
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
@@ -64,13 +66,15 @@ public class SearchServicePersistenceTest {
   private MediaPackage mediaPackage;
   private AccessControlList accessControlList;
   private SecurityService securityService;
+  private EntityManagerFactory emf;
+  private ComponentContext cc;
 
   /**
    * @throws java.lang.Exception
    */
   @Before
   public void setUp() throws Exception {
-    EntityManagerFactory emf = newEntityManagerFactory(SearchServiceDatabaseImpl.PERSISTENCE_UNIT);
+    emf = newEntityManagerFactory(SearchServiceDatabaseImpl.PERSISTENCE_UNIT);
     EntityManager em = emf.createEntityManager();
     securityService = EasyMock.createNiceMock(SecurityService.class);
     DefaultOrganization defaultOrganization = new DefaultOrganization();
@@ -87,7 +91,7 @@ public class SearchServicePersistenceTest {
     EasyMock.replay(securityService);
 
     BundleContext bc = EasyMock.createNiceMock(BundleContext.class);
-    ComponentContext cc = EasyMock.createNiceMock(ComponentContext.class);
+    cc = EasyMock.createNiceMock(ComponentContext.class);
     EasyMock.expect(cc.getBundleContext()).andReturn(bc).anyTimes();
     EasyMock.replay(bc, cc);
 
@@ -197,4 +201,79 @@ public class SearchServicePersistenceTest {
     Assert.assertEquals(1, x.get());
   }
 
+  @Test
+  public void testSeriesAccessControlList() throws Exception {
+    AccessControlEntry write = new AccessControlEntry("admin", Permissions.Action.WRITE.toString(), true);
+    AccessControlEntry read = new AccessControlEntry("student", Permissions.Action.READ.toString(), true);
+    mediaPackage.setSeries("series");
+    MediaPackage other = MediaPackageBuilderFactory.newInstance().newMediaPackageBuilder().createNew();
+    other.setSeries("series");
+
+    searchDatabase.storeMediaPackage(mediaPackage, accessControlList, new Date());
+    searchDatabase.storeMediaPackage(other, new AccessControlList(write, read), new Date());
+    Assert.assertEquals(2, searchDatabase.countMediaPackages("series"));
+    Assert.assertEquals(Set.of(write, read), getSeriesAclEntries("series"));
+
+    // Changing the ACL of an episode removes the entries no other episode grants
+    searchDatabase.storeMediaPackage(other, new AccessControlList(write), new Date());
+    Assert.assertEquals(Set.of(write), getSeriesAclEntries("series"));
+
+    // Entries granted by other episodes stay
+    searchDatabase.deleteMediaPackage(mediaPackage.getIdentifier().toString(), new Date());
+    Assert.assertEquals(1, searchDatabase.countMediaPackages("series"));
+    Assert.assertEquals(Set.of(write), getSeriesAclEntries("series"));
+
+    // Moving an episode to another series
+    other.setSeries("other-series");
+    searchDatabase.storeMediaPackage(other, new AccessControlList(write, read), new Date());
+    Assert.assertEquals(0, searchDatabase.countMediaPackages("series"));
+    Assert.assertEquals(Set.of(), getSeriesAclEntries("series"));
+    Assert.assertEquals(Set.of(write, read), getSeriesAclEntries("other-series"));
+
+    // Denying entries do not grant access to the series
+    AccessControlEntry deny = new AccessControlEntry("guest", Permissions.Action.READ.toString(), false);
+    searchDatabase.storeMediaPackage(other, new AccessControlList(write, deny), new Date());
+    Assert.assertEquals(Set.of(write), getSeriesAclEntries("other-series"));
+  }
+
+  @Test
+  public void testSeriesAccessControlListsAreBuiltAfterUpgrade() throws Exception {
+    AccessControlEntry write = new AccessControlEntry("admin", Permissions.Action.WRITE.toString(), true);
+    AccessControlEntry read = new AccessControlEntry("student", Permissions.Action.READ.toString(), true);
+    mediaPackage.setSeries("series");
+    MediaPackage other = MediaPackageBuilderFactory.newInstance().newMediaPackageBuilder().createNew();
+    other.setSeries("other-series");
+    searchDatabase.storeMediaPackage(mediaPackage, new AccessControlList(write), new Date());
+    searchDatabase.storeMediaPackage(other, new AccessControlList(read), new Date());
+
+    // The state before the upgrade: no series ACLs, and an episode whose series identifier was not stored yet
+    EntityManager em = emf.createEntityManager();
+    em.getTransaction().begin();
+    em.createNamedQuery("SearchSeriesAcl.deleteAll").executeUpdate();
+    em.createQuery("UPDATE SearchEntity s SET s.seriesId = NULL WHERE s.mediaPackageId = :id")
+        .setParameter("id", mediaPackage.getIdentifier().toString())
+        .executeUpdate();
+    em.getTransaction().commit();
+    em.close();
+
+    SearchServiceDatabaseImpl restarted = new SearchServiceDatabaseImpl();
+    restarted.setEntityManagerFactory(emf);
+    restarted.setDBSessionFactory(getDbSessionFactory());
+    restarted.setSecurityService(securityService);
+    restarted.activate(cc);
+
+    Assert.assertEquals(Set.of(write), new HashSet<>(restarted.getSeriesAccessControlList("series").getEntries()));
+    Assert.assertEquals(Set.of(read),
+        new HashSet<>(restarted.getSeriesAccessControlList("other-series").getEntries()));
+
+    // Starting again does not count the episodes twice
+    restarted.activate(cc);
+    restarted.deleteMediaPackage(other.getIdentifier().toString(), new Date());
+    Assert.assertEquals(Set.of(), new HashSet<>(restarted.getSeriesAccessControlList("other-series").getEntries()));
+  }
+
+  private Set<AccessControlEntry> getSeriesAclEntries(String seriesId) throws Exception {
+    return new HashSet<>(searchDatabase.getSeriesAccessControlList(seriesId).getEntries());
+  }
+
 }
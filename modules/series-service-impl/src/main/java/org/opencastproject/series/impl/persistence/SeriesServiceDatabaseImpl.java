@@ -28,8 +28,9 @@ import org.opencastproject.db.DBSession;
 import org.opencastproject.db.DBSessionFactory;
 import org.opencastproject.metadata.dublincore.DublinCore;
 import org.opencastproject.metadata.dublincore.DublinCoreCatalog;
+import org.opencastproject.metadata.dublincore.DublinCoreCatalogCache;
 import org.opencastproject.metadata.dublincore.DublinCoreCatalogService;
-import org.opencastproject.metadata.dublincore.DublinCoreXmlFormat;
+import org.opencastproject.metadata.dublincore.DublinCores;
 import org.opencastproject.security.api.AccessControlList;
 import org.opencastproject.security.api.AccessControlParser;
 import org.opencastproject.security.api.AccessControlParsingException;
@@ -60,6 +61,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -89,6 +91,12 @@ public class SeriesServiceDatabaseImpl implements SeriesServiceDatabase {
   /** JPA persistence unit name */
   public static final String PERSISTENCE_UNIT = "org.opencastproject.series.impl.persistence";
 
+  /** Approximate number of characters of parsed series catalogs to keep in memory */
+  private static final long CATALOG_CACHE_SIZE = 8L * 1024 * 1024;
+
+  /** Parsed series catalogs, keyed by organization and series identifier */
+  private final DublinCoreCatalogCache catalogs = new DublinCoreCatalogCache("series", CATALOG_CACHE_SIZE);
+
   /** Factory used to create {@link EntityManager}s for transactions */
   protected EntityManagerFactory emf;
 
@@ -193,6 +201,7 @@ public class SeriesServiceDatabaseImpl implements SeriesServiceDatabase {
         entity.get().setDeletionDate(now);
         em.merge(entity.get());
       });
+      catalogs.invalidate(catalogKey(seriesId));
     } catch (NotFoundException e) {
       throw e;
     } catch (Exception e) {
@@ -306,7 +315,7 @@ public class SeriesServiceDatabaseImpl implements SeriesServiceDatabase {
     }
 
     try {
-      return db.execTxChecked(em -> {
+      final DublinCoreCatalog newSeries = db.execTxChecked(em -> {
         DublinCoreCatalog newSeries = null;
         Optional<SeriesEntity> entity = getPotentiallyDeletedSeriesEntity(seriesId).apply(em);
         if (entity.isEmpty() || entity.get().isDeleted()) {
@@ -342,6 +351,8 @@ public class SeriesServiceDatabaseImpl implements SeriesServiceDatabase {
         }
         return newSeries;
       });
+      catalogs.invalidate(catalogKey(seriesId));
+      return newSeries;
     } catch (Exception e) {
       logger.error("Could not update series", e);
       throw new SeriesServiceDatabaseException(e);
@@ -365,7 +376,7 @@ public class SeriesServiceDatabaseImpl implements SeriesServiceDatabase {
         if (entity == null) {
           throw new NotFoundException("No series with id=" + seriesId + " exists");
         }
-        return dcService.load(IOUtils.toInputStream(entity.get().getDublinCoreXML(), "UTF-8"));
+        return loadCatalog(entity.get());
       });
     } catch (NotFoundException e) {
       throw e;
@@ -375,6 +386,24 @@ public class SeriesServiceDatabaseImpl implements SeriesServiceDatabase {
     }
   }
 
+  /**
+   * Parses the catalog of a series unless it is cached in the same version.
+   *
+   * @param entity
+   *          the series
+   * @return the catalog, which may be modified by the caller
+   */
+  private DublinCoreCatalog loadCatalog(SeriesEntity entity) {
+    final String xml = entity.getDublinCoreXML();
+    final String version = entity.getModifiedDate().getTime() + ":" + xml.hashCode();
+    return catalogs.get(entity.getOrganization() + ":" + entity.getSeriesId(), version, () -> DublinCores.read(
+        IOUtils.toInputStream(xml, StandardCharsets.UTF_8)));
+  }
+
+  private String catalogKey(String seriesId) {
+    return securityService.getOrganization().getId() + ":" + seriesId;
+  }
+
   @Override
   public List<Series> getAllForAdministrativeRead(Date from, Optional<Date> to, int limit)
           throws SeriesServiceDatabaseException, UnauthorizedException {
@@ -417,7 +446,7 @@ public class SeriesServiceDatabaseImpl implements SeriesServiceDatabase {
         final Series series = new Series();
         series.setId(entity.getSeriesId());
         series.setOrganization(entity.getOrganization());
-        series.setDublinCore(DublinCoreXmlFormat.read(entity.getDublinCoreXML()));
+        series.setDublinCore(loadCatalog(entity));
         series.setAccessControl(entity.getAccessControl());
         series.setModifiedDate(entity.getModifiedDate());
         series.setDeletionDate(entity.getDeletionDate());
@@ -0,0 +1,261 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.serviceregistry.impl;
+
+import static org.opencastproject.db.Queries.namedQuery;
+
+import org.opencastproject.db.DBSession;
+import org.opencastproject.job.api.Job;
+import org.opencastproject.job.jpa.JpaJob;
+import org.opencastproject.job.jpa.JpaJobBlob;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Stores large job arguments and payloads once in <code>oc_job_blob</code>, keyed by their content hash. Jobs hold
+ * references to the blobs instead of the values themselves. The blobs are counted per referencing job and removed
+ * with the last job referring to them.
+ * <p>
+ * Blob contents never change for a given hash, so resolved values are kept in a cache on each node, and only the
+ * first job read of a value on a node goes to the database.
+ */
+final class JobBlobStore {
+
+  /** The logger */
+  private static final Logger logger = LoggerFactory.getLogger(JobBlobStore.class);
+
+  /** Default minimum length of an argument or payload to be stored as a blob */
+  static final int DEFAULT_THRESHOLD = 4096;
+
+  /** Default number of characters of resolved blobs to keep in memory */
+  static final long DEFAULT_CACHE_SIZE = 64L * 1024 * 1024;
+
+  /** Length of a reference to a blob */
+  private static final int REFERENCE_LENGTH = JpaJobBlob.REFERENCE_PREFIX.length() + 64;
+
+  private final DBSession db;
+
+  private final LoadingCache<String, String> cache;
+
+  private volatile int threshold = DEFAULT_THRESHOLD;
+
+  JobBlobStore(DBSession db, long cacheSize) {
+    this.db = db;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(cacheSize)
+        .<String, String>weigher((hash, content) -> content.length())
+        .build(new CacheLoader<String, String>() {
+          @Override
+          public String load(String hash) {
+            // A blob just stored by another node may not have reached a read replica yet
+            return db.exec(namedQuery.findByIdOpt(JpaJobBlob.class, hash))
+                .or(() -> db.execPrimary(namedQuery.findByIdOpt(JpaJobBlob.class, hash)))
+                .map(JpaJobBlob::getContent)
+                .orElseThrow(() -> new IllegalStateException("Job blob " + hash + " does not exist"));
+          }
+        });
+  }
+
+  /**
+   * Sets the minimum length of the values to store as blobs. Values stored before keep their form.
+   *
+   * @param threshold
+   *          the minimum length, values of zero or less disable the blob store for new values
+   */
+  void setThreshold(int threshold) {
+    this.threshold = threshold;
+  }
+
+  /**
+   * Sets the arguments and payload of a job, replacing large values with references and updating the reference counts
+   * of the blobs the job referred to before. Must be called within a transaction run by
+   * {@link org.opencastproject.db.DBUtils#execTxWithUpsert}, since another node may store the same blob concurrently.
+   *
+   * @param em
+   *          the entity manager of the current transaction
+   * @param job
+   *          the persistent job
+   * @param arguments
+   *          the new arguments, either resolved or as stored before
+   * @param payload
+   *          the new payload, either resolved or as stored before
+   */
+  void store(EntityManager em, JpaJob job, List<String> arguments, String payload) {
+    Map<String, String> contents = new HashMap<>();
+    Map<String, Long> deltas = new HashMap<>();
+
+    List<String> storedArguments = null;
+    if (arguments != null) {
+      storedArguments = new ArrayList<>(arguments.size());
+      for (String argument : arguments) {
+        storedArguments.add(toStoredForm(argument, contents, deltas));
+      }
+    }
+    String storedPayload = toStoredForm(payload, contents, deltas);
+
+    countReferences(job.getArguments(), job.getPayload(), -1, deltas);
+    for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+      updateReferences(em, delta.getKey(), delta.getValue(), contents.get(delta.getKey()));
+    }
+
+    job.setArguments(storedArguments);
+    job.setPayload(storedPayload);
+  }
+
+  /**
+   * Releases the blobs referenced by a job that is about to be deleted. Must be called within a transaction.
+   *
+   * @param em
+   *          the entity manager of the current transaction
+   * @param job
+   *          the persistent job
+   */
+  void release(EntityManager em, JpaJob job) {
+    Map<String, Long> deltas = new HashMap<>();
+    countReferences(job.getArguments(), job.getPayload(), -1, deltas);
+    for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+      updateReferences(em, delta.getKey(), delta.getValue(), null);
+    }
+  }
+
+  /**
+   * Deletes the blobs no job refers to anymore. Must be called within a transaction.
+   *
+   * @param em
+   *          the entity manager of the current transaction
+   * @return the number of deleted blobs
+   */
+  int purge(EntityManager em) {
+    int deleted = namedQuery.delete("JobBlob.deleteUnreferenced").apply(em);
+    if (deleted > 0) {
+      logger.debug("Deleted {} unreferenced job blobs", deleted);
+    }
+    return deleted;
+  }
+
+  /**
+   * Converts a persistent job, resolving the references in its arguments and payload.
+   *
+   * @param jpaJob
+   *          the persistent job
+   * @return the job
+   */
+  Job toJob(JpaJob jpaJob) {
+    Job job = jpaJob.toJob();
+    if (job.getArguments() != null && job.getArguments().stream().anyMatch(JpaJobBlob::isReference)) {
+      List<String> arguments = new ArrayList<>(job.getArguments().size());
+      for (String argument : job.getArguments()) {
+        arguments.add(resolve(argument));
+      }
+      job.setArguments(arguments);
+    }
+    job.setPayload(resolve(job.getPayload()));
+    return job;
+  }
+
+  /**
+   * Returns the content of the blob a value refers to, or the value itself if it does not refer to a blob.
+   *
+   * @param value
+   *          the stored argument or payload
+   * @return the resolved value
+   */
+  String resolve(String value) {
+    if (!JpaJobBlob.isReference(value)) {
+      return value;
+    }
+    try {
+      return cache.getUnchecked(JpaJobBlob.hashOf(value));
+    } catch (UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private String toStoredForm(String value, Map<String, String> contents, Map<String, Long> deltas) {
+    if (value == null) {
+      return null;
+    }
+    String hash;
+    if (JpaJobBlob.isReference(value) && value.length() == REFERENCE_LENGTH) {
+      // Already stored, e.g. when a job read from the database is updated
+      hash = JpaJobBlob.hashOf(value);
+    } else if (JpaJobBlob.isReference(value) || threshold > 0 && value.length() >= threshold) {
+      // Values that merely look like references are stored as blobs, too, so they are never mistaken for one
+      String reference = JpaJobBlob.reference(value);
+      hash = JpaJobBlob.hashOf(reference);
+      contents.put(hash, value);
+      cache.put(hash, value);
+      value = reference;
+    } else {
+      return value;
+    }
+    deltas.merge(hash, 1L, Long::sum);
+    return value;
+  }
+
+  private static void countReferences(List<String> arguments, String payload, long count, Map<String, Long> deltas) {
+    if (arguments != null) {
+      for (String argument : arguments) {
+        if (JpaJobBlob.isReference(argument)) {
+          deltas.merge(JpaJobBlob.hashOf(argument), count, Long::sum);
+        }
+      }
+    }
+    if (JpaJobBlob.isReference(payload)) {
+      deltas.merge(JpaJobBlob.hashOf(payload), count, Long::sum);
+    }
+  }
+
+  private static void updateReferences(EntityManager em, String hash, long delta, String content) {
+    if (delta == 0) {
+      return;
+    }
+    int updated = namedQuery.update("JobBlob.updateReferences", Pair.of("hash", hash), Pair.of("delta", delta))
+        .apply(em);
+    if (updated > 0 || delta < 0) {
+      return;
+    }
+    if (content == null) {
+      logger.warn("Job blob {} is referenced but does not exist", hash);
+      return;
+    }
+    em.persist(new JpaJobBlob(content, delta));
+  }
+
+}
@@ -44,6 +44,7 @@ import org.opencastproject.serviceregistry.api.SystemLoad;
 import org.opencastproject.serviceregistry.impl.jpa.ServiceRegistrationJpaImpl;
 import org.opencastproject.util.NotFoundException;
 import org.opencastproject.util.UrlSupport;
+import org.opencastproject.util.metrics.Metrics;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -112,6 +113,16 @@ public class JobDispatcher {
 
   private static final Logger logger = LoggerFactory.getLogger(JobDispatcher.class);
 
+  /** Time needed for one round of dispatching */
+  private static final Metrics.Histogram dispatchRoundTime = Metrics.histogram(
+      "opencast_job_dispatch_round_seconds", "Time needed for one round of job dispatching",
+      Metrics.LATENCY_BUCKETS);
+
+  /** Time queued jobs wait until they are dispatched */
+  private static final Metrics.Histogram queueWaitTime = Metrics.histogram(
+      "opencast_job_queue_wait_seconds", "Time queued jobs waited until they were dispatched",
+      Metrics.DURATION_BUCKETS, "job_type");
+
   private ServiceRegistryJpaImpl serviceRegistry;
 
   private OrganizationDirectoryService organizationDirectoryService;
@@ -254,7 +265,9 @@ public class JobDispatcher {
     @Override
     public void run() {
       logger.debug("Starting job dispatch");
+      // Dispatching depends on job states and loads just written by other nodes, so it never reads from a replica
 
+      final long start = System.nanoTime();
       undispatchableJobTypes = new ArrayList<>();
       try {
         //GDLGDL: move collectJobStats to the JD config, then this is reasonable
@@ -266,7 +279,7 @@ public class JobDispatcher {
         if (!dispatchPriorityList.isEmpty()) {
           logger.trace("Checking for outdated jobs in dispatchPriorityList's '{}' jobs", dispatchPriorityList.size());
           // Remove outdated jobs from priority list
-          List<Long> jobIds = db.exec(getDispatchableJobsWithIdFilterQuery(dispatchPriorityList.keySet()));
+          List<Long> jobIds = db.execPrimary(getDispatchableJobsWithIdFilterQuery(dispatchPriorityList.keySet()));
           for (Long jobId : new HashSet<>(dispatchPriorityList.keySet())) {
             if (!jobIds.contains(jobId)) {
               logger.debug("Removing outdated dispatchPriorityList job '{}'", jobId);
@@ -281,7 +294,7 @@ public class JobDispatcher {
         boolean jobsFound;
         do {
           // dispatch all dispatchable jobs with status restarted
-          dispatchableJobs = db.exec(serviceRegistry.getDispatchableJobsWithStatusQuery(
+          dispatchableJobs = db.execPrimary(serviceRegistry.getDispatchableJobsWithStatusQuery(
               jobsOffset, ServiceRegistryJpaImpl.DEFAULT_DISPATCH_JOBS_LIMIT, Job.Status.RESTART
           ));
           jobsOffset += ServiceRegistryJpaImpl.DEFAULT_DISPATCH_JOBS_LIMIT;
@@ -303,7 +316,7 @@ public class JobDispatcher {
         jobsOffset = 0;
         do {
           // dispatch all dispatchable jobs with status queued
-          dispatchableJobs = db.exec(serviceRegistry.getDispatchableJobsWithStatusQuery(
+          dispatchableJobs = db.execPrimary(serviceRegistry.getDispatchableJobsWithStatusQuery(
               jobsOffset, ServiceRegistryJpaImpl.DEFAULT_DISPATCH_JOBS_LIMIT, Job.Status.QUEUED
           ));
           jobsOffset += ServiceRegistryJpaImpl.DEFAULT_DISPATCH_JOBS_LIMIT;
@@ -329,6 +342,7 @@ public class JobDispatcher {
         logger.warn("Error dispatching jobs", t);
       } finally {
         undispatchableJobTypes = null;
+        dispatchRoundTime.observeSince(start);
       }
 
       logger.debug("Finished job dispatch");
@@ -341,7 +355,7 @@ public class JobDispatcher {
      */
     private void dispatchDispatchableJobs(List<JpaJob> jobsToDispatch) {
       // Get the current system load
-      SystemLoad systemLoad = db.exec(serviceRegistry.getHostLoadsQuery());
+      SystemLoad systemLoad = db.execPrimary(serviceRegistry.getHostLoadsQuery());
 
       for (JpaJob job : jobsToDispatch) {
         // Remember the job type
@@ -378,8 +392,8 @@ public class JobDispatcher {
 
         // Start dispatching
         try {
-          List<ServiceRegistration> services = db.exec(serviceRegistry.getServiceRegistrationsQuery());
-          List<HostRegistration> hosts = db.exec(serviceRegistry.getHostRegistrationsQuery()).stream()
+          List<ServiceRegistration> services = db.execPrimary(serviceRegistry.getServiceRegistrationsQuery());
+          List<HostRegistration> hosts = db.execPrimary(serviceRegistry.getHostRegistrationsQuery()).stream()
                                            .filter(host -> !dispatchPriorityList.containsValue(host.getBaseUrl())
                                                || host.getBaseUrl().equals(dispatchPriorityList.get(job.getId())))
                                            .collect(Collectors.toList());
@@ -421,8 +435,12 @@ public class JobDispatcher {
 
           // Try to dispatch the job
           String hostAcceptingJob;
+          final boolean queued = Job.Status.QUEUED.equals(job.getStatus());
           try {
             hostAcceptingJob = dispatchJob(job, candidateServices);
+            if (queued && job.getDateCreated() != null) {
+              queueWaitTime.observe((System.currentTimeMillis() - job.getDateCreated().getTime()) / 1000.0, jobType);
+            }
             try {
               systemLoad.updateNodeLoad(hostAcceptingJob, job.getJobLoad());
             } catch (NotFoundException e) {
@@ -529,7 +547,7 @@ public class JobDispatcher {
           logger.debug("Trying to dispatch {} type '{}' load {} to {}", job, job.getJobType(), job.getJobLoad(),
               registration.getHost());
           if (!ServiceRegistryJpaImpl.START_WORKFLOW.equals(job.getOperation())) {
-            serviceRegistry.setCurrentJob(job.toJob());
+            serviceRegistry.setCurrentJob(serviceRegistry.toJob(job));
           }
           response = client.execute(post);
           responseStatusCode = response.getStatusLine().getStatusCode();
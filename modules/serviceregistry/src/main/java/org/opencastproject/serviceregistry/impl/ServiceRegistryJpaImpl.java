@@ -35,6 +35,7 @@ import static org.opencastproject.util.OsgiUtil.getOptContextProperty;
 
 import org.opencastproject.db.DBSession;
 import org.opencastproject.db.DBSessionFactory;
+import org.opencastproject.db.DBUtils;
 import org.opencastproject.job.api.Job;
 import org.opencastproject.job.api.Job.Status;
 import org.opencastproject.job.jpa.JpaJob;
@@ -63,6 +64,7 @@ import org.opencastproject.serviceregistry.impl.jpa.ServiceRegistrationJpaImpl;
 import org.opencastproject.systems.OpencastConstants;
 import org.opencastproject.util.NotFoundException;
 import org.opencastproject.util.UrlSupport;
+import org.opencastproject.util.data.Tuple3;
 import org.opencastproject.util.data.functions.Strings;
 import org.opencastproject.util.function.ThrowingConsumer;
 import org.opencastproject.util.jmx.JmxUtil;
@@ -212,6 +214,9 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
   /** The configuration key for setting {@link #noErrorStateServiceTypes} */
   static final String NO_ERROR_STATE_SERVICE_TYPES_CONFIG_KEY = "no.error.state.service.types";
 
+  /** Configuration key for the minimum length of job arguments and payloads to store as deduplicated blobs */
+  static final String JOB_BLOB_THRESHOLD_CONFIG_KEY = "job.blob.threshold";
+
   /** Default value for {@link #maxAttemptsBeforeErrorState} */
   private static final int DEFAULT_MAX_ATTEMPTS_BEFORE_ERROR_STATE = 10;
 
@@ -253,6 +258,12 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
 
   protected DBSession db;
 
+  /** Stores large job arguments and payloads once for all jobs */
+  protected JobBlobStore blobs;
+
+  /** Minimum length of job arguments and payloads to store as blobs */
+  private int jobBlobThreshold = JobBlobStore.DEFAULT_THRESHOLD;
+
   /** Tracks services published locally and adds them to the service registry */
   protected RestServiceTracker tracker = null;
 
@@ -305,6 +316,8 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
     logger.info("Activate service registry");
 
     db = dbSessionFactory.createSession(emf);
+    blobs = new JobBlobStore(db, JobBlobStore.DEFAULT_CACHE_SIZE);
+    blobs.setThreshold(jobBlobThreshold);
 
     // Find this host's url
     if (cc == null || StringUtils.isBlank(cc.getBundleContext().getProperty(OpencastConstants.SERVER_URL_PROPERTY))) {
@@ -533,7 +546,7 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
       throw new IllegalArgumentException("Operation can't be null");
     }
 
-    JpaJob jpaJob = db.execTxChecked(em -> {
+    JpaJob jpaJob = DBUtils.execTxWithUpsert(db, em -> {
       ServiceRegistrationJpaImpl creatingService = getServiceRegistrationQuery(serviceType, host).apply(em)
           .orElseThrow(() -> new ServiceRegistryException("No service registration exists for type '" + serviceType
               + "' on host '" + host + "'"));
@@ -547,8 +560,9 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
       User currentUser = securityService.getUser();
       Organization currentOrganization = securityService.getOrganization();
 
-      JpaJob job = new JpaJob(currentUser, currentOrganization, creatingService, operation, arguments, payload,
+      JpaJob job = new JpaJob(currentUser, currentOrganization, creatingService, operation, null, null,
               dispatchable, jobLoad);
+      blobs.store(em, job, arguments, payload);
 
       // Bind the given parent job to the new job
       if (parentJob != null) {
@@ -588,7 +602,7 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
     });
 
     setJobUri(jpaJob);
-    return jpaJob.toJob();
+    return blobs.toJob(jpaJob);
   }
 
   @Override
@@ -610,9 +624,11 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
             throw new NotFoundException("Job with ID '" + jobId + "' not found");
           }
           deleteChildJobsQuery(jobId).accept(em);
+          blobs.release(em, job);
           em.remove(job);
           removeFromLoadCache(jobId);
         }
+        blobs.purge(em);
       });
     } catch (NotFoundException | ServiceRegistryException e) {
       throw e;
@@ -637,6 +653,7 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
         for (int i = childJobs.size() - 1; i >= 0; i--) {
           Job job = childJobs.get(i);
           JpaJob jobToDelete = em.find(JpaJob.class, job.getId());
+          blobs.release(em, jobToDelete);
           em.remove(jobToDelete);
           removeFromLoadCache(job.getId());
           logger.debug("{} deleted", job);
@@ -722,6 +739,21 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
       }
     }
 
+    jobBlobThreshold = JobBlobStore.DEFAULT_THRESHOLD;
+    String jobBlobThresholdString = StringUtils.trimToNull((String) properties.get(JOB_BLOB_THRESHOLD_CONFIG_KEY));
+    if (jobBlobThresholdString != null) {
+      try {
+        jobBlobThreshold = Integer.parseInt(jobBlobThresholdString);
+        logger.info("Set minimum length of job arguments and payloads stored as blobs to {}", jobBlobThreshold);
+      } catch (NumberFormatException e) {
+        logger.warn("Can not set job blob threshold to {}. {} must be an integer", jobBlobThresholdString,
+                JOB_BLOB_THRESHOLD_CONFIG_KEY);
+      }
+    }
+    if (blobs != null) {
+      blobs.setThreshold(jobBlobThreshold);
+    }
+
     long heartbeatInterval = DEFAULT_HEART_BEAT;
     String heartbeatIntervalString = StringUtils.trimToNull((String) properties.get(OPT_HEARTBEATINTERVAL));
     if (StringUtils.isNotBlank(heartbeatIntervalString)) {
@@ -824,8 +856,9 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
   @Override
   public Job getJob(long id) throws NotFoundException, ServiceRegistryException {
     try {
-      return db.exec(getJpaJobQuery(id))
-          .map(JpaJob::toJob)
+      // Job states are polled to wait for jobs running on other nodes, so they must never be read from a replica
+      return db.execPrimary(getJpaJobQuery(id))
+          .map(blobs::toJob)
           .orElseThrow(NotFoundException::new);
     } catch (NotFoundException e) {
       throw e;
@@ -891,7 +924,7 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
     JpaJob jpaJob = JpaJob.from(job);
     jpaJob.setProcessorServiceRegistration(
             (ServiceRegistrationJpaImpl) getServiceRegistration(job.getJobType(), job.getProcessingHost()));
-    return updateJob(jpaJob).toJob();
+    return blobs.toJob(updateJob(jpaJob));
   }
 
   /**
@@ -952,13 +985,13 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
    * @return the updated job
    */
   protected JpaJob updateInternal(JpaJob job) throws NotFoundException {
-    JpaJob fromDb = db.execTxChecked(em -> {
+    JpaJob fromDb = DBUtils.execTxWithUpsert(db, em -> {
       JpaJob j = em.find(JpaJob.class, job.getId());
       if (j == null) {
         throw new NotFoundException();
       }
 
-      update(j, job);
+      update(em, j, job);
       em.merge(j);
       return j;
     });
@@ -968,6 +1001,17 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
     return job;
   }
 
+  /**
+   * Converts a persistent job, resolving the blobs its arguments and payload refer to.
+   *
+   * @param jpaJob
+   *          the persistent job
+   * @return the job
+   */
+  Job toJob(JpaJob jpaJob) {
+    return blobs.toJob(jpaJob);
+  }
+
   public void updateStatisticsJobData() {
     jobsStatistics.updateAvg(db.exec(getAvgOperationsQuery()));
     jobsStatistics.updateJobCount(db.exec(getCountPerHostServiceQuery()));
@@ -1005,18 +1049,17 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
    * @param jpaJob
    *          The in-memory job
    */
-  private void update(JpaJob fromDb, JpaJob jpaJob) {
+  private void update(EntityManager em, JpaJob fromDb, JpaJob jpaJob) {
     final Job job = jpaJob.toJob();
     final Date now = new Date();
     final Status status = job.getStatus();
     final Status fromDbStatus = fromDb.getStatus();
 
-    fromDb.setPayload(job.getPayload());
+    blobs.store(em, fromDb, job.getArguments(), job.getPayload());
     fromDb.setStatus(job.getStatus());
     fromDb.setDispatchable(job.isDispatchable());
     fromDb.setVersion(job.getVersion());
     fromDb.setOperation(job.getOperation());
-    fromDb.setArguments(job.getArguments());
 
     if (job.getDateCreated() == null) {
       jpaJob.setDateCreated(now);
@@ -1582,7 +1625,7 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
 
       return jobs.stream()
           .map(this::setJobUri)
-          .map(JpaJob::toJob)
+          .map(blobs::toJob)
           .collect(Collectors.toList());
     } catch (Exception e) {
       throw new ServiceRegistryException(e);
@@ -1642,7 +1685,7 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
     try {
       return db.exec(jobsQuery).stream()
           .peek(this::setJobUri)
-          .map(JpaJob::toJob)
+          .map(blobs::toJob)
           .collect(Collectors.toList());
     } catch (Exception e) {
       throw new ServiceRegistryException(e);
@@ -1656,7 +1699,9 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
           "Job.payload",
           String.class,
           Pair.of("operation", operation)
-      ));
+      )).stream()
+          .map(blobs::resolve)
+          .collect(Collectors.toList());
     } catch (Exception e) {
       throw new ServiceRegistryException(e);
     }
@@ -1671,7 +1716,9 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
             .setMaxResults(limit)
             .setFirstResult(offset)
             .getResultList();
-      });
+      }).stream()
+          .map(blobs::resolve)
+          .collect(Collectors.toList());
     } catch (Exception e) {
       throw new ServiceRegistryException(e);
     }
@@ -1699,13 +1746,36 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
   public List<Job> getActiveJobs() throws ServiceRegistryException {
     try {
       return db.exec(getJobsByStatusQuery(activeJobStatus)).stream()
-          .map(JpaJob::toJob)
+          .map(blobs::toJob)
           .collect(Collectors.toList());
     } catch (Exception e) {
       throw new ServiceRegistryException(e);
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.opencastproject.serviceregistry.api.ServiceRegistry#countActiveJobs()
+   */
+  @Override
+  public Map<Tuple3<String, String, String>, Long> countActiveJobs() throws ServiceRegistryException {
+    try {
+      final List<Object[]> rows = db.exec(namedQuery.findAll(
+          "Job.countActive",
+          Object[].class,
+          Pair.of("statuses", Arrays.stream(activeJobStatus).map(Enum::ordinal).collect(Collectors.toList()))
+      ));
+      final Map<Tuple3<String, String, String>, Long> result = new HashMap<>();
+      for (Object[] row : rows) {
+        result.put(Tuple3.tuple3((String) row[0], (String) row[1], (String) row[2]), ((Number) row[3]).longValue());
+      }
+      return result;
+    } catch (Exception e) {
+      throw new ServiceRegistryException(e);
+    }
+  }
+
   /**
    * Get the list of jobs with status from the given statuses.
    *
@@ -2254,7 +2324,7 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
           if (relatedService.getServiceState() == WARNING) {
             logger.info("State reset to NORMAL for related service {} on host {}", relatedService.getServiceType(),
                     relatedService.getHost());
-            relatedService.setServiceState(NORMAL, job.toJob().getSignature());
+            relatedService.setServiceState(NORMAL, blobs.toJob(job).getSignature());
           }
 
           // Reset the ERROR job to WARNING
@@ -2274,7 +2344,7 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
         if (currentService.getServiceState() == NORMAL) {
           logger.info("State set to WARNING for current service {} on host {}", currentService.getServiceType(),
                   currentService.getHost());
-          currentService.setServiceState(WARNING, job.toJob().getSignature());
+          currentService.setServiceState(WARNING, blobs.toJob(job).getSignature());
           updateServiceState(currentService);
         }
 
@@ -2283,7 +2353,7 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
                 && getHistorySize(currentService) >= maxAttemptsBeforeErrorState) {
           logger.info("State set to ERROR for current service {} on host {}", currentService.getServiceType(),
                   currentService.getHost());
-          currentService.setServiceState(ERROR, job.toJob().getSignature());
+          currentService.setServiceState(ERROR, blobs.toJob(job).getSignature());
           updateServiceState(currentService);
         }
       }
@@ -2366,6 +2436,7 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
     logger.debug("Try to get the services in WARNING or ERROR state triggered by {} failed", job);
 
     try {
+      int signature = blobs.toJob(job).getSignature();
       return db.exec(namedQuery.findAll(
           "ServiceRegistration.relatedservices.warning_error",
           ServiceRegistrationJpaImpl.class,
@@ -2373,8 +2444,8 @@ public class ServiceRegistryJpaImpl implements ServiceRegistry, ManagedService {
       )).stream()
           // TODO: modify the query to avoid to go through the list here
           .filter(rs ->
-              (rs.getServiceState() == WARNING && rs.getWarningStateTrigger() == job.toJob().getSignature())
-              || (rs.getServiceState() == ERROR && rs.getErrorStateTrigger() == job.toJob().getSignature())
+              (rs.getServiceState() == WARNING && rs.getWarningStateTrigger() == signature)
+              || (rs.getServiceState() == ERROR && rs.getErrorStateTrigger() == signature)
           ).collect(Collectors.toList());
     } catch (Exception e) {
       throw new ServiceRegistryException(e);
@@ -25,10 +25,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.opencastproject.db.DBTestEnv.getDbSessionFactory;
 import static org.opencastproject.db.DBTestEnv.newEntityManagerFactory;
+import static org.opencastproject.db.Queries.namedQuery;
 
 import org.opencastproject.job.api.Job;
 import org.opencastproject.job.api.Job.Status;
 import org.opencastproject.job.api.JobBarrier;
+import org.opencastproject.job.jpa.JpaJobBlob;
 import org.opencastproject.security.api.DefaultOrganization;
 import org.opencastproject.security.api.JaxbOrganization;
 import org.opencastproject.security.api.JaxbRole;
@@ -83,6 +85,7 @@ import java.util.Date;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
@@ -615,4 +618,38 @@ public class ServiceRegistryJpaImplTest {
     Assert.assertEquals(dateCompleted, updatedJob.getDateCompleted());
     Assert.assertEquals(runTime, updatedJob.getRunTime());
   }
+
+  @Test
+  public void testLargeArgumentsAreStoredOnce() throws Exception {
+    String mediaPackage = StringUtils.repeat("<mediapackage/>", 1000);
+    Job job = serviceRegistryJpaImpl.createJob(TEST_HOST, TEST_SERVICE, TEST_OPERATION,
+            Arrays.asList(mediaPackage, "small"), mediaPackage, true, null);
+    Job job2 = serviceRegistryJpaImpl.createJob(TEST_HOST, TEST_SERVICE, TEST_OPERATION,
+            Collections.singletonList(mediaPackage), null, true, null);
+
+    Job fromDb = serviceRegistryJpaImpl.getJob(job.getId());
+    assertEquals(Arrays.asList(mediaPackage, "small"), fromDb.getArguments());
+    assertEquals(mediaPackage, fromDb.getPayload());
+    assertEquals(3, getJobBlob(mediaPackage).get().getReferenceCount());
+
+    // Updates without changes do not touch the reference counts
+    job2.setStatus(Status.RUNNING);
+    job2 = serviceRegistryJpaImpl.updateJob(job2);
+    assertEquals(Collections.singletonList(mediaPackage), job2.getArguments());
+    assertEquals(3, getJobBlob(mediaPackage).get().getReferenceCount());
+
+    job.setArguments(Collections.singletonList("small"));
+    serviceRegistryJpaImpl.updateJob(job);
+    assertEquals(2, getJobBlob(mediaPackage).get().getReferenceCount());
+
+    serviceRegistryJpaImpl.removeJobs(Collections.singletonList(job.getId()));
+    assertEquals(1, getJobBlob(mediaPackage).get().getReferenceCount());
+    serviceRegistryJpaImpl.removeJobs(Collections.singletonList(job2.getId()));
+    assertEquals(Optional.empty(), getJobBlob(mediaPackage));
+  }
+
+  private static Optional<JpaJobBlob> getJobBlob(String content) {
+    String hash = JpaJobBlob.hashOf(JpaJobBlob.reference(content));
+    return serviceRegistryJpaImpl.db.exec(namedQuery.findByIdOpt(JpaJobBlob.class, hash));
+  }
 }
@@ -28,6 +28,7 @@ import org.opencastproject.statistics.api.DataResolution;
 import org.opencastproject.statistics.api.StatisticsProvider;
 import org.opencastproject.util.NotFoundException;
 
+import java.io.Writer;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.Map;
@@ -64,6 +65,37 @@ public interface StatisticsExportService {
                 ElasticsearchIndex index, ZoneId zoneId) throws SearchIndexException, UnauthorizedException,
           NotFoundException;
 
+  /**
+   * Write a CSV representation for the query result based on the given parameters. Rows are written as soon as the
+   * statistics of a batch of resources are available.
+   *
+   * @param provider
+   *          The provider to get the data from.
+   * @param resourceId
+   *          The id of the resource to get the data for.
+   * @param from
+   *          The start date of the time range to get the data for.
+   * @param to
+   *          The end date of the time range to get the data for.
+   * @param dataResolution
+   *          The data resolution.
+   * @param index
+   *          The index to get event or series meta data from.
+   * @param zoneId
+   *          The ZoneId to use for date formatting.
+   * @param writer
+   *          The writer to write the CSV to. It is flushed, but not closed.
+   * @throws SearchIndexException
+   *           If the search index cannot be queried.
+   * @throws UnauthorizedException
+   *           If the user is not authorized to get the desired data.
+   * @throws NotFoundException
+   *           If the resource identified by resourceId could not be found.
+   */
+  void writeCSV(StatisticsProvider provider, String resourceId, Instant from, Instant to,
+          DataResolution dataResolution, ElasticsearchIndex index, ZoneId zoneId, Writer writer)
+          throws SearchIndexException, UnauthorizedException, NotFoundException;
+
   /**
    * Get a CSV representation for the query result based on the given parameters.
    *
@@ -101,4 +133,44 @@ public interface StatisticsExportService {
           ElasticsearchIndex index, ZoneId zoneId, boolean fullMetadata, DetailLevel detailLevel, int limit,
           int offset, Map<String, String> filters)
           throws SearchIndexException, UnauthorizedException, NotFoundException;
+
+  /**
+   * Write a CSV representation for the query result based on the given parameters. Rows are written as soon as the
+   * statistics of a batch of resources are available.
+   *
+   * @param provider
+   *          The provider to get the data from.
+   * @param resourceId
+   *          The id of the resource to get the data for.
+   * @param from
+   *          The start date of the time range to get the data for.
+   * @param to
+   *          The end date of the time range to get the data for.
+   * @param dataResolution
+   *          The data resolution.
+   * @param index
+   *          The index to get event or series meta data from.
+   * @param zoneId
+   *          The ZoneId to use for date formatting.
+   * @param fullMetadata
+   *          When true, creates a full export with all available meta data fields.
+   * @param limit
+   *         limit to use for pagination. Pass 0 for unlimited.
+   * @param offset
+   *         offset to use for pagination.
+   * @param filters
+   *         filters to apply when searching for events/series.
+   * @param writer
+   *          The writer to write the CSV to. It is flushed, but not closed.
+   * @throws SearchIndexException
+   *           If the search index cannot be queried.
+   * @throws UnauthorizedException
+   *           If the user is not authorized to get the desired data.
+   * @throws NotFoundException
+   *           If the resource identified by resourceId could not be found.
+   */
+  void writeCSV(StatisticsProvider provider, String resourceId, Instant from, Instant to,
+          DataResolution dataResolution, ElasticsearchIndex index, ZoneId zoneId, boolean fullMetadata,
+          DetailLevel detailLevel, int limit, int offset, Map<String, String> filters, Writer writer)
+          throws SearchIndexException, UnauthorizedException, NotFoundException;
 }
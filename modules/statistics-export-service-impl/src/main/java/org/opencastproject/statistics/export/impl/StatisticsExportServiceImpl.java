@@ -65,6 +65,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -93,6 +94,8 @@ public class StatisticsExportServiceImpl implements StatisticsExportService, Man
   /** Logging utility */
   private static final Logger logger = LoggerFactory.getLogger(StatisticsExportServiceImpl.class);
   private static final String[] header = {"ID", "Name", "Date", "Value"};
+  /** Number of resources whose statistics are requested at once */
+  private static final int EXPORT_BATCH_SIZE = 100;
   private static final String CFG_KEY_SERIES_TO_EVENT_PROVIDER_MAPPINGS = "series.to.event.provider.mappings";
   private static final String CFG_KEY_ORGANIZATION_TO_EVENT_PROVIDER_MAPPINGS
       = "organization.to.event.provider.mappings";
@@ -203,12 +206,28 @@ public class StatisticsExportServiceImpl implements StatisticsExportService, Man
       DataResolution dataResolution,
       ElasticsearchIndex index,
       ZoneId zoneId
+  ) throws SearchIndexException, UnauthorizedException, NotFoundException {
+    final StringWriter stringWriter = new StringWriter();
+    writeCSV(provider, resourceId, from, to, dataResolution, index, zoneId, stringWriter);
+    return stringWriter.toString();
+  }
+
+  @Override
+  public void writeCSV(
+      StatisticsProvider provider,
+      String resourceId,
+      Instant from,
+      Instant to,
+      DataResolution dataResolution,
+      ElasticsearchIndex index,
+      ZoneId zoneId,
+      Writer writer
   ) throws SearchIndexException, UnauthorizedException, NotFoundException {
     if (!(provider instanceof TimeSeriesProvider)) {
       throw new IllegalStateException("CSV export not supported for provider of type " + provider.getClass().getName());
     }
-    final StringWriter stringWriter = new StringWriter();
-    try (CSVPrinter printer = CSVFormat.RFC4180.print(stringWriter)) {
+    try {
+      final CSVPrinter printer = CSVFormat.RFC4180.print(writer);
       switch (provider.getResourceType()) {
         case EPISODE:
           printEvent(provider, resourceId, from, to, dataResolution, index, zoneId, printer, false, 0, 0);
@@ -239,10 +258,10 @@ public class StatisticsExportServiceImpl implements StatisticsExportService, Man
         default:
           throw new IllegalStateException("Unknown resource type: " + provider.getResourceType().name());
       }
+      printer.flush();
     } catch (IOException e) {
-      return chuck(e);
+      chuck(e);
     }
-    return stringWriter.toString();
   }
 
   @Override
@@ -250,11 +269,22 @@ public class StatisticsExportServiceImpl implements StatisticsExportService, Man
           dataResolution, ElasticsearchIndex index, ZoneId zoneId, boolean fullMetadata, DetailLevel detailLevel,
           int limit, int offset, Map<String, String> filters)
           throws SearchIndexException, UnauthorizedException, NotFoundException {
+    final StringWriter stringWriter = new StringWriter();
+    writeCSV(provider, resourceId, from, to, dataResolution, index, zoneId, fullMetadata, detailLevel, limit, offset,
+        filters, stringWriter);
+    return stringWriter.toString();
+  }
+
+  @Override
+  public void writeCSV(StatisticsProvider provider, String resourceId, Instant from, Instant to, DataResolution
+          dataResolution, ElasticsearchIndex index, ZoneId zoneId, boolean fullMetadata, DetailLevel detailLevel,
+          int limit, int offset, Map<String, String> filters, Writer writer)
+          throws SearchIndexException, UnauthorizedException, NotFoundException {
     if (!(provider instanceof TimeSeriesProvider)) {
       throw new IllegalStateException("CSV export not supported for provider of type " + provider.getClass().getName());
     }
-    final StringWriter stringWriter = new StringWriter();
-    try (CSVPrinter printer = CSVFormat.RFC4180.print(stringWriter)) {
+    try {
+      final CSVPrinter printer = CSVFormat.RFC4180.print(writer);
       switch (provider.getResourceType()) {
         case EPISODE:
           printEvent(provider, resourceId, from, to,
@@ -291,10 +321,10 @@ public class StatisticsExportServiceImpl implements StatisticsExportService, Man
         default:
           throw new IllegalStateException("Unknown resource type: " + provider.getResourceType().name());
       }
+      printer.flush();
     } catch (IOException e) {
-      return chuck(e);
+      chuck(e);
     }
-    return stringWriter.toString();
   }
 
 
@@ -373,19 +403,8 @@ public class StatisticsExportServiceImpl implements StatisticsExportService, Man
     }
 
     final SearchResult<Event> result = index.getByQuery(query);
-    boolean first = offset == 0;
-    for (SearchResultItem<Event> currentEvent : result.getItems()) {
-      final TimeSeries dataEvent = statisticsService.getTimeSeriesData(eventProvider,
-          currentEvent.getSource().getIdentifier(), from, to, dataResolution, zoneId);
-      if (fullMetadata) {
-        this.printFullEventData(printer, dataEvent, dataResolution,
-            currentEvent.getSource().getIdentifier(), zoneId, first);
-      } else {
-        printData(printer, dataEvent, dataResolution, currentEvent.getSource().getIdentifier(),
-                currentEvent.getSource().getTitle(), zoneId, first);
-      }
-      first = false;
-    }
+    printEvents(eventProvider, Arrays.asList(result.getItems()), from, to, dataResolution, zoneId, printer,
+        fullMetadata, offset == 0);
   }
 
   private void printOrganization(
@@ -441,19 +460,8 @@ public class StatisticsExportServiceImpl implements StatisticsExportService, Man
       query = (EventSearchQuery) applyFilter(filter.getKey(), filter.getValue(), query);
     }
     final SearchResult<Event> result = index.getByQuery(query);
-    boolean first = offset == 0;
-    for (SearchResultItem<Event> currentEvent : result.getItems()) {
-      final TimeSeries dataEvent = statisticsService.getTimeSeriesData(eventProvider,
-              currentEvent.getSource().getIdentifier(), from, to, dataResolution, zoneId);
-      if (fullMetadata) {
-        this.printFullEventData(printer, dataEvent, dataResolution,
-            currentEvent.getSource().getIdentifier(), zoneId, first);
-      } else {
-        printData(printer, dataEvent, dataResolution, currentEvent.getSource().getIdentifier(),
-                currentEvent.getSource().getTitle(), zoneId, first);
-      }
-      first = false;
-    }
+    printEvents(eventProvider, Arrays.asList(result.getItems()), from, to, dataResolution, zoneId, printer,
+        fullMetadata, offset == 0);
   }
 
 
@@ -488,18 +496,61 @@ public class StatisticsExportServiceImpl implements StatisticsExportService, Man
       query = (SeriesSearchQuery) applyFilter(filter.getKey(), filter.getValue(), query);
     }
     final SearchResult<Series> result = index.getByQuery(query);
+    final List<SearchResultItem<Series>> items = Arrays.asList(result.getItems());
     boolean first = offset == 0;
-    for (SearchResultItem<Series> currentSeries : result.getItems()) {
-      final TimeSeries dataEvent = statisticsService.getTimeSeriesData(seriesProvider,
-              currentSeries.getSource().getIdentifier(), from, to, dataResolution, zoneId);
-      if (fullMetadata) {
-        this.printFullSeriesData(printer, dataEvent, dataResolution,
-            currentSeries.getSource().getIdentifier(), zoneId, first);
-      } else {
-        printData(printer, dataEvent, dataResolution, currentSeries.getSource().getIdentifier(),
-                currentSeries.getSource().getTitle(), zoneId, first);
+    for (int start = 0; start < items.size(); start += EXPORT_BATCH_SIZE) {
+      final List<SearchResultItem<Series>> batch = items.subList(start,
+          Math.min(items.size(), start + EXPORT_BATCH_SIZE));
+      final Map<String, TimeSeries> data = statisticsService.getTimeSeriesData(seriesProvider,
+          batch.stream().map(s -> s.getSource().getIdentifier()).collect(Collectors.toList()),
+          from, to, dataResolution, zoneId);
+      for (SearchResultItem<Series> currentSeries : batch) {
+        final String seriesId = currentSeries.getSource().getIdentifier();
+        if (fullMetadata) {
+          this.printFullSeriesData(printer, data.get(seriesId), dataResolution, seriesId, zoneId, first);
+        } else {
+          printData(printer, data.get(seriesId), dataResolution, seriesId, currentSeries.getSource().getTitle(),
+              zoneId, first);
+        }
+        first = false;
+      }
+      printer.flush();
+    }
+  }
+
+  /**
+   * Print the statistics of the given events. The statistics are requested in batches, and each batch is flushed to
+   * the output before the next one is requested.
+   */
+  private void printEvents(
+      StatisticsProvider eventProvider,
+      List<SearchResultItem<Event>> items,
+      Instant from,
+      Instant to,
+      DataResolution dataResolution,
+      ZoneId zoneId,
+      CSVPrinter printer,
+      boolean fullMetadata,
+      boolean printHeader
+  ) throws IOException {
+    boolean first = printHeader;
+    for (int start = 0; start < items.size(); start += EXPORT_BATCH_SIZE) {
+      final List<SearchResultItem<Event>> batch = items.subList(start,
+          Math.min(items.size(), start + EXPORT_BATCH_SIZE));
+      final Map<String, TimeSeries> data = statisticsService.getTimeSeriesData(eventProvider,
+          batch.stream().map(e -> e.getSource().getIdentifier()).collect(Collectors.toList()),
+          from, to, dataResolution, zoneId);
+      for (SearchResultItem<Event> currentEvent : batch) {
+        final String eventId = currentEvent.getSource().getIdentifier();
+        if (fullMetadata) {
+          this.printFullEventData(printer, data.get(eventId), dataResolution, eventId, zoneId, first);
+        } else {
+          printData(printer, data.get(eventId), dataResolution, eventId, currentEvent.getSource().getTitle(),
+              zoneId, first);
+        }
+        first = false;
       }
-      first = false;
+      printer.flush();
     }
   }
 
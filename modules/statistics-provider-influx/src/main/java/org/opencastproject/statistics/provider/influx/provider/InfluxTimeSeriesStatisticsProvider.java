@@ -39,14 +39,22 @@ import java.net.ConnectException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class InfluxTimeSeriesStatisticsProvider extends InfluxStatisticsProvider implements TimeSeriesProvider {
 
   private static final Logger logger = LoggerFactory.getLogger(InfluxTimeSeriesStatisticsProvider.class);
 
+  /** Maximum number of resources queried at once */
+  private static final int MAX_RESOURCES_PER_QUERY = 100;
+
   private Set<InfluxProviderConfiguration.InfluxProviderSource> sources;
 
 
@@ -98,6 +106,66 @@ public class InfluxTimeSeriesStatisticsProvider extends InfluxStatisticsProvider
     return new TimeSeries(labels, values, total);
   }
 
+  /**
+   * Get the time series data of multiple resources. Instead of one query per resource, the resources are queried in
+   * chunks, grouping the results by the resource id tag.
+   */
+  @Override
+  public Map<String, TimeSeries> getValues(Collection<String> resourceIds, Instant from, Instant to,
+      DataResolution resolution, ZoneId zoneId) {
+    final String influxGrouping = dataResolutionToInfluxGrouping(resolution);
+    final List<Tuple<Instant, Instant>> periods = getPeriods(from, to, resolution, zoneId);
+    final InfluxProviderConfiguration.InfluxProviderSource source = getSource(resolution);
+    final String resourceIdName = source.getResourceIdName();
+    final String grouping = influxGrouping.isEmpty()
+        ? " GROUP BY " + resourceIdName
+        : influxGrouping + "," + resourceIdName;
+
+    final Map<String, List<String>> labels = new HashMap<>();
+    final Map<String, List<Double>> values = new HashMap<>();
+    final List<String> ids = new ArrayList<>(resourceIds);
+    for (int chunkStart = 0; chunkStart < ids.size(); chunkStart += MAX_RESOURCES_PER_QUERY) {
+      final List<String> chunk = ids.subList(chunkStart, Math.min(ids.size(), chunkStart + MAX_RESOURCES_PER_QUERY));
+      final String condition = IntStream.range(0, chunk.size())
+          .mapToObj(i -> resourceIdName + "=$resourceId" + i)
+          .collect(Collectors.joining(" OR ", "(", ")"));
+      for (final Tuple<Instant, Instant> period : periods) {
+        final BoundParameterQuery.QueryBuilder builder = BoundParameterQuery.QueryBuilder
+            .newQuery("SELECT " + source.getAggregation() + "(" + source.getAggregationVariable() + ") FROM "
+                              + source.getMeasurement() + " WHERE " + condition
+                              + " AND time>=$from AND time<=$to" + grouping)
+            .bind("from", period.getA())
+            .bind("to", period.getB());
+        for (int i = 0; i < chunk.size(); i++) {
+          builder.bind("resourceId" + i, chunk.get(i));
+        }
+        try {
+          final QueryResult results = service.getInfluxDB().query(builder.create());
+          queryResultToTimeSeries(results, resourceIdName).forEach((resourceId, timeSeries) -> {
+            labels.computeIfAbsent(resourceId, r -> new ArrayList<>()).addAll(timeSeries.getLabels());
+            values.computeIfAbsent(resourceId, r -> new ArrayList<>()).addAll(timeSeries.getValues());
+          });
+        } catch (InfluxDBIOException e) {
+          if (e.getCause() instanceof ConnectException) {
+            logger.error("Influx connect exception: {}", e.getMessage());
+          } else {
+            throw e;
+          }
+        }
+      }
+    }
+
+    final boolean sum = "SUM".equalsIgnoreCase(source.getAggregation());
+    final Map<String, TimeSeries> result = new LinkedHashMap<>();
+    for (final String resourceId : ids) {
+      final List<Double> resourceValues = values.getOrDefault(resourceId, new ArrayList<>());
+      final Double total = sum ? resourceValues.stream().mapToDouble(v -> v).sum() : null;
+      result.put(resourceId,
+          new TimeSeries(labels.getOrDefault(resourceId, new ArrayList<>()), resourceValues, total));
+    }
+    return result;
+  }
+
   @Override
   public Set<DataResolution> getDataResolutions() {
     return sources.stream().flatMap(s -> s.getResolutions().stream()).collect(Collectors.toSet());
@@ -135,4 +203,42 @@ public class InfluxTimeSeriesStatisticsProvider extends InfluxStatisticsProvider
     }
     return new TimeSeries(labels, values);
   }
+
+  /**
+   * Convert the result of a query grouped by resource id into separate time series.
+   *
+   * @param results
+   *          The query result.
+   * @param resourceIdName
+   *          The name of the tag the result is grouped by.
+   * @return The time series by resource id.
+   */
+  protected static Map<String, TimeSeries> queryResultToTimeSeries(QueryResult results, String resourceIdName) {
+    if (results.hasError()) {
+      throw new RuntimeException("Error while retrieving result from influx: " + results.getError());
+    }
+    final Map<String, TimeSeries> timeSeries = new HashMap<>();
+    for (final QueryResult.Result result : results.getResults()) {
+      if (result.hasError()) {
+        logger.warn("An element from the set of data returned by influx DB has an error: '{}'. Ignoring this one.",
+            result.getError());
+        continue;
+      }
+      if (result.getSeries() == null) {
+        continue;
+      }
+      for (final QueryResult.Series series : result.getSeries()) {
+        if (series.getTags() == null || !series.getTags().containsKey(resourceIdName)) {
+          continue;
+        }
+        final TimeSeries current = timeSeries.computeIfAbsent(series.getTags().get(resourceIdName),
+            r -> new TimeSeries(new ArrayList<>(), new ArrayList<>()));
+        for (final List<Object> row : series.getValues()) {
+          current.getLabels().add((String) row.get(0));
+          current.getValues().add(row.get(1) == null ? 0 : (Double) row.get(1));
+        }
+      }
+    }
+    return timeSeries;
+  }
 }
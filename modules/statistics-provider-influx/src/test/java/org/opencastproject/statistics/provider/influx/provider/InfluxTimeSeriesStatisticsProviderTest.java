@@ -0,0 +1,143 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.statistics.provider.influx.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.opencastproject.statistics.api.DataResolution;
+import org.opencastproject.statistics.api.ResourceType;
+import org.opencastproject.statistics.api.TimeSeries;
+import org.opencastproject.statistics.provider.influx.StatisticsProviderInfluxService;
+
+import org.easymock.EasyMock;
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class InfluxTimeSeriesStatisticsProviderTest {
+
+  private static final String CONFIG = "{\"id\":\"influx.views.episode\",\"title\":\"Views\","
+      + "\"description\":\"Episode views\",\"resourceType\":\"EPISODE\",\"type\":\"timeseries\",\"sources\":[{"
+      + "\"measurement\":\"infinite.impressions_daily\",\"aggregation\":\"SUM\",\"aggregationVariable\":\"value\","
+      + "\"resourceIdName\":\"episodeId\",\"resolutions\":[\"DAILY\",\"WEEKLY\",\"MONTHLY\",\"YEARLY\"]}]}";
+
+  /** Rows returned by the stand-in by episode identifier */
+  private final Map<String, List<List<Object>>> data = new HashMap<>();
+
+  /** Commands received by the stand-in */
+  private final List<String> commands = new ArrayList<>();
+
+  private InfluxTimeSeriesStatisticsProvider provider;
+
+  @Before
+  public void setUp() {
+    final InfluxDB influxDB = EasyMock.createNiceMock(InfluxDB.class);
+    EasyMock.expect(influxDB.query(EasyMock.anyObject(Query.class))).andAnswer(() -> {
+      final Query query = (Query) EasyMock.getCurrentArguments()[0];
+      commands.add(query.getCommand());
+      return groupedResult();
+    }).anyTimes();
+    EasyMock.replay(influxDB);
+
+    final StatisticsProviderInfluxService service = new StatisticsProviderInfluxService() {
+      @Override
+      public InfluxDB getInfluxDB() {
+        return influxDB;
+      }
+    };
+    final InfluxProviderConfiguration configuration = InfluxProviderConfiguration.fromJson(CONFIG);
+    provider = new InfluxTimeSeriesStatisticsProvider(service, configuration.getId(), ResourceType.EPISODE,
+        configuration.getTitle(), configuration.getDescription(), configuration.getSources());
+
+    data.put("e1", Arrays.asList(
+        Arrays.asList("2024-01-01T00:00:00Z", 3.0),
+        Arrays.asList("2024-01-02T00:00:00Z", null)));
+    data.put("e2", Collections.singletonList(Arrays.asList("2024-01-02T00:00:00Z", 5.0)));
+  }
+
+  /** Build a result like influx does for queries grouped by the episode identifier tag */
+  private QueryResult groupedResult() {
+    final List<QueryResult.Series> series = new ArrayList<>();
+    data.forEach((episodeId, rows) -> {
+      final QueryResult.Series s = new QueryResult.Series();
+      s.setName("impressions_daily");
+      s.setTags(Collections.singletonMap("episodeId", episodeId));
+      s.setColumns(Arrays.asList("time", "sum"));
+      s.setValues(rows);
+      series.add(s);
+    });
+    final QueryResult.Result result = new QueryResult.Result();
+    result.setSeries(series);
+    final QueryResult queryResult = new QueryResult();
+    queryResult.setResults(Collections.singletonList(result));
+    return queryResult;
+  }
+
+  @Test
+  public void testMultipleResourcesInOneQuery() {
+    final Map<String, TimeSeries> result = provider.getValues(Arrays.asList("e1", "e2", "e3"),
+        Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-02T23:59:59Z"), DataResolution.DAILY,
+        ZoneId.of("Z"));
+
+    assertEquals(1, commands.size());
+    assertTrue(commands.get(0)
+        .contains("(episodeId=$resourceId0 OR episodeId=$resourceId1 OR episodeId=$resourceId2)"));
+    assertTrue(commands.get(0).endsWith("GROUP BY time(1d),episodeId"));
+
+    assertEquals(Arrays.asList("e1", "e2", "e3"), new ArrayList<>(result.keySet()));
+    assertEquals(Arrays.asList("2024-01-01T00:00:00Z", "2024-01-02T00:00:00Z"), result.get("e1").getLabels());
+    assertEquals(Arrays.asList(3.0, 0.0), result.get("e1").getValues());
+    assertEquals(3.0, result.get("e1").getTotal().getAsDouble(), 0.0);
+    assertEquals(Collections.singletonList(5.0), result.get("e2").getValues());
+    assertTrue(result.get("e3").getValues().isEmpty());
+    assertEquals(0.0, result.get("e3").getTotal().getAsDouble(), 0.0);
+  }
+
+  @Test
+  public void testChunksAndPeriods() {
+    final List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      ids.add("e" + i);
+    }
+    final Map<String, TimeSeries> result = provider.getValues(ids, Instant.parse("2024-01-15T00:00:00Z"),
+        Instant.parse("2024-03-15T00:00:00Z"), DataResolution.MONTHLY, ZoneId.of("Z"));
+
+    // 3 chunks of resources times 3 monthly periods
+    assertEquals(9, commands.size());
+    assertTrue(commands.get(0).endsWith("GROUP BY episodeId"));
+    assertEquals(250, result.size());
+    // Every period contributes a value for the resources the stand-in knows about
+    assertEquals(3, result.get("e2").getValues().size());
+  }
+}
@@ -25,6 +25,9 @@ package org.opencastproject.statistics.api;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -87,6 +90,39 @@ public interface StatisticsService {
       ZoneId zoneId
   );
 
+  /**
+   * Get time series statistics data of multiple resources from the given Provider. This allows providers to fetch the
+   * data of many resources with few queries.
+   *
+   * @param provider
+   *          The provider to retrieve statistics from.
+   * @param resourceIds
+   *          The ids of the resources to get statistics for (e.g. episode Ids, organization Ids or series Ids).
+   * @param from
+   *          The start date to calculate the statistics for.
+   * @param to
+   *          The end date to calculate the statistics for.
+   * @param resolution
+   *          The resolution to get the statistics with.
+   * @param zoneId
+   *          The timezone to use for date calculations.
+   * @return The time series data by resource id, in the order of the given resource ids.
+   */
+  default Map<String, TimeSeries> getTimeSeriesData(
+      StatisticsProvider provider,
+      Collection<String> resourceIds,
+      Instant from,
+      Instant to,
+      DataResolution resolution,
+      ZoneId zoneId
+  ) {
+    final Map<String, TimeSeries> result = new LinkedHashMap<>();
+    for (final String resourceId : resourceIds) {
+      result.put(resourceId, getTimeSeriesData(provider, resourceId, from, to, resolution, zoneId));
+    }
+    return result;
+  }
+
   /**
    * Write a duration to a statistics data base
    *
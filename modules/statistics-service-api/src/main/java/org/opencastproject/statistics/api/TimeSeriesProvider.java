@@ -23,6 +23,9 @@ package org.opencastproject.statistics.api;
 
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -47,6 +50,31 @@ public interface TimeSeriesProvider extends StatisticsProvider {
    */
   TimeSeries getValues(String resourceId, Instant from, Instant to, DataResolution resolution, ZoneId zoneId);
 
+  /**
+   * Get the time series data of multiple resources. Providers should override this if they can fetch the data of
+   * multiple resources at once. By default, the resources are queried one after the other.
+   *
+   * @param resourceIds
+   *          The ids of the resources to get statistics for (e.g. episode Ids, organization Ids or series Ids).
+   * @param from
+   *          The start date to calculate the statistics for.
+   * @param to
+   *          The end date to calculate the statistics for.
+   * @param resolution
+   *          The resolution to get the statistics with.
+   * @param zoneId
+   *          The timezone to use for date calculations.
+   * @return The time series data by resource id, in the order of the given resource ids.
+   */
+  default Map<String, TimeSeries> getValues(Collection<String> resourceIds, Instant from, Instant to,
+      DataResolution resolution, ZoneId zoneId) {
+    final Map<String, TimeSeries> result = new LinkedHashMap<>();
+    for (final String resourceId : resourceIds) {
+      result.put(resourceId, getValues(resourceId, from, to, resolution, zoneId));
+    }
+    return result;
+  }
+
 
   /**
    * @return A set of {@link DataResolution}s supported by this provider.
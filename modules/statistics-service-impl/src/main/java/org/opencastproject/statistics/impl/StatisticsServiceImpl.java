@@ -42,8 +42,11 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -118,6 +121,30 @@ public class StatisticsServiceImpl implements StatisticsService, StatisticsCoord
     return fill(((TimeSeriesProvider) provider).getValues(resourceId, from, to, resolution, zoneId), buckets);
   }
 
+  @Override
+  public Map<String, TimeSeries> getTimeSeriesData(
+          StatisticsProvider provider,
+          Collection<String> resourceIds,
+          Instant from,
+          Instant to,
+          DataResolution resolution,
+          ZoneId zoneId) {
+    if (!(provider instanceof TimeSeriesProvider)) {
+      throw new IllegalArgumentException("The given provider '" + provider.getTitle()
+          + "' (" + provider.getId() + ") does not provide time series data");
+    }
+    final List<Instant> buckets = StatisticsUtil.getBuckets(from, to, resolution, zoneId);
+    final Map<String, TimeSeries> values = ((TimeSeriesProvider) provider)
+        .getValues(resourceIds, from, to, resolution, zoneId);
+    final Map<String, TimeSeries> result = new LinkedHashMap<>();
+    for (final String resourceId : resourceIds) {
+      final TimeSeries timeSeries = values.getOrDefault(resourceId,
+          new TimeSeries(Collections.emptyList(), Collections.emptyList()));
+      result.put(resourceId, fill(timeSeries, buckets));
+    }
+    return result;
+  }
+
   @Override
   public void addWriter(StatisticsWriter writer) {
     synchronized (this.writers) {
@@ -31,7 +31,6 @@ import org.opencastproject.security.api.SecurityService;
 import org.opencastproject.security.api.UnauthorizedException;
 import org.opencastproject.series.api.SeriesException;
 import org.opencastproject.series.api.SeriesService;
-import org.opencastproject.util.Jsons;
 import org.opencastproject.workspace.api.Workspace;
 
 import org.elasticsearch.index.query.QueryBuilders;
@@ -40,6 +39,10 @@ import org.elasticsearch.search.sort.SortOrder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
@@ -48,6 +51,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.ws.rs.core.StreamingOutput;
 
 /** Contains the actual harvesting logic.  */
 final class Harvest {
@@ -74,7 +78,13 @@ final class Harvest {
 
   private static final Logger logger = LoggerFactory.getLogger(Harvest.class);
 
-  static Jsons.Obj harvest(
+  /**
+   * Retrieves the items changed since the given date. Events are written as stored in the search index when they were
+   * published, see {@link HarvestEnricher}, so that the response is written without accessing the workspace.
+   *
+   * @return the response, written as UTF-8 encoded JSON
+   */
+  static StreamingOutput harvest(
       int preferredAmount,
       Date since,
       SearchService searchService,
@@ -162,7 +172,7 @@ final class Harvest {
         .limit(preferredAmount)
         .map(event -> {
           try {
-            return new Item(event, authorizationService, workspace);
+            return Item.fromIndex(event, authorizationService, workspace);
           } catch (Exception e) {
             var id = event == null ? null : event.getId();
             logger.error("Error reading event '{}' (skipping...)", id, e);
@@ -224,15 +234,6 @@ final class Harvest {
     );
 
 
-    // Assembly full response.
-    final var outItems = items.stream()
-        .map(item -> item.getJson())
-        .collect(Collectors.toCollection(ArrayList::new));
-    final var json = Jsons.obj(
-        Jsons.p("includesItemsUntil", includesItemsUntil),
-        Jsons.p("hasMore", hasMore),
-        Jsons.p("items", Jsons.arr(outItems))
-    );
     logger.debug(
         "Returning {} items from harvesting (hasMore = {}, includesItemsUntil = {})",
         items.size(),
@@ -240,6 +241,18 @@ final class Harvest {
         new Date(includesItemsUntil)
     );
 
-    return json;
+    // Write the response item by item instead of assembling it in memory first.
+    return out -> {
+      final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      writer.write("{\"includesItemsUntil\":" + includesItemsUntil + ",\"hasMore\":" + hasMore + ",\"items\":[");
+      for (int i = 0; i < items.size(); i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        writer.write(items.get(i).toJson());
+      }
+      writer.write("]}");
+      writer.flush();
+    };
   }
 }
@@ -0,0 +1,72 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+
+package org.opencastproject.tobira.impl;
+
+import org.opencastproject.search.api.SearchIndexEnricher;
+import org.opencastproject.search.api.SearchResult;
+import org.opencastproject.security.api.AuthorizationService;
+import org.opencastproject.workspace.api.Workspace;
+
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Builds the harvest representation of an event when it is published. Building it requires the Dublin Core catalogs
+ * and the XACML of the event from the workspace, which is too slow to do for each event of a harvest request.
+ */
+@Component(
+    property = {
+        "service.description=Tobira harvest data for the search index"
+    },
+    immediate = true,
+    service = SearchIndexEnricher.class
+)
+public class HarvestEnricher implements SearchIndexEnricher {
+
+  /** The name of the stored representation. It changes with the API version, as the representation does. */
+  static final String NAME = "tobira-" + TobiraEndpoint.VERSION;
+
+  private AuthorizationService authorizationService;
+  private Workspace workspace;
+
+  @Reference
+  public void setAuthorizationService(AuthorizationService service) {
+    this.authorizationService = service;
+  }
+
+  @Reference
+  public void setWorkspace(Workspace workspace) {
+    this.workspace = workspace;
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public String enrich(SearchResult episode) {
+    return new Item(episode, authorizationService, workspace).toJson();
+  }
+
+}
@@ -72,7 +72,30 @@ class Item {
   private static final Logger logger = LoggerFactory.getLogger(Item.class);
 
   private Date modifiedDate;
-  private Jsons.Val obj;
+  private Jsons.Obj obj;
+
+  /** The JSON representation precomputed when the event was published, used instead of {@link #obj} if set */
+  private String json;
+
+  /**
+   * Uses the JSON representation of an event stored in the search index, see {@link HarvestEnricher}. Deleted events
+   * are converted as usual, since their representation has changed after the event was published.
+   */
+  static Item fromIndex(SearchResult event, AuthorizationService authorizationService, Workspace workspace) {
+    if (event.getDeletionDate() == null) {
+      final var precomputed = event.getPrecomputed(HarvestEnricher.NAME);
+      if (precomputed.isPresent()) {
+        final var item = new Item(event.getModifiedDate());
+        item.json = precomputed.get();
+        return item;
+      }
+    }
+    return new Item(event, authorizationService, workspace);
+  }
+
+  private Item(Date modifiedDate) {
+    this.modifiedDate = modifiedDate;
+  }
 
   /** Converts a event into the corresponding JSON representation */
   Item(SearchResult event, AuthorizationService authorizationService, Workspace workspace) {
@@ -469,7 +492,7 @@ class Item {
     return this.modifiedDate;
   }
 
-  Jsons.Val getJson() {
-    return this.obj;
+  String toJson() {
+    return this.json != null ? this.json : this.obj.toJson();
   }
 }
@@ -100,7 +100,7 @@ public class TobiraEndpoint {
   // to resynchronize, i.e. to get new data.
   private static final int VERSION_MAJOR = 1;
   private static final int VERSION_MINOR = 6;
-  private static final String VERSION = VERSION_MAJOR + "." + VERSION_MINOR;
+  static final String VERSION = VERSION_MAJOR + "." + VERSION_MINOR;
 
   private SearchService searchService;
   private SeriesService seriesService;
@@ -212,13 +212,12 @@ public class TobiraEndpoint {
     logger.debug("Request to '/harvest' with preferredAmount={} since={}", preferredAmount, since);
 
     try {
-      var json = Harvest.harvest(
+      var body = Harvest.harvest(
           preferredAmount,
           new Date(since),
           searchService, seriesService, authorizationService, securityService, playlistService, workspace);
 
-      // TODO: encoding
-      return Response.ok(json.toJson()).build();
+      return Response.ok(body).type(APPLICATION_JSON + ";charset=utf-8").build();
     } catch (Exception e) {
       logger.error("Unexpected exception in tobira/harvest", e);
       return Response.serverError().build();
@@ -0,0 +1,126 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+
+package org.opencastproject.tobira.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.opencastproject.playlists.PlaylistService;
+import org.opencastproject.search.api.SearchResult;
+import org.opencastproject.search.api.SearchResultList;
+import org.opencastproject.search.api.SearchService;
+import org.opencastproject.security.api.AuthorizationService;
+import org.opencastproject.security.api.Organization;
+import org.opencastproject.security.api.SecurityConstants;
+import org.opencastproject.security.api.SecurityService;
+import org.opencastproject.security.api.User;
+import org.opencastproject.series.api.SeriesService;
+import org.opencastproject.workspace.api.Workspace;
+
+import org.easymock.EasyMock;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+public class HarvestTest {
+
+  private SecurityService securityService;
+  private SeriesService seriesService;
+  private PlaylistService playlistService;
+
+  @Before
+  public void setUp() throws Exception {
+    var organization = EasyMock.createNiceMock(Organization.class);
+    EasyMock.expect(organization.getId()).andReturn("mh_default_org").anyTimes();
+    EasyMock.expect(organization.getAdminRole()).andReturn("ROLE_ADMIN").anyTimes();
+    var user = EasyMock.createNiceMock(User.class);
+    EasyMock.expect(user.hasRole(SecurityConstants.GLOBAL_ADMIN_ROLE)).andReturn(true).anyTimes();
+    securityService = EasyMock.createNiceMock(SecurityService.class);
+    EasyMock.expect(securityService.getOrganization()).andReturn(organization).anyTimes();
+    EasyMock.expect(securityService.getUser()).andReturn(user).anyTimes();
+
+    seriesService = EasyMock.createNiceMock(SeriesService.class);
+    EasyMock.expect(seriesService.getAllForAdministrativeRead(EasyMock.anyObject(), EasyMock.anyObject(),
+        EasyMock.anyInt())).andReturn(Collections.emptyList()).anyTimes();
+    playlistService = EasyMock.createNiceMock(PlaylistService.class);
+    EasyMock.expect(playlistService.getAllForAdministrativeRead(EasyMock.anyObject(), EasyMock.anyObject(),
+        EasyMock.anyInt())).andReturn(Collections.emptyList()).anyTimes();
+    EasyMock.replay(organization, user, securityService, seriesService, playlistService);
+  }
+
+  private JSONObject harvest(int preferredAmount, List<SearchResult> hits) throws Exception {
+    var results = EasyMock.createNiceMock(SearchResultList.class);
+    EasyMock.expect(results.getHits()).andReturn(hits).anyTimes();
+    var searchService = EasyMock.createNiceMock(SearchService.class);
+    EasyMock.expect(searchService.search(EasyMock.anyObject())).andReturn(results).anyTimes();
+    EasyMock.replay(results, searchService);
+
+    var out = new ByteArrayOutputStream();
+    Harvest.harvest(preferredAmount, new Date(0), searchService, seriesService,
+        EasyMock.createMock(AuthorizationService.class), securityService, playlistService,
+        EasyMock.createMock(Workspace.class)).write(out);
+    return (JSONObject) new JSONParser().parse(out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testHarvestWithMoreEvents() throws Exception {
+    var json = harvest(2, List.of(
+        ItemTest.event("a", Instant.parse("2024-01-16T10:00:00Z"), null),
+        ItemTest.event("b", Instant.parse("2024-01-16T11:00:00Z"), Instant.parse("2024-01-16T11:00:00Z")),
+        ItemTest.event("c", Instant.parse("2024-01-16T12:00:00Z"), null)));
+
+    assertEquals(true, json.get("hasMore"));
+    assertEquals(Instant.parse("2024-01-16T12:00:00Z").toEpochMilli(), json.get("includesItemsUntil"));
+    var items = (JSONArray) json.get("items");
+    assertEquals(2, items.size());
+    assertEquals("a", ((JSONObject) items.get(0)).get("id"));
+    assertEquals("event", ((JSONObject) items.get(0)).get("kind"));
+    assertEquals("b", ((JSONObject) items.get(1)).get("id"));
+    assertEquals("event-deleted", ((JSONObject) items.get(1)).get("kind"));
+  }
+
+  @Test
+  public void testHarvestWithoutMoreEvents() throws Exception {
+    var before = System.currentTimeMillis();
+    var json = harvest(2, List.of(ItemTest.event("a", Instant.parse("2024-01-16T10:00:00Z"), null)));
+    var after = System.currentTimeMillis();
+
+    assertEquals(false, json.get("hasMore"));
+    // Without further items, everything up to a few minutes ago has been transferred
+    var includesItemsUntil = (long) json.get("includesItemsUntil");
+    assertTrue(includesItemsUntil <= after - 3 * 60 * 1000);
+    assertFalse(includesItemsUntil < before - 3 * 60 * 1000);
+    assertEquals(1, ((JSONArray) json.get("items")).size());
+  }
+
+}
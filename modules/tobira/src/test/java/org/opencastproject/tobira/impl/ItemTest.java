@@ -0,0 +1,85 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+
+package org.opencastproject.tobira.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import org.opencastproject.mediapackage.MediaPackageBuilderFactory;
+import org.opencastproject.mediapackage.identifier.IdImpl;
+import org.opencastproject.search.api.SearchResult;
+import org.opencastproject.search.api.SearchService;
+import org.opencastproject.security.api.AccessControlList;
+import org.opencastproject.security.api.AuthorizationService;
+import org.opencastproject.workspace.api.Workspace;
+
+import org.easymock.EasyMock;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+
+public class ItemTest {
+
+  private AuthorizationService authorizationService;
+  private Workspace workspace;
+
+  @Before
+  public void setUp() {
+    // Neither is expected to be used for events carrying their stored representation
+    authorizationService = EasyMock.createMock(AuthorizationService.class);
+    workspace = EasyMock.createMock(Workspace.class);
+    EasyMock.replay(authorizationService, workspace);
+  }
+
+  static SearchResult event(String id, Instant modified, Instant deleted) throws Exception {
+    var mp = MediaPackageBuilderFactory.newInstance().newMediaPackageBuilder().createNew(new IdImpl(id));
+    var event = new SearchResult(SearchService.IndexEntryType.Episode, null, new AccessControlList(),
+        "mh_default_org", mp, modified, deleted);
+    event.setPrecomputed(HarvestEnricher.NAME, "{\"kind\":\"event\",\"id\":\"" + id + "\"}");
+    return event;
+  }
+
+  @Test
+  public void testLiveEventUsesStoredRepresentation() throws Exception {
+    var item = Item.fromIndex(event("live", Instant.parse("2024-01-16T10:00:00Z"), null),
+        authorizationService, workspace);
+
+    assertEquals("{\"kind\":\"event\",\"id\":\"live\"}", item.toJson());
+    assertEquals(Instant.parse("2024-01-16T10:00:00Z").toEpochMilli(), item.getModifiedDate().getTime());
+    EasyMock.verify(authorizationService, workspace);
+  }
+
+  @Test
+  public void testDeletedEventIsConverted() throws Exception {
+    var item = Item.fromIndex(event("deleted", Instant.parse("2024-01-16T10:00:00Z"),
+        Instant.parse("2024-01-16T10:00:00Z")), authorizationService, workspace);
+
+    var json = (JSONObject) new JSONParser().parse(item.toJson());
+    assertEquals("event-deleted", json.get("kind"));
+    assertEquals("deleted", json.get("id"));
+    assertEquals(Instant.parse("2024-01-16T10:00:00Z").toEpochMilli(), json.get("updated"));
+  }
+
+}
@@ -21,6 +21,7 @@
 
 package org.opencastproject.usertracking.endpoint;
 
+import static javax.servlet.http.HttpServletResponse.SC_ACCEPTED;
 import static javax.servlet.http.HttpServletResponse.SC_CREATED;
 import static javax.servlet.http.HttpServletResponse.SC_OK;
 
@@ -274,7 +275,8 @@ public class UserTrackingRestService {
           @RestParameter(name = "type", description = "The episode identifier", isRequired = true, type = Type.STRING),
           @RestParameter(name = "in", description = "The beginning of the time range", isRequired = true, type = Type.STRING),
           @RestParameter(name = "out", description = "The end of the time range", isRequired = false, type = Type.STRING),
-          @RestParameter(name = "playing", description = "Whether the player is currently playing", isRequired = false, type = Type.STRING)}, responses = { @RestResponse(responseCode = SC_CREATED, description = "An XML representation of the user action") })
+          @RestParameter(name = "playing", description = "Whether the player is currently playing", isRequired = false, type = Type.STRING)}, responses = { @RestResponse(responseCode = SC_CREATED, description = "An XML representation of the user action"),
+              @RestResponse(responseCode = SC_ACCEPTED, description = "The footprint was buffered and will be stored later") })
   public Response addFootprint(@FormParam("id") String mediapackageId, @FormParam("in") String inString,
           @FormParam("out") String outString, @FormParam("type") String type, @FormParam("playing") String isPlaying,
           @Context HttpServletRequest request) {
@@ -343,6 +345,11 @@ public class UserTrackingRestService {
       throw new WebApplicationException(e);
     }
 
+    if (a.getId() == null) {
+      // Footprint was buffered and will be written later
+      return Response.accepted(a).build();
+    }
+
     URI uri;
     try {
       uri = new URI(UrlSupport.concat(new String[] { serverUrl, serviceUrl, "action", a.getId().toString(), ".xml" }));
@@ -0,0 +1,216 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.usertracking.impl;
+
+import org.opencastproject.usertracking.api.UserAction;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory aggregator for footprints.
+ * <p>
+ * Players send a footprint every few seconds while a video is playing. Instead of writing each of them to the
+ * database, the buffer keeps the last footprint of every session in memory and extends its outpoint as long as the
+ * following footprints are contiguous. Once a footprint is no longer contiguous, or once a session has been idle for
+ * a while, the consolidated footprint is handed to the writer in batches.
+ * <p>
+ * Memory is bounded by the maximum number of open sessions and the size of the queue of completed footprints. If
+ * either limit is reached, the calling thread flushes the buffer itself before adding the new footprint, which slows
+ * down the producers instead of growing without limit. The number of open sessions is a soft limit: sessions added
+ * concurrently may exceed it by at most the number of adding threads.
+ * <p>
+ * If the writer fails, the batch is kept and written again before anything else on the next flush. Until that
+ * succeeds, flushes rethrow the failure without taking more footprints out of the buffer, so that producers running
+ * into the limits see the error instead of the buffer growing.
+ */
+public class FootprintBuffer {
+
+  /** Footprints of sessions which are still active, keyed by session identifier */
+  private final Map<String, Entry> open = new ConcurrentHashMap<>();
+
+  /** Footprints which can no longer be extended and are waiting to be written */
+  private final BlockingQueue<UserActionImpl> completed;
+
+  /** The maximum number of open sessions */
+  private final int maxSessions;
+
+  /** Time in milliseconds after which an open session is considered to be finished */
+  private final long idleTimeout;
+
+  /** Writes a batch of consolidated footprints */
+  private final Consumer<List<UserActionImpl>> writer;
+
+  /** Lock guarding flushes so that batches are written one after the other */
+  private final Object flushLock = new Object();
+
+  /** Footprints of a batch the writer failed to write, guarded by {@link #flushLock} */
+  private final List<UserActionImpl> failed = new ArrayList<>();
+
+  /**
+   * Create a new footprint buffer.
+   *
+   * @param maxSessions
+   *          the maximum number of sessions to keep in memory
+   * @param idleTimeout
+   *          time in milliseconds after which a session without new footprints is flushed
+   * @param writer
+   *          the callback persisting a batch of footprints
+   */
+  public FootprintBuffer(int maxSessions, long idleTimeout, Consumer<List<UserActionImpl>> writer) {
+    if (maxSessions < 1) {
+      throw new IllegalArgumentException("maxSessions must be positive");
+    }
+    this.maxSessions = maxSessions;
+    this.idleTimeout = idleTimeout;
+    this.writer = writer;
+    this.completed = new ArrayBlockingQueue<>(maxSessions);
+  }
+
+  /**
+   * Add a footprint to the buffer. The footprint is either merged into the open footprint of its session or replaces
+   * it, in which case the previous one is queued for writing.
+   *
+   * @param action
+   *          the footprint with its session set
+   */
+  public void add(UserActionImpl action) {
+    final String sessionId = action.getSession().getSessionId();
+    if (!open.containsKey(sessionId) && open.size() >= maxSessions) {
+      // backpressure: make room by writing everything we have. This is not atomic with adding the session below,
+      // which makes the limit a soft one.
+      flush(true);
+    }
+
+    final long now = System.currentTimeMillis();
+    final UserActionImpl[] replaced = new UserActionImpl[1];
+    open.compute(sessionId, (id, entry) -> {
+      if (entry != null && isContiguous(entry.action, action)) {
+        entry.action.setOutpoint(action.getOutpoint());
+        entry.action.setIsPlaying(action.getIsPlaying());
+        entry.lastUpdate = now;
+        return entry;
+      }
+      if (entry != null) {
+        replaced[0] = entry.action;
+      }
+      return new Entry(action, now);
+    });
+
+    if (replaced[0] != null) {
+      while (!completed.offer(replaced[0])) {
+        // backpressure: the queue is full, write it on the calling thread
+        try {
+          flush(false);
+        } catch (RuntimeException e) {
+          // The footprint is no longer part of its session, keep it with the failed batch
+          synchronized (flushLock) {
+            failed.add(replaced[0]);
+          }
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Write all completed footprints and the footprints of sessions which have been idle for longer than the idle
+   * timeout.
+   */
+  public void flush() {
+    flush(false);
+  }
+
+  /**
+   * Write all buffered footprints including those of active sessions. This is used on shutdown.
+   */
+  public void flushAll() {
+    flush(true);
+  }
+
+  /**
+   * Get the number of footprints currently held in memory.
+   *
+   * @return the number of buffered footprints
+   */
+  public int size() {
+    synchronized (flushLock) {
+      return open.size() + completed.size() + failed.size();
+    }
+  }
+
+  private void flush(boolean all) {
+    synchronized (flushLock) {
+      if (!failed.isEmpty()) {
+        // Retry on its own, so that nothing else is taken out of the buffer while the writer keeps failing
+        writer.accept(new ArrayList<>(failed));
+        failed.clear();
+      }
+
+      final List<UserActionImpl> batch = new ArrayList<>(completed.size());
+      completed.drainTo(batch);
+
+      final long threshold = System.currentTimeMillis() - idleTimeout;
+      final Iterator<Map.Entry<String, Entry>> iterator = open.entrySet().iterator();
+      while (iterator.hasNext()) {
+        final Map.Entry<String, Entry> next = iterator.next();
+        // Only remove the entry if it was not updated concurrently
+        if ((all || next.getValue().lastUpdate < threshold) && open.remove(next.getKey(), next.getValue())) {
+          batch.add(next.getValue().action);
+        }
+      }
+
+      if (!batch.isEmpty()) {
+        try {
+          writer.accept(batch);
+        } catch (RuntimeException e) {
+          failed.addAll(batch);
+          throw e;
+        }
+      }
+    }
+  }
+
+  private static boolean isContiguous(UserAction last, UserAction next) {
+    return last.getMediapackageId().equals(next.getMediapackageId())
+        && last.getType().equals(next.getType())
+        && last.getOutpoint() == next.getInpoint();
+  }
+
+  /** An open footprint together with the time it was last extended */
+  private static final class Entry {
+    private final UserActionImpl action;
+    private volatile long lastUpdate;
+
+    private Entry(UserActionImpl action, long lastUpdate) {
+      this.action = action;
+      this.lastUpdate = lastUpdate;
+    }
+  }
+
+}
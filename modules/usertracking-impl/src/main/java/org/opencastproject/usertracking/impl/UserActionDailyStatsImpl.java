@@ -0,0 +1,133 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.usertracking.impl;
+
+import java.util.Calendar;
+import java.util.Date;
+
+import javax.persistence.Access;
+import javax.persistence.AccessType;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.UniqueConstraint;
+
+/**
+ * Daily rollup of the user actions of a mediapackage. Rows are maintained incrementally as user actions are written,
+ * so that reports do not need to aggregate over the raw user action table.
+ * <p>
+ * A session is counted on the day it first accessed the mediapackage. Summing up the sessions of all days therefore
+ * yields the number of distinct sessions of the mediapackage.
+ */
+@Entity(name = "UserActionDailyStats")
+@Access(AccessType.FIELD)
+@Table(name = "oc_user_action_daily_stats", indexes = {
+    @Index(name = "IX_oc_user_action_daily_stats_date", columnList = "stats_date")},
+    uniqueConstraints = {
+    @UniqueConstraint(name = "UNQ_oc_user_action_daily_stats", columnNames = {"mediapackage", "stats_date"})})
+@NamedQueries({
+    @NamedQuery(name = "sumDailyStatsGroupByMediapackage", query = "SELECT s.mediapackageId, SUM(s.sessions), SUM(s.played) FROM UserActionDailyStats s GROUP BY s.mediapackageId ORDER BY s.mediapackageId"),
+    @NamedQuery(name = "sumDailyStatsGroupByMediapackageByIntervall", query = "SELECT s.mediapackageId, SUM(s.sessions), SUM(s.played) FROM UserActionDailyStats s WHERE :begin <= s.day AND s.day < :end GROUP BY s.mediapackageId ORDER BY s.mediapackageId"),
+    @NamedQuery(name = "incrementDailyStats", query = "UPDATE UserActionDailyStats s SET s.sessions = s.sessions + :sessions, s.played = s.played + :played WHERE s.mediapackageId = :mediapackageId AND s.day = :day"),
+    @NamedQuery(name = "deleteDailyStatsOfMediapackage", query = "DELETE FROM UserActionDailyStats s WHERE s.mediapackageId = :mediapackageId"),
+    @NamedQuery(name = "countDailyStats", query = "SELECT COUNT(s) FROM UserActionDailyStats s") })
+public class UserActionDailyStatsImpl {
+
+  @Id
+  @Column(name = "id")
+  @GeneratedValue(strategy = GenerationType.AUTO)
+  private Long id;
+
+  @Column(name = "mediapackage", length = 128, nullable = false)
+  private String mediapackageId;
+
+  @Column(name = "stats_date", nullable = false)
+  @Temporal(TemporalType.DATE)
+  private Date day;
+
+  /** Number of sessions which accessed the mediapackage for the first time on this day */
+  @Column(name = "sessions", nullable = false)
+  private long sessions;
+
+  /** Sum of the length of all user actions of this day */
+  @Column(name = "played", nullable = false)
+  private long played;
+
+  /**
+   * A no-arg constructor needed by JPA
+   */
+  public UserActionDailyStatsImpl() {
+  }
+
+  public UserActionDailyStatsImpl(String mediapackageId, Date day, long sessions, long played) {
+    this.mediapackageId = mediapackageId;
+    this.day = day;
+    this.sessions = sessions;
+    this.played = played;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getMediapackageId() {
+    return mediapackageId;
+  }
+
+  public Date getDay() {
+    return day;
+  }
+
+  public long getSessions() {
+    return sessions;
+  }
+
+  public long getPlayed() {
+    return played;
+  }
+
+  /**
+   * Truncate a date to the start of its day in the local time zone.
+   *
+   * @param date
+   *          the date to truncate
+   * @return midnight of the given date
+   */
+  public static Date toDay(Date date) {
+    Calendar cal = Calendar.getInstance();
+    cal.setTime(date);
+    cal.set(Calendar.HOUR_OF_DAY, 0);
+    cal.set(Calendar.MINUTE, 0);
+    cal.set(Calendar.SECOND, 0);
+    cal.set(Calendar.MILLISECOND, 0);
+    return cal.getTime();
+  }
+
+}
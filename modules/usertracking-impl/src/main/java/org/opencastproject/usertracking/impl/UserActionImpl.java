@@ -59,11 +59,16 @@ import javax.xml.bind.annotation.XmlType;
     @Index(name = "IX_oc_user_action_inpoint", columnList = "inpoint"),
     @Index(name = "IX_oc_user_action_outpoint", columnList = "outpoint"),
     @Index(name = "IX_oc_user_action_mediapackage_id", columnList = "mediapackage"),
+    @Index(name = "IX_oc_user_action_session_id", columnList = "session_id"),
     @Index(name = "IX_oc_user_action_type", columnList = "type")})
 @NamedQueries({
     @NamedQuery(name = "findUserActions", query = "SELECT a FROM UserAction a"),
     @NamedQuery(name = "countSessionsGroupByMediapackage", query = "SELECT a.mediapackageId, COUNT(distinct a.session), SUM(a.length) FROM UserAction a GROUP BY a.mediapackageId"),
     @NamedQuery(name = "countSessionsGroupByMediapackageByIntervall", query = "SELECT a.mediapackageId, COUNT(distinct a.session.sessionId), SUM(a.length) FROM UserAction a WHERE :begin <= a.created AND a.created <= :end GROUP BY a.mediapackageId"),
+    @NamedQuery(name = "countUserActionsOfSessionAndMediapackage", query = "SELECT COUNT(a) FROM UserAction a WHERE a.session = :session AND a.mediapackageId = :mediapackageId"),
+    @NamedQuery(name = "findSessionsOfMediapackages", query = "SELECT DISTINCT a.session.sessionId, a.mediapackageId FROM UserAction a WHERE a.session.sessionId IN :sessionIds AND a.mediapackageId IN :mediapackageIds"),
+    @NamedQuery(name = "findDistinctMediapackageIds", query = "SELECT DISTINCT a.mediapackageId FROM UserAction a"),
+    @NamedQuery(name = "findUserActionStatsOfMediapackage", query = "SELECT a.session.sessionId, a.created, a.length FROM UserAction a WHERE a.mediapackageId = :mediapackageId ORDER BY a.created, a.id"),
     @NamedQuery(name = "countSessionsOfMediapackage", query = "SELECT COUNT(distinct a.session) FROM UserAction a WHERE a.mediapackageId = :mediapackageId"),
     @NamedQuery(name = "findLastUserFootprintOfSession", query = "SELECT a FROM UserAction a  WHERE a.session = :session AND a.type = \'FOOTPRINT\'  ORDER BY a.created DESC"),
     @NamedQuery(name = "findLastUserActionsOfSession", query = "SELECT a FROM UserAction a  WHERE a.session = :session ORDER BY a.created DESC"),
@@ -25,6 +25,7 @@ import static org.opencastproject.db.Queries.namedQuery;
 
 import org.opencastproject.db.DBSession;
 import org.opencastproject.db.DBSessionFactory;
+import org.opencastproject.db.DBUtils;
 import org.opencastproject.usertracking.api.Footprint;
 import org.opencastproject.usertracking.api.FootprintList;
 import org.opencastproject.usertracking.api.Report;
@@ -46,16 +47,26 @@ import org.osgi.service.cm.ConfigurationException;
 import org.osgi.service.cm.ManagedService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.Dictionary;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import javax.persistence.EntityManager;
@@ -89,6 +100,29 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
   public static final String IP_LOGGING = "org.opencastproject.usertracking.log.ip";
   public static final String USER_LOGGING = "org.opencastproject.usertracking.log.user";
   public static final String SESSION_LOGGING = "org.opencastproject.usertracking.log.session";
+  public static final String REBUILD_DAILY_STATS = "org.opencastproject.usertracking.report.rebuild";
+  public static final String FOOTPRINT_BUFFER = "org.opencastproject.usertracking.footprint.buffer";
+  public static final String FOOTPRINT_BUFFER_FLUSH_INTERVAL =
+      "org.opencastproject.usertracking.footprint.buffer.flush.interval";
+  public static final String FOOTPRINT_BUFFER_IDLE_TIMEOUT =
+      "org.opencastproject.usertracking.footprint.buffer.idle.timeout";
+  public static final String FOOTPRINT_BUFFER_MAX_SESSIONS =
+      "org.opencastproject.usertracking.footprint.buffer.max.sessions";
+
+  /** Default interval in seconds in which buffered footprints are written */
+  public static final long DEFAULT_FLUSH_INTERVAL = 10;
+
+  /** Default time in seconds after which a session without new footprints is considered finished */
+  public static final long DEFAULT_IDLE_TIMEOUT = 60;
+
+  /** Default maximum number of sessions held in the footprint buffer */
+  public static final int DEFAULT_MAX_SESSIONS = 10000;
+
+  /** Number of user actions loaded at once when rebuilding the daily statistics */
+  private static final int REBUILD_PAGE_SIZE = 10000;
+
+  /** Number of user actions whose sessions are checked at once when persisting buffered footprints */
+  private static final int VIEWED_QUERY_SIZE = 500;
 
   private static final Logger logger = LoggerFactory.getLogger(UserTrackingServiceImpl.class);
 
@@ -97,6 +131,12 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
   private boolean logUser = true;
   private boolean logSession = true;
 
+  /** Buffer aggregating footprints before they are written. Null if buffering is disabled. */
+  private volatile FootprintBuffer footprintBuffer = null;
+
+  /** Executor periodically flushing the footprint buffer */
+  private ScheduledExecutorService flushExecutor = null;
+
   /** The factory used to generate the entity manager */
   protected EntityManagerFactory emf = null;
 
@@ -124,6 +164,14 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
     db = dbSessionFactory.createSession(emf);
   }
 
+  /**
+   * Deactivation callback writing all buffered footprints
+   */
+  @Deactivate
+  public void deactivate() {
+    stopFootprintBuffer();
+  }
+
   @Override
   public void updated(Dictionary props) throws ConfigurationException {
     if (props == null) {
@@ -148,6 +196,149 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
       logSession = Boolean.valueOf((String) val);
     }
 
+    if (Boolean.parseBoolean(StringUtils.trimToEmpty((String) props.get(REBUILD_DAILY_STATS)))) {
+      Thread rebuild = new Thread(() -> {
+        try {
+          rebuildDailyStats();
+        } catch (Exception e) {
+          logger.error("Unable to rebuild user tracking report statistics", e);
+        }
+      }, "usertracking-report-rebuild");
+      rebuild.setDaemon(true);
+      rebuild.start();
+    }
+
+    stopFootprintBuffer();
+    if (Boolean.parseBoolean(StringUtils.trimToEmpty((String) props.get(FOOTPRINT_BUFFER)))) {
+      long flushInterval = getLong(props, FOOTPRINT_BUFFER_FLUSH_INTERVAL, DEFAULT_FLUSH_INTERVAL);
+      long idleTimeout = getLong(props, FOOTPRINT_BUFFER_IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT);
+      int maxSessions = (int) getLong(props, FOOTPRINT_BUFFER_MAX_SESSIONS, DEFAULT_MAX_SESSIONS);
+      startFootprintBuffer(flushInterval, idleTimeout, maxSessions);
+    }
+  }
+
+  private static long getLong(Dictionary props, String key, long defaultValue) throws ConfigurationException {
+    String val = StringUtils.trimToNull((String) props.get(key));
+    if (val == null) {
+      return defaultValue;
+    }
+    try {
+      long result = Long.parseLong(val);
+      if (result < 1) {
+        throw new ConfigurationException(key, "must be a positive number");
+      }
+      return result;
+    } catch (NumberFormatException e) {
+      throw new ConfigurationException(key, "must be a number", e);
+    }
+  }
+
+  /**
+   * Start aggregating footprints in memory.
+   *
+   * @param flushInterval
+   *          interval in seconds in which finished footprints are written
+   * @param idleTimeout
+   *          time in seconds after which a session without new footprints is written
+   * @param maxSessions
+   *          maximum number of sessions held in memory
+   */
+  void startFootprintBuffer(long flushInterval, long idleTimeout, int maxSessions) {
+    stopFootprintBuffer();
+    footprintBuffer = new FootprintBuffer(maxSessions, TimeUnit.SECONDS.toMillis(idleTimeout), this::persistFootprints);
+    flushExecutor = Executors.newSingleThreadScheduledExecutor();
+    final FootprintBuffer buffer = footprintBuffer;
+    flushExecutor.scheduleWithFixedDelay(() -> {
+      try {
+        buffer.flush();
+      } catch (Exception e) {
+        logger.warn("Unable to write buffered footprints", e);
+      }
+    }, flushInterval, flushInterval, TimeUnit.SECONDS);
+    logger.info("Buffering footprints of up to {} sessions, flushing every {}s, session idle timeout {}s",
+        maxSessions, flushInterval, idleTimeout);
+  }
+
+  private void stopFootprintBuffer() {
+    final FootprintBuffer buffer = footprintBuffer;
+    footprintBuffer = null;
+    if (flushExecutor != null) {
+      flushExecutor.shutdown();
+      flushExecutor = null;
+    }
+    if (buffer != null) {
+      buffer.flushAll();
+    }
+  }
+
+  /**
+   * Write all footprints which are currently buffered. Footprints of sessions which are still active are only written
+   * if they have been idle for longer than the configured timeout.
+   */
+  public void flushFootprints() {
+    FootprintBuffer buffer = footprintBuffer;
+    if (buffer != null) {
+      buffer.flush();
+    }
+  }
+
+  /**
+   * Persist a batch of consolidated footprints in a single transaction.
+   *
+   * @param actions
+   *          the footprints to write
+   */
+  private void persistFootprints(List<UserActionImpl> actions) {
+    DBUtils.execTxWithUpsert(db, em -> {
+      // Sessions are committed right away, so populate them before anything else is written
+      for (UserActionImpl action : actions) {
+        action.setSession(populateSession(em, action.getSession()));
+      }
+
+      Set<Pair<String, String>> viewed = findViewedMediapackages(em, actions);
+      Map<Pair<String, Date>, long[]> stats = new HashMap<>();
+      for (UserActionImpl action : actions) {
+        boolean newSession = viewed.add(Pair.of(action.getSession().getSessionId(), action.getMediapackageId()));
+        long[] delta = stats.computeIfAbsent(
+            Pair.of(action.getMediapackageId(), UserActionDailyStatsImpl.toDay(action.getCreated())),
+            key -> new long[2]);
+        delta[0] += newSession ? 1 : 0;
+        delta[1] += action.getLength();
+      }
+      updateDailyStats(em, stats);
+
+      for (UserActionImpl action : actions) {
+        em.persist(action);
+      }
+      return null;
+    });
+    logger.debug("Wrote {} buffered footprints", actions.size());
+  }
+
+  /**
+   * Find which of the sessions of a batch of user actions have accessed the mediapackages of the batch before.
+   *
+   * @return the pairs of session identifier and mediapackage identifier found
+   */
+  private Set<Pair<String, String>> findViewedMediapackages(EntityManager em, List<UserActionImpl> actions) {
+    Set<Pair<String, String>> viewed = new HashSet<>();
+    for (int i = 0; i < actions.size(); i += VIEWED_QUERY_SIZE) {
+      List<UserActionImpl> chunk = actions.subList(i, Math.min(actions.size(), i + VIEWED_QUERY_SIZE));
+      Set<String> sessionIds = new HashSet<>();
+      Set<String> mediapackageIds = new HashSet<>();
+      for (UserActionImpl action : chunk) {
+        sessionIds.add(action.getSession().getSessionId());
+        mediapackageIds.add(action.getMediapackageId());
+      }
+      List<Object[]> rows = em.createNamedQuery("findSessionsOfMediapackages", Object[].class)
+          .setParameter("sessionIds", sessionIds)
+          .setParameter("mediapackageIds", mediapackageIds)
+          .getResultList();
+      for (Object[] row : rows) {
+        viewed.add(Pair.of((String) row[0], (String) row[1]));
+      }
+    }
+    return viewed;
   }
 
   public int getViews(String mediapackageId) {
@@ -164,8 +355,16 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
     if (!logUser) session.setUserId("-omitted-");
     if (!logSession) session.setSessionId("-omitted-");
 
+    FootprintBuffer buffer = footprintBuffer;
+    if (buffer != null && action instanceof UserActionImpl) {
+      // The footprint is written asynchronously and will not have an identifier yet
+      action.setSession(session);
+      buffer.add((UserActionImpl) action);
+      return action;
+    }
+
     try {
-      return db.execTx(em -> {
+      return DBUtils.execTxWithUpsert(db, em -> {
         UserSession userSession = populateSession(em, session);
         List<UserAction> userActions = em
             .createNamedQuery("findLastUserFootprintOfSession", UserAction.class)
@@ -176,6 +375,7 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
         // no actions
         if (userActions.isEmpty()) {
           action.setSession(userSession);
+          updateDailyStats(em, action, isNewSession(em, action));
           em.persist(action);
           return action;
         }
@@ -188,12 +388,16 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
           // we are assuming in this case that the sessions match and are unchanged (IP wise, for example)
           action.setId(lastAction.getId());
           lastAction.setOutpoint(action.getOutpoint());
+          updateDailyStats(em, lastAction.getMediapackageId(), lastAction.getCreated(), 0, action.getLength());
           em.persist(lastAction);
           return lastAction;
         }
 
         // last action does not match current action
         action.setSession(userSession);
+        boolean newSession = !lastAction.getMediapackageId().equals(action.getMediapackageId())
+            && isNewSession(em, action);
+        updateDailyStats(em, action, newSession);
         em.persist(action);
         return action;
       });
@@ -208,9 +412,10 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
     if (!logSession) session.setSessionId("-omitted-");
 
     try {
-      return db.execTx(em -> {
+      return DBUtils.execTxWithUpsert(db, em -> {
         UserSession userSession = populateSession(em, session);
         a.setSession(userSession);
+        updateDailyStats(em, a, isNewSession(em, a));
         em.persist(a);
         return a;
       });
@@ -239,6 +444,123 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
     return session;
   }
 
+  /**
+   * Check if the session of a user action which is about to be persisted has not accessed its mediapackage before.
+   */
+  private boolean isNewSession(EntityManager em, UserAction action) {
+    return em.createNamedQuery("countUserActionsOfSessionAndMediapackage", Long.class)
+        .setParameter("session", action.getSession())
+        .setParameter("mediapackageId", action.getMediapackageId())
+        .getSingleResult() == 0;
+  }
+
+  /**
+   * Add a user action which is about to be persisted to the daily statistics of its mediapackage.
+   */
+  private void updateDailyStats(EntityManager em, UserAction action, boolean newSession) {
+    updateDailyStats(em, action.getMediapackageId(), action.getCreated(), newSession ? 1 : 0, action.getLength());
+  }
+
+  /**
+   * Increment the daily statistics of a mediapackage, creating them if necessary.
+   *
+   * @param em
+   *          the entity manager of the current transaction
+   * @param mediapackageId
+   *          the mediapackage identifier
+   * @param created
+   *          the date of the user action
+   * @param sessions
+   *          the number of new sessions
+   * @param played
+   *          the played time in seconds
+   */
+  private void updateDailyStats(EntityManager em, String mediapackageId, Date created, long sessions, long played) {
+    Map<Pair<String, Date>, long[]> stats = new HashMap<>();
+    stats.put(Pair.of(mediapackageId, UserActionDailyStatsImpl.toDay(created)), new long[] { sessions, played });
+    updateDailyStats(em, stats);
+  }
+
+  /**
+   * Increment the daily statistics of mediapackages, creating them if necessary. The statistics are created after all
+   * updates, so the updates do not flush them one by one. Concurrent creation of the same statistics fails on the
+   * unique key, the transaction has to be retried then, see {@link DBUtils#execTxWithUpsert}.
+   *
+   * @param em
+   *          the entity manager of the current transaction
+   * @param stats
+   *          the new sessions and the played time in seconds by mediapackage identifier and day
+   */
+  private void updateDailyStats(EntityManager em, Map<Pair<String, Date>, long[]> stats) {
+    List<UserActionDailyStatsImpl> created = new ArrayList<>();
+    for (Map.Entry<Pair<String, Date>, long[]> entry : stats.entrySet()) {
+      String mediapackageId = entry.getKey().getLeft();
+      Date day = entry.getKey().getRight();
+      long[] delta = entry.getValue();
+      int updated = em.createNamedQuery("incrementDailyStats")
+          .setParameter("sessions", delta[0])
+          .setParameter("played", delta[1])
+          .setParameter("mediapackageId", mediapackageId)
+          .setParameter("day", day, TemporalType.DATE)
+          .executeUpdate();
+      if (updated == 0) {
+        created.add(new UserActionDailyStatsImpl(mediapackageId, day, delta[0], delta[1]));
+      }
+    }
+    for (UserActionDailyStatsImpl dailyStats : created) {
+      em.persist(dailyStats);
+    }
+  }
+
+  /**
+   * Recalculate the daily statistics used for reports from the raw user actions. This is necessary once for user
+   * actions which have been recorded before the statistics were introduced. Footprints written while the statistics
+   * of a mediapackage are being recalculated may be counted twice.
+   *
+   * @return the number of mediapackages whose statistics were recalculated
+   */
+  public int rebuildDailyStats() {
+    List<String> mediapackageIds = db.exec(namedQuery.findAll("findDistinctMediapackageIds", String.class));
+    logger.info("Rebuilding user tracking report statistics of {} mediapackages", mediapackageIds.size());
+    int done = 0;
+    for (String mediapackageId : mediapackageIds) {
+      db.execTx(em -> {
+        em.createNamedQuery("deleteDailyStatsOfMediapackage")
+            .setParameter("mediapackageId", mediapackageId)
+            .executeUpdate();
+
+        Map<Date, long[]> stats = new HashMap<>();
+        Set<String> sessions = new HashSet<>();
+        int offset = 0;
+        List<Object[]> rows;
+        do {
+          rows = em.createNamedQuery("findUserActionStatsOfMediapackage", Object[].class)
+              .setParameter("mediapackageId", mediapackageId)
+              .setFirstResult(offset)
+              .setMaxResults(REBUILD_PAGE_SIZE)
+              .getResultList();
+          for (Object[] row : rows) {
+            long[] day = stats.computeIfAbsent(UserActionDailyStatsImpl.toDay((Date) row[1]), d -> new long[2]);
+            if (sessions.add((String) row[0])) {
+              day[0]++;
+            }
+            day[1] += ((Number) row[2]).longValue();
+          }
+          offset += rows.size();
+        } while (rows.size() == REBUILD_PAGE_SIZE);
+
+        stats.forEach((day, values) ->
+            em.persist(new UserActionDailyStatsImpl(mediapackageId, day, values[0], values[1])));
+      });
+      done++;
+      if (done % 1000 == 0) {
+        logger.info("Rebuilt user tracking report statistics of {}/{} mediapackages", done, mediapackageIds.size());
+      }
+    }
+    logger.info("Finished rebuilding user tracking report statistics");
+    return done;
+  }
+
   public UserActionList getUserActions(int offset, int limit) {
     UserActionList result = new UserActionListImpl();
 
@@ -459,7 +781,7 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
 
     db.exec(em -> {
       TypedQuery<Object[]> q = em
-          .createNamedQuery("countSessionsGroupByMediapackage", Object[].class)
+          .createNamedQuery("sumDailyStatsGroupByMediapackage", Object[].class)
           .setFirstResult(offset);
       if (limit > 0) {
         q.setMaxResults(limit);
@@ -468,8 +790,8 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
       q.getResultList().forEach(row -> {
         ReportItem item = new ReportItemImpl();
         item.setEpisodeId((String) row[0]);
-        item.setViews((Long) row[1]);
-        item.setPlayed((Long) row[2]);
+        item.setViews(((Number) row[1]).longValue());
+        item.setPlayed(((Number) row[2]).longValue());
         report.add(item);
       });
     });
@@ -501,12 +823,21 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
       calEnd.setTime(simple.parse(to));
     }
 
+    // Full days can be answered from the daily statistics
+    boolean fullDays = isStartOfDay(calBegin) && isStartOfDay(calEnd);
+
     db.exec(em -> {
-      TypedQuery<Object[]> q = em
-          .createNamedQuery("countSessionsGroupByMediapackageByIntervall", Object[].class)
-          .setParameter("begin", calBegin, TemporalType.TIMESTAMP)
-          .setParameter("end", calEnd, TemporalType.TIMESTAMP)
-          .setFirstResult(offset);
+      TypedQuery<Object[]> q;
+      if (fullDays) {
+        q = em.createNamedQuery("sumDailyStatsGroupByMediapackageByIntervall", Object[].class)
+            .setParameter("begin", calBegin.getTime(), TemporalType.DATE)
+            .setParameter("end", calEnd.getTime(), TemporalType.DATE);
+      } else {
+        q = em.createNamedQuery("countSessionsGroupByMediapackageByIntervall", Object[].class)
+            .setParameter("begin", calBegin, TemporalType.TIMESTAMP)
+            .setParameter("end", calEnd, TemporalType.TIMESTAMP);
+      }
+      q.setFirstResult(offset);
       if (limit > 0) {
         q.setMaxResults(limit);
       }
@@ -514,8 +845,8 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
       q.getResultList().forEach(row -> {
         ReportItem item = new ReportItemImpl();
         item.setEpisodeId((String) row[0]);
-        item.setViews((Long) row[1]);
-        item.setPlayed((Long) row[2]);
+        item.setViews(((Number) row[1]).longValue());
+        item.setPlayed(((Number) row[2]).longValue());
         report.add(item);
       });
     });
@@ -523,6 +854,11 @@ public class UserTrackingServiceImpl implements UserTrackingService, ManagedServ
     return report;
   }
 
+  private static boolean isStartOfDay(Calendar cal) {
+    return cal.get(Calendar.HOUR_OF_DAY) == 0 && cal.get(Calendar.MINUTE) == 0 && cal.get(Calendar.SECOND) == 0
+        && cal.get(Calendar.MILLISECOND) == 0;
+  }
+
   public FootprintList getFootprints(String mediapackageId, String userId) {
     List<UserAction> userActions = db.exec(em -> {
       TypedQuery<UserAction> q;
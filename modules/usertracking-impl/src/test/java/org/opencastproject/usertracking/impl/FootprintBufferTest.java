@@ -0,0 +1,175 @@
+/*
+ * Licensed to The Apereo Foundation under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ *
+ * The Apereo Foundation licenses this file to you under the Educational
+ * Community License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License
+ * at:
+ *
+ *   http://opensource.org/licenses/ecl2.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.opencastproject.usertracking.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FootprintBufferTest {
+
+  private final List<UserActionImpl> written = new ArrayList<>();
+
+  private final List<Integer> batches = new ArrayList<>();
+
+  private FootprintBuffer createBuffer(int maxSessions, long idleTimeout) {
+    return new FootprintBuffer(maxSessions, idleTimeout, batch -> {
+      batches.add(batch.size());
+      written.addAll(batch);
+    });
+  }
+
+  private static UserActionImpl footprint(String sessionId, String mediapackageId, int in, int out) {
+    UserSessionImpl session = new UserSessionImpl();
+    session.setSessionId(sessionId);
+    UserActionImpl action = new UserActionImpl();
+    action.setSession(session);
+    action.setMediapackageId(mediapackageId);
+    action.setType(UserTrackingServiceImpl.FOOTPRINT_KEY);
+    action.setInpoint(in);
+    action.setOutpoint(out);
+    return action;
+  }
+
+  /**
+   * Ensures contiguous footprints of a session are merged into one.
+   */
+  @Test
+  public void testMergeContiguous() {
+    FootprintBuffer buffer = createBuffer(10, 60000);
+    buffer.add(footprint("s1", "mp", 0, 10));
+    buffer.add(footprint("s1", "mp", 10, 20));
+    buffer.add(footprint("s1", "mp", 20, 30));
+    Assert.assertEquals(1, buffer.size());
+
+    // Active sessions are not written before they time out
+    buffer.flush();
+    Assert.assertTrue(written.isEmpty());
+
+    buffer.flushAll();
+    Assert.assertEquals(1, written.size());
+    Assert.assertEquals(0, written.get(0).getInpoint());
+    Assert.assertEquals(30, written.get(0).getOutpoint());
+    Assert.assertEquals(30, written.get(0).getLength());
+    Assert.assertEquals(0, buffer.size());
+  }
+
+  /**
+   * Ensures a jump or a different mediapackage completes the previous footprint.
+   */
+  @Test
+  public void testNonContiguous() {
+    FootprintBuffer buffer = createBuffer(10, 60000);
+    buffer.add(footprint("s1", "mp", 0, 10));
+    buffer.add(footprint("s1", "mp", 50, 60));
+    buffer.add(footprint("s1", "other", 60, 70));
+    Assert.assertEquals(3, buffer.size());
+
+    // Completed footprints are written even if the session is still active
+    buffer.flush();
+    Assert.assertEquals(2, written.size());
+    Assert.assertEquals(10, written.get(0).getOutpoint());
+    Assert.assertEquals("mp", written.get(1).getMediapackageId());
+    Assert.assertEquals(60, written.get(1).getOutpoint());
+    Assert.assertEquals(1, buffer.size());
+  }
+
+  /**
+   * Ensures idle sessions are written on a regular flush.
+   */
+  @Test
+  public void testIdleSessions() throws Exception {
+    FootprintBuffer buffer = createBuffer(10, 0);
+    buffer.add(footprint("s1", "mp", 0, 10));
+    buffer.add(footprint("s2", "mp", 0, 10));
+    Thread.sleep(5);
+    buffer.flush();
+    Assert.assertEquals(2, written.size());
+    Assert.assertEquals(1, batches.size());
+    Assert.assertEquals(0, buffer.size());
+  }
+
+  /**
+   * Ensures the buffer writes on the calling thread once it is full.
+   */
+  @Test
+  public void testBackpressure() {
+    FootprintBuffer buffer = createBuffer(2, 60000);
+    buffer.add(footprint("s1", "mp", 0, 10));
+    buffer.add(footprint("s2", "mp", 0, 10));
+    Assert.assertTrue(written.isEmpty());
+
+    buffer.add(footprint("s3", "mp", 0, 10));
+    Assert.assertEquals(2, written.size());
+    Assert.assertEquals(1, buffer.size());
+
+    // Completed footprints are limited as well
+    buffer.add(footprint("s3", "mp", 20, 30));
+    buffer.add(footprint("s3", "mp", 40, 50));
+    buffer.add(footprint("s3", "mp", 60, 70));
+    Assert.assertEquals(4, written.size());
+    Assert.assertTrue(buffer.size() <= 3);
+  }
+
+  /**
+   * Ensures footprints are not lost if writing them fails.
+   */
+  @Test
+  public void testWriterFailure() {
+    final boolean[] fail = { true };
+    FootprintBuffer buffer = new FootprintBuffer(10, 60000, batch -> {
+      if (fail[0]) {
+        throw new IllegalStateException("database unavailable");
+      }
+      written.addAll(batch);
+    });
+    buffer.add(footprint("s1", "mp", 0, 10));
+    buffer.add(footprint("s1", "mp", 50, 60));
+    buffer.add(footprint("s2", "mp", 0, 10));
+
+    try {
+      buffer.flushAll();
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    Assert.assertEquals(3, buffer.size());
+
+    // Further footprints are not taken out of the buffer until the failed batch has been written
+    buffer.add(footprint("s3", "mp", 0, 10));
+    try {
+      buffer.flushAll();
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    Assert.assertEquals(4, buffer.size());
+
+    fail[0] = false;
+    buffer.flushAll();
+    Assert.assertEquals(4, written.size());
+    Assert.assertEquals(0, buffer.size());
+  }
+
+}
@@ -1144,6 +1144,60 @@ public class UserTrackingServiceImplTest {
     Assert.assertEquals(1, rep.getViews());
   }
 
+  /**
+   * Test that the daily report statistics can be recalculated from the raw user actions
+   * @throws Exception
+   */
+  @Test
+  public void testRebuildDailyStats() throws Exception {
+    createAndVerifyUserAction(UserTrackingServiceImpl.FOOTPRINT_KEY, "session1", "mp", "me", "127.0.0.1", 0, 10);
+    createAndVerifyUserAction(UserTrackingServiceImpl.FOOTPRINT_KEY, "session1", "mp", "me", "127.0.0.1", 10, 20);
+    createAndVerifyUserAction(UserTrackingServiceImpl.FOOTPRINT_KEY, "session1", "other", "me", "127.0.0.1", 0, 5);
+    createAndVerifyUserAction(UserTrackingServiceImpl.FOOTPRINT_KEY, "session1", "mp", "me", "127.0.0.1", 30, 40);
+    createAndVerifyUserAction("PAUSE", "session2", "mp", "me", "127.0.0.1", 40, 40);
+
+    Report rep = service.getReport(0, 0);
+    Assert.assertEquals(2, rep.getTotal());
+    Assert.assertEquals(35, rep.getPlayed());
+    Assert.assertEquals(3, rep.getViews());
+
+    Assert.assertEquals(2, service.rebuildDailyStats());
+
+    rep = service.getReport(0, 0);
+    Assert.assertEquals(2, rep.getTotal());
+    Assert.assertEquals(35, rep.getPlayed());
+    Assert.assertEquals(3, rep.getViews());
+  }
+
+  /**
+   * Test that buffered footprints are merged and written on deactivation
+   * @throws Exception
+   */
+  @Test
+  public void testBufferedFootprints() throws Exception {
+    service.startFootprintBuffer(3600, 3600, 100);
+
+    UserSession session = createUserSession("session789", "me", "127.0.0.1");
+    for (int i = 0; i < 10; i++) {
+      UserAction action = createUserAction(UserTrackingServiceImpl.FOOTPRINT_KEY, "mp", i * 10, (i + 1) * 10,
+          new Date(), session);
+      Assert.assertNull(service.addUserFootprint(action, session).getId());
+    }
+
+    // Nothing has been written yet
+    getFootprintList("mp", null, 1);
+    service.flushFootprints();
+    getFootprintList("mp", null, 1);
+
+    service.deactivate();
+    UserActionList actions = service.getUserActionsByTypeAndMediapackageId(UserTrackingServiceImpl.FOOTPRINT_KEY,
+        "mp", 0, 0);
+    Assert.assertEquals(1, actions.getTotal());
+    Assert.assertEquals(0, actions.getUserActions().get(0).getInpoint());
+    Assert.assertEquals(100, actions.getUserActions().get(0).getOutpoint());
+    Assert.assertEquals(1, service.getViews("mp"));
+  }
+
   /**
    * Gets the footprint list, performs some asserts
    * @throws Exception
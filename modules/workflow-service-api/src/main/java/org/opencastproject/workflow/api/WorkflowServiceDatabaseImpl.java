@@ -114,16 +114,17 @@ public class WorkflowServiceDatabaseImpl implements WorkflowServiceDatabase {
   }
 
   public WorkflowInstance getWorkflow(long workflowId, String orgId) throws NotFoundException, WorkflowDatabaseException {
+    // Workflows are updated by whichever node runs their operations, so read them from the primary database
     try {
       if (null != orgId) {
-        return db.exec(namedQuery.find(
+        return db.execPrimary(namedQuery.find(
             "Workflow.workflowById",
             WorkflowInstance.class,
             Pair.of("workflowId", workflowId),
             Pair.of("organizationId", orgId)
         ));
       } else {
-        return db.exec(namedQuery.find(
+        return db.execPrimary(namedQuery.find(
             "Workflow.workflowByIdOrganizationIndependent",
             WorkflowInstance.class,
             Pair.of("workflowId", workflowId)
@@ -26,6 +26,7 @@ import static java.lang.String.format;
 import org.opencastproject.job.api.Incident.Severity;
 import org.opencastproject.security.api.UnauthorizedException;
 import org.opencastproject.util.JobCanceledException;
+import org.opencastproject.util.metrics.Metrics;
 import org.opencastproject.workflow.api.ResumableWorkflowOperationHandler;
 import org.opencastproject.workflow.api.WorkflowException;
 import org.opencastproject.workflow.api.WorkflowInstance;
@@ -50,6 +51,11 @@ import java.util.function.Function;
 final class WorkflowOperationWorker {
   private static final Logger logger = LoggerFactory.getLogger(WorkflowOperationWorker.class);
 
+  /** Time spent in the workflow operation handlers */
+  private static final Metrics.Histogram handlerDuration = Metrics.histogram(
+      "opencast_workflow_operation_seconds", "Time spent in workflow operation handlers",
+      Metrics.DURATION_BUCKETS, "operation", "result");
+
   private WorkflowOperationHandler handler;
   private WorkflowInstance workflow;
   private final WorkflowServiceImpl service;
@@ -201,6 +207,8 @@ final class WorkflowOperationWorker {
     operation.setState(OperationState.RUNNING);
     service.update(workflow);
 
+    final long start = System.nanoTime();
+    String outcome = "failed";
     try {
       WorkflowOperationResult result = null;
       if (execute) {
@@ -217,12 +225,15 @@ final class WorkflowOperationWorker {
           result.setAction(Action.SKIP);
         }
       }
+      outcome = (result == null ? Action.CONTINUE : result.getAction()).name().toLowerCase();
       return result;
     } catch (Exception e) {
       operation.setState(OperationState.FAILED);
       if (e instanceof WorkflowOperationException)
         throw (WorkflowOperationException) e;
       throw new WorkflowOperationException(e);
+    } finally {
+      handlerDuration.observeSince(start, operation.getTemplate(), outcome);
     }
   }
 
@@ -255,13 +266,19 @@ final class WorkflowOperationWorker {
     operation.setState(OperationState.RUNNING);
     service.update(workflow);
 
+    final long start = System.nanoTime();
+    String outcome = "failed";
     try {
-      return resumableHandler.resume(workflow, null, properties);
+      final WorkflowOperationResult result = resumableHandler.resume(workflow, null, properties);
+      outcome = (result == null ? Action.CONTINUE : result.getAction()).name().toLowerCase();
+      return result;
     } catch (Exception e) {
       operation.setState(OperationState.FAILED);
       if (e instanceof WorkflowOperationException)
         throw (WorkflowOperationException) e;
       throw new WorkflowOperationException(e);
+    } finally {
+      handlerDuration.observeSince(start, operation.getTemplate(), outcome);
     }
   }
 }
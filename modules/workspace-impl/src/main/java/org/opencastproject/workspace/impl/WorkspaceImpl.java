@@ -53,6 +53,7 @@ import org.opencastproject.util.data.Function;
 import org.opencastproject.util.data.Option;
 import org.opencastproject.util.data.functions.Misc;
 import org.opencastproject.util.jmx.JmxUtil;
+import org.opencastproject.util.metrics.Metrics;
 import org.opencastproject.workingfilerepository.api.PathMappable;
 import org.opencastproject.workingfilerepository.api.WorkingFileRepository;
 import org.opencastproject.workspace.api.Workspace;
@@ -119,6 +120,15 @@ public final class WorkspaceImpl implements Workspace {
   /** The logging facility */
   private static final Logger logger = LoggerFactory.getLogger(WorkspaceImpl.class);
 
+  /** Bytes downloaded into the workspace */
+  private static final Metrics.Counter downloadBytes = Metrics.counter(
+      "opencast_workspace_download_bytes_total", "Bytes downloaded into the workspace");
+
+  /** Time needed for downloading files into the workspace */
+  private static final Metrics.Histogram downloadTime = Metrics.histogram(
+      "opencast_workspace_download_seconds", "Time needed for downloading files into the workspace",
+      Metrics.DURATION_BUCKETS);
+
   /** Configuration key for the workspace root directory */
   public static final String WORKSPACE_DIR_KEY = "org.opencastproject.workspace.rootdir";
   /** Configuration key for the storage directory */
@@ -567,11 +577,13 @@ public final class WorkspaceImpl implements Workspace {
   private static File downloadTo(final HttpResponse response, final File dst) throws IOException {
     // ignore return value
     dst.createNewFile();
+    final long start = System.nanoTime();
     try (InputStream in = response.getEntity().getContent()) {
       try (OutputStream out = new FileOutputStream(dst)) {
-        IOUtils.copyLarge(in, out);
+        downloadBytes.inc(IOUtils.copyLarge(in, out));
       }
     }
+    downloadTime.observeSince(start);
     return dst;
   }
 